@@ -0,0 +1,49 @@
+package bench.rice;
+
+import main.rice.basegen.BaseSetGenerator;
+import main.rice.parse.ConfigFile;
+import main.rice.parse.ConfigFileParser;
+import main.rice.parse.InvalidConfigException;
+
+/**
+ * End-to-end benchmarks for BaseSetGenerator.genBaseSet(), on configs of increasing
+ * size parsed the same way as Main parses them.
+ */
+public final class BaseSetBenchmarks {
+
+    /**
+     * The configs, as {label, contents}.
+     */
+    private static final String[][] CONFIGS = {
+            {"int,int", "{\"fname\": \"f\", \"types\": [\"int\", \"int\"],"
+                    + " \"exhaustive domain\": [\"0~9\", \"0~9\"],"
+                    + " \"random domain\": [\"0~99\", \"0~99\"], \"num random\": 100}"},
+            {"list(int,str(ab", "{\"fname\": \"f\", \"types\": [\"list(int\", \"str(ab\"],"
+                    + " \"exhaustive domain\": [\"0~3(0~3\", \"0~3\"],"
+                    + " \"random domain\": [\"0~9(0~99\", \"0~9\"], \"num random\": 100}"},
+            {"dict(int:list(int", "{\"fname\": \"f\", \"types\": [\"dict(int:list(int\"],"
+                    + " \"exhaustive domain\": [\"0~2(0~2:0~2(0~2\"],"
+                    + " \"random domain\": [\"0~5(0~99:0~5(0~99\"], \"num random\": 100}"},
+    };
+
+    /**
+     * Stateless class; not to be instantiated.
+     */
+    private BaseSetBenchmarks() {
+    }
+
+    /**
+     * Registers the base set benchmarks.
+     *
+     * @param harness the harness to register with
+     * @throws InvalidConfigException if one of the configs is invalid
+     */
+    public static void register(Harness harness) throws InvalidConfigException {
+        for (String[] config : CONFIGS) {
+            ConfigFile parsed = ConfigFileParser.parse(config[1]);
+            BaseSetGenerator generator = new BaseSetGenerator(parsed.getNodes(),
+                    parsed.getNumRand(), 42);
+            harness.add("genBaseSet", "types=" + config[0], generator::genBaseSet);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package bench.rice;
+
+import main.rice.parse.InvalidConfigException;
+import org.json.JSONArray;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the benchmark suite. Usage:
+ *
+ *   java bench.rice.BenchMain [--json file] [--quick] [filter]
+ *
+ * where filter is a regular expression matched against each benchmark's name and
+ * parameters (e.g. "genExVals/PyListNode" or "setCover/.*power_law"), --quick runs shorter iterations (for smoke
+ * testing, not for measurement), and --json writes the results to file. The suite
+ * should be run on a quiet machine, with the same JVM flags when comparing runs.
+ */
+public final class BenchMain {
+
+    /**
+     * Stateless class; not to be instantiated.
+     */
+    private BenchMain() {
+    }
+
+    /**
+     * Entry point of the benchmark suite.
+     *
+     * @param args command-line arguments, as described above
+     * @throws IOException            if the JSON results cannot be written
+     * @throws InvalidConfigException if one of the benchmark configs is invalid
+     */
+    public static void main(String[] args) throws IOException, InvalidConfigException {
+        Path json = null;
+        boolean quick = false;
+        Pattern filter = Pattern.compile("");
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--json")) {
+                json = Path.of(args[++i]);
+            } else if (args[i].equals("--quick")) {
+                quick = true;
+            } else {
+                filter = Pattern.compile(args[i]);
+            }
+        }
+
+        Harness harness = quick ? new Harness(1, 2, 50) : new Harness(5, 5, 1000);
+        register(harness);
+        List<BenchResult> results = harness.run(filter, System.out);
+        if (json != null) {
+            JSONArray array = new JSONArray();
+            for (BenchResult result : results) {
+                array.put(result.toJson());
+            }
+            Files.writeString(json, array.toString(2));
+        }
+    }
+
+    /**
+     * Registers every benchmark in the suite.
+     *
+     * @param harness the harness to register with
+     * @throws InvalidConfigException if one of the benchmark configs is invalid
+     */
+    public static void register(Harness harness) throws InvalidConfigException {
+        NodeBenchmarks.register(harness);
+        ObjectBenchmarks.register(harness);
+        BaseSetBenchmarks.register(harness);
+        SetCoverBenchmarks.register(harness);
+    }
+}
@@ -0,0 +1,179 @@
+package bench.rice;
+
+import org.json.JSONObject;
+
+/**
+ * The measurements of a single benchmark: its average time and allocation per
+ * operation, over every measurement iteration.
+ */
+public final class BenchResult {
+
+    /**
+     * The name of the benchmark, e.g. "genExVals/PyIntNode".
+     */
+    private final String name;
+
+    /**
+     * The parameters of the benchmark, e.g. "domain=100".
+     */
+    private final String params;
+
+    /**
+     * The number of operations measured, over all iterations.
+     */
+    private final long ops;
+
+    /**
+     * The mean time per operation over the iterations, in nanoseconds.
+     */
+    private final double nanosPerOp;
+
+    /**
+     * The standard deviation of the time per operation over the iterations, in
+     * nanoseconds.
+     */
+    private final double nanosError;
+
+    /**
+     * The number of bytes allocated per operation, or -1 if the JVM cannot measure
+     * allocation.
+     */
+    private final double bytesPerOp;
+
+    /**
+     * The benchmark's score of its operation's result (e.g. the size of a cover), or NaN
+     * if it doesn't score results.
+     */
+    private final double score;
+
+    /**
+     * Constructor for a BenchResult without a score.
+     *
+     * @param name       the name of the benchmark
+     * @param params     the parameters of the benchmark
+     * @param ops        the number of operations measured
+     * @param nanosPerOp the mean time per operation, in nanoseconds
+     * @param nanosError the standard deviation of the time per operation, in nanoseconds
+     * @param bytesPerOp the number of bytes allocated per operation, or -1
+     */
+    public BenchResult(String name, String params, long ops, double nanosPerOp,
+                       double nanosError, double bytesPerOp) {
+        this(name, params, ops, nanosPerOp, nanosError, bytesPerOp, Double.NaN);
+    }
+
+    /**
+     * Constructor for a BenchResult.
+     *
+     * @param name       the name of the benchmark
+     * @param params     the parameters of the benchmark
+     * @param ops        the number of operations measured
+     * @param nanosPerOp the mean time per operation, in nanoseconds
+     * @param nanosError the standard deviation of the time per operation, in nanoseconds
+     * @param bytesPerOp the number of bytes allocated per operation, or -1
+     * @param score      the score of the operation's result, or NaN
+     */
+    public BenchResult(String name, String params, long ops, double nanosPerOp,
+                       double nanosError, double bytesPerOp, double score) {
+        this.name = name;
+        this.params = params;
+        this.ops = ops;
+        this.nanosPerOp = nanosPerOp;
+        this.nanosError = nanosError;
+        this.bytesPerOp = bytesPerOp;
+        this.score = score;
+    }
+
+    /**
+     * Returns the name of the benchmark.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the parameters of the benchmark.
+     *
+     * @return the parameters
+     */
+    public String getParams() {
+        return this.params;
+    }
+
+    /**
+     * Returns the number of operations measured.
+     *
+     * @return the number of operations
+     */
+    public long getOps() {
+        return this.ops;
+    }
+
+    /**
+     * Returns the mean time per operation.
+     *
+     * @return the time, in nanoseconds
+     */
+    public double getNanosPerOp() {
+        return this.nanosPerOp;
+    }
+
+    /**
+     * Returns the standard deviation of the time per operation.
+     *
+     * @return the standard deviation, in nanoseconds
+     */
+    public double getNanosError() {
+        return this.nanosError;
+    }
+
+    /**
+     * Returns the number of bytes allocated per operation.
+     *
+     * @return the allocation, in bytes, or -1 if it couldn't be measured
+     */
+    public double getBytesPerOp() {
+        return this.bytesPerOp;
+    }
+
+    /**
+     * Returns the score of the operation's result.
+     *
+     * @return the score, or NaN if the benchmark doesn't score results
+     */
+    public double getScore() {
+        return this.score;
+    }
+
+    /**
+     * Returns this result as a JSON object.
+     *
+     * @return the JSON form of this result
+     */
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("name", this.name);
+        json.put("params", this.params);
+        json.put("ops", this.ops);
+        json.put("ns/op", this.nanosPerOp);
+        json.put("ns/op error", this.nanosError);
+        json.put("B/op", this.bytesPerOp);
+        if (!Double.isNaN(this.score)) {
+            json.put("score", this.score);
+        }
+        return json;
+    }
+
+    /**
+     * Returns this result as a row of the report table.
+     *
+     * @return the formatted row
+     */
+    @Override
+    public String toString() {
+        String row = String.format("%-32s %-24s %14.1f +- %10.1f ns/op %14.1f B/op",
+                this.name, this.params, this.nanosPerOp, this.nanosError, this.bytesPerOp);
+        return Double.isNaN(this.score) ? row : row + String.format(" %10.1f score", this.score);
+    }
+}
@@ -0,0 +1,55 @@
+package bench.rice;
+
+/**
+ * Consumes the results of benchmarked operations, so that the JIT can neither eliminate
+ * the operations as dead code nor scalar-replace the objects they allocate. As in JMH,
+ * each result may be published to a field (rarely, so that the store stays cheap), which
+ * the JIT cannot prove won't happen, so every result escapes.
+ */
+public final class Blackhole {
+
+    /**
+     * The state of the linear congruential generator that decides when to publish.
+     */
+    private static int seed = 42;
+
+    /**
+     * The mask that the generator's state is checked against; it grows every time a
+     * result is published, so that publishing gets rarer.
+     */
+    private static int mask = 1;
+
+    /**
+     * The last published result.
+     */
+    private static volatile Object published;
+
+    /**
+     * Stateless class; not to be instantiated.
+     */
+    private Blackhole() {
+    }
+
+    /**
+     * Consumes the input result.
+     *
+     * @param result the result of a benchmarked operation
+     */
+    public static void consume(Object result) {
+        int next = seed * 1664525 + 1013904223;
+        seed = next;
+        if ((next & mask) == 0) {
+            published = result;
+            mask = (mask << 1) + 1;
+        }
+    }
+
+    /**
+     * Returns the last published result, so that the field is read somewhere.
+     *
+     * @return the last published result, or null
+     */
+    public static Object getPublished() {
+        return published;
+    }
+}
@@ -0,0 +1,297 @@
+package bench.rice;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+
+/**
+ * A small benchmark harness, in the style of JMH: each benchmark is warmed up for a few
+ * timed iterations, and then measured for a few more, reporting the mean time per
+ * operation and the bytes allocated per operation (the equivalent of JMH's
+ * gc.alloc.rate.norm, measured with the per-thread allocation counters of the
+ * HotSpot ThreadMXBean). Benchmarks run one at a time, on the calling thread; the
+ * allocation is summed over every live thread, so that operations which fan out to
+ * other threads (e.g. a fork/join pool) are charged for their work. Allocation by a
+ * thread that exits during an iteration is lost, and allocation by unrelated threads
+ * is included, so idle the JVM's other threads while benchmarking.
+ */
+public class Harness {
+
+    /**
+     * A registered benchmark.
+     */
+    private static final class Case {
+
+        /**
+         * The name of the benchmark.
+         */
+        final String name;
+
+        /**
+         * The parameters of the benchmark.
+         */
+        final String params;
+
+        /**
+         * The operation to measure; its result is consumed by the Blackhole.
+         */
+        final Callable<?> op;
+
+        /**
+         * Scores the operation's result, or null.
+         */
+        final ToDoubleFunction<Object> score;
+
+        /**
+         * Constructor for a Case.
+         *
+         * @param name   the name of the benchmark
+         * @param params the parameters of the benchmark
+         * @param op     the operation to measure
+         * @param score  scores the operation's result, or null
+         */
+        Case(String name, String params, Callable<?> op, ToDoubleFunction<Object> score) {
+            this.name = name;
+            this.params = params;
+            this.op = op;
+            this.score = score;
+        }
+    }
+
+    /**
+     * The target duration of each batch of operations, in nanoseconds; the clock is only
+     * read between batches, so that reading it doesn't dominate fast operations.
+     */
+    private static final long BATCH_NANOS = 1_000_000;
+
+    /**
+     * The number of warmup iterations.
+     */
+    private final int warmupIterations;
+
+    /**
+     * The number of measurement iterations.
+     */
+    private final int iterations;
+
+    /**
+     * The duration of each iteration, in nanoseconds.
+     */
+    private final long iterationNanos;
+
+    /**
+     * The registered benchmarks, in registration order.
+     */
+    private final List<Case> cases = new ArrayList<>();
+
+    /**
+     * The HotSpot thread bean, or null if it cannot measure allocation.
+     */
+    private final com.sun.management.ThreadMXBean threads;
+
+    /**
+     * Constructor for a Harness.
+     *
+     * @param warmupIterations the number of warmup iterations
+     * @param iterations       the number of measurement iterations
+     * @param iterationMillis  the duration of each iteration, in milliseconds
+     * @throws IllegalArgumentException if iterations or iterationMillis is less than 1
+     */
+    public Harness(int warmupIterations, int iterations, long iterationMillis) {
+        if (warmupIterations < 0 || iterations < 1 || iterationMillis < 1) {
+            throw new IllegalArgumentException("invalid iteration settings");
+        }
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.iterationNanos = iterationMillis * 1_000_000;
+
+        // Allocation can only be measured on HotSpot-derived JVMs
+        com.sun.management.ThreadMXBean bean = null;
+        if (ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean hotspot
+                && hotspot.isThreadAllocatedMemorySupported()) {
+            hotspot.setThreadAllocatedMemoryEnabled(true);
+            bean = hotspot;
+        }
+        this.threads = bean;
+    }
+
+    /**
+     * Registers a benchmark.
+     *
+     * @param name   the name of the benchmark, e.g. "genExVals/PyIntNode"
+     * @param params the parameters of the benchmark, e.g. "domain=100"
+     * @param op     the operation to measure, whose result is consumed so that it
+     *               cannot be eliminated
+     */
+    public void add(String name, String params, Callable<?> op) {
+        this.cases.add(new Case(name, params, op, null));
+    }
+
+    /**
+     * Registers a benchmark whose results are also scored, e.g. by the size of a cover,
+     * so that variants can be compared on quality as well as cost. The score is taken
+     * from the result of one more call, after measurement.
+     *
+     * @param name   the name of the benchmark
+     * @param params the parameters of the benchmark
+     * @param op     the operation to measure
+     * @param score  scores the operation's result
+     */
+    public void add(String name, String params, Callable<?> op,
+                    ToDoubleFunction<Object> score) {
+        this.cases.add(new Case(name, params, op, score));
+    }
+
+    /**
+     * Runs every registered benchmark whose name and parameters match the input filter,
+     * printing each result as it completes.
+     *
+     * @param filter matched against "name params"; find(), not matches(), is used
+     * @param out    the stream to print results to, or null
+     * @return the results, in registration order
+     */
+    public List<BenchResult> run(Pattern filter, PrintStream out) {
+        List<BenchResult> results = new ArrayList<>();
+        for (Case benchmark : this.cases) {
+            if (!filter.matcher(benchmark.name + " " + benchmark.params).find()) {
+                continue;
+            }
+            BenchResult result = this.measure(benchmark);
+            results.add(result);
+            if (out != null) {
+                out.println(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Warms up and measures a single benchmark.
+     *
+     * @param benchmark the benchmark
+     * @return its result
+     */
+    private BenchResult measure(Case benchmark) {
+        // Size the batches from a single (cold) call, and then re-size them after warmup
+        long start = System.nanoTime();
+        call(benchmark.op);
+        int batch = batchSize(System.nanoTime() - start, 1);
+        for (int i = 0; i < this.warmupIterations; i++) {
+            long[] warm = this.iteration(benchmark.op, batch);
+            batch = batchSize(warm[1], warm[0]);
+        }
+
+        // Measure, keeping the time per operation of each iteration
+        double[] perOp = new double[this.iterations];
+        long totalOps = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < this.iterations; i++) {
+            long[] measured = this.iteration(benchmark.op, batch);
+            perOp[i] = (double) measured[1] / measured[0];
+            totalOps += measured[0];
+            totalBytes += measured[2];
+        }
+
+        double mean = 0;
+        for (double nanos : perOp) {
+            mean += nanos / perOp.length;
+        }
+        double variance = 0;
+        for (double nanos : perOp) {
+            variance += (nanos - mean) * (nanos - mean);
+        }
+        double error = (perOp.length > 1) ? Math.sqrt(variance / (perOp.length - 1)) : 0;
+        double bytesPerOp = (this.threads == null) ? -1 : (double) totalBytes / totalOps;
+        double score = Double.NaN;
+        if (benchmark.score != null) {
+            try {
+                score = benchmark.score.applyAsDouble(benchmark.op.call());
+            } catch (Exception e) {
+                throw new IllegalStateException("benchmark failed", e);
+            }
+        }
+        return new BenchResult(benchmark.name, benchmark.params, totalOps, mean, error,
+                bytesPerOp, score);
+    }
+
+    /**
+     * Runs batches of the input operation until the iteration's duration has elapsed.
+     *
+     * @param op    the operation
+     * @param batch the number of operations per batch
+     * @return {operations, elapsed nanoseconds, allocated bytes}
+     */
+    private long[] iteration(Callable<?> op, int batch) {
+        Map<Long, Long> bytesBefore = this.allocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+        long ops = 0;
+        do {
+            for (int i = 0; i < batch; i++) {
+                call(op);
+            }
+            ops += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < this.iterationNanos);
+        long bytes = 0;
+        for (Map.Entry<Long, Long> after : this.allocatedBytes().entrySet()) {
+            // Threads started during the iteration count from zero
+            bytes += after.getValue() - bytesBefore.getOrDefault(after.getKey(), 0L);
+        }
+        return new long[]{ops, elapsed, bytes};
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by each live thread.
+     *
+     * @return a map from thread ID to bytes allocated; empty if allocation cannot be
+     * measured
+     */
+    private Map<Long, Long> allocatedBytes() {
+        Map<Long, Long> bytes = new HashMap<>();
+        if (this.threads == null) {
+            return bytes;
+        }
+        long[] ids = this.threads.getAllThreadIds();
+        long[] counts = this.threads.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            // A thread that has exited since its ID was read reports -1
+            if (counts[i] >= 0) {
+                bytes.put(ids[i], counts[i]);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the number of operations to run between reads of the clock.
+     *
+     * @param nanos the time taken by ops operations
+     * @param ops   the number of operations
+     * @return the batch size
+     */
+    private static int batchSize(long nanos, long ops) {
+        double perOp = Math.max((double) nanos / ops, 1);
+        return (int) Math.max(1, Math.min(BATCH_NANOS / perOp, 1_000_000));
+    }
+
+    /**
+     * Calls the input operation, and consumes its result.
+     *
+     * @param op the operation
+     */
+    private static void call(Callable<?> op) {
+        try {
+            Blackhole.consume(op.call());
+        } catch (Exception e) {
+            throw new IllegalStateException("benchmark failed", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package bench.rice;
+
+import main.rice.node.*;
+import main.rice.obj.PyIntObj;
+import main.rice.obj.PyListObj;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Benchmarks for node generation: genExVals() on every APyNode subclass at several
+ * domain sizes, and genRandVal() throughput.
+ */
+public final class NodeBenchmarks {
+
+    /**
+     * Stateless class; not to be instantiated.
+     */
+    private NodeBenchmarks() {
+    }
+
+    /**
+     * Registers the node benchmarks.
+     *
+     * @param harness the harness to register with
+     */
+    public static void register(Harness harness) {
+        // Leaves, with domains of increasing size
+        for (int size : new int[]{10, 100, 1000}) {
+            PyIntNode intNode = intNode(size);
+            harness.add("genExVals/PyIntNode", "domain=" + size, intNode::genExVals);
+            PyFloatNode floatNode = new PyFloatNode();
+            floatNode.setExDomain(NumberRange.ofDoubles(0, size - 1));
+            floatNode.setRanDomain(NumberRange.ofDoubles(0, size - 1));
+            harness.add("genExVals/PyFloatNode", "domain=" + size, floatNode::genExVals);
+        }
+        PyBoolNode boolNode = new PyBoolNode();
+        boolNode.setExDomain(List.of(0, 1));
+        boolNode.setRanDomain(List.of(0, 1));
+        harness.add("genExVals/PyBoolNode", "domain=2", boolNode::genExVals);
+
+        // Strings, of increasing maximum length
+        for (int length : new int[]{2, 4, 6}) {
+            PyStringNode stringNode = stringNode(length);
+            harness.add("genExVals/PyStringNode", "chars=4,length=0~" + length,
+                    stringNode::genExVals);
+        }
+
+        // Iterables of ints, with children of increasing size
+        for (int size : new int[]{2, 4, 8}) {
+            String params = "child=" + size + ",length=0~3";
+            PyListNode<PyIntObj> listNode = new PyListNode<>(intNode(size));
+            setLengths(listNode, 3);
+            harness.add("genExVals/PyListNode", params, listNode::genExVals);
+            PyTupleNode<PyIntObj> tupleNode = new PyTupleNode<>(intNode(size));
+            setLengths(tupleNode, 3);
+            harness.add("genExVals/PyTupleNode", params, tupleNode::genExVals);
+            PySetNode<PyIntObj> setNode = new PySetNode<>(intNode(size));
+            setLengths(setNode, 3);
+            harness.add("genExVals/PySetNode", params, setNode::genExVals);
+            PyDictNode<PyIntObj, PyIntObj> dictNode = new PyDictNode<>(intNode(size),
+                    intNode(3));
+            setLengths(dictNode, 3);
+            harness.add("genExVals/PyDictNode", "keys=" + size + ",values=3,length=0~3",
+                    dictNode::genExVals);
+        }
+
+        // Random generation, on a leaf and on nested compound nodes
+        PyIntNode intNode = intNode(1000);
+        harness.add("genRandVal/PyIntNode", "domain=1000", intNode::genRandVal);
+        PyStringNode stringNode = stringNode(6);
+        harness.add("genRandVal/PyStringNode", "chars=4,length=0~6", stringNode::genRandVal);
+        PyListNode<PyIntObj> inner = new PyListNode<>(intNode(100));
+        setLengths(inner, 4);
+        PyDictNode<PyIntObj, PyListObj<PyIntObj>> nested = new PyDictNode<>(intNode(100),
+                inner);
+        setLengths(nested, 4);
+        harness.add("genRandVal/PyDictNode", "int:list(int,length=0~4)", nested::genRandVal);
+    }
+
+    /**
+     * Returns an int node whose domains are [0, size).
+     *
+     * @param size the size of the domains
+     * @return the node
+     */
+    private static PyIntNode intNode(int size) {
+        PyIntNode node = new PyIntNode();
+        node.setExDomain(NumberRange.ofInts(0, size - 1));
+        node.setRanDomain(NumberRange.ofInts(0, size - 1));
+        return node;
+    }
+
+    /**
+     * Returns a string node over four characters, whose lengths are [0, maxLength].
+     *
+     * @param maxLength the maximum length
+     * @return the node
+     */
+    private static PyStringNode stringNode(int maxLength) {
+        PyStringNode node = new PyStringNode(Set.of('a', 'b', 'c', 'd'));
+        node.setExDomain(NumberRange.ofInts(0, maxLength));
+        node.setRanDomain(NumberRange.ofInts(0, maxLength));
+        return node;
+    }
+
+    /**
+     * Sets the domains of a compound node to the lengths [0, maxLength].
+     *
+     * @param node      the node
+     * @param maxLength the maximum length
+     */
+    private static void setLengths(APyNode<?> node, int maxLength) {
+        node.setExDomain(NumberRange.ofInts(0, maxLength));
+        node.setRanDomain(NumberRange.ofInts(0, maxLength));
+    }
+}
@@ -0,0 +1,84 @@
+package bench.rice;
+
+import main.rice.obj.*;
+import main.rice.test.TestCase;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks for the object model: hashCode(), equals() and toString() on nested
+ * APyObjs and on TestCases, which the base set generator and the Tester lean on. The
+ * results of hashCode() are boxed by the harness, which accounts for 16 B/op of them.
+ */
+public final class ObjectBenchmarks {
+
+    /**
+     * Stateless class; not to be instantiated.
+     */
+    private ObjectBenchmarks() {
+    }
+
+    /**
+     * Registers the object model benchmarks.
+     *
+     * @param harness the harness to register with
+     */
+    public static void register(Harness harness) {
+        for (int depth = 1; depth <= 3; depth++) {
+            String params = "width=4,depth=" + depth;
+
+            // Two equal values that share no structure, so that equals() walks both
+            APyObj<?> value = nested(4, depth);
+            APyObj<?> copy = nested(4, depth);
+            harness.add("hashCode/nested", params, value::hashCode);
+            harness.add("equals/nested", params, () -> value.equals(copy));
+            harness.add("toString/nested", params, value::toString);
+
+            TestCase testCase = testCase(4, depth);
+            TestCase testCaseCopy = testCase(4, depth);
+            harness.add("hashCode/TestCase", params, testCase::hashCode);
+            harness.add("equals/TestCase", params, () -> testCase.equals(testCaseCopy));
+            harness.add("toString/TestCase", params, testCase::toString);
+        }
+    }
+
+    /**
+     * Returns a nested value: at depth 1, a list of width ints; at greater depths, a
+     * list of width tuples of (string, value one level shallower).
+     *
+     * @param width the number of elements at each level
+     * @param depth the number of levels
+     * @return the value
+     */
+    private static APyObj<?> nested(int width, int depth) {
+        List<APyObj<?>> elements = new ArrayList<>();
+        for (int i = 0; i < width; i++) {
+            if (depth == 1) {
+                elements.add(new PyIntObj(i));
+            } else {
+                elements.add(new PyTupleObj<>(List.of(new PyStringObj("s" + i),
+                        nested(width, depth - 1))));
+            }
+        }
+        return new PyListObj<>(elements);
+    }
+
+    /**
+     * Returns a test case whose arguments are a nested value, a dict, and a float.
+     *
+     * @param width the number of elements at each level of the nested value and dict
+     * @param depth the number of levels of the nested value
+     * @return the test case
+     */
+    private static TestCase testCase(int width, int depth) {
+        Map<PyIntObj, APyObj<?>> dict = new LinkedHashMap<>();
+        for (int i = 0; i < width; i++) {
+            dict.put(new PyIntObj(i), new PyBoolObj(i % 2 == 0));
+        }
+        return new TestCase(List.of(nested(width, depth), new PyDictObj<>(dict),
+                new PyFloatObj(1.5)));
+    }
+}
@@ -0,0 +1,83 @@
+package bench.rice;
+
+import main.rice.concisegen.ConciseSetGenerator;
+import main.rice.test.TestResults;
+
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Benchmarks for the set cover variants in ConciseSetGenerator on synthetic kill
+ * matrices (see SyntheticMatrices) of several shapes, scored by the size of the cover
+ * each variant finds.
+ */
+public final class SetCoverBenchmarks {
+
+    /**
+     * The wall-clock budget of the exact cover, in milliseconds.
+     */
+    private static final long EXACT_BUDGET_MILLIS = 50;
+
+    /**
+     * The matrix shapes, as {tests, implementations, density (percent), duplicates
+     * (percent)} for each distribution.
+     */
+    private static final int[][] SHAPES = {
+            {1000, 200, 2, 0},
+            {1000, 200, 2, 50},
+            {5000, 1000, 1, 0},
+    };
+
+    /**
+     * Stateless class; not to be instantiated.
+     */
+    private SetCoverBenchmarks() {
+    }
+
+    /**
+     * Registers the set cover benchmarks.
+     *
+     * @param harness the harness to register with
+     */
+    public static void register(Harness harness) {
+        for (int[] shape : SHAPES) {
+            for (SyntheticMatrices.Distribution distribution
+                    : SyntheticMatrices.Distribution.values()) {
+                TestResults results = SyntheticMatrices.generate(shape[0], shape[1],
+                        shape[2] / 100.0, distribution, shape[3] / 100.0, 42);
+                String params = String.format("tests=%d,impls=%d,density=%d%%,dups=%d%%,%s",
+                        shape[0], shape[1], shape[2], shape[3],
+                        distribution.name().toLowerCase());
+                add(harness, "setCover/lazyGreedy", params, results,
+                        ConciseSetGenerator::setCover);
+                add(harness, "setCover/greedy", params, results,
+                        r -> ConciseSetGenerator.setCover(r, false));
+                add(harness, "setCover/parallelGreedy", params, results,
+                        r -> ConciseSetGenerator.setCover(r, true));
+                add(harness, "setCover/reduced", params, results,
+                        ConciseSetGenerator::reducedSetCover);
+                add(harness, "setCover/weighted", params, results,
+                        ConciseSetGenerator::weightedSetCover);
+                add(harness, "setCover/multi2", params, results,
+                        r -> ConciseSetGenerator.multiSetCover(r, 2));
+                add(harness, "setCover/exact" + EXACT_BUDGET_MILLIS + "ms", params, results,
+                        r -> ConciseSetGenerator.exactSetCover(r, EXACT_BUDGET_MILLIS));
+            }
+        }
+    }
+
+    /**
+     * Registers a benchmark of a set cover variant, scored by the size of its cover.
+     *
+     * @param harness the harness to register with
+     * @param name    the name of the benchmark
+     * @param params  the parameters of the benchmark
+     * @param results the synthetic results to cover
+     * @param variant the set cover variant
+     */
+    private static void add(Harness harness, String name, String params, TestResults results,
+                            Function<TestResults, ? extends Collection<?>> variant) {
+        harness.add(name, params, () -> variant.apply(results),
+                cover -> ((Collection<?>) cover).size());
+    }
+}
@@ -0,0 +1,171 @@
+package bench.rice;
+
+import main.rice.obj.PyIntObj;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+
+import java.util.*;
+
+/**
+ * Generates synthetic results of testing (kill matrices) with a controllable shape, so
+ * that set cover can be benchmarked on inputs the size of real runs without sharing
+ * real matrices. Generation is deterministic for a given seed.
+ */
+public final class SyntheticMatrices {
+
+    /**
+     * How kills are distributed over the matrix.
+     */
+    public enum Distribution {
+
+        /**
+         * Every test case catches every implementation with the same probability.
+         */
+        UNIFORM,
+
+        /**
+         * Implementations fall into clusters (e.g. students who made the same mistake),
+         * and each test case only catches implementations in one cluster.
+         */
+        CLUSTERED,
+
+        /**
+         * The kill rates of the test cases follow a power law (a few test cases catch
+         * many implementations, and most catch few), and so do the rates at which
+         * implementations are caught (a few are caught by almost every test case, and
+         * many by very few).
+         */
+        POWER_LAW
+    }
+
+    /**
+     * The number of clusters in a CLUSTERED matrix.
+     */
+    private static final int NUM_CLUSTERS = 16;
+
+    /**
+     * The exponent of the power law in a POWER_LAW matrix; the i-th largest rate is
+     * proportional to 1 / i^POWER_LAW_EXPONENT.
+     */
+    private static final double POWER_LAW_EXPONENT = 0.5;
+
+    /**
+     * Stateless class; not to be instantiated.
+     */
+    private SyntheticMatrices() {
+    }
+
+    /**
+     * Generates the results of running numTests test cases on numImpls implementations.
+     * Implementations that no test case catches are left out of the wrong set, as they
+     * would be by the Tester. Each test case also gets a random cost (for the weighted
+     * cover), between 1 and 100 ms, skewed towards cheap test cases.
+     *
+     * @param numTests     the number of test cases
+     * @param numImpls     the number of implementations
+     * @param density      the (approximate) expected fraction of (test case,
+     *                     implementation) pairs in which the test case catches the
+     *                     implementation
+     * @param distribution how the kills are distributed over the matrix
+     * @param duplicates   the fraction of test cases whose rows copy an earlier row
+     * @param seed         the seed for the RNG
+     * @return the synthetic results
+     * @throws IllegalArgumentException if a size is less than 1, or density or
+     *                                  duplicates isn't between 0 and 1
+     */
+    public static TestResults generate(int numTests, int numImpls, double density,
+                                       Distribution distribution, double duplicates,
+                                       long seed) {
+        if (numTests < 1 || numImpls < 1 || density < 0 || density > 1 || duplicates < 0
+                || duplicates > 1) {
+            throw new IllegalArgumentException("invalid matrix shape");
+        }
+        Random rand = new Random(seed);
+
+        // The kill rate of each test case, which averages out to density, and the
+        // relative rate at which each implementation is caught, which averages out to 1
+        double[] rates = new double[numTests];
+        double[] weights = new double[numImpls];
+        Arrays.fill(weights, 1);
+        if (distribution == Distribution.POWER_LAW) {
+            rates = powerLaw(numTests, density, rand);
+            weights = powerLaw(numImpls, 1, rand);
+        } else if (distribution == Distribution.CLUSTERED) {
+            Arrays.fill(rates, Math.min(1, density * Math.min(NUM_CLUSTERS, numImpls)));
+        } else {
+            Arrays.fill(rates, density);
+        }
+
+        List<Set<Integer>> caseToFiles = new ArrayList<>();
+        Set<Integer> wrongSet = new HashSet<>();
+        for (int i = 0; i < numTests; i++) {
+            Set<Integer> caught = new HashSet<>();
+            if (i > 0 && rand.nextDouble() < duplicates) {
+                caught.addAll(caseToFiles.get(rand.nextInt(i)));
+            } else if (distribution == Distribution.CLUSTERED) {
+                // Implementation j is in cluster j % NUM_CLUSTERS
+                int clusters = Math.min(NUM_CLUSTERS, numImpls);
+                int cluster = rand.nextInt(clusters);
+                for (int file = cluster; file < numImpls; file += clusters) {
+                    if (rand.nextDouble() < rates[i]) {
+                        caught.add(file);
+                    }
+                }
+            } else {
+                for (int file = 0; file < numImpls; file++) {
+                    if (rand.nextDouble() < rates[i] * weights[file]) {
+                        caught.add(file);
+                    }
+                }
+            }
+            caseToFiles.add(caught);
+            wrongSet.addAll(caught);
+        }
+
+        List<TestCase> tests = new ArrayList<>();
+        List<Long> costs = new ArrayList<>();
+        for (int i = 0; i < numTests; i++) {
+            tests.add(new TestCase(List.of(new PyIntObj(i))));
+            double skew = rand.nextDouble() * rand.nextDouble();
+            costs.add((long) (1_000_000 * Math.pow(100, skew)));
+        }
+        return new TestResults(tests, caseToFiles, wrongSet, costs);
+    }
+
+    /**
+     * Returns values that follow a power law, in a random order.
+     *
+     * @param size the number of values
+     * @param mean the mean of the values
+     * @param rand the RNG to shuffle with
+     * @return the values
+     */
+    private static double[] powerLaw(int size, double mean, Random rand) {
+        double[] values = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            values[i] = Math.pow(i + 1, -POWER_LAW_EXPONENT);
+            total += values[i];
+        }
+        for (int i = 0; i < size; i++) {
+            values[i] *= mean * size / total;
+        }
+        shuffle(values, rand);
+        return values;
+    }
+
+    /**
+     * Shuffles the input array in place.
+     *
+     * @param values the array to shuffle
+     * @param rand   the RNG to shuffle with
+     */
+    private static void shuffle(double[] values, Random rand) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            double swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+}
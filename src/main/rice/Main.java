@@ -1,18 +1,27 @@
 package main.rice;
 
 import main.rice.basegen.BaseSetGenerator;
+import main.rice.batch.BatchReport;
+import main.rice.batch.BatchRunner;
+import main.rice.batch.BatchServer;
+import main.rice.batch.ImplDirWatcher;
 import main.rice.concisegen.ConciseSetGenerator;
+import main.rice.metrics.Metrics;
 import main.rice.parse.ConfigFile;
 import main.rice.parse.ConfigFileParser;
 import main.rice.parse.InvalidConfigException;
+import main.rice.pipeline.Pipeline;
 import main.rice.test.TestCase;
 import main.rice.test.TestResults;
 import main.rice.test.Tester;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 // TODO: implement the Main class here
 /**
@@ -22,7 +31,18 @@ import java.util.Set;
  */
 public class Main {
     /**
-     * Entry point of the application.
+     * Entry point of the application. With "--batch manifest [numThreads]", runs every
+     * job in the manifest (see BatchRunner) in this JVM and prints the aggregated report
+     * as JSON. With "--serve [port] [numThreads] [root]", starts a daemon that accepts jobs
+     * over HTTP on the loopback interface (see BatchServer) until the JVM is stopped,
+     * printing the token that clients must send. With
+     * "--watch config solution implDir", prints the concise set and then watches implDir,
+     * printing the updated set whenever an implementation is added or changed. With
+     * "--pipeline config solution implDir [numWorkers]", runs the solution and the
+     * implementations as concurrent stages (see Pipeline). Any of these may be preceded
+     * by "--metrics file", which writes the run's metrics (see Metrics) to file as JSON
+     * when the run ends, or, in daemon and watch mode, when the JVM shuts down (a daemon
+     * also serves them at GET /metrics).
      *
      * @param args Command-line arguments containing file paths and parameters
      * @throws IOException            if an I/O error occurs while reading files
@@ -30,7 +50,57 @@ public class Main {
      * @throws InterruptedException  if the execution is interrupted
      */
     public static void main(String[] args) throws IOException, InvalidConfigException, InterruptedException {
-        Set<TestCase> toPrint = generateTests(args);
+        if (args.length > 1 && args[0].equals("--metrics")) {
+            Path file = Path.of(args[1]);
+            String[] rest = Arrays.copyOfRange(args, 2, args.length);
+            if (rest.length > 0 && (rest[0].equals("--serve") || rest[0].equals("--watch"))) {
+                // These modes run until the JVM is stopped, so there is no end of the run
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        Metrics.REGISTRY.writeJson(file);
+                    } catch (IOException e) {
+                        System.err.println("Error: could not write metrics: " + e);
+                    }
+                }));
+                main(rest);
+                return;
+            }
+            try {
+                main(rest);
+            } finally {
+                Metrics.REGISTRY.writeJson(file);
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--batch")) {
+            System.out.println(runBatch(args).toJson().toString(2));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            BatchServer server = serve(args);
+            System.out.println("Listening on 127.0.0.1:" + server.getPort());
+            System.out.println("Token: " + server.getToken());
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--pipeline")) {
+            printTests(generateTestsPipelined(Arrays.copyOfRange(args, 1, args.length)));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--watch")) {
+            watch(Arrays.copyOfRange(args, 1, args.length), Main::printTests).start();
+            // Keep grading until the JVM is stopped
+            Thread.currentThread().join();
+            return;
+        }
+        printTests(generateTests(args));
+    }
+
+    /**
+     * Prints a set of test cases.
+     *
+     * @param toPrint the test cases to print
+     */
+    private static void printTests(Set<TestCase> toPrint) {
         System.out.println("Prints a set of test cases that is an approximately minimal set covering");
         for (TestCase testCase : toPrint) {
             System.out.println(testCase.toString());
@@ -54,4 +124,87 @@ public class Main {
         TestResults testResults = tester.runTests();
         return ConciseSetGenerator.setCover(testResults);
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs a batch of jobs based on the provided arguments.
+     *
+     * @param args Command-line arguments: "--batch", the manifest path, and optionally the
+     *             number of jobs to run at once (by default, the number of processors)
+     * @return the aggregated report
+     * @throws IOException            if the manifest cannot be read
+     * @throws InvalidConfigException if the manifest is malformed
+     * @throws InterruptedException  if the execution is interrupted
+     */
+    public static BatchReport runBatch(String[] args) throws IOException, InvalidConfigException, InterruptedException {
+        int numThreads = (args.length > 2) ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        try (BatchRunner runner = new BatchRunner(numThreads)) {
+            return runner.run(BatchRunner.readManifest(args[1]));
+        }
+    }
+
+    /**
+     * Starts a daemon based on the provided arguments; the daemon's threads keep the JVM
+     * alive, and it is closed when the JVM shuts down.
+     *
+     * @param args Command-line arguments: "--serve", and optionally the port (by default,
+     *             a free port), the number of jobs to run at once (by default, the
+     *             number of processors) and the directory that jobs' files must be in (by
+     *             default, jobs may name any file)
+     * @return the running server
+     * @throws IOException if the port cannot be bound, or the root doesn't exist
+     */
+    public static BatchServer serve(String[] args) throws IOException {
+        int port = (args.length > 1) ? Integer.parseInt(args[1]) : 0;
+        int numThreads = (args.length > 2) ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        Path root = (args.length > 3) ? Path.of(args[3]) : null;
+        BatchServer server = new BatchServer(port, numThreads, root);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        return server;
+    }
+
+    /**
+     * Generates and runs the tests once, as generateTests() does, and then returns a
+     * watcher (not yet started) that grades new and changed implementations against the
+     * same tests and expected results.
+     *
+     * @param args     Command-line arguments containing file paths and parameters
+     * @param onUpdate notified with the concise set now, and again after each update
+     * @return the watcher for the implementation directory
+     * @throws IOException            if an I/O error occurs while reading files
+     * @throws InvalidConfigException if the configuration file is invalid
+     * @throws InterruptedException  if the execution is interrupted
+     */
+    public static ImplDirWatcher watch(String[] args, Consumer<Set<TestCase>> onUpdate) throws IOException, InvalidConfigException, InterruptedException {
+        ConfigFile configFile = ConfigFileParser.parse(ConfigFileParser.readFile(args[0]));
+        BaseSetGenerator baseSetGenerator = new BaseSetGenerator(configFile.getNodes(), configFile.getNumRand());
+        Tester tester = new Tester(configFile.getFuncName(), args[1], args[2], baseSetGenerator.genBaseSet());
+        tester.computeExpectedResults();
+        ImplDirWatcher watcher = new ImplDirWatcher(tester, args[2], tester.runTests());
+        onUpdate.accept(watcher.getCover().getHittingSet());
+        watcher.setUpdateListener(onUpdate);
+        return watcher;
+    }
+
+    /**
+     * Generates a set of test cases as generateTests() does, but runs the solution and
+     * the implementations as a pipeline of concurrent stages.
+     *
+     * @param args Command-line arguments containing file paths and, optionally, the number
+     *             of workers per stage (by default, the number of processors)
+     * @return a set of test cases
+     * @throws IOException            if an I/O error occurs while reading files
+     * @throws InvalidConfigException if the configuration file is invalid
+     * @throws InterruptedException  if the execution is interrupted
+     */
+    public static Set<TestCase> generateTestsPipelined(String[] args) throws IOException, InvalidConfigException, InterruptedException {
+        ConfigFile configFile = ConfigFileParser.parse(ConfigFileParser.readFile(args[0]));
+        int numWorkers = (args.length > 3) ? Integer.parseInt(args[3])
+                : Runtime.getRuntime().availableProcessors();
+        TestResults testResults = new Pipeline(numWorkers, numWorkers, 4 * numWorkers)
+                .run(configFile, args[1], args[2]);
+        return ConciseSetGenerator.setCover(testResults);
+    }
+}
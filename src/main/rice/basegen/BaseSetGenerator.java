@@ -1,5 +1,7 @@
 package main.rice.basegen;
 
+import main.rice.jfr.ExhaustiveGenerationEvent;
+import main.rice.metrics.Metrics;
 import main.rice.node.APyNode;
 import main.rice.obj.APyObj;
 import main.rice.test.TestCase;
@@ -33,15 +35,40 @@ public class BaseSetGenerator {
         this.numRand = numRand;
     }
 
+    /**
+     * Constructor for a BaseSetGenerator whose random tests are reproducible: every node
+     * (including the nodes nested within each tree) is re-seeded from a master RNG
+     * seeded with the input seed, so two generators constructed with the same seed (and
+     * equivalent nodes) generate identical base sets, in identical orders.
+     *
+     * @param nodes   the nodes that will be used to perform generation
+     * @param numRand the number of random cases to generate
+     * @param seed    the seed for random generation
+     */
+    public BaseSetGenerator(List<APyNode<?>> nodes, int numRand, long seed) {
+        this(nodes, numRand);
+        Random master = new Random(seed);
+        for (APyNode<?> node : nodes) {
+            seedTree(node, master);
+        }
+    }
+
     /**
      * Generates a the base test set (the union of the semi-exhaustive and random test
      * sets) according to the type and domain specifications in the input list of nodes.
      * Each output test case encapsulates a list of arguments (APyObjs), where the i-th
      * argument is typified by the i-th element in nodes.
      *
+     * The order of the output is stable, since test indices are used to identify tests
+     * throughout testing: the exhaustive tests come first, in lexicographic order of
+     * their arguments' positions within each node's exhaustive values (so the last
+     * argument varies fastest), followed by the random tests in the order in which they
+     * were generated (which is reproducible if a seed was supplied).
+     *
      * @return the base test set (as a List, so that we can use indices in the Tester)
      */
     public List<TestCase> genBaseSet() {
+        long start = System.nanoTime();
         Set<TestCase> exTests = this.genExTests();
         Set<TestCase> randTests = this.genRandTests(exTests);
 
@@ -49,12 +76,15 @@ public class BaseSetGenerator {
         List<TestCase> allTests = new ArrayList<>();
         allTests.addAll(exTests);
         allTests.addAll(randTests);
+        Metrics.BASE_SET_GENERATION.recordSince(start);
+        Metrics.TESTS_GENERATED.add(allTests.size());
         return allTests;
     }
 
     /**
      * Exbaustively generates a set of all valid test cases within the exhaustive
-     * domains stored within the nodes.
+     * domains stored within the nodes; the set iterates in the order described in
+     * genBaseSet().
      *
      * @return a set of valid test cases according to the given specifications
      */
@@ -62,14 +92,14 @@ public class BaseSetGenerator {
         // For each parameter, generate the set of all possible arguments
         List<Set<? extends APyObj<?>>> possibleArgs = new ArrayList<>();
         for (APyNode<?> node : this.nodes) {
-            Set<? extends APyObj<?>> args = node.genExVals();
+            Set<? extends APyObj<?>> args = ExhaustiveGenerationEvent.genExVals(node);
             possibleArgs.add(args);
         }
 
         // Generate all possible combinations of arguments (selecting one valid argument
         // for each parameter)
         List<List<APyObj<?>>> combos = generateArgCombos(possibleArgs, 0);
-        Set<TestCase> tests = new HashSet<>();
+        Set<TestCase> tests = new LinkedHashSet<>();
 
         // Encapsulate the results within TestCase objects and return
         for (List<APyObj<?>> combo : combos) {
@@ -89,7 +119,7 @@ public class BaseSetGenerator {
      */
     public Set<TestCase> genRandTests(Set<TestCase> exTests) {
         int numAccepted = 0;
-        Set<TestCase> randTests = new HashSet<>();
+        Set<TestCase> randTests = new LinkedHashSet<>();
 
         // Randomly generate one test at a time until we've generated enough. Need to
         // continually check the size in case we randomly generate the same test twice
@@ -155,4 +185,20 @@ public class BaseSetGenerator {
         }
         return allCombos;
     }
+
+    /**
+     * Helper function for the seeded constructor; re-seeds the input node and all of its
+     * descendants, drawing each seed from the input master RNG.
+     *
+     * @param node   the root of the tree to be seeded; may be null
+     * @param master the RNG from which seeds are drawn
+     */
+    private static void seedTree(APyNode<?> node, Random master) {
+        if (node == null) {
+            return;
+        }
+        node.setSeed(master.nextLong());
+        seedTree(node.getLeftChild(), master);
+        seedTree(node.getRightChild(), master);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package main.rice.batch;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * A client for a BatchServer running on the local machine, standing in for the LMS
+ * integration that submits jobs to the daemon.
+ */
+public class BatchClient {
+
+    /**
+     * The base URI of the server.
+     */
+    private final URI base;
+
+    /**
+     * The token the server requires (see BatchServer.getToken()).
+     */
+    private final String token;
+
+    /**
+     * The HTTP client.
+     */
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Constructor for a BatchClient that talks to the server on the input local port.
+     *
+     * @param port  the port the server is listening on
+     * @param token the token the server requires
+     */
+    public BatchClient(int port, String token) {
+        this.base = URI.create("http://127.0.0.1:" + port);
+        this.token = token;
+    }
+
+    /**
+     * Checks that the server is up.
+     *
+     * @return the server's health report
+     * @throws IOException if the server cannot be reached or reports an error
+     * @throws InterruptedException if interrupted while waiting for the server
+     */
+    public JSONObject health() throws IOException, InterruptedException {
+        return this.send(this.request("/health").GET());
+    }
+
+    /**
+     * Fetches the server's metrics.
+     *
+     * @return the metrics, in the Prometheus text format
+     * @throws IOException if the server cannot be reached or reports an error
+     * @throws InterruptedException if interrupted while waiting for the server
+     */
+    public String metrics() throws IOException, InterruptedException {
+        HttpResponse<String> response = this.client.send(this.request("/metrics").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("server error " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Runs a single job on the server.
+     *
+     * @param job the job to run
+     * @return the JSON form of the job's result (see JobResult.toJson())
+     * @throws IOException if the server cannot be reached or reports an error
+     * @throws InterruptedException if interrupted while waiting for the server
+     */
+    public JSONObject submit(BatchJob job) throws IOException, InterruptedException {
+        return this.post("/jobs", toJson(job));
+    }
+
+    /**
+     * Runs a batch of jobs on the server.
+     *
+     * @param jobs the jobs to run
+     * @return the JSON form of the batch's report (see BatchReport.toJson())
+     * @throws IOException if the server cannot be reached or reports an error
+     * @throws InterruptedException if interrupted while waiting for the server
+     */
+    public JSONObject submitBatch(List<BatchJob> jobs) throws IOException, InterruptedException {
+        JSONArray array = new JSONArray();
+        for (BatchJob job : jobs) {
+            array.put(toJson(job));
+        }
+        return this.post("/batch", new JSONObject().put("jobs", array));
+    }
+
+    /**
+     * Asks the server to drop its cached base sets and results.
+     *
+     * @throws IOException if the server cannot be reached or reports an error
+     * @throws InterruptedException if interrupted while waiting for the server
+     */
+    public void clearCaches() throws IOException, InterruptedException {
+        this.post("/cache/clear", new JSONObject());
+    }
+
+    /**
+     * Posts the input JSON to the input path.
+     *
+     * @param path the path of the endpoint
+     * @param body the request body
+     * @return the response
+     * @throws IOException if the server cannot be reached or reports an error
+     * @throws InterruptedException if interrupted while waiting for the server
+     */
+    private JSONObject post(String path, JSONObject body) throws IOException, InterruptedException {
+        return this.send(this.request(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())));
+    }
+
+    /**
+     * Starts building a request to the input path, carrying the token.
+     *
+     * @param path the path of the endpoint
+     * @return the request builder
+     */
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(this.base.resolve(path))
+                .header("Authorization", "Bearer " + this.token);
+    }
+
+    /**
+     * Sends a request and parses the JSON response.
+     *
+     * @param request the request to send
+     * @return the response
+     * @throws IOException if the server cannot be reached or reports an error
+     * @throws InterruptedException if interrupted while waiting for the server
+     */
+    private JSONObject send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = this.client.send(request.build(),
+                HttpResponse.BodyHandlers.ofString());
+        JSONObject json = new JSONObject(response.body());
+        if (response.statusCode() != 200) {
+            throw new IOException("server error " + response.statusCode() + ": "
+                    + json.optString("error"));
+        }
+        return json;
+    }
+
+    /**
+     * Returns the JSON form of a job.
+     *
+     * @param job the job
+     * @return {"config": ..., "solution": ..., "impls": ...}
+     */
+    private static JSONObject toJson(BatchJob job) {
+        return new JSONObject().put("config", job.getConfigPath())
+                .put("solution", job.getSolutionPath()).put("impls", job.getImplDirPath());
+    }
+}
@@ -0,0 +1,98 @@
+package main.rice.batch;
+
+import java.util.Objects;
+
+/**
+ * A single job in a batch: the inputs of one Main.generateTests() run, i.e. a config
+ * file, a reference solution and a directory of implementations to test.
+ */
+public final class BatchJob {
+
+    /**
+     * The path to the config file.
+     */
+    private final String configPath;
+
+    /**
+     * The path to the reference solution.
+     */
+    private final String solutionPath;
+
+    /**
+     * The path to the directory of implementations.
+     */
+    private final String implDirPath;
+
+    /**
+     * Constructor for a BatchJob.
+     *
+     * @param configPath   the path to the config file
+     * @param solutionPath the path to the reference solution
+     * @param implDirPath  the path to the directory of implementations
+     */
+    public BatchJob(String configPath, String solutionPath, String implDirPath) {
+        this.configPath = Objects.requireNonNull(configPath);
+        this.solutionPath = Objects.requireNonNull(solutionPath);
+        this.implDirPath = Objects.requireNonNull(implDirPath);
+    }
+
+    /**
+     * Returns the path to the config file.
+     *
+     * @return the config path
+     */
+    public String getConfigPath() {
+        return this.configPath;
+    }
+
+    /**
+     * Returns the path to the reference solution.
+     *
+     * @return the solution path
+     */
+    public String getSolutionPath() {
+        return this.solutionPath;
+    }
+
+    /**
+     * Returns the path to the directory of implementations.
+     *
+     * @return the implementation directory path
+     */
+    public String getImplDirPath() {
+        return this.implDirPath;
+    }
+
+    /**
+     * Compares this job to the input object.
+     *
+     * @param obj the object to compare against
+     * @return true if obj is a job with the same paths; false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return (obj instanceof BatchJob other) && this.configPath.equals(other.configPath)
+                && this.solutionPath.equals(other.solutionPath)
+                && this.implDirPath.equals(other.implDirPath);
+    }
+
+    /**
+     * Returns the hash code of this job.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.configPath, this.solutionPath, this.implDirPath);
+    }
+
+    /**
+     * Returns a string representation of this job.
+     *
+     * @return the paths of the job
+     */
+    @Override
+    public String toString() {
+        return "(" + this.configPath + ", " + this.solutionPath + ", " + this.implDirPath + ")";
+    }
+}
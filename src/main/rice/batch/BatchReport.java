@@ -0,0 +1,83 @@
+package main.rice.batch;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.List;
+
+/**
+ * The aggregated report of a batch run: the result of every job, in manifest order.
+ */
+public final class BatchReport {
+
+    /**
+     * The result of every job, in manifest order.
+     */
+    private final List<JobResult> results;
+
+    /**
+     * The wall-clock time taken by the whole batch, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Constructor for a BatchReport.
+     *
+     * @param results      the result of every job, in manifest order
+     * @param elapsedNanos the wall-clock time taken by the batch, in nanoseconds
+     */
+    public BatchReport(List<JobResult> results, long elapsedNanos) {
+        this.results = List.copyOf(results);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the result of every job, in manifest order.
+     *
+     * @return the job results
+     */
+    public List<JobResult> getResults() {
+        return this.results;
+    }
+
+    /**
+     * Returns the number of jobs that failed.
+     *
+     * @return the number of failed jobs
+     */
+    public int numFailed() {
+        int failed = 0;
+        for (JobResult result : this.results) {
+            if (!result.isSuccess()) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Returns the wall-clock time taken by the whole batch.
+     *
+     * @return the elapsed time, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns this report as a JSON object.
+     *
+     * @return the JSON form of this report
+     */
+    public JSONObject toJson() {
+        JSONArray jobs = new JSONArray();
+        for (JobResult result : this.results) {
+            jobs.put(result.toJson());
+        }
+        JSONObject json = new JSONObject();
+        json.put("jobs", jobs);
+        json.put("failed", this.numFailed());
+        json.put("elapsed millis", this.elapsedNanos / 1_000_000);
+        return json;
+    }
+}
@@ -0,0 +1,392 @@
+package main.rice.batch;
+
+import main.rice.basegen.BaseSetGenerator;
+import main.rice.concisegen.ConciseSetGenerator;
+import main.rice.metrics.Metrics;
+import main.rice.parse.ConfigFile;
+import main.rice.parse.ConfigFileParser;
+import main.rice.parse.InvalidConfigException;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+import main.rice.test.Tester;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs many (config, solution, implementation directory) jobs in a single JVM. Jobs run
+ * concurrently on a shared, fixed-size pool of workers (the global concurrency budget),
+ * and share two caches:
+ *
+ * - generated base sets, keyed by the contents of the config file, so jobs with the
+ *   same config test with the same base set without generating it again; and
+ * - job results, keyed by the config contents, the solution path and a hash of its
+ *   contents, and the names, sizes and modification times of the implementations, so a
+ *   job whose inputs haven't changed is only run once.
+ *
+ * Since a Tester writes helper files into the implementation directory and a footer
+ * into the solution, jobs that share an implementation directory (or a solution) are
+ * serialized on it.
+ */
+public class BatchRunner implements AutoCloseable {
+
+    /**
+     * The maximum number of times a solution is read while waiting for it to settle (see
+     * hashSolution()).
+     */
+    private static final int MAX_SOLUTION_READS = 10;
+
+    /**
+     * The shared pool of workers.
+     */
+    private final ExecutorService workers;
+
+    /**
+     * The base sets generated so far, keyed by the contents of their config file.
+     */
+    private final Map<String, CompletableFuture<List<TestCase>>> baseSets =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The results of the jobs run so far, keyed by the fingerprint of their inputs.
+     */
+    private final Map<String, CompletableFuture<JobResult>> results =
+            new ConcurrentHashMap<>();
+
+    /**
+     * A lock object for each implementation directory and solution in use.
+     */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for a BatchRunner with the input concurrency budget.
+     *
+     * @param numThreads the maximum number of jobs to run at once
+     * @throws IllegalArgumentException if numThreads is less than 1
+     */
+    public BatchRunner(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("numThreads must be at least 1");
+        }
+        AtomicInteger count = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(numThreads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reads a manifest file, of the form
+     * {"jobs": [{"config": ..., "solution": ..., "impls": ...}, ...]}. Relative paths
+     * are resolved against the directory containing the manifest.
+     *
+     * @param manifestPath the path to the manifest
+     * @return the jobs in the manifest, in order
+     * @throws IOException            if the manifest cannot be read
+     * @throws InvalidConfigException if the manifest is malformed
+     */
+    public static List<BatchJob> readManifest(String manifestPath)
+            throws IOException, InvalidConfigException {
+        Path base = Path.of(manifestPath).toAbsolutePath().getParent();
+        return parseJobs(ConfigFileParser.readFile(manifestPath), base);
+    }
+
+    /**
+     * Parses the jobs in a manifest, of the form
+     * {"jobs": [{"config": ..., "solution": ..., "impls": ...}, ...]}.
+     *
+     * @param manifest the contents of the manifest
+     * @param base     the directory against which relative paths are resolved
+     * @return the jobs in the manifest, in order
+     * @throws InvalidConfigException if the manifest is malformed
+     */
+    static List<BatchJob> parseJobs(String manifest, Path base) throws InvalidConfigException {
+        List<BatchJob> jobs = new ArrayList<>();
+        try {
+            JSONArray array = new JSONObject(manifest).getJSONArray("jobs");
+            for (int i = 0; i < array.length(); i++) {
+                jobs.add(parseJob(array.getJSONObject(i), base));
+            }
+        } catch (JSONException e) {
+            throw new InvalidConfigException("Malformed manifest: " + e.getMessage());
+        }
+        return jobs;
+    }
+
+    /**
+     * Parses a single job, of the form {"config": ..., "solution": ..., "impls": ...}.
+     *
+     * @param job  the JSON form of the job
+     * @param base the directory against which relative paths are resolved
+     * @return the job
+     * @throws JSONException if a path is missing
+     */
+    static BatchJob parseJob(JSONObject job, Path base) {
+        return new BatchJob(base.resolve(job.getString("config")).toString(),
+                base.resolve(job.getString("solution")).toString(),
+                base.resolve(job.getString("impls")).toString());
+    }
+
+    /**
+     * Runs all of the input jobs, concurrently within the concurrency budget, and
+     * waits for them to finish. A job that fails doesn't stop the others; its error is
+     * recorded in the report.
+     *
+     * @param jobs the jobs to run
+     * @return the report, with the results in the same order as jobs
+     * @throws InterruptedException if interrupted while waiting for the jobs
+     */
+    public BatchReport run(List<BatchJob> jobs) throws InterruptedException {
+        long start = System.nanoTime();
+        List<CompletableFuture<JobResult>> futures = new ArrayList<>();
+        for (BatchJob job : jobs) {
+            futures.add(this.submit(job));
+        }
+        List<JobResult> jobResults = new ArrayList<>();
+        for (CompletableFuture<JobResult> future : futures) {
+            try {
+                jobResults.add(future.get());
+            } catch (ExecutionException e) {
+                // Jobs record their own errors, so this is unexpected
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return new BatchReport(jobResults, System.nanoTime() - start);
+    }
+
+    /**
+     * Submits a job to the pool, or returns the cached result if an identical job
+     * (with unchanged inputs) was already submitted.
+     *
+     * @param job the job to run
+     * @return a future for the job's result, which always completes normally
+     */
+    public CompletableFuture<JobResult> submit(BatchJob job) {
+        String key;
+        try {
+            key = this.fingerprint(job);
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(JobResult.failure(job, e.toString(), 0));
+        }
+
+        CompletableFuture<JobResult> future = new CompletableFuture<>();
+        CompletableFuture<JobResult> existing = this.results.putIfAbsent(key, future);
+        if (existing != null) {
+            Metrics.RESULT_CACHE_HITS.increment();
+            return existing;
+        }
+        this.workers.execute(() -> {
+            Metrics.BATCH_WORKERS.add(1);
+            JobResult result;
+            try {
+                result = this.runJob(job);
+            } finally {
+                Metrics.BATCH_WORKERS.add(-1);
+            }
+            if (!result.isSuccess()) {
+                // Let a later submission retry the job
+                this.results.remove(key, future);
+            }
+            future.complete(result);
+        });
+        return future;
+    }
+
+    /**
+     * Drops all cached base sets and job results.
+     */
+    public void clearCaches() {
+        this.baseSets.clear();
+        this.results.clear();
+    }
+
+    /**
+     * Stops the workers; jobs that are running are allowed to finish.
+     */
+    @Override
+    public void close() {
+        this.workers.shutdown();
+    }
+
+    /**
+     * Runs a single job on the current thread, catching any error.
+     *
+     * @param job the job to run
+     * @return the result of the job
+     */
+    private JobResult runJob(BatchJob job) {
+        long start = System.nanoTime();
+        try {
+            String contents = ConfigFileParser.readFile(job.getConfigPath());
+            ConfigFile config = ConfigFileParser.parse(contents);
+            List<TestCase> baseSet = this.baseSet(contents, config);
+
+            // The tester writes into both the implementation directory and the solution
+            TestResults testResults;
+            synchronized (this.lock(job.getImplDirPath())) {
+                Tester tester = new Tester(config.getFuncName(), job.getSolutionPath(),
+                        job.getImplDirPath(), baseSet);
+                synchronized (this.lock(job.getSolutionPath())) {
+                    tester.computeExpectedResults();
+                }
+                testResults = tester.runTests();
+            }
+            Set<TestCase> conciseSet = ConciseSetGenerator.setCover(testResults);
+            return JobResult.success(job, conciseSet, baseSet.size(),
+                    testResults.getWrongSet().size(), System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return JobResult.failure(job, e.toString(), System.nanoTime() - start);
+        } catch (Exception e) {
+            return JobResult.failure(job, e.toString(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns the base set for the input config, generating it if no job with the same
+     * config contents has done so yet.
+     *
+     * @param contents the contents of the config file
+     * @param config   the parsed config file
+     * @return the base set
+     */
+    private List<TestCase> baseSet(String contents, ConfigFile config) {
+        CompletableFuture<List<TestCase>> future = new CompletableFuture<>();
+        CompletableFuture<List<TestCase>> existing = this.baseSets.putIfAbsent(contents, future);
+        if (existing != null) {
+            Metrics.BASE_SET_CACHE_HITS.increment();
+            return existing.join();
+        }
+        try {
+            List<TestCase> baseSet = List.copyOf(new BaseSetGenerator(config.getNodes(),
+                    config.getNumRand()).genBaseSet());
+            future.complete(baseSet);
+            return baseSet;
+        } catch (RuntimeException e) {
+            this.baseSets.remove(contents, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the lock object for the input path.
+     *
+     * @param path the path of a file or directory
+     * @return the lock object for the path
+     */
+    private Object lock(String path) {
+        String canonical;
+        try {
+            canonical = new File(path).getCanonicalPath();
+        } catch (IOException e) {
+            canonical = new File(path).getAbsolutePath();
+        }
+        return this.locks.computeIfAbsent(canonical, k -> new Object());
+    }
+
+    /**
+     * Returns a string that identifies the inputs of a job: the contents of the config
+     * file, the solution path and a hash of its contents, and the name, size and
+     * modification time of each implementation.
+     *
+     * @param job the job
+     * @return the fingerprint of the job's inputs
+     * @throws IOException if the config file, solution or implementation directory can't
+     *                     be read
+     */
+    private String fingerprint(BatchJob job) throws IOException {
+        StringBuilder key = new StringBuilder(ConfigFileParser.readFile(job.getConfigPath()));
+        key.append('\0').append(new File(job.getSolutionPath()).getAbsolutePath());
+        key.append('\0').append(this.hashSolution(job.getSolutionPath()));
+        key.append('\0').append(new File(job.getImplDirPath()).getAbsolutePath());
+        String[] filenames = new File(job.getImplDirPath()).list();
+        if (filenames == null) {
+            throw new IOException("Error: implDir is empty");
+        }
+        Arrays.sort(filenames);
+        for (String filename : filenames) {
+            if (!filename.endsWith(".py") || filename.equals("wrapper.py")
+                    || filename.equals("expected.py")) {
+                continue;
+            }
+            File file = new File(job.getImplDirPath(), filename);
+            key.append('\0').append(filename).append(':').append(file.length())
+                    .append(':').append(file.lastModified());
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns a hash of the contents of a solution, ignoring the footer that a Tester
+     * appends (everything from the first "import sys", as in Tester.appendToSolution())
+     * and any trailing whitespace before it, so that running a job doesn't change the
+     * hash of its own solution but editing the solution does.
+     *
+     * The solution is read without its lock, which a running job holds for its whole
+     * solution phase; instead, it is re-read until two reads in a row agree and don't
+     * end in part of a footer, since a job may be rewriting the footer. If the file never
+     * settles, the last read is used, which at worst costs a cache miss.
+     *
+     * @param solutionPath the path to the solution
+     * @return the hex-encoded SHA-256 of the solution's contents
+     * @throws IOException if the solution can't be read
+     */
+    private String hashSolution(String solutionPath) throws IOException {
+        String body = readSolutionBody(solutionPath);
+        for (int i = 1; i < MAX_SOLUTION_READS; i++) {
+            LockSupport.parkNanos(1_000_000);
+            String again = readSolutionBody(solutionPath);
+            if (again.equals(body) && !endsInPartialFooter(body)) {
+                break;
+            }
+            body = again;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(body.getBytes(
+                    StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads the part of a solution before its footer, without trailing whitespace.
+     *
+     * @param solutionPath the path to the solution
+     * @return the solution's body
+     * @throws IOException if the solution can't be read
+     */
+    private static String readSolutionBody(String solutionPath) throws IOException {
+        String contents = new String(Files.readAllBytes(Path.of(solutionPath)),
+                StandardCharsets.UTF_8);
+        return contents.split("import sys")[0].stripTrailing();
+    }
+
+    /**
+     * Returns true if the input body ends in a line that is a proper prefix of
+     * "import sys", i.e. the start of a footer that is still being written.
+     *
+     * @param body the body of a solution
+     * @return true if the body may be cut off mid-footer; false otherwise
+     */
+    private static boolean endsInPartialFooter(String body) {
+        String lastLine = body.substring(body.lastIndexOf('\n') + 1);
+        return !lastLine.isEmpty() && "import sys".startsWith(lastLine);
+    }
+}
@@ -0,0 +1,350 @@
+package main.rice.batch;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import main.rice.metrics.Metrics;
+import main.rice.parse.InvalidConfigException;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A long-running daemon that accepts generation and grading jobs over HTTP on the
+ * loopback interface, so that callers don't pay for JVM startup on every job. All
+ * requests share one BatchRunner, so its worker pool, JIT-compiled code, and base-set
+ * and result caches stay warm between requests. The endpoints are:
+ *
+ * - GET /health: {"status": "ok", "requests": n}
+ * - POST /jobs with {"config": ..., "solution": ..., "impls": ...}: runs one job and
+ *   responds with its result
+ * - POST /batch with {"jobs": [...]}: runs a batch and responds with its report
+ * - POST /cache/clear: drops the cached base sets and results
+ * - GET /metrics: the process's metrics, in the Prometheus text format
+ *
+ * Since jobs name files that the daemon overwrites and executes, every request must
+ * carry the token generated when the server was created (see getToken()), as
+ * "Authorization: Bearer token", or it is rejected with status 401. Requests with an
+ * Origin header come from a browser, and are rejected with status 403 so that a web
+ * page can't drive the daemon; POSTs must have the Content-Type application/json
+ * (status 415), which a cross-origin form can't send without a preflight.
+ *
+ * Relative paths in jobs are resolved against the daemon's working directory; if the
+ * server was given a root, jobs whose files are outside it are rejected with status 403.
+ * Errors are reported as {"error": message}, with status 400 for malformed requests.
+ */
+public class BatchServer implements AutoCloseable {
+
+    /**
+     * The runner shared by all requests.
+     */
+    private final BatchRunner runner;
+
+    /**
+     * The HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * The threads that handle requests (which mostly wait for jobs on the runner).
+     */
+    private final ExecutorService handlers;
+
+    /**
+     * The number of job requests handled so far.
+     */
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * The directory against which relative paths in jobs are resolved.
+     */
+    private final Path base = Path.of("").toAbsolutePath();
+
+    /**
+     * The (real) directory that every file named by a job must be in, or null if jobs
+     * may name any file.
+     */
+    private final Path root;
+
+    /**
+     * The token that every request must carry.
+     */
+    private final String token;
+
+    /**
+     * A request that was refused before reaching its endpoint.
+     */
+    private static final class RejectedException extends Exception {
+
+        /**
+         * The serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The HTTP status to respond with.
+         */
+        private final int status;
+
+        /**
+         * Constructor for a RejectedException.
+         *
+         * @param status  the HTTP status to respond with
+         * @param message the reason the request was refused
+         */
+        RejectedException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Constructor for a BatchServer whose jobs may name any file; binds to the loopback
+     * interface, but doesn't start accepting requests until start() is called.
+     *
+     * @param port       the port to listen on, or 0 to pick a free port
+     * @param numThreads the maximum number of jobs to run at once
+     * @throws IOException if the port cannot be bound
+     */
+    public BatchServer(int port, int numThreads) throws IOException {
+        this(port, numThreads, null);
+    }
+
+    /**
+     * Constructor for a BatchServer; binds to the loopback interface, but doesn't start
+     * accepting requests until start() is called.
+     *
+     * @param port       the port to listen on, or 0 to pick a free port
+     * @param numThreads the maximum number of jobs to run at once
+     * @param root       the directory that every file named by a job must be in, or
+     *                   null if jobs may name any file
+     * @throws IOException if the port cannot be bound, or the root doesn't exist
+     */
+    public BatchServer(int port, int numThreads, Path root) throws IOException {
+        this.root = (root == null) ? null : root.toRealPath();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.token = HexFormat.of().formatHex(secret);
+        this.runner = new BatchRunner(numThreads);
+        this.server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.handlers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "batch-server-handler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(this.handlers);
+        this.server.createContext("/health", exchange -> this.handle(exchange, "GET",
+                body -> new JSONObject().put("status", "ok").put("requests", this.requests.get())));
+        this.server.createContext("/jobs", exchange -> this.handle(exchange, "POST", body -> {
+            this.requests.incrementAndGet();
+            BatchJob job = BatchRunner.parseJob(new JSONObject(body), this.base);
+            this.checkRoot(job);
+            return this.runner.submit(job).get().toJson();
+        }));
+        this.server.createContext("/batch", exchange -> this.handle(exchange, "POST", body -> {
+            this.requests.incrementAndGet();
+            List<BatchJob> jobs = BatchRunner.parseJobs(body, this.base);
+            for (BatchJob job : jobs) {
+                this.checkRoot(job);
+            }
+            return this.runner.run(jobs).toJson();
+        }));
+        this.server.createContext("/cache/clear", exchange -> this.handle(exchange, "POST",
+                body -> {
+                    this.runner.clearCaches();
+                    return new JSONObject().put("status", "ok");
+                }));
+        this.server.createContext("/metrics", this::handleMetrics);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the token that requests must carry; it is only valid for the lifetime of
+     * this server, and should be handed to clients out of band.
+     *
+     * @return the token
+     */
+    public String getToken() {
+        return this.token;
+    }
+
+    /**
+     * Stops accepting requests, and stops the runner.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.handlers.shutdownNow();
+        this.runner.close();
+    }
+
+    /**
+     * Computes the response to a request body.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+
+        /**
+         * Computes the response to the input request body.
+         *
+         * @param body the request body
+         * @return the response
+         * @throws Exception if the request cannot be handled
+         */
+        JSONObject respond(String body) throws Exception;
+    }
+
+    /**
+     * Handles a request for the metrics, which are sent in the Prometheus text format.
+     *
+     * @param exchange the request and response
+     * @throws IOException if the response cannot be sent
+     */
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.readAllBytes();
+        }
+        int status = 200;
+        String text;
+        try {
+            this.authorize(exchange, "GET");
+            text = Metrics.REGISTRY.toPrometheus();
+        } catch (RejectedException e) {
+            status = e.status;
+            text = e.getMessage() + "\n";
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Handles a request by checking its method, running the endpoint on its body and
+     * sending the result (or error) as JSON.
+     *
+     * @param exchange the request and response
+     * @param method   the HTTP method the endpoint accepts
+     * @param endpoint computes the response
+     * @throws IOException if the response cannot be sent
+     */
+    private void handle(HttpExchange exchange, String method, Endpoint endpoint)
+            throws IOException {
+        int status = 200;
+        JSONObject response;
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            this.authorize(exchange, method);
+            response = endpoint.respond(body);
+        } catch (RejectedException e) {
+            status = e.status;
+            response = new JSONObject().put("error", e.getMessage());
+        } catch (JSONException | InvalidConfigException e) {
+            status = 400;
+            response = new JSONObject().put("error", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = 503;
+            response = new JSONObject().put("error", e.toString());
+        } catch (ExecutionException e) {
+            status = 500;
+            response = new JSONObject().put("error", e.getCause().toString());
+        } catch (Exception e) {
+            status = 500;
+            response = new JSONObject().put("error", e.toString());
+        }
+
+        byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Checks that a request may reach its endpoint: that it doesn't come from a browser,
+     * that it carries the token, that it uses the endpoint's method and, for a POST, that
+     * its body is JSON.
+     *
+     * @param exchange the request
+     * @param method   the HTTP method the endpoint accepts
+     * @throws RejectedException if the request is refused
+     */
+    private void authorize(HttpExchange exchange, String method) throws RejectedException {
+        if (exchange.getRequestHeaders().containsKey("Origin")) {
+            throw new RejectedException(403, "cross-origin requests are not accepted");
+        }
+        String auth = exchange.getRequestHeaders().getFirst("Authorization");
+        byte[] presented = (auth == null || !auth.startsWith("Bearer ")) ? new byte[0]
+                : auth.substring("Bearer ".length()).getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(presented, this.token.getBytes(StandardCharsets.UTF_8))) {
+            throw new RejectedException(401, "missing or invalid token");
+        }
+        if (!exchange.getRequestMethod().equals(method)) {
+            throw new RejectedException(405, "expected " + method);
+        }
+        String type = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (method.equals("POST") && (type == null
+                || !type.split(";")[0].trim().equalsIgnoreCase("application/json"))) {
+            throw new RejectedException(415, "expected Content-Type application/json");
+        }
+    }
+
+    /**
+     * Checks that every file named by a job is in the root, if the server has one.
+     *
+     * @param job the job
+     * @throws RejectedException if a file is outside the root
+     * @throws IOException       if a file's real path cannot be resolved
+     */
+    private void checkRoot(BatchJob job) throws RejectedException, IOException {
+        if (this.root == null) {
+            return;
+        }
+        for (String path : List.of(job.getConfigPath(), job.getSolutionPath(),
+                job.getImplDirPath())) {
+            // Resolve symbolic links, so that a link inside the root can't point out
+            Path real = Path.of(path).normalize();
+            if (Files.exists(real)) {
+                real = real.toRealPath();
+            }
+            if (!real.startsWith(this.root)) {
+                throw new RejectedException(403, path + " is outside " + this.root);
+            }
+        }
+    }
+}
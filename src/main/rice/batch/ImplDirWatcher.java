@@ -0,0 +1,277 @@
+package main.rice.batch;
+
+import main.rice.concisegen.IncrementalCover;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+import main.rice.test.Tester;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches a Tester's directory of implementations and grades new and changed
+ * implementations as they appear, against the Tester's existing base set and expected
+ * results, so that neither the tests nor the solution are run again. The kill matrix
+ * and hitting set are maintained by an IncrementalCover, and are updated live.
+ *
+ * Files are indexed as by runTests() (in sorted order) to begin with; each new
+ * implementation, or new version of an existing one, gets the next unused index, and
+ * the index of a replaced or deleted version is removed from the instance.
+ */
+public class ImplDirWatcher implements AutoCloseable {
+
+    /**
+     * The tester, whose expected results must already have been computed.
+     */
+    private final Tester tester;
+
+    /**
+     * The directory being watched.
+     */
+    private final Path implDir;
+
+    /**
+     * The kill matrix and hitting set.
+     */
+    private final IncrementalCover cover;
+
+    /**
+     * The current index of each implementation; guarded by this.
+     */
+    private final Map<String, Integer> fileIndices = new HashMap<>();
+
+    /**
+     * The size and modification time of each implementation when it was last graded,
+     * used to skip duplicate change events; guarded by this.
+     */
+    private final Map<String, String> stamps = new HashMap<>();
+
+    /**
+     * The next unused file index; guarded by this.
+     */
+    private int nextIndex;
+
+    /**
+     * The listener to notify with the hitting set after each update, or null.
+     */
+    private volatile Consumer<Set<TestCase>> updateListener;
+
+    /**
+     * The watch service, or null if the watcher hasn't been started.
+     */
+    private WatchService watchService;
+
+    /**
+     * The thread that waits for changes, or null if the watcher hasn't been started.
+     */
+    private Thread watchThread;
+
+    /**
+     * Constructor for an ImplDirWatcher.
+     *
+     * @param tester  the tester for the directory, on which computeExpectedResults() has
+     *                been called
+     * @param implDir the directory of implementations that tester tests
+     * @param initial the results of tester.runTests() on the directory's current contents
+     */
+    public ImplDirWatcher(Tester tester, String implDir, TestResults initial) {
+        this.tester = tester;
+        this.implDir = Path.of(implDir);
+        this.cover = new IncrementalCover(initial);
+        for (String filename : listImpls(this.implDir)) {
+            this.stamps.put(filename, this.stamp(filename));
+            this.fileIndices.put(filename, this.nextIndex++);
+        }
+    }
+
+    /**
+     * Sets the listener to notify with the new hitting set after each update.
+     *
+     * @param listener the listener, or null for none
+     */
+    public void setUpdateListener(Consumer<Set<TestCase>> listener) {
+        this.updateListener = listener;
+    }
+
+    /**
+     * Starts watching the directory on a background (daemon) thread.
+     *
+     * @throws IOException if the directory cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        if (this.watchService != null) {
+            return;
+        }
+        this.watchService = this.implDir.getFileSystem().newWatchService();
+        this.implDir.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        WatchService service = this.watchService;
+        this.watchThread = new Thread(() -> this.watch(service), "impl-dir-watcher");
+        this.watchThread.setDaemon(true);
+        this.watchThread.start();
+    }
+
+    /**
+     * Stops watching the directory.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.watchService != null) {
+            this.watchService.close();
+            this.watchThread.interrupt();
+            this.watchService = null;
+            this.watchThread = null;
+        }
+    }
+
+    /**
+     * Grades the current versions of the input implementations, and updates the kill
+     * matrix and hitting set. Files that no longer exist are removed from the instance,
+     * and files that haven't changed since they were last graded are skipped.
+     *
+     * @param filenames the names of implementations within the directory
+     * @return the indices of the test cases that were added to the hitting set
+     * @throws IOException if an implementation or helper file cannot be accessed
+     * @throws InterruptedException if the process is interrupted
+     */
+    public synchronized List<Integer> update(Collection<String> filenames)
+            throws IOException, InterruptedException {
+        List<Integer> removed = new ArrayList<>();
+        Map<Integer, Set<Integer>> added = new HashMap<>();
+        for (String filename : new TreeSet<>(filenames)) {
+            if (!isImpl(filename)) {
+                continue;
+            }
+            boolean exists = Files.isRegularFile(this.implDir.resolve(filename));
+            String stamp = exists ? this.stamp(filename) : null;
+            if (Objects.equals(stamp, this.stamps.get(filename))) {
+                continue;
+            }
+
+            // Retire the old version, and grade the new one
+            Integer oldIndex = this.fileIndices.remove(filename);
+            if (oldIndex != null) {
+                removed.add(oldIndex);
+            }
+            this.stamps.remove(filename);
+            if (exists) {
+                int index = this.nextIndex++;
+                this.fileIndices.put(filename, index);
+                this.stamps.put(filename, stamp);
+                added.put(index, this.tester.testFile(filename));
+            }
+        }
+        if (removed.isEmpty() && added.isEmpty()) {
+            return List.of();
+        }
+
+        this.cover.removeFiles(removed);
+        List<Integer> newCases = this.cover.addFiles(added);
+        Consumer<Set<TestCase>> listener = this.updateListener;
+        if (listener != null) {
+            listener.accept(this.cover.getHittingSet());
+        }
+        return newCases;
+    }
+
+    /**
+     * Returns the current index of the input implementation in the kill matrix.
+     *
+     * @param filename the name of an implementation within the directory
+     * @return its index, or -1 if it isn't being tracked
+     */
+    public synchronized int getFileIndex(String filename) {
+        return this.fileIndices.getOrDefault(filename, -1);
+    }
+
+    /**
+     * Returns the kill matrix and hitting set, which are updated live.
+     *
+     * @return the incremental cover
+     */
+    public IncrementalCover getCover() {
+        return this.cover;
+    }
+
+    /**
+     * Waits for changes to the directory and grades them, until the watch service is
+     * closed. Errors are reported on stderr, and don't stop the watcher.
+     *
+     * @param service the watch service
+     */
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Set<String> changed = new HashSet<>();
+                do {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path path) {
+                            changed.add(path.getFileName().toString());
+                        }
+                    }
+                    key.reset();
+                    // Coalesce the bursts of events that editors and copies generate
+                    key = service.poll(50, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                try {
+                    this.update(changed);
+                } catch (IOException e) {
+                    // Keep watching; the file will be graded again when it next changes
+                    System.err.println("Error grading " + changed + ": " + e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed; stop watching
+        }
+    }
+
+    /**
+     * Returns the size and modification time of the input implementation.
+     *
+     * @param filename the name of an implementation within the directory
+     * @return a string identifying the implementation's current version
+     */
+    private String stamp(String filename) {
+        File file = this.implDir.resolve(filename).toFile();
+        return file.length() + ":" + file.lastModified();
+    }
+
+    /**
+     * Returns the sorted names of the implementations in the input directory.
+     *
+     * @param dir the directory
+     * @return the names of the implementations
+     */
+    private static List<String> listImpls(Path dir) {
+        String[] filenames = dir.toFile().list();
+        List<String> impls = new ArrayList<>();
+        if (filenames != null) {
+            Arrays.sort(filenames);
+            for (String filename : filenames) {
+                if (isImpl(filename)) {
+                    impls.add(filename);
+                }
+            }
+        }
+        return impls;
+    }
+
+    /**
+     * Returns true if the input file is an implementation, rather than some other file
+     * or one of the helper files the Tester writes.
+     *
+     * @param filename the name of a file
+     * @return true if the file is an implementation; false otherwise
+     */
+    private static boolean isImpl(String filename) {
+        return filename.endsWith(".py") && !filename.equals("wrapper.py")
+                && !filename.equals("expected.py");
+    }
+}
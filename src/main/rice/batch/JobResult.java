@@ -0,0 +1,179 @@
+package main.rice.batch;
+
+import main.rice.test.TestCase;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Set;
+
+/**
+ * The outcome of a single batch job: either the concise test set and a summary of the
+ * test results, or the error that stopped the job.
+ */
+public final class JobResult {
+
+    /**
+     * The job that was run.
+     */
+    private final BatchJob job;
+
+    /**
+     * The concise test set, or null if the job failed.
+     */
+    private final Set<TestCase> conciseSet;
+
+    /**
+     * The number of test cases in the base set.
+     */
+    private final int numTests;
+
+    /**
+     * The number of implementations caught by one or more test cases.
+     */
+    private final int numWrong;
+
+    /**
+     * The error message, or null if the job succeeded.
+     */
+    private final String error;
+
+    /**
+     * The time taken by the job, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Constructor for a JobResult; use success() or failure() instead.
+     *
+     * @param job          the job that was run
+     * @param conciseSet   the concise test set, or null if the job failed
+     * @param numTests     the number of test cases in the base set
+     * @param numWrong     the number of implementations that were caught
+     * @param error        the error message, or null if the job succeeded
+     * @param elapsedNanos the time taken by the job, in nanoseconds
+     */
+    private JobResult(BatchJob job, Set<TestCase> conciseSet, int numTests, int numWrong,
+                      String error, long elapsedNanos) {
+        this.job = job;
+        this.conciseSet = conciseSet;
+        this.numTests = numTests;
+        this.numWrong = numWrong;
+        this.error = error;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the result of a job that succeeded.
+     *
+     * @param job          the job that was run
+     * @param conciseSet   the concise test set
+     * @param numTests     the number of test cases in the base set
+     * @param numWrong     the number of implementations that were caught
+     * @param elapsedNanos the time taken by the job, in nanoseconds
+     * @return the result
+     */
+    public static JobResult success(BatchJob job, Set<TestCase> conciseSet, int numTests,
+                                    int numWrong, long elapsedNanos) {
+        return new JobResult(job, conciseSet, numTests, numWrong, null, elapsedNanos);
+    }
+
+    /**
+     * Returns the result of a job that failed.
+     *
+     * @param job          the job that was run
+     * @param error        a description of the error
+     * @param elapsedNanos the time taken by the job, in nanoseconds
+     * @return the result
+     */
+    public static JobResult failure(BatchJob job, String error, long elapsedNanos) {
+        return new JobResult(job, null, 0, 0, error, elapsedNanos);
+    }
+
+    /**
+     * Returns the job that was run.
+     *
+     * @return the job
+     */
+    public BatchJob getJob() {
+        return this.job;
+    }
+
+    /**
+     * Returns true if the job succeeded.
+     *
+     * @return true if the job succeeded; false otherwise
+     */
+    public boolean isSuccess() {
+        return this.error == null;
+    }
+
+    /**
+     * Returns the concise test set.
+     *
+     * @return the concise test set, or null if the job failed
+     */
+    public Set<TestCase> getConciseSet() {
+        return this.conciseSet;
+    }
+
+    /**
+     * Returns the number of test cases in the base set.
+     *
+     * @return the number of test cases
+     */
+    public int getNumTests() {
+        return this.numTests;
+    }
+
+    /**
+     * Returns the number of implementations caught by one or more test cases.
+     *
+     * @return the number of wrong implementations
+     */
+    public int getNumWrong() {
+        return this.numWrong;
+    }
+
+    /**
+     * Returns the error that stopped the job.
+     *
+     * @return the error message, or null if the job succeeded
+     */
+    public String getError() {
+        return this.error;
+    }
+
+    /**
+     * Returns the time taken by the job.
+     *
+     * @return the elapsed time, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns this result as a JSON object.
+     *
+     * @return the JSON form of this result
+     */
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("config", this.job.getConfigPath());
+        json.put("solution", this.job.getSolutionPath());
+        json.put("impls", this.job.getImplDirPath());
+        json.put("elapsed millis", this.elapsedNanos / 1_000_000);
+        if (this.isSuccess()) {
+            JSONArray tests = new JSONArray();
+            for (TestCase testCase : this.conciseSet) {
+                tests.put(testCase.toString());
+            }
+            json.put("tests", this.numTests);
+            json.put("wrong", this.numWrong);
+            json.put("concise set", tests);
+        } else {
+            json.put("error", this.error);
+        }
+        return json;
+    }
+}
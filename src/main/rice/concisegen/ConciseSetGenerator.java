@@ -1,9 +1,9 @@
 package main.rice.concisegen;
 
+import main.rice.metrics.Metrics;
 import main.rice.test.TestCase;
 import main.rice.test.TestResults;
 
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -27,48 +27,160 @@ public class ConciseSetGenerator {
      * @return M, a set of test cases that is an approximately minimal set covering
      */
     public static Set<TestCase> setCover(TestResults results) {
+        long start = System.nanoTime();
 
-        // Initialize the structure to return
-        HashSet<TestCase> hittingSet = new HashSet<>();
+        // Lazy greedy makes the same choices as greedy, with far fewer gain evaluations
+        CoverageMatrix matrix = new CoverageMatrix(results.getCaseToFiles(),
+                results.getWrongSet());
+        Set<TestCase> hittingSet = toTestCases(results, matrix.lazyGreedyCover());
+        Metrics.SET_COVER.recordSince(start);
+        return hittingSet;
+    }
 
-        // We'll be mutating both caseToFiles and wrongSet, so make copies
-        List<Set<Integer>> caseToFiles = new ArrayList<>();
-        for (Set<Integer> set : results.getCaseToFiles()) {
-            caseToFiles.add(new HashSet<>(set));
-        }
-        Set<Integer> wrongSet = new HashSet<>(results.getWrongSet());
+    /**
+     * The eager variant of setCover(results): re-scans every remaining test case on each
+     * greedy iteration, rather than lazily re-evaluating only the best candidates, and is
+     * kept because that full scan can be split across threads. It selects the same
+     * hitting set as setCover(results), at a higher cost; the hitting set is also the
+     * same whether or not the scan is parallel.
+     *
+     * @param results  the results of running all tests in B on all files in S
+     * @param parallel true if the search for the best test case should be parallelized
+     * @return M, a set of test cases that is an approximately minimal set covering
+     */
+    public static Set<TestCase> setCover(TestResults results, boolean parallel) {
+        long start = System.nanoTime();
+
+        // Build a bitset-backed copy of the results, so that the inputs aren't mutated
+        CoverageMatrix matrix = new CoverageMatrix(results.getCaseToFiles(),
+                results.getWrongSet());
 
         // Select tests until we've "covered" every program that was initially in the
-        // wrong set
-        while (wrongSet.size() > 0) {
-            int maxFilesCaught = 0;
-            int caseOfMaxFiles = -1;
+        // wrong set, always picking the test that covers the most heretofore-uncovered
+        // files (and the lowest-indexed such test on ties)
+        Set<TestCase> hittingSet = toTestCases(results, matrix.greedyCover(parallel));
+        Metrics.SET_COVER.recordSince(start);
+        return hittingSet;
+    }
+
+    /**
+     * A runtime-weighted variant of setCover(): greedily selects the test case that
+     * catches the most heretofore-uncaught files per nanosecond of execution time, so
+     * that the resulting suite is approximately the cheapest one to run, rather than the
+     * smallest. Uses the per-case costs recorded in results (e.g. by the Tester); if
+     * there are none, every test case costs the same and the result is that of
+     * setCover().
+     *
+     * @param results the results of running all tests in B on all files in S
+     * @return M, a set of test cases whose total execution time is approximately minimal
+     */
+    public static Set<TestCase> weightedSetCover(TestResults results) {
+        long start = System.nanoTime();
+        List<Long> caseCosts = results.getCaseCosts();
+        double[] costs = new double[results.getCaseToFiles().size()];
+        for (int i = 0; i < costs.length; i++) {
+            costs[i] = (caseCosts == null) ? 1 : caseCosts.get(i);
+        }
+        CoverageMatrix matrix = new CoverageMatrix(results.getCaseToFiles(),
+                results.getWrongSet());
+        Set<TestCase> hittingSet = toTestCases(results, matrix.weightedGreedyCover(costs));
+        Metrics.SET_COVER.recordSince(start);
+        return hittingSet;
+    }
+
+    /**
+     * A multi-cover variant of setCover(): greedily selects test cases until every file
+     * in the wrong set has been caught by at least k of them, so that the concise suite
+     * still catches each file if some of its tests are flaky. Files caught by fewer than
+     * k test cases in B are caught by all of those test cases. With k = 1, the result is
+     * the same as that of setCover().
+     *
+     * @param results the results of running all tests in B on all files in S
+     * @param k       the number of test cases in M that should catch each file
+     * @return M, a set of test cases that is an approximately minimal k-fold set covering
+     */
+    public static Set<TestCase> multiSetCover(TestResults results, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive, but was " + k);
+        }
+        long start = System.nanoTime();
+        CoverageMatrix matrix = new CoverageMatrix(results.getCaseToFiles(),
+                results.getWrongSet());
+        Set<TestCase> hittingSet = toTestCases(results, matrix.multiGreedyCover(k));
+        Metrics.SET_COVER.recordSince(start);
+        return hittingSet;
+    }
+
+    /**
+     * Same as setCover(results), but first shrinks the instance with the InstanceReducer:
+     * essential tests are always selected, and greedy only chooses among the tests that
+     * survive reduction. The result still catches every file that the base set catches,
+     * and is usually smaller (though it may differ from the result of setCover()).
+     *
+     * @param results the results of running all tests in B on all files in S
+     * @return M, a set of test cases that is an approximately minimal set covering
+     */
+    public static Set<TestCase> reducedSetCover(TestResults results) {
+        long start = System.nanoTime();
+        ReducedInstance reduced = InstanceReducer.reduce(results.getCaseToFiles(),
+                results.getWrongSet());
+        CoverageMatrix matrix = new CoverageMatrix(reduced.getCaseToFiles(),
+                reduced.getWrongSet());
+        Set<TestCase> hittingSet = toTestCases(results,
+                reduced.toOriginal(matrix.lazyGreedyCover()));
+        Metrics.SET_COVER.recordSince(start);
+        return hittingSet;
+    }
 
-            // Find the test case that covers the most heretofore-uncovered files
-            for (int caseIndex = 0; caseIndex < caseToFiles.size(); caseIndex++) {
-                Set<Integer> filesCaught = caseToFiles.get(caseIndex);
-                if (filesCaught.size() > maxFilesCaught) {
-                    maxFilesCaught = filesCaught.size();
-                    caseOfMaxFiles = caseIndex;
-                }
-            }
+    /**
+     * Searches for a minimum set covering within the input wall-clock budget: reduces
+     * the instance, then runs the ExactCoverSolver (starting from the greedy cover) on
+     * the reduced instance, using one thread per available processor.
+     *
+     * @param results      the results of running all tests in B on all files in S
+     * @param budgetMillis the wall-clock budget for the search, in milliseconds
+     * @return the indices (within B) of the best set covering found, together with a
+     * proven lower bound on the size of a minimum set covering
+     */
+    public static CoverSolution exactCover(TestResults results, long budgetMillis) {
+        long start = System.nanoTime();
+        ReducedInstance reduced = InstanceReducer.reduce(results.getCaseToFiles(),
+                results.getWrongSet());
+        CoverSolution solution = new ExactCoverSolver(reduced.getCaseToFiles(),
+                reduced.getWrongSet()).solve(budgetMillis,
+                Runtime.getRuntime().availableProcessors());
 
-            // Remove all covered files from the wrongSet
-            HashSet<Integer> coveredFiles =
-                new HashSet<>(caseToFiles.get(caseOfMaxFiles));
-            wrongSet.removeAll(coveredFiles);
+        // Every essential test is in every cover, so it adds to the bound as well
+        int numEssential = reduced.getEssentialCases().size();
+        CoverSolution cover = new CoverSolution(reduced.toOriginal(solution.getCaseIndices()),
+                solution.getLowerBound() + numEssential, solution.isOptimal());
+        Metrics.SET_COVER.recordSince(start);
+        return cover;
+    }
 
-            // Update the caseToFiles mapping such that the set of files caught by each
-            // test no longer includes the newly-covered files
-            for (Set<Integer> filesCaught : caseToFiles) {
-                filesCaught.removeAll(coveredFiles);
-            }
+    /**
+     * Same as exactCover(), but returns the test cases themselves.
+     *
+     * @param results      the results of running all tests in B on all files in S
+     * @param budgetMillis the wall-clock budget for the search, in milliseconds
+     * @return M, the smallest set covering found within the budget
+     */
+    public static Set<TestCase> exactSetCover(TestResults results, long budgetMillis) {
+        return toTestCases(results, exactCover(results, budgetMillis).getCaseIndices());
+    }
 
-            // Add the selected test case to the hitting set
-            hittingSet.add(results.getTestCase(caseOfMaxFiles));
+    /**
+     * Maps the input indices of selected test cases to the test cases themselves.
+     *
+     * @param results     the results of testing
+     * @param caseIndices the indices of the selected test cases
+     * @return the selected test cases
+     */
+    private static Set<TestCase> toTestCases(TestResults results, List<Integer> caseIndices) {
+        HashSet<TestCase> hittingSet = new HashSet<>();
+        for (int caseIndex : caseIndices) {
+            hittingSet.add(results.getTestCase(caseIndex));
         }
-
-        // Return the hitting set
         return hittingSet;
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package main.rice.concisegen;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of running the ExactCoverSolver: the best cover that was found, together
+ * with a proven lower bound on the size of a minimum cover.
+ */
+public class CoverSolution {
+
+    /**
+     * The indices of the test cases in the best cover that was found.
+     */
+    private final List<Integer> caseIndices;
+
+    /**
+     * A proven lower bound on the size of any cover.
+     */
+    private final int lowerBound;
+
+    /**
+     * True if the search ran to completion, i.e. caseIndices is a minimum cover.
+     */
+    private final boolean optimal;
+
+    /**
+     * Constructor for a CoverSolution; initializes all fields.
+     *
+     * @param caseIndices the indices of the test cases in the best cover that was found
+     * @param lowerBound  a proven lower bound on the size of any cover
+     * @param optimal     true if the cover is known to be minimum
+     */
+    public CoverSolution(List<Integer> caseIndices, int lowerBound, boolean optimal) {
+        this.caseIndices = caseIndices;
+        this.lowerBound = optimal ? caseIndices.size() : lowerBound;
+        this.optimal = optimal;
+    }
+
+    /**
+     * Returns the indices of the test cases in the best cover that was found.
+     *
+     * @return the indices of the test cases in the cover
+     */
+    public List<Integer> getCaseIndices() {
+        return Collections.unmodifiableList(this.caseIndices);
+    }
+
+    /**
+     * Returns a proven lower bound on the size of any cover.
+     *
+     * @return the lower bound
+     */
+    public int getLowerBound() {
+        return this.lowerBound;
+    }
+
+    /**
+     * Returns true if the cover is known to be a minimum cover.
+     *
+     * @return true if the cover is minimum; false if the search ran out of time
+     */
+    public boolean isOptimal() {
+        return this.optimal;
+    }
+
+    /**
+     * Returns the proven optimality gap: the number of tests by which the cover may
+     * exceed a minimum cover.
+     *
+     * @return the size of the cover minus the lower bound
+     */
+    public int getGap() {
+        return this.caseIndices.size() - this.lowerBound;
+    }
+}
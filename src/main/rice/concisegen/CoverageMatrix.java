@@ -0,0 +1,427 @@
+package main.rice.concisegen;
+
+import main.rice.jfr.CoverIterationEvent;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A bitset-backed representation of the results of testing, used to compute a greedy
+ * set cover without any boxing or hashing. Each test case (row) is a long[] bitset over
+ * the files (columns) that it caught, where every file index that appears in the input
+ * is mapped to a dense column. The "gain" of a row is the number of files that it
+ * catches that have not yet been covered by a selected row, which is computed with one
+ * AND and one popcount per 64 files.
+ */
+public class CoverageMatrix {
+
+    /**
+     * The minimum number of rows handled by a single fork/join task when searching for
+     * the best row in parallel; smaller ranges are scanned sequentially.
+     */
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    /**
+     * The file index represented by each column.
+     */
+    private final int[] columnToFile;
+
+    /**
+     * The bitset of files caught by each row (test case).
+     */
+    private final long[][] rows;
+
+    /**
+     * The bitset of files that have not yet been covered by a selected row.
+     */
+    private final long[] uncovered;
+
+    /**
+     * The bitset of files that must be covered (i.e. the wrong set).
+     */
+    private final long[] target;
+
+    /**
+     * Constructor for a CoverageMatrix; copies the input, which is not mutated.
+     *
+     * @param caseToFiles a list where the i-th element is the set of files caught by the
+     *                    i-th test case
+     * @param wrongSet    the set of files that must be covered
+     */
+    public CoverageMatrix(List<Set<Integer>> caseToFiles, Set<Integer> wrongSet) {
+        // Map every file that appears anywhere in the input to a dense column, in
+        // ascending order of file index
+        SortedSet<Integer> files = new TreeSet<>(wrongSet);
+        for (Set<Integer> caught : caseToFiles) {
+            files.addAll(caught);
+        }
+        this.columnToFile = new int[files.size()];
+        Map<Integer, Integer> fileToColumn = new HashMap<>();
+        int column = 0;
+        for (Integer file : files) {
+            this.columnToFile[column] = file;
+            fileToColumn.put(file, column++);
+        }
+
+        // Build the bitsets
+        int numWords = (this.columnToFile.length + 63) >>> 6;
+        this.rows = new long[caseToFiles.size()][];
+        for (int row = 0; row < this.rows.length; row++) {
+            this.rows[row] = toBits(caseToFiles.get(row), fileToColumn, numWords);
+        }
+        this.target = toBits(wrongSet, fileToColumn, numWords);
+        this.uncovered = new long[numWords];
+        for (int col = 0; col < this.columnToFile.length; col++) {
+            this.uncovered[col >>> 6] |= 1L << col;
+        }
+    }
+
+    /**
+     * Returns the number of rows (test cases).
+     *
+     * @return the number of rows
+     */
+    public int numRows() {
+        return this.rows.length;
+    }
+
+    /**
+     * Returns the number of columns (distinct files).
+     *
+     * @return the number of columns
+     */
+    public int numColumns() {
+        return this.columnToFile.length;
+    }
+
+    /**
+     * Returns the number of heretofore-uncovered files caught by the input row.
+     *
+     * @param row the index of the row
+     * @return the gain of selecting row
+     */
+    public int gain(int row) {
+        long[] bits = this.rows[row];
+        int count = 0;
+        for (int word = 0; word < bits.length; word++) {
+            count += Long.bitCount(bits[word] & this.uncovered[word]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if every file in the wrong set has been covered by a selected row.
+     *
+     * @return true if the wrong set has been covered; false otherwise
+     */
+    public boolean isCovered() {
+        for (int word = 0; word < this.target.length; word++) {
+            if ((this.target[word] & this.uncovered[word]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks all of the files caught by the input row as covered.
+     *
+     * @param row the index of the selected row
+     */
+    public void select(int row) {
+        CoverIterationEvent event = new CoverIterationEvent();
+        event.begin();
+        int gain = event.isEnabled() ? this.gain(row) : 0;
+        long[] bits = this.rows[row];
+        for (int word = 0; word < bits.length; word++) {
+            this.uncovered[word] &= ~bits[word];
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.row = row;
+            event.gain = gain;
+            event.remaining = this.remaining();
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the number of files in the wrong set that haven't been covered yet.
+     *
+     * @return the number of uncovered files
+     */
+    public int remaining() {
+        int count = 0;
+        for (int word = 0; word < this.target.length; word++) {
+            count += Long.bitCount(this.target[word] & this.uncovered[word]);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the row with the largest gain, breaking ties in favor of the lowest index.
+     *
+     * @param parallel true if the rows should be scanned in parallel using fork/join
+     * @return the index of the best row, or -1 if no row has a positive gain
+     */
+    public int bestRow(boolean parallel) {
+        if (parallel && this.rows.length > PARALLEL_THRESHOLD) {
+            return ForkJoinPool.commonPool().invoke(new BestRowTask(0, this.rows.length))[0];
+        }
+        return this.bestRowInRange(0, this.rows.length)[0];
+    }
+
+    /**
+     * Greedily selects rows until the wrong set has been covered: on each iteration,
+     * selects the row with the largest gain (lowest index on ties). This is the same
+     * choice, in the same order, as the original hash-set-based algorithm.
+     *
+     * @param parallel true if each search for the best row should be run in parallel
+     * @return the indices of the selected rows, in the order in which they were selected
+     */
+    public List<Integer> greedyCover(boolean parallel) {
+        List<Integer> selected = new ArrayList<>();
+        while (!this.isCovered()) {
+            int best = this.bestRow(parallel);
+            if (best < 0) {
+                // Some file in the wrong set was not caught by any test
+                break;
+            }
+            this.select(best);
+            selected.add(best);
+        }
+        return selected;
+    }
+
+    /**
+     * Computes the same cover as greedyCover(), but lazily: since gains only ever
+     * decrease as rows are selected, each row's last known gain is an upper bound on its
+     * current gain. Rows are kept in a max-heap keyed on that bound (lowest index first
+     * on ties), and only the row on top is re-evaluated; if its gain is unchanged, no
+     * other row can beat it (or tie it with a lower index), so it is selected.
+     * Otherwise it is re-inserted with its current gain. Rows whose gain drops to zero
+     * are discarded, since they can never be selected.
+     *
+     * @return the indices of the selected rows, in the order in which they were selected
+     */
+    public List<Integer> lazyGreedyCover() {
+        // Each entry is a pair (gain, row)
+        PriorityQueue<int[]> heap = new PriorityQueue<>((a, b) ->
+                (a[0] != b[0]) ? Integer.compare(b[0], a[0]) : Integer.compare(a[1], b[1]));
+        for (int row = 0; row < this.rows.length; row++) {
+            int gain = this.gain(row);
+            if (gain > 0) {
+                heap.add(new int[]{gain, row});
+            }
+        }
+
+        List<Integer> selected = new ArrayList<>();
+        while (!this.isCovered() && !heap.isEmpty()) {
+            int[] top = heap.poll();
+            int gain = this.gain(top[1]);
+            if (gain == top[0]) {
+                // The bound is tight, so this row is the best one
+                this.select(top[1]);
+                selected.add(top[1]);
+            } else if (gain > 0) {
+                // Stale; re-insert with the current gain
+                top[0] = gain;
+                heap.add(top);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * A weighted variant of lazyGreedyCover(): on each iteration, selects the row that
+     * covers the most heretofore-uncovered files per unit of cost (lowest index on ties),
+     * so that the total cost of the cover is approximately minimal. Costs below 1 are
+     * treated as 1. With uniform costs, this selects the same rows as greedyCover().
+     *
+     * @param costs the cost of each row
+     * @return the indices of the selected rows, in the order in which they were selected
+     */
+    public List<Integer> weightedGreedyCover(double[] costs) {
+        // Each entry is a pair (gain, row), ordered by gain / cost
+        PriorityQueue<int[]> heap = new PriorityQueue<>((a, b) -> {
+            int cmp = Double.compare(b[0] / Math.max(costs[b[1]], 1),
+                    a[0] / Math.max(costs[a[1]], 1));
+            return (cmp != 0) ? cmp : Integer.compare(a[1], b[1]);
+        });
+        for (int row = 0; row < this.rows.length; row++) {
+            int gain = this.gain(row);
+            if (gain > 0) {
+                heap.add(new int[]{gain, row});
+            }
+        }
+
+        List<Integer> selected = new ArrayList<>();
+        while (!this.isCovered() && !heap.isEmpty()) {
+            int[] top = heap.poll();
+            int gain = this.gain(top[1]);
+            if (gain == top[0]) {
+                // The ratio is up to date, so this row is the best one
+                this.select(top[1]);
+                selected.add(top[1]);
+            } else if (gain > 0) {
+                top[0] = gain;
+                heap.add(top);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * A multi-cover variant of lazyGreedyCover(): selects rows until every file in the
+     * wrong set is caught by at least k selected rows, or by every row that catches it if
+     * fewer than k rows do. Each file keeps a counter of how many more times it needs to
+     * be caught, and stays in the uncovered bitset until its counter reaches zero, so the
+     * gain of a row is still one AND and one popcount per 64 files. With k = 1, this
+     * selects the same rows as greedyCover().
+     *
+     * @param k the number of selected rows that should catch each file
+     * @return the indices of the selected rows, in the order in which they were selected
+     */
+    public List<Integer> multiGreedyCover(int k) {
+        // Each file needs to be caught by k more rows, or by every row that catches it
+        int[] demand = new int[this.columnToFile.length];
+        for (long[] bits : this.rows) {
+            for (int word = 0; word < bits.length; word++) {
+                for (long set = bits[word]; set != 0; set &= set - 1) {
+                    demand[(word << 6) + Long.numberOfTrailingZeros(set)]++;
+                }
+            }
+        }
+        for (int col = 0; col < demand.length; col++) {
+            demand[col] = Math.min(demand[col], k);
+            if (demand[col] == 0) {
+                this.uncovered[col >>> 6] &= ~(1L << col);
+            }
+        }
+
+        // Each entry is a pair (gain, row); a row leaves the heap when it is selected, so
+        // no row is selected twice
+        PriorityQueue<int[]> heap = new PriorityQueue<>((a, b) ->
+                (a[0] != b[0]) ? Integer.compare(b[0], a[0]) : Integer.compare(a[1], b[1]));
+        for (int row = 0; row < this.rows.length; row++) {
+            int gain = this.gain(row);
+            if (gain > 0) {
+                heap.add(new int[]{gain, row});
+            }
+        }
+
+        List<Integer> selected = new ArrayList<>();
+        while (!this.isCovered() && !heap.isEmpty()) {
+            int[] top = heap.poll();
+            int gain = this.gain(top[1]);
+            if (gain == top[0]) {
+                // Decrement the demand of every file this row catches that still needs it
+                long[] bits = this.rows[top[1]];
+                for (int word = 0; word < bits.length; word++) {
+                    for (long set = bits[word] & this.uncovered[word]; set != 0; set &= set - 1) {
+                        int col = (word << 6) + Long.numberOfTrailingZeros(set);
+                        if (--demand[col] == 0) {
+                            this.uncovered[word] &= ~(1L << col);
+                        }
+                    }
+                }
+                selected.add(top[1]);
+            } else if (gain > 0) {
+                top[0] = gain;
+                heap.add(top);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Scans a range of rows sequentially for the row with the largest gain.
+     *
+     * @param from the first row to scan (inclusive)
+     * @param to   the last row to scan (exclusive)
+     * @return a pair containing the index of the best row (or -1) and its gain
+     */
+    private int[] bestRowInRange(int from, int to) {
+        int bestRow = -1;
+        int bestGain = 0;
+        for (int row = from; row < to; row++) {
+            int gain = this.gain(row);
+            if (gain > bestGain) {
+                bestGain = gain;
+                bestRow = row;
+            }
+        }
+        return new int[]{bestRow, bestGain};
+    }
+
+    /**
+     * Converts a set of files into a bitset over columns.
+     *
+     * @param files        the files to convert
+     * @param fileToColumn the column of each file
+     * @param numWords     the length of the bitset
+     * @return the bitset
+     */
+    private static long[] toBits(Set<Integer> files, Map<Integer, Integer> fileToColumn,
+                                 int numWords) {
+        long[] bits = new long[numWords];
+        for (Integer file : files) {
+            int col = fileToColumn.get(file);
+            bits[col >>> 6] |= 1L << col;
+        }
+        return bits;
+    }
+
+    /**
+     * A fork/join task that finds the best row within a range of rows.
+     */
+    private class BestRowTask extends RecursiveTask<int[]> {
+
+        /**
+         * The serialization version; tasks are never serialized, but ForkJoinTask is
+         * Serializable.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first row in the range (inclusive).
+         */
+        private final int from;
+
+        /**
+         * The last row in the range (exclusive).
+         */
+        private final int to;
+
+        /**
+         * Constructor for a BestRowTask.
+         *
+         * @param from the first row in the range (inclusive)
+         * @param to   the last row in the range (exclusive)
+         */
+        BestRowTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Splits the range in half until it is small enough to scan sequentially, then
+         * combines the halves, preferring the left half on ties.
+         *
+         * @return a pair containing the index of the best row (or -1) and its gain
+         */
+        @Override
+        protected int[] compute() {
+            if (this.to - this.from <= PARALLEL_THRESHOLD) {
+                return bestRowInRange(this.from, this.to);
+            }
+            int mid = (this.from + this.to) >>> 1;
+            BestRowTask left = new BestRowTask(this.from, mid);
+            left.fork();
+            int[] rightBest = new BestRowTask(mid, this.to).compute();
+            int[] leftBest = left.join();
+            return (rightBest[1] > leftBest[1]) ? rightBest : leftBest;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package main.rice.concisegen;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * An anytime branch-and-bound solver for minimum set cover. Starts from the greedy
+ * cover and searches for smaller covers until either the search space has been
+ * exhausted (in which case the best cover is provably minimum) or the wall-clock budget
+ * runs out (in which case the best cover is returned together with the gap between its
+ * size and a proven lower bound).
+ *
+ * The search branches on the uncovered file caught by the fewest tests: one of those
+ * tests must be in the cover, so the i-th branch selects the i-th such test and
+ * excludes the tests selected by earlier branches. Branches are pruned using the
+ * larger of two lower bounds on the number of additional tests needed: the number of
+ * uncovered files divided by the largest gain of any test, and the number of uncovered
+ * files that pairwise share no test (a feasible solution to the dual of the LP
+ * relaxation). The branches at the root are explored in parallel, sharing the best
+ * cover found so far.
+ */
+public class ExactCoverSolver {
+
+    /**
+     * A lower bound that signals that no cover exists from the current node.
+     */
+    private static final int INFEASIBLE = Integer.MAX_VALUE / 2;
+
+    /**
+     * The bitset of columns caught by each test.
+     */
+    private final long[][] rows;
+
+    /**
+     * The tests that catch each column.
+     */
+    private final int[][] columnToRows;
+
+    /**
+     * The number of columns (files to be covered).
+     */
+    private final int numColumns;
+
+    /**
+     * The best cover found so far; guarded by this.
+     */
+    private List<Integer> best;
+
+    /**
+     * The time (according to System.nanoTime()) after which the search is abandoned.
+     */
+    private volatile long deadline;
+
+    /**
+     * Set once the search has been abandoned because the deadline passed.
+     */
+    private volatile boolean timedOut;
+
+    /**
+     * Constructor for an ExactCoverSolver. Only the files in the wrong set need to be
+     * covered; files that no test catches are ignored.
+     *
+     * @param caseToFiles a list where the i-th element is the set of files caught by the
+     *                    i-th test case; not mutated
+     * @param wrongSet    the set of files that must be covered; not mutated
+     */
+    public ExactCoverSolver(List<Set<Integer>> caseToFiles, Set<Integer> wrongSet) {
+        // Map each coverable file in the wrong set to a dense column
+        Set<Integer> coverable = new HashSet<>();
+        for (Set<Integer> caught : caseToFiles) {
+            coverable.addAll(caught);
+        }
+        Map<Integer, Integer> fileToColumn = new HashMap<>();
+        for (Integer file : new TreeSet<>(wrongSet)) {
+            if (coverable.contains(file)) {
+                fileToColumn.put(file, fileToColumn.size());
+            }
+        }
+        this.numColumns = fileToColumn.size();
+
+        // Build the rows, and their transpose
+        int numWords = (this.numColumns + 63) >>> 6;
+        this.rows = new long[caseToFiles.size()][numWords];
+        List<List<Integer>> columns = new ArrayList<>();
+        for (int col = 0; col < this.numColumns; col++) {
+            columns.add(new ArrayList<>());
+        }
+        for (int row = 0; row < this.rows.length; row++) {
+            for (Integer file : caseToFiles.get(row)) {
+                Integer col = fileToColumn.get(file);
+                if (col != null) {
+                    this.rows[row][col >>> 6] |= 1L << col;
+                    columns.get(col).add(row);
+                }
+            }
+        }
+        this.columnToRows = new int[this.numColumns][];
+        for (int col = 0; col < this.numColumns; col++) {
+            this.columnToRows[col] = columns.get(col).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Start from the greedy cover
+        this.best = new CoverageMatrix(caseToFiles, fileToColumn.keySet()).lazyGreedyCover();
+    }
+
+    /**
+     * Searches for a minimum cover, giving up once the input budget has elapsed.
+     *
+     * @param budgetMillis the wall-clock budget, in milliseconds
+     * @param numThreads   the number of threads to search with
+     * @return the best cover found, with a proven lower bound on the minimum
+     */
+    public CoverSolution solve(long budgetMillis, int numThreads) {
+        this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.timedOut = false;
+
+        long[] uncovered = new long[(this.numColumns + 63) >>> 6];
+        for (int col = 0; col < this.numColumns; col++) {
+            uncovered[col >>> 6] |= 1L << col;
+        }
+        boolean[] excluded = new boolean[this.rows.length];
+        int rootBound = (this.numColumns == 0) ? 0 : this.lowerBound(uncovered, excluded);
+
+        if (this.numColumns > 0 && rootBound < this.getBest().size()) {
+            // Explore the root's branches in parallel
+            int col = this.branchColumn(uncovered, excluded);
+            int[] candidates = this.orderCandidates(col, uncovered, excluded);
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, numThreads));
+            try {
+                List<Callable<Void>> branches = new ArrayList<>();
+                for (int i = 0; i < candidates.length; i++) {
+                    boolean[] branchExcluded = excluded.clone();
+                    for (int j = 0; j < i; j++) {
+                        branchExcluded[candidates[j]] = true;
+                    }
+                    int row = candidates[i];
+                    branches.add(() -> {
+                        Deque<Integer> chosen = new ArrayDeque<>();
+                        chosen.push(row);
+                        this.search(this.cover(uncovered, row), branchExcluded, chosen);
+                        return null;
+                    });
+                }
+                executor.invokeAll(branches);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.timedOut = true;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        List<Integer> cover = new ArrayList<>(this.getBest());
+        Collections.sort(cover);
+        return new CoverSolution(cover, Math.min(rootBound, cover.size()), !this.timedOut);
+    }
+
+    /**
+     * Depth-first search from a node of the branch-and-bound tree.
+     *
+     * @param uncovered the columns not yet covered by the chosen tests
+     * @param excluded  the tests that may not be chosen within this subtree
+     * @param chosen    the tests chosen so far
+     */
+    private void search(long[] uncovered, boolean[] excluded, Deque<Integer> chosen) {
+        if (System.nanoTime() > this.deadline) {
+            this.timedOut = true;
+            return;
+        }
+        if (isEmpty(uncovered)) {
+            this.offer(chosen);
+            return;
+        }
+        int bound = this.lowerBound(uncovered, excluded);
+        if (chosen.size() + bound >= this.getBest().size()) {
+            return;
+        }
+
+        // Branch on each test that catches the hardest-to-cover column
+        int col = this.branchColumn(uncovered, excluded);
+        int[] candidates = this.orderCandidates(col, uncovered, excluded);
+        boolean[] childExcluded = excluded.clone();
+        for (int row : candidates) {
+            chosen.push(row);
+            this.search(this.cover(uncovered, row), childExcluded, chosen);
+            chosen.pop();
+            if (this.timedOut) {
+                return;
+            }
+            childExcluded[row] = true;
+        }
+    }
+
+    /**
+     * Computes a lower bound on the number of additional tests needed to cover the
+     * uncovered columns without using any excluded test.
+     *
+     * @param uncovered the columns not yet covered
+     * @param excluded  the tests that may not be used
+     * @return the lower bound, or INFEASIBLE if the columns cannot be covered
+     */
+    private int lowerBound(long[] uncovered, boolean[] excluded) {
+        // Bound 1: uncovered columns divided by the largest gain
+        int maxGain = 0;
+        for (int row = 0; row < this.rows.length; row++) {
+            if (!excluded[row]) {
+                maxGain = Math.max(maxGain, gain(this.rows[row], uncovered));
+            }
+        }
+        int numUncovered = popcount(uncovered);
+        if (maxGain == 0) {
+            return INFEASIBLE;
+        }
+        int ratioBound = (numUncovered + maxGain - 1) / maxGain;
+
+        // Bound 2: uncovered columns that pairwise share no usable test
+        boolean[] used = new boolean[this.rows.length];
+        int independent = 0;
+        for (int word = 0; word < uncovered.length; word++) {
+            for (long bits = uncovered[word]; bits != 0; bits &= bits - 1) {
+                int col = (word << 6) + Long.numberOfTrailingZeros(bits);
+                boolean disjoint = true;
+                boolean coverable = false;
+                for (int row : this.columnToRows[col]) {
+                    if (!excluded[row]) {
+                        coverable = true;
+                        disjoint &= !used[row];
+                    }
+                }
+                if (!coverable) {
+                    return INFEASIBLE;
+                }
+                if (disjoint) {
+                    independent++;
+                    for (int row : this.columnToRows[col]) {
+                        used[row] = true;
+                    }
+                }
+            }
+        }
+        return Math.max(ratioBound, independent);
+    }
+
+    /**
+     * Finds the uncovered column caught by the fewest usable tests.
+     *
+     * @param uncovered the columns not yet covered
+     * @param excluded  the tests that may not be used
+     * @return the column to branch on
+     */
+    private int branchColumn(long[] uncovered, boolean[] excluded) {
+        int bestCol = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int word = 0; word < uncovered.length; word++) {
+            for (long bits = uncovered[word]; bits != 0; bits &= bits - 1) {
+                int col = (word << 6) + Long.numberOfTrailingZeros(bits);
+                int count = 0;
+                for (int row : this.columnToRows[col]) {
+                    if (!excluded[row]) {
+                        count++;
+                    }
+                }
+                if (count < bestCount) {
+                    bestCount = count;
+                    bestCol = col;
+                }
+            }
+        }
+        return bestCol;
+    }
+
+    /**
+     * Returns the usable tests that catch the input column, ordered by decreasing gain
+     * (lowest index on ties) so that promising branches are explored first.
+     *
+     * @param col       the column being branched on
+     * @param uncovered the columns not yet covered
+     * @param excluded  the tests that may not be used
+     * @return the tests to branch on, in order
+     */
+    private int[] orderCandidates(int col, long[] uncovered, boolean[] excluded) {
+        List<int[]> candidates = new ArrayList<>();
+        for (int row : this.columnToRows[col]) {
+            if (!excluded[row]) {
+                candidates.add(new int[]{gain(this.rows[row], uncovered), row});
+            }
+        }
+        candidates.sort((a, b) ->
+                (a[0] != b[0]) ? Integer.compare(b[0], a[0]) : Integer.compare(a[1], b[1]));
+        int[] ordered = new int[candidates.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = candidates.get(i)[1];
+        }
+        return ordered;
+    }
+
+    /**
+     * Returns a copy of the uncovered columns, minus the columns caught by the input row.
+     *
+     * @param uncovered the columns not yet covered
+     * @param row       the test being chosen
+     * @return the columns that remain uncovered
+     */
+    private long[] cover(long[] uncovered, int row) {
+        long[] remaining = uncovered.clone();
+        for (int word = 0; word < remaining.length; word++) {
+            remaining[word] &= ~this.rows[row][word];
+        }
+        return remaining;
+    }
+
+    /**
+     * Returns the best cover found so far.
+     *
+     * @return the best cover found so far
+     */
+    private synchronized List<Integer> getBest() {
+        return this.best;
+    }
+
+    /**
+     * Replaces the best cover with the input cover, if it is smaller.
+     *
+     * @param chosen the tests in a cover
+     */
+    private synchronized void offer(Deque<Integer> chosen) {
+        if (chosen.size() < this.best.size()) {
+            this.best = new ArrayList<>(chosen);
+        }
+    }
+
+    /**
+     * Returns the number of uncovered columns caught by the input row.
+     *
+     * @param row       the bitset of columns caught by a test
+     * @param uncovered the columns not yet covered
+     * @return the gain of the test
+     */
+    private static int gain(long[] row, long[] uncovered) {
+        int count = 0;
+        for (int word = 0; word < row.length; word++) {
+            count += Long.bitCount(row[word] & uncovered[word]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of set bits in the input bitset.
+     *
+     * @param bits the bitset
+     * @return the number of set bits
+     */
+    private static int popcount(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if the input bitset has no set bits.
+     *
+     * @param bits the bitset
+     * @return true if bits is empty; false otherwise
+     */
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,269 @@
+package main.rice.concisegen;
+
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains a hitting set as new implementations (files) arrive, without re-running set
+ * cover from scratch. Adding files only costs time proportional to the new files and the
+ * tests that catch them: files already caught by a selected test need nothing, and the
+ * rest are covered by running greedy on the small instance made up of just those files.
+ *
+ * Since incremental updates can drift away from what greedy would select on the whole
+ * instance, the hitting set can also be re-optimized (on demand, or periodically in the
+ * background) by re-running set cover on a snapshot; the result is adopted only if it is
+ * smaller and no files arrived in the meantime.
+ */
+public class IncrementalCover {
+
+    /**
+     * The original results, used to map indices to test cases.
+     */
+    private final TestResults results;
+
+    /**
+     * The files caught by each test, including files that were added later; guarded by
+     * this.
+     */
+    private final List<Set<Integer>> caseToFiles;
+
+    /**
+     * The files that must be caught, including files that were added later; guarded by
+     * this.
+     */
+    private final Set<Integer> wrongSet;
+
+    /**
+     * The indices of the tests in the current hitting set; guarded by this.
+     */
+    private List<Integer> selected;
+
+    /**
+     * The number of updates made so far, used to detect updates made while a
+     * re-optimization was running; guarded by this.
+     */
+    private long version;
+
+    /**
+     * The executor that periodically re-optimizes the hitting set, or null if there is
+     * none; guarded by this.
+     */
+    private ScheduledExecutorService reoptimizer;
+
+    /**
+     * Constructor for an IncrementalCover that starts from the (lazy) greedy hitting set
+     * for the input results.
+     *
+     * @param results the results of testing; not mutated
+     */
+    public IncrementalCover(TestResults results) {
+        this(results, new CoverageMatrix(results.getCaseToFiles(),
+                results.getWrongSet()).lazyGreedyCover());
+    }
+
+    /**
+     * Constructor for an IncrementalCover that starts from an existing hitting set.
+     *
+     * @param results    the results of testing; not mutated
+     * @param hittingSet the indices of the tests in a hitting set for results
+     */
+    public IncrementalCover(TestResults results, Collection<Integer> hittingSet) {
+        this.results = results;
+        this.caseToFiles = new ArrayList<>();
+        for (Set<Integer> files : results.getCaseToFiles()) {
+            this.caseToFiles.add(new HashSet<>(files));
+        }
+        this.wrongSet = new HashSet<>(results.getWrongSet());
+        this.selected = new ArrayList<>(new LinkedHashSet<>(hittingSet));
+    }
+
+    /**
+     * Adds new files to the instance, then adds the fewest tests (according to greedy)
+     * needed to catch the new files that aren't already caught by the hitting set.
+     *
+     * @param fileToCases a map from each new file to the indices of the tests that
+     *                    catch it; files that no test catches are ignored
+     * @return the indices of the tests that were added to the hitting set
+     */
+    public synchronized List<Integer> addFiles(Map<Integer, Set<Integer>> fileToCases) {
+        Set<Integer> selectedSet = new HashSet<>(this.selected);
+
+        // Record the new files, finding the ones that still need to be caught
+        Map<Integer, Set<Integer>> uncaught = new TreeMap<>();
+        for (Map.Entry<Integer, Set<Integer>> entry : fileToCases.entrySet()) {
+            Integer file = entry.getKey();
+            boolean caught = false;
+            for (Integer caseIndex : entry.getValue()) {
+                this.caseToFiles.get(caseIndex).add(file);
+                caught |= selectedSet.contains(caseIndex);
+            }
+            if (!entry.getValue().isEmpty()) {
+                this.wrongSet.add(file);
+                if (!caught) {
+                    uncaught.put(file, entry.getValue());
+                }
+            }
+        }
+        this.version++;
+        if (uncaught.isEmpty()) {
+            return List.of();
+        }
+
+        // Build the instance made up of the uncaught files and the tests that catch them
+        SortedMap<Integer, Set<Integer>> candidateToFiles = new TreeMap<>();
+        for (Map.Entry<Integer, Set<Integer>> entry : uncaught.entrySet()) {
+            for (Integer caseIndex : entry.getValue()) {
+                candidateToFiles.computeIfAbsent(caseIndex, k -> new HashSet<>())
+                        .add(entry.getKey());
+            }
+        }
+        List<Integer> candidates = new ArrayList<>(candidateToFiles.keySet());
+        CoverageMatrix delta = new CoverageMatrix(new ArrayList<>(candidateToFiles.values()),
+                uncaught.keySet());
+
+        // Cover it, and add the selected tests to the hitting set
+        List<Integer> added = new ArrayList<>();
+        for (int row : delta.lazyGreedyCover()) {
+            added.add(candidates.get(row));
+        }
+        this.selected.addAll(added);
+        return added;
+    }
+
+    /**
+     * Records that a test catches a file, for results that arrive one cell at a time.
+     * If the file wasn't known to be wrong, nothing in the hitting set can catch it yet,
+     * so the test is added to the hitting set; reoptimize() can shrink it later.
+     *
+     * @param caseIndex the index of the test
+     * @param file      the file it catches
+     * @return true if the test was added to the hitting set; false otherwise
+     */
+    public synchronized boolean addCatch(int caseIndex, int file) {
+        this.caseToFiles.get(caseIndex).add(file);
+        this.version++;
+        if (!this.wrongSet.add(file) || this.selected.contains(caseIndex)) {
+            return false;
+        }
+        this.selected.add(caseIndex);
+        return true;
+    }
+
+    /**
+     * Removes files from the instance, e.g. because they were deleted or replaced by a
+     * new version. The hitting set still catches every remaining file, but may no longer
+     * be as small; reoptimize() can shrink it.
+     *
+     * @param files the files to remove
+     */
+    public synchronized void removeFiles(Collection<Integer> files) {
+        for (Set<Integer> caught : this.caseToFiles) {
+            caught.removeAll(files);
+        }
+        this.wrongSet.removeAll(files);
+        this.version++;
+    }
+
+    /**
+     * Returns a snapshot of the current instance (including files that were added or
+     * removed later) as TestResults.
+     *
+     * @return the current results
+     */
+    public synchronized TestResults getResults() {
+        List<TestCase> allCases = new ArrayList<>();
+        List<Set<Integer>> caseToFilesCopy = new ArrayList<>();
+        for (int i = 0; i < this.caseToFiles.size(); i++) {
+            allCases.add(this.results.getTestCase(i));
+            caseToFilesCopy.add(new HashSet<>(this.caseToFiles.get(i)));
+        }
+        return new TestResults(allCases, caseToFilesCopy, new HashSet<>(this.wrongSet));
+    }
+
+    /**
+     * Returns the indices of the tests in the current hitting set.
+     *
+     * @return the indices of the tests in the hitting set
+     */
+    public synchronized List<Integer> getSelectedCases() {
+        return new ArrayList<>(this.selected);
+    }
+
+    /**
+     * Returns the test cases in the current hitting set.
+     *
+     * @return the hitting set
+     */
+    public synchronized Set<TestCase> getHittingSet() {
+        Set<TestCase> hittingSet = new HashSet<>();
+        for (int caseIndex : this.selected) {
+            hittingSet.add(this.results.getTestCase(caseIndex));
+        }
+        return hittingSet;
+    }
+
+    /**
+     * Re-runs set cover (with instance reduction) from scratch on a snapshot of the
+     * current instance, and adopts the result if it is smaller than the current hitting
+     * set and no files were added while it was running. Updates are not blocked while
+     * set cover runs.
+     *
+     * @return true if the hitting set was replaced; false otherwise
+     */
+    public boolean reoptimize() {
+        List<Set<Integer>> caseToFilesSnapshot = new ArrayList<>();
+        Set<Integer> wrongSetSnapshot;
+        long snapshotVersion;
+        synchronized (this) {
+            for (Set<Integer> files : this.caseToFiles) {
+                caseToFilesSnapshot.add(new HashSet<>(files));
+            }
+            wrongSetSnapshot = new HashSet<>(this.wrongSet);
+            snapshotVersion = this.version;
+        }
+
+        ReducedInstance reduced = InstanceReducer.reduce(caseToFilesSnapshot, wrongSetSnapshot);
+        List<Integer> candidate = reduced.toOriginal(new CoverageMatrix(
+                reduced.getCaseToFiles(), reduced.getWrongSet()).lazyGreedyCover());
+
+        synchronized (this) {
+            if (this.version == snapshotVersion && candidate.size() < this.selected.size()) {
+                this.selected = candidate;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Starts re-optimizing the hitting set in the background, once every period.
+     *
+     * @param periodMillis the time between re-optimizations, in milliseconds
+     */
+    public synchronized void startReoptimizing(long periodMillis) {
+        this.stopReoptimizing();
+        this.reoptimizer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "set-cover-reoptimizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.reoptimizer.scheduleWithFixedDelay(this::reoptimize, periodMillis, periodMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops re-optimizing the hitting set in the background, if it was being
+     * re-optimized.
+     */
+    public synchronized void stopReoptimizing() {
+        if (this.reoptimizer != null) {
+            this.reoptimizer.shutdownNow();
+            this.reoptimizer = null;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package main.rice.concisegen;
+
+import java.util.*;
+
+/**
+ * Stateless class that shrinks a set-cover instance before it is handed to a solver,
+ * without changing which covers are possible. Repeatedly applies the following rules
+ * until none of them changes anything:
+ *
+ * 1. identical tests are collapsed into the lowest-indexed one (as are tests that catch
+ *    nothing, which are dropped);
+ * 2. files caught by exactly the same tests are collapsed into the lowest-indexed one;
+ * 3. tests that catch a subset of what another test catches are removed (dominated);
+ * 4. tests that are the only test to catch some file are selected (essential), and the
+ *    files that they catch are removed from the instance.
+ *
+ * Files in the wrong set that no test catches are dropped, since they cannot be covered.
+ * Files are represented by their (non-negative) indices.
+ */
+public class InstanceReducer {
+
+    /**
+     * Reduces the input instance.
+     *
+     * @param caseToFiles a list where the i-th element is the set of files caught by the
+     *                    i-th test case; not mutated
+     * @param wrongSet    the set of files that must be covered; not mutated
+     * @return the reduced instance
+     */
+    public static ReducedInstance reduce(List<Set<Integer>> caseToFiles, Set<Integer> wrongSet) {
+        // Represent each test as a bitset over the files in the wrong set
+        BitSet universe = new BitSet();
+        for (Integer file : wrongSet) {
+            universe.set(file);
+        }
+        BitSet[] rows = new BitSet[caseToFiles.size()];
+        BitSet caught = new BitSet();
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new BitSet();
+            for (Integer file : caseToFiles.get(i)) {
+                rows[i].set(file);
+            }
+            rows[i].and(universe);
+            caught.or(rows[i]);
+        }
+        universe.and(caught);
+        boolean[] alive = new boolean[rows.length];
+        Arrays.fill(alive, true);
+
+        List<Integer> essentialCases = new ArrayList<>();
+        boolean changed = true;
+        while (changed) {
+            changed = removeDuplicateRows(rows, alive);
+            changed |= removeDuplicateColumns(rows, alive, universe);
+            changed |= removeDominatedRows(rows, alive, universe);
+            changed |= selectEssentialRows(rows, alive, universe, essentialCases);
+        }
+
+        // Build the reduced instance out of the remaining tests and files
+        List<Set<Integer>> reducedCaseToFiles = new ArrayList<>();
+        List<Integer> originalIndices = new ArrayList<>();
+        for (int i = 0; i < rows.length; i++) {
+            if (alive[i]) {
+                reducedCaseToFiles.add(toSet(rows[i]));
+                originalIndices.add(i);
+            }
+        }
+        return new ReducedInstance(reducedCaseToFiles, toSet(universe), originalIndices,
+                essentialCases);
+    }
+
+    /**
+     * Removes every test that catches nothing, or that catches exactly the same files as
+     * a lower-indexed test.
+     *
+     * @param rows  the files caught by each test
+     * @param alive whether each test is still part of the instance
+     * @return true if any test was removed; false otherwise
+     */
+    private static boolean removeDuplicateRows(BitSet[] rows, boolean[] alive) {
+        boolean changed = false;
+        Set<BitSet> seen = new HashSet<>();
+        for (int i = 0; i < rows.length; i++) {
+            if (alive[i] && (rows[i].isEmpty() || !seen.add(rows[i]))) {
+                alive[i] = false;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes every file that is caught by exactly the same tests as a lower-indexed
+     * file, since covering one covers the other.
+     *
+     * @param rows     the files caught by each test
+     * @param alive    whether each test is still part of the instance
+     * @param universe the files that are still part of the instance
+     * @return true if any file was removed; false otherwise
+     */
+    private static boolean removeDuplicateColumns(BitSet[] rows, boolean[] alive,
+                                                  BitSet universe) {
+        Map<Integer, BitSet> columns = buildColumns(rows, alive, universe);
+        BitSet duplicates = new BitSet();
+        Set<BitSet> seen = new HashSet<>();
+        for (int file = universe.nextSetBit(0); file >= 0; file = universe.nextSetBit(file + 1)) {
+            if (!seen.add(columns.get(file))) {
+                duplicates.set(file);
+            }
+        }
+        if (duplicates.isEmpty()) {
+            return false;
+        }
+
+        universe.andNot(duplicates);
+        for (int i = 0; i < rows.length; i++) {
+            if (alive[i]) {
+                rows[i].andNot(duplicates);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every test whose files are a subset of another test's files. Rows are
+     * assumed to be distinct, so a row can only be dominated by a strictly larger one;
+     * the candidates are limited to the tests that catch the row's least-caught file.
+     *
+     * @param rows     the files caught by each test
+     * @param alive    whether each test is still part of the instance
+     * @param universe the files that are still part of the instance
+     * @return true if any test was removed; false otherwise
+     */
+    private static boolean removeDominatedRows(BitSet[] rows, boolean[] alive,
+                                               BitSet universe) {
+        Map<Integer, BitSet> columns = buildColumns(rows, alive, universe);
+        boolean changed = false;
+        for (int i = 0; i < rows.length; i++) {
+            if (!alive[i] || rows[i].isEmpty()) {
+                continue;
+            }
+
+            // Find the file caught by the fewest tests
+            BitSet candidates = null;
+            for (int file = rows[i].nextSetBit(0); file >= 0; file = rows[i].nextSetBit(file + 1)) {
+                BitSet column = columns.get(file);
+                if (candidates == null || column.cardinality() < candidates.cardinality()) {
+                    candidates = column;
+                }
+            }
+
+            // Check whether any other test that catches that file catches a superset
+            int size = rows[i].cardinality();
+            for (int j = candidates.nextSetBit(0); j >= 0; j = candidates.nextSetBit(j + 1)) {
+                if (j == i || !alive[j] || rows[j].cardinality() <= size) {
+                    continue;
+                }
+                BitSet difference = (BitSet) rows[i].clone();
+                difference.andNot(rows[j]);
+                if (difference.isEmpty()) {
+                    alive[i] = false;
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Selects every test that is the only test to catch some file, and removes the
+     * selected tests and the files that they catch from the instance.
+     *
+     * @param rows           the files caught by each test
+     * @param alive          whether each test is still part of the instance
+     * @param universe       the files that are still part of the instance
+     * @param essentialCases the list to which the selected tests should be added
+     * @return true if any test was selected; false otherwise
+     */
+    private static boolean selectEssentialRows(BitSet[] rows, boolean[] alive,
+                                               BitSet universe, List<Integer> essentialCases) {
+        Map<Integer, BitSet> columns = buildColumns(rows, alive, universe);
+        boolean changed = false;
+        for (int file = universe.nextSetBit(0); file >= 0; file = universe.nextSetBit(file + 1)) {
+            BitSet column = columns.get(file);
+            if (column.cardinality() != 1) {
+                continue;
+            }
+            int i = column.nextSetBit(0);
+            if (!alive[i]) {
+                // Already selected on behalf of another file
+                continue;
+            }
+
+            // Select the test, then remove everything it covers
+            essentialCases.add(i);
+            alive[i] = false;
+            BitSet covered = rows[i];
+            universe.andNot(covered);
+            for (int j = 0; j < rows.length; j++) {
+                if (alive[j]) {
+                    rows[j].andNot(covered);
+                }
+            }
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Builds the transpose of the instance: the set of tests that catch each file.
+     *
+     * @param rows     the files caught by each test
+     * @param alive    whether each test is still part of the instance
+     * @param universe the files that are still part of the instance
+     * @return a map from each file in universe to the tests that catch it
+     */
+    private static Map<Integer, BitSet> buildColumns(BitSet[] rows, boolean[] alive,
+                                                     BitSet universe) {
+        Map<Integer, BitSet> columns = new HashMap<>();
+        for (int file = universe.nextSetBit(0); file >= 0; file = universe.nextSetBit(file + 1)) {
+            columns.put(file, new BitSet());
+        }
+        for (int i = 0; i < rows.length; i++) {
+            if (!alive[i]) {
+                continue;
+            }
+            for (int file = rows[i].nextSetBit(0); file >= 0; file = rows[i].nextSetBit(file + 1)) {
+                columns.get(file).set(i);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Converts a bitset into a set of integers.
+     *
+     * @param bits the bitset to convert
+     * @return the indices of the set bits
+     */
+    private static Set<Integer> toSet(BitSet bits) {
+        Set<Integer> set = new HashSet<>();
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            set.add(i);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,106 @@
+package main.rice.concisegen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The result of reducing a set-cover instance with the InstanceReducer: a smaller
+ * instance to be handed to a solver, plus the information needed to map the solver's
+ * answer back to the original test indices.
+ */
+public class ReducedInstance {
+
+    /**
+     * The files caught by each remaining test, restricted to the remaining files.
+     */
+    private final List<Set<Integer>> caseToFiles;
+
+    /**
+     * The remaining files, which still need to be covered.
+     */
+    private final Set<Integer> wrongSet;
+
+    /**
+     * The original index of each remaining test, such that the i-th element of
+     * caseToFiles corresponds to the originalIndices.get(i)-th original test.
+     */
+    private final List<Integer> originalIndices;
+
+    /**
+     * The original indices of the tests that must be part of any cover, in the order in
+     * which they were found.
+     */
+    private final List<Integer> essentialCases;
+
+    /**
+     * Constructor for a ReducedInstance; initializes all fields.
+     *
+     * @param caseToFiles     the files caught by each remaining test
+     * @param wrongSet        the remaining files
+     * @param originalIndices the original index of each remaining test
+     * @param essentialCases  the original indices of the essential tests
+     */
+    public ReducedInstance(List<Set<Integer>> caseToFiles, Set<Integer> wrongSet,
+                           List<Integer> originalIndices, List<Integer> essentialCases) {
+        this.caseToFiles = caseToFiles;
+        this.wrongSet = wrongSet;
+        this.originalIndices = originalIndices;
+        this.essentialCases = essentialCases;
+    }
+
+    /**
+     * Returns the files caught by each remaining test.
+     *
+     * @return the files caught by each remaining test
+     */
+    public List<Set<Integer>> getCaseToFiles() {
+        return this.caseToFiles;
+    }
+
+    /**
+     * Returns the remaining files, which still need to be covered.
+     *
+     * @return the remaining files
+     */
+    public Set<Integer> getWrongSet() {
+        return this.wrongSet;
+    }
+
+    /**
+     * Returns the original indices of the tests that must be part of any cover.
+     *
+     * @return the original indices of the essential tests
+     */
+    public List<Integer> getEssentialCases() {
+        return Collections.unmodifiableList(this.essentialCases);
+    }
+
+    /**
+     * Returns the original index of the input remaining test.
+     *
+     * @param reducedIndex the index of a test within the reduced instance
+     * @return the index of the same test within the original instance
+     */
+    public int getOriginalIndex(int reducedIndex) {
+        return this.originalIndices.get(reducedIndex);
+    }
+
+    /**
+     * Maps a cover of the reduced instance back to a cover of the original instance,
+     * which consists of the essential tests followed by the original indices of the
+     * input tests.
+     *
+     * @param reducedCover the indices of the tests in a cover of the reduced instance
+     * @return the indices of the tests in the corresponding cover of the original
+     * instance
+     */
+    public List<Integer> toOriginal(List<Integer> reducedCover) {
+        List<Integer> cover = new ArrayList<>(this.essentialCases);
+        for (int reducedIndex : reducedCover) {
+            cover.add(this.getOriginalIndex(reducedIndex));
+        }
+        return cover;
+    }
+}
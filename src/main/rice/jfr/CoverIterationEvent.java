@@ -0,0 +1,32 @@
+package main.rice.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A Flight Recorder event for a single iteration of a greedy set cover: the selection of
+ * one test case.
+ */
+@Name("feat.CoverIteration")
+@Label("Cover Iteration")
+@Category({"FEAT", "Set Cover"})
+@Description("Selection of one test case by a greedy set cover")
+public class CoverIterationEvent extends Event {
+
+    /**
+     * The index of the selected test case.
+     */
+    @Label("Row")
+    public int row;
+
+    /**
+     * The number of files that the selected test case newly covered.
+     */
+    @Label("Gain")
+    public int gain;
+
+    /**
+     * The number of files that remained uncovered after the selection.
+     */
+    @Label("Remaining")
+    public int remaining;
+}
@@ -0,0 +1,51 @@
+package main.rice.jfr;
+
+import jdk.jfr.*;
+import main.rice.node.APyNode;
+import main.rice.obj.APyObj;
+
+import java.util.Set;
+
+/**
+ * A Flight Recorder event for the exhaustive generation of a single node's values. A
+ * compound node's event spans those of its children.
+ */
+@Name("feat.ExhaustiveGeneration")
+@Label("Exhaustive Generation")
+@Category({"FEAT", "Generation"})
+@Description("Generation of every value in a node's exhaustive domain")
+public class ExhaustiveGenerationEvent extends Event {
+
+    /**
+     * The class of the node, e.g. "PyListNode".
+     */
+    @Label("Node Type")
+    public String nodeType;
+
+    /**
+     * The number of values generated.
+     */
+    @Label("Size")
+    public int size;
+
+    /**
+     * Generates the exhaustive values of the input node, recording an event if the event
+     * is enabled.
+     *
+     * @param node the node
+     * @param <T>  the type of Python object generated by the node
+     * @return the node's exhaustive values
+     */
+    public static <T extends APyObj<?>> Set<T> genExVals(APyNode<T> node) {
+        ExhaustiveGenerationEvent event = new ExhaustiveGenerationEvent();
+        event.begin();
+        Set<T> values = node.genExVals();
+        event.end();
+        if (event.shouldCommit()) {
+            event.nodeType = node.getClass().getSimpleName();
+            event.size = values.size();
+            event.commit();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,26 @@
+package main.rice.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A Flight Recorder event for computing the expected result of a single test case on
+ * the solution, including decoding the result.
+ */
+@Name("feat.ExpectedResult")
+@Label("Expected Result")
+@Category({"FEAT", "Testing"})
+@Description("Computation of one test case's expected result on the solution")
+public class ExpectedResultEvent extends Event {
+
+    /**
+     * The index of the test case.
+     */
+    @Label("Test Index")
+    public int testIndex;
+
+    /**
+     * True if the solution produced a result (rather than raising an exception).
+     */
+    @Label("Has Result")
+    public boolean hasResult;
+}
@@ -0,0 +1,32 @@
+package main.rice.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * A Flight Recorder event for a single Python process, from spawn to exit; the event's
+ * duration is the process's latency.
+ */
+@Name("feat.Process")
+@Label("Python Process")
+@Category({"FEAT", "Testing"})
+@Description("A Python process that runs one test case on the solution or an implementation")
+public class ProcessEvent extends Event {
+
+    /**
+     * The file that was run: the solution, or an implementation.
+     */
+    @Label("Implementation")
+    public String implementation;
+
+    /**
+     * The index of the test case.
+     */
+    @Label("Test Index")
+    public int testIndex;
+
+    /**
+     * The exit status of the process.
+     */
+    @Label("Exit Code")
+    public int exitCode;
+}
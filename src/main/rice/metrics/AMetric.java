@@ -0,0 +1,74 @@
+package main.rice.metrics;
+
+/**
+ * An abstract class whose instances are named metrics in a MetricsRegistry. Each metric
+ * knows how to export itself as a JSON value and in the Prometheus text format.
+ */
+public abstract class AMetric {
+
+    /**
+     * The name of this metric, which must be a valid Prometheus metric name.
+     */
+    private final String name;
+
+    /**
+     * A one-line description of this metric.
+     */
+    private final String help;
+
+    /**
+     * Constructor for an AMetric.
+     *
+     * @param name the name of this metric
+     * @param help a one-line description of this metric
+     * @throws IllegalArgumentException if name isn't a valid Prometheus metric name
+     */
+    protected AMetric(String name, String help) {
+        if (!name.matches("[a-zA-Z_:][a-zA-Z0-9_:]*")) {
+            throw new IllegalArgumentException("invalid metric name: " + name);
+        }
+        this.name = name;
+        this.help = help;
+    }
+
+    /**
+     * Returns the name of this metric.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the description of this metric.
+     *
+     * @return the description
+     */
+    public String getHelp() {
+        return this.help;
+    }
+
+    /**
+     * Returns the Prometheus type of this metric, e.g. "counter".
+     *
+     * @return the type
+     */
+    public abstract String getType();
+
+    /**
+     * Returns the current value of this metric as a JSON value (a number, or a JSON
+     * object for compound metrics).
+     *
+     * @return the JSON form of this metric
+     */
+    public abstract Object toJsonValue();
+
+    /**
+     * Appends the samples of this metric, in the Prometheus text format (without the
+     * HELP and TYPE lines), to the input builder.
+     *
+     * @param sb the builder to append to
+     */
+    public abstract void writeSamples(StringBuilder sb);
+}
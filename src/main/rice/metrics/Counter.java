@@ -0,0 +1,84 @@
+package main.rice.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric that only counts up, e.g. the number of processes spawned. Safe to update
+ * from many threads at once.
+ */
+public class Counter extends AMetric {
+
+    /**
+     * The count so far.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Constructor for a Counter.
+     *
+     * @param name the name of this counter
+     * @param help a one-line description of this counter
+     */
+    public Counter(String name, String help) {
+        super(name, help);
+    }
+
+    /**
+     * Adds one to this counter.
+     */
+    public void increment() {
+        this.count.increment();
+    }
+
+    /**
+     * Adds the input amount to this counter.
+     *
+     * @param amount the amount to add
+     * @throws IllegalArgumentException if amount is negative
+     */
+    public void add(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("counters cannot decrease");
+        }
+        this.count.add(amount);
+    }
+
+    /**
+     * Returns the count so far.
+     *
+     * @return the count
+     */
+    public long get() {
+        return this.count.sum();
+    }
+
+    /**
+     * Returns the Prometheus type of this metric.
+     *
+     * @return "counter"
+     */
+    @Override
+    public String getType() {
+        return "counter";
+    }
+
+    /**
+     * Returns the count so far.
+     *
+     * @return the count
+     */
+    @Override
+    public Object toJsonValue() {
+        return this.get();
+    }
+
+    /**
+     * Appends the count to the input builder.
+     *
+     * @param sb the builder to append to
+     */
+    @Override
+    public void writeSamples(StringBuilder sb) {
+        sb.append(this.getName()).append(' ').append(this.get()).append('\n');
+    }
+}
@@ -0,0 +1,99 @@
+package main.rice.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A metric whose value goes up and down, e.g. the number of live workers. The value is
+ * either set directly, or read on demand from a bound source (e.g. a queue's size).
+ */
+public class Gauge extends AMetric {
+
+    /**
+     * The value, when there is no source.
+     */
+    private final AtomicLong value = new AtomicLong();
+
+    /**
+     * The source to read the value from, or null to use value.
+     */
+    private volatile LongSupplier source;
+
+    /**
+     * Constructor for a Gauge.
+     *
+     * @param name the name of this gauge
+     * @param help a one-line description of this gauge
+     */
+    public Gauge(String name, String help) {
+        super(name, help);
+    }
+
+    /**
+     * Sets the value of this gauge.
+     *
+     * @param value the new value
+     */
+    public void set(long value) {
+        this.value.set(value);
+    }
+
+    /**
+     * Adds the input amount (which may be negative) to the value of this gauge.
+     *
+     * @param amount the amount to add
+     */
+    public void add(long amount) {
+        this.value.addAndGet(amount);
+    }
+
+    /**
+     * Reads the value of this gauge from the input source from now on, until another
+     * source (or null) is bound; with null, the gauge goes back to its set value.
+     *
+     * @param source the source to read the value from, or null
+     */
+    public void bind(LongSupplier source) {
+        this.source = source;
+    }
+
+    /**
+     * Returns the current value of this gauge.
+     *
+     * @return the value
+     */
+    public long get() {
+        LongSupplier current = this.source;
+        return (current == null) ? this.value.get() : current.getAsLong();
+    }
+
+    /**
+     * Returns the Prometheus type of this metric.
+     *
+     * @return "gauge"
+     */
+    @Override
+    public String getType() {
+        return "gauge";
+    }
+
+    /**
+     * Returns the current value of this gauge.
+     *
+     * @return the value
+     */
+    @Override
+    public Object toJsonValue() {
+        return this.get();
+    }
+
+    /**
+     * Appends the current value to the input builder.
+     *
+     * @param sb the builder to append to
+     */
+    @Override
+    public void writeSamples(StringBuilder sb) {
+        sb.append(this.getName()).append(' ').append(this.get()).append('\n');
+    }
+}
@@ -0,0 +1,126 @@
+package main.rice.metrics;
+
+/**
+ * The process-wide registry, and the metrics that each stage of a run records into it:
+ * parsing, base set generation, testing and set cover, along with the batch runner and
+ * the pipeline in long-running modes.
+ */
+public final class Metrics {
+
+    /**
+     * The process-wide registry.
+     */
+    public static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    /**
+     * Wall time spent parsing config files.
+     */
+    public static final Timer CONFIG_PARSE = REGISTRY.timer("feat_config_parse_seconds",
+            "Wall time spent parsing config files.");
+
+    /**
+     * Wall time spent generating base sets.
+     */
+    public static final Timer BASE_SET_GENERATION = REGISTRY.timer(
+            "feat_base_set_generation_seconds", "Wall time spent generating base sets.");
+
+    /**
+     * The number of test cases generated.
+     */
+    public static final Counter TESTS_GENERATED = REGISTRY.counter(
+            "feat_tests_generated_total", "Test cases generated across all base sets.");
+
+    /**
+     * Wall time spent encoding test cases in the Tester.
+     */
+    public static final Timer ENCODING = REGISTRY.timer("feat_encoding_seconds",
+            "Wall time spent encoding test case payloads.");
+
+    /**
+     * Wall time spent running the reference solution on whole base sets.
+     */
+    public static final Timer EXPECTED_RESULTS = REGISTRY.timer(
+            "feat_expected_results_seconds",
+            "Wall time spent computing expected results on the solution.");
+
+    /**
+     * Wall time spent running whole base sets on directories of implementations.
+     */
+    public static final Timer RUN_TESTS = REGISTRY.timer("feat_run_tests_seconds",
+            "Wall time spent running test cases on implementations.");
+
+    /**
+     * The number of Python processes spawned.
+     */
+    public static final Counter PROCESSES_SPAWNED = REGISTRY.counter(
+            "feat_processes_spawned_total", "Python processes spawned.");
+
+    /**
+     * The number of Python processes that exited with a non-zero status.
+     */
+    public static final Counter PROCESS_ERRORS = REGISTRY.counter(
+            "feat_process_errors_total", "Python processes that exited with an error.");
+
+    /**
+     * The latency of each Python process, from spawn to exit.
+     */
+    public static final Timer PROCESS_LATENCY = REGISTRY.timer("feat_process_seconds",
+            "Latency of each Python process, from spawn to exit.");
+
+    /**
+     * Wall time spent computing set covers.
+     */
+    public static final Timer SET_COVER = REGISTRY.timer("feat_set_cover_seconds",
+            "Wall time spent computing concise sets.");
+
+    /**
+     * The number of batch jobs answered from the result cache.
+     */
+    public static final Counter RESULT_CACHE_HITS = REGISTRY.counter(
+            "feat_result_cache_hits_total", "Batch jobs answered from the result cache.");
+
+    /**
+     * The number of batch jobs whose base set came from the base set cache.
+     */
+    public static final Counter BASE_SET_CACHE_HITS = REGISTRY.counter(
+            "feat_base_set_cache_hits_total", "Base sets reused from the base set cache.");
+
+    /**
+     * The number of batch jobs currently running.
+     */
+    public static final Gauge BATCH_WORKERS = REGISTRY.gauge("feat_batch_live_workers",
+            "Batch jobs currently running.");
+
+    /**
+     * The number of pipeline stage threads currently running.
+     */
+    public static final Gauge PIPELINE_WORKERS = REGISTRY.gauge(
+            "feat_pipeline_live_workers", "Pipeline stage threads currently running.");
+
+    /**
+     * The depth of the pipelines' queues of test cases awaiting the solution, summed over
+     * every running pipeline.
+     */
+    public static final Gauge CASES_QUEUE = REGISTRY.gauge("feat_pipeline_cases_queue_depth",
+            "Test cases waiting for a solution worker.");
+
+    /**
+     * The depth of the pipelines' queues of cells awaiting an implementation worker,
+     * summed over every running pipeline.
+     */
+    public static final Gauge PENDING_QUEUE = REGISTRY.gauge(
+            "feat_pipeline_pending_queue_depth", "Cells waiting for an implementation worker.");
+
+    /**
+     * The depth of the pipelines' queues of completed cells awaiting the cover stage,
+     * summed over every running pipeline.
+     */
+    public static final Gauge COMPLETED_QUEUE = REGISTRY.gauge(
+            "feat_pipeline_completed_queue_depth", "Completed cells waiting for the cover stage.");
+
+    /**
+     * Stateless class; not to be instantiated.
+     */
+    private Metrics() {
+    }
+}
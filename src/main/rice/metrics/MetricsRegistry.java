@@ -0,0 +1,133 @@
+package main.rice.metrics;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * A set of named metrics, which can be exported as JSON or in the Prometheus text
+ * format. Metrics are registered on first use, and looked up by name afterwards, so
+ * that every caller that asks for the same name shares the same metric.
+ */
+public class MetricsRegistry {
+
+    /**
+     * The metrics, sorted by name so that exports are stable.
+     */
+    private final ConcurrentSkipListMap<String, AMetric> metrics = new ConcurrentSkipListMap<>();
+
+    /**
+     * Returns the counter with the input name, registering it if need be.
+     *
+     * @param name the name of the counter
+     * @param help a one-line description of the counter
+     * @return the counter
+     * @throws IllegalArgumentException if a different kind of metric has that name
+     */
+    public Counter counter(String name, String help) {
+        return this.register(name, Counter.class, n -> new Counter(n, help));
+    }
+
+    /**
+     * Returns the gauge with the input name, registering it if need be.
+     *
+     * @param name the name of the gauge
+     * @param help a one-line description of the gauge
+     * @return the gauge
+     * @throws IllegalArgumentException if a different kind of metric has that name
+     */
+    public Gauge gauge(String name, String help) {
+        return this.register(name, Gauge.class, n -> new Gauge(n, help));
+    }
+
+    /**
+     * Returns the timer with the input name, registering it if need be.
+     *
+     * @param name the name of the timer
+     * @param help a one-line description of the timer
+     * @return the timer
+     * @throws IllegalArgumentException if a different kind of metric has that name
+     */
+    public Timer timer(String name, String help) {
+        return this.register(name, Timer.class, n -> new Timer(n, help));
+    }
+
+    /**
+     * Returns the metric with the input name.
+     *
+     * @param name the name of the metric
+     * @return the metric, or null if there isn't one
+     */
+    public AMetric get(String name) {
+        return this.metrics.get(name);
+    }
+
+    /**
+     * Returns every metric as a JSON object, grouped by type: {"counter": {name: value},
+     * "gauge": {...}, "histogram": {...}}.
+     *
+     * @return the JSON form of this registry
+     */
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        for (AMetric metric : this.metrics.values()) {
+            if (!json.has(metric.getType())) {
+                json.put(metric.getType(), new JSONObject());
+            }
+            json.getJSONObject(metric.getType()).put(metric.getName(), metric.toJsonValue());
+        }
+        return json;
+    }
+
+    /**
+     * Returns every metric in the Prometheus text exposition format.
+     *
+     * @return the Prometheus form of this registry
+     */
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        for (AMetric metric : this.metrics.values()) {
+            sb.append("# HELP ").append(metric.getName()).append(' ')
+                    .append(metric.getHelp().replace("\\", "\\\\").replace("\n", "\\n"))
+                    .append('\n');
+            sb.append("# TYPE ").append(metric.getName()).append(' ')
+                    .append(metric.getType()).append('\n');
+            metric.writeSamples(sb);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes every metric, as JSON, to the input file.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(Path path) throws IOException {
+        Files.writeString(path, this.toJson().toString(2));
+    }
+
+    /**
+     * Returns the metric with the input name and class, registering a new one if there
+     * isn't one.
+     *
+     * @param name    the name of the metric
+     * @param type    the class of the metric
+     * @param factory creates the metric, given its name
+     * @param <T>     the class of the metric
+     * @return the metric
+     * @throws IllegalArgumentException if a different kind of metric has that name
+     */
+    private <T extends AMetric> T register(String name, Class<T> type,
+                                           Function<String, T> factory) {
+        AMetric metric = this.metrics.computeIfAbsent(name, factory);
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException(name + " is already a " + metric.getType());
+        }
+        return type.cast(metric);
+    }
+}
@@ -0,0 +1,170 @@
+package main.rice.metrics;
+
+import org.json.JSONObject;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric that records durations in a histogram with fixed buckets, e.g. the latency of
+ * each Python process, and exports as a Prometheus histogram (in seconds). Safe to
+ * update from many threads at once.
+ */
+public class Timer extends AMetric {
+
+    /**
+     * The upper bounds of the buckets, in seconds; the last bucket (+Inf) is implicit.
+     */
+    private static final double[] BOUNDS = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25,
+            0.5, 1, 2.5, 5, 10, 30, 60};
+
+    /**
+     * The number of durations in each bucket (not cumulative), with the +Inf bucket last.
+     */
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+
+    /**
+     * The sum of all durations, in nanoseconds.
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * The longest duration, in nanoseconds.
+     */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Constructor for a Timer.
+     *
+     * @param name the name of this timer
+     * @param help a one-line description of this timer
+     */
+    public Timer(String name, String help) {
+        super(name, help);
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration, in nanoseconds
+     */
+    public void record(long nanos) {
+        nanos = Math.max(nanos, 0);
+        double seconds = nanos / 1e9;
+        int bucket = 0;
+        while (bucket < BOUNDS.length && seconds > BOUNDS[bucket]) {
+            bucket++;
+        }
+        this.buckets[bucket].increment();
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Records the time elapsed since the input start time.
+     *
+     * @param startNanos the start time, from System.nanoTime()
+     * @return the duration, in nanoseconds
+     */
+    public long recordSince(long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        this.record(nanos);
+        return nanos;
+    }
+
+    /**
+     * Returns the number of durations recorded.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : this.buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of all durations recorded.
+     *
+     * @return the total, in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    /**
+     * Returns the longest duration recorded.
+     *
+     * @return the maximum, in nanoseconds (0 if nothing has been recorded)
+     */
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Returns the Prometheus type of this metric.
+     *
+     * @return "histogram"
+     */
+    @Override
+    public String getType() {
+        return "histogram";
+    }
+
+    /**
+     * Returns the count, total, maximum and cumulative buckets of this timer as a JSON
+     * object.
+     *
+     * @return the JSON form of this timer
+     */
+    @Override
+    public Object toJsonValue() {
+        JSONObject buckets = new JSONObject();
+        long cumulative = 0;
+        for (int i = 0; i < BOUNDS.length; i++) {
+            cumulative += this.buckets[i].sum();
+            buckets.put(formatBound(BOUNDS[i]), cumulative);
+        }
+        JSONObject json = new JSONObject();
+        json.put("count", this.getCount());
+        json.put("total seconds", this.getTotalNanos() / 1e9);
+        json.put("max seconds", this.getMaxNanos() / 1e9);
+        json.put("buckets", buckets);
+        return json;
+    }
+
+    /**
+     * Appends the cumulative buckets, sum and count of this timer to the input builder.
+     *
+     * @param sb the builder to append to
+     */
+    @Override
+    public void writeSamples(StringBuilder sb) {
+        long cumulative = 0;
+        for (int i = 0; i <= BOUNDS.length; i++) {
+            cumulative += this.buckets[i].sum();
+            String bound = (i < BOUNDS.length) ? formatBound(BOUNDS[i]) : "+Inf";
+            sb.append(this.getName()).append("_bucket{le=\"").append(bound).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        sb.append(this.getName()).append("_sum ").append(this.getTotalNanos() / 1e9)
+                .append('\n');
+        sb.append(this.getName()).append("_count ").append(cumulative).append('\n');
+    }
+
+    /**
+     * Formats a bucket bound without a trailing ".0" for whole numbers.
+     *
+     * @param bound the bound, in seconds
+     * @return the formatted bound
+     */
+    private static String formatBound(double bound) {
+        return (bound == Math.rint(bound)) ? Long.toString((long) bound)
+                : Double.toString(bound);
+    }
+}
@@ -1,5 +1,6 @@
 package main.rice.node;
 
+import main.rice.jfr.ExhaustiveGenerationEvent;
 import main.rice.obj.AIterablePyObj;
 import main.rice.obj.APyObj;
 import java.util.*;
@@ -38,12 +39,13 @@ public abstract class AIterablePyNode<OuterType extends AIterablePyObj<InnerType
     /**
      * Generates all valid OuterType objects within the exhaustive domain; begins by
      * generating all valid elements, and then finds all permutations of them of valid
-     * length (as constrained by the exhaustive domain).
+     * length (as constrained by the exhaustive domain). The permutations are generated in
+     * a deterministic order, which follows the order of the child's values.
      *
      * @return a set of OuterTypes comprising the exhaustive domain
      */
     public Set<OuterType> genExVals() {
-        Set<InnerType> innerVals = this.leftChild.genExVals();
+        Set<InnerType> innerVals = ExhaustiveGenerationEvent.genExVals(this.leftChild);
         return this.genPerms(innerVals);
     }
 
@@ -103,7 +105,7 @@ public abstract class AIterablePyNode<OuterType extends AIterablePyObj<InnerType
             perms = this.genPermsHelper(this.exDomainMax(), this.exDomainMin(), innerVals, true);
         } else {
             // Make a bunch of individual calls that only generate the max length
-            perms = new HashSet<>();
+            perms = new LinkedHashSet<>();
             for (Number length : this.exDomain) {
                 perms.addAll(this.genPermsHelper(length.intValue(), 0, innerVals, false));
             }
@@ -128,7 +130,7 @@ public abstract class AIterablePyNode<OuterType extends AIterablePyObj<InnerType
                                           Set<InnerType> innerVals, boolean isContig) {
         // BASE CASE: size 0 -> return a set containing only the empty list
         if (currSize == 0) {
-            Set<OuterType> perms = new HashSet<>();
+            Set<OuterType> perms = new LinkedHashSet<>();
             perms.add(this.genObj(new ArrayList<>()));
             return perms;
         }
@@ -138,7 +140,7 @@ public abstract class AIterablePyNode<OuterType extends AIterablePyObj<InnerType
         Set<OuterType> oneShorter = this.genPermsHelper(currSize - 1, minSize, innerVals, isContig);
 
         // Iterate over each shorter list, adding each possible single element to it
-        Set<OuterType> perms = new HashSet<>();
+        Set<OuterType> perms = new LinkedHashSet<>();
         for (OuterType listObj : oneShorter) {
             // Extract the internal ArrayList representation
             List<InnerType> list = new ArrayList<>(listObj.getValue());
@@ -46,6 +46,16 @@ public abstract class APyNode<ObjType extends APyObj<?>> {
         return null;
     }
 
+    /**
+     * Re-seeds the RNG used for random generation, so that subsequent calls to
+     * genRandVal() produce a reproducible sequence of values.
+     *
+     * @param seed the new seed
+     */
+    public void setSeed(long seed) {
+        this.rand.setSeed(seed);
+    }
+
     /**
      * Sets the exhaustive domain to the input list of numbers.
      *
@@ -112,6 +122,10 @@ public abstract class APyNode<ObjType extends APyObj<?>> {
      * @return true if the exDomain is contiguous starting from 0; false otherwise.
      */
     protected boolean exDomainIsContiguous() {
+        if (this.exDomain instanceof NumberRange<?>) {
+            // Ranges are contiguous by construction
+            return true;
+        }
         int max = this.exDomainMax();
         List<Integer> exDomainCopy = new ArrayList<>();
         for (Number length : this.exDomain) {
@@ -134,6 +148,9 @@ public abstract class APyNode<ObjType extends APyObj<?>> {
      * @return the minimum value in the exhaustive domain
      */
     protected int exDomainMin() {
+        if (this.exDomain instanceof NumberRange<?> range) {
+            return range.getMin();
+        }
         var minLength = Integer.MAX_VALUE;
         for (Number length : this.exDomain) {
             if (length.intValue() < minLength) {
@@ -150,6 +167,9 @@ public abstract class APyNode<ObjType extends APyObj<?>> {
      * @return the maximum value in the exhaustive domain
      */
     protected int exDomainMax() {
+        if (this.exDomain instanceof NumberRange<?> range) {
+            return Math.max(range.getMax(), 0);
+        }
         var maxLength = 0;
         for (Number length : this.exDomain) {
             if (length.intValue() > maxLength) {
@@ -0,0 +1,172 @@
+package main.rice.node;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * An immutable list of the consecutive integers in an inclusive range, as Integers or as
+ * Doubles. Elements are computed on demand rather than stored, so a range uses constant
+ * memory regardless of its size, and get(), contains(), indexOf(), getMin() and getMax()
+ * all run in constant time.
+ *
+ * @param <T> the type of the elements (Integer or Double)
+ */
+public final class NumberRange<T extends Number> extends AbstractList<T> implements RandomAccess {
+
+    /**
+     * The smallest element of the range.
+     */
+    private final int lowerBound;
+
+    /**
+     * The largest element of the range.
+     */
+    private final int upperBound;
+
+    /**
+     * Converts an int in the range to an element.
+     */
+    private final IntFunction<T> boxer;
+
+    /**
+     * The class of the elements, used to decide which objects the range can contain.
+     */
+    private final Class<T> elemType;
+
+    /**
+     * Constructor for a NumberRange; use ofInts() or ofDoubles() instead.
+     *
+     * @param lowerBound the smallest element of the range
+     * @param upperBound the largest element of the range
+     * @param boxer      converts an int in the range to an element
+     * @param elemType   the class of the elements
+     */
+    private NumberRange(int lowerBound, int upperBound, IntFunction<T> boxer,
+                        Class<T> elemType) {
+        if (lowerBound > upperBound) {
+            throw new IllegalArgumentException("lower bound " + lowerBound
+                    + " is greater than upper bound " + upperBound);
+        }
+        if ((long) upperBound - lowerBound >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("range " + lowerBound + "~" + upperBound
+                    + " is too large");
+        }
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.boxer = boxer;
+        this.elemType = elemType;
+    }
+
+    /**
+     * Returns the range lowerBound, lowerBound + 1, ..., upperBound as Integers.
+     *
+     * @param lowerBound the smallest element of the range
+     * @param upperBound the largest element of the range
+     * @return the range
+     * @throws IllegalArgumentException if lowerBound is greater than upperBound, or the
+     *                                  range has more than Integer.MAX_VALUE elements
+     */
+    public static NumberRange<Integer> ofInts(int lowerBound, int upperBound) {
+        return new NumberRange<>(lowerBound, upperBound, Integer::valueOf, Integer.class);
+    }
+
+    /**
+     * Returns the range lowerBound, lowerBound + 1, ..., upperBound as Doubles.
+     *
+     * @param lowerBound the smallest element of the range
+     * @param upperBound the largest element of the range
+     * @return the range
+     * @throws IllegalArgumentException if lowerBound is greater than upperBound, or the
+     *                                  range has more than Integer.MAX_VALUE elements
+     */
+    public static NumberRange<Double> ofDoubles(int lowerBound, int upperBound) {
+        return new NumberRange<>(lowerBound, upperBound, i -> (double) i, Double.class);
+    }
+
+    /**
+     * Returns the smallest element of the range.
+     *
+     * @return the lower bound
+     */
+    public int getMin() {
+        return this.lowerBound;
+    }
+
+    /**
+     * Returns the largest element of the range.
+     *
+     * @return the upper bound
+     */
+    public int getMax() {
+        return this.upperBound;
+    }
+
+    /**
+     * Returns the element at the input index.
+     *
+     * @param index the index of the element
+     * @return lowerBound + index, as an element
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length "
+                    + this.size());
+        }
+        return this.boxer.apply(this.lowerBound + index);
+    }
+
+    /**
+     * Returns the number of elements in the range.
+     *
+     * @return upperBound - lowerBound + 1
+     */
+    @Override
+    public int size() {
+        return this.upperBound - this.lowerBound + 1;
+    }
+
+    /**
+     * Returns true if the input object is an element of the range.
+     *
+     * @param obj the object to look for
+     * @return true if obj is in the range; false otherwise
+     */
+    @Override
+    public boolean contains(Object obj) {
+        return this.indexOf(obj) >= 0;
+    }
+
+    /**
+     * Returns the index of the input object in the range, computed arithmetically.
+     *
+     * @param obj the object to look for
+     * @return the index of obj, or -1 if it is not in the range
+     */
+    @Override
+    public int indexOf(Object obj) {
+        if (!this.elemType.isInstance(obj)) {
+            return -1;
+        }
+        double value = ((Number) obj).doubleValue();
+        if (value != Math.rint(value) || value < this.lowerBound || value > this.upperBound) {
+            return -1;
+        }
+        int index = (int) ((long) value - this.lowerBound);
+        // Rule out -0.0, which is not equal() to 0.0
+        return this.get(index).equals(obj) ? index : -1;
+    }
+
+    /**
+     * Returns the index of the input object in the range; since elements are distinct,
+     * this is the same as indexOf().
+     *
+     * @param obj the object to look for
+     * @return the index of obj, or -1 if it is not in the range
+     */
+    @Override
+    public int lastIndexOf(Object obj) {
+        return this.indexOf(obj);
+    }
+}
@@ -2,7 +2,7 @@ package main.rice.node;
 
 import main.rice.obj.PyBoolObj;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -13,12 +13,13 @@ public class PyBoolNode extends APyNode<PyBoolObj> {
 
     /**
      * Generates all valid PyBoolObjs within the exhaustive domain. Interprets 0 (in
-     * the exhaustive domain) as False and 1 as True.
+     * the exhaustive domain) as False and 1 as True. Values are generated in the order in
+     * which they appear in the domain.
      *
      * @return a set of PyBoolObjs comprising the exhaustive domain
      */
     public Set<PyBoolObj> genExVals() {
-        Set<PyBoolObj> vals = new HashSet<>();
+        Set<PyBoolObj> vals = new LinkedHashSet<>();
         for (Number value : this.exDomain) {
             vals.add(new PyBoolObj((value.intValue() > 0)));
         }
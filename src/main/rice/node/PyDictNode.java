@@ -1,5 +1,6 @@
 package main.rice.node;
 
+import main.rice.jfr.ExhaustiveGenerationEvent;
 import main.rice.obj.APyObj;
 import main.rice.obj.PyDictObj;
 import java.util.*;
@@ -70,8 +71,8 @@ public class PyDictNode<KeyType extends APyObj<?>, ValType extends APyObj<?>>
      */
     public Set<PyDictObj<KeyType, ValType>> genExVals() {
         // Generate all valid keys and values
-        Set<KeyType> keyVals = this.leftChild.genExVals();
-        Set<ValType> valVals = this.rightChild.genExVals();
+        Set<KeyType> keyVals = ExhaustiveGenerationEvent.genExVals(this.leftChild);
+        Set<ValType> valVals = ExhaustiveGenerationEvent.genExVals(this.rightChild);
 
         // Generate all permutations of valid (key, value) pairs of valid length
         return this.genDictPerms(keyVals, valVals);
@@ -91,7 +92,7 @@ public class PyDictNode<KeyType extends APyObj<?>, ValType extends APyObj<?>>
         // Randomly select n (key, value) pairs; make sure to continuously monitor the
         // size, as we could generate the same key twice resulting in the size not
         // increasing from one iteration to the next
-        Map<KeyType, ValType> map = new HashMap<>();
+        Map<KeyType, ValType> map = new LinkedHashMap<>();
         while (map.size() < size) {
             KeyType key = this.leftChild.genRandVal();
             ValType val = this.rightChild.genRandVal();
@@ -117,8 +118,8 @@ public class PyDictNode<KeyType extends APyObj<?>, ValType extends APyObj<?>>
                                                             Set<KeyType> keyVals, Set<ValType> valVals) {
         // BASE CASE: size 0 -> return a set containing only the empty dictionary
         if (size == 0) {
-            Set<PyDictObj<KeyType, ValType>> perms = new HashSet<>();
-            perms.add(new PyDictObj<>(new HashMap<>()));
+            Set<PyDictObj<KeyType, ValType>> perms = new LinkedHashSet<>();
+            perms.add(new PyDictObj<>(new LinkedHashMap<>()));
             return perms;
         }
 
@@ -129,7 +130,7 @@ public class PyDictNode<KeyType extends APyObj<?>, ValType extends APyObj<?>>
 
         // Iterate over each shorter dictionary, adding each possible single (key,
         // value) pair to it
-        Set<PyDictObj<KeyType, ValType>> perms = new HashSet<>(oneShorter);
+        Set<PyDictObj<KeyType, ValType>> perms = new LinkedHashSet<>(oneShorter);
         for (PyDictObj<KeyType, ValType> dictObj : oneShorter) {
             // Extract the internal HashMap representation
             Map<KeyType, ValType> dict = dictObj.getValue();
@@ -142,7 +143,7 @@ public class PyDictNode<KeyType extends APyObj<?>, ValType extends APyObj<?>>
             for (KeyType key : keyVals) {
                 for (ValType val : valVals) {
                     // Make sure to clone dict so as not to mutate the original
-                    Map<KeyType, ValType> dictClone = new HashMap<>(dict);
+                    Map<KeyType, ValType> dictClone = new LinkedHashMap<>(dict);
                     dictClone.put(key, val);
                     perms.add(new PyDictObj<>(dictClone));
                 }
@@ -171,7 +172,7 @@ public class PyDictNode<KeyType extends APyObj<?>, ValType extends APyObj<?>>
                 this.genPermsHelper(maxLength, keyVals, valVals);
 
         // Remove dicts of sizes that are not found in this.domain
-        Set<PyDictObj<KeyType, ValType>> finalPerms = new HashSet<>();
+        Set<PyDictObj<KeyType, ValType>> finalPerms = new LinkedHashSet<>();
         for (PyDictObj<KeyType, ValType> dict : allPerms) {
             if (this.exDomain.contains((dict.getValue()).size())) {
                 finalPerms.add(dict);
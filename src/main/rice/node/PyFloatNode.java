@@ -2,7 +2,7 @@ package main.rice.node;
 
 import main.rice.obj.PyFloatObj;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -11,12 +11,13 @@ import java.util.Set;
 public class PyFloatNode extends APyNode<PyFloatObj> {
 
     /**
-     * Generates all valid PyFloatObjs within the exhaustive domain.
+     * Generates all valid PyFloatObjs within the exhaustive domain, in the order in which
+     * they appear in the domain.
      *
      * @return a set of PyFloatObjs comprising the exhaustive domain
      */
     public Set<PyFloatObj> genExVals() {
-        Set<PyFloatObj> vals = new HashSet<>();
+        Set<PyFloatObj> vals = new LinkedHashSet<>();
         for (Number value : this.exDomain) {
             vals.add(new PyFloatObj(value.doubleValue()));
         }
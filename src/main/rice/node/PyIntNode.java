@@ -2,7 +2,7 @@ package main.rice.node;
 
 import main.rice.obj.PyIntObj;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -11,12 +11,13 @@ import java.util.Set;
 public class PyIntNode extends APyNode<PyIntObj> {
 
     /**
-     * Generates all valid PyIntObjs within the exhaustive domain.
+     * Generates all valid PyIntObjs within the exhaustive domain, in the order in which
+     * they appear in the domain.
      *
      * @return a set of PyIntObjs comprising the exhaustive domain
      */
     public Set<PyIntObj> genExVals() {
-        Set<PyIntObj> vals = new HashSet<>();
+        Set<PyIntObj> vals = new LinkedHashSet<>();
         for (Number value : this.exDomain) {
             vals.add(new PyIntObj(value.intValue()));
         }
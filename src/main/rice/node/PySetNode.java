@@ -36,7 +36,7 @@ public class PySetNode<InnerType extends APyObj<?>> extends AIterablePyNode<
         // Randomly select n elements; make sure to continuously monitor the size, as we
         // could generate the same element twice resulting in the size not increasing
         // from one iteration to the next
-        Set<InnerType> set = new HashSet<>();
+        Set<InnerType> set = new LinkedHashSet<>();
         while (set.size() < length) {
             InnerType childVal = this.leftChild.genRandVal();
             set.add(childVal);
@@ -52,6 +52,6 @@ public class PySetNode<InnerType extends APyObj<?>> extends AIterablePyNode<
      * @return a PyListObj object encapsulating the innerVals
      */
     protected PySetObj<InnerType> genObj(List<InnerType> innerVals) {
-        return new PySetObj<>(new HashSet<>(innerVals));
+        return new PySetObj<>(new LinkedHashSet<>(innerVals));
     }
 }
\ No newline at end of file
@@ -29,12 +29,13 @@ public class PyStringNode extends AIterablePyNode<PyStringObj, PyCharObj> {
     /**
      * Generates all valid PyStringObjs within the exhaustive domain; begins by generating
      * all valid characters, and then finds all permutations of them of valid length (as
-     * constrained by the exhaustive domain).
+     * constrained by the exhaustive domain). Characters are ordered as they were in the
+     * character domain passed to the constructor.
      *
      * @return a set of PyStringObjs comprising the exhaustive domain
      */
     public Set<PyStringObj> genExVals() {
-        return this.genPerms(new HashSet<>(this.charDomain));
+        return this.genPerms(new LinkedHashSet<>(this.charDomain));
     }
 
     /**
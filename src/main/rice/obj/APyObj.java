@@ -22,6 +22,19 @@ public abstract class APyObj<JavaType> {
         return this.value;
     }
 
+    /**
+     * Builds and returns a canonical string representation of this object, which is the
+     * same for any two objects that are equal by value, regardless of the iteration
+     * order of any sets or dicts they contain. For objects that contain no sets or dicts,
+     * this is the same as toString(); sets and dicts override it to list their elements
+     * in the order defined by PyObjComparator.
+     *
+     * @return a canonical string representation of this object
+     */
+    public String toCanonicalString() {
+        return this.toString();
+    }
+
     /**
      * Compares this to the input object by value.
      *
@@ -1,6 +1,7 @@
 package main.rice.obj;
 
 import java.util.Map;
+import java.util.StringJoiner;
 
 /**
  * A representation of Python objects of type dict.
@@ -44,4 +45,23 @@ public class PyDictObj<KeyType extends APyObj, ValType extends APyObj> extends A
         repr.append("}");
         return repr.toString();
     }
+
+    /**
+     * Builds and returns a canonical string representation of this object, in which the
+     * (key, value) pairs are sorted by key according to PyObjComparator (and keys and
+     * values are themselves represented canonically), rather than following the
+     * iteration order of the underlying map.
+     *
+     * @return a canonical string representation of this object
+     */
+    @Override
+    public String toCanonicalString() {
+        StringJoiner repr = new StringJoiner(", ", "{", "}");
+        for (Map.Entry<? extends APyObj<?>, ? extends APyObj<?>> entry :
+                PyObjComparator.INSTANCE.sortedEntries(this.value)) {
+            repr.add(entry.getKey().toCanonicalString() + ": "
+                    + entry.getValue().toCanonicalString());
+        }
+        return repr.toString();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package main.rice.obj;
+
+import java.util.*;
+
+/**
+ * A total ordering over APyObjs that is consistent with equals(), used to give sets and
+ * dicts a canonical, iteration-order-independent representation. Objects are ordered
+ * first by type (bool < int < float < str < tuple < list < set < dict < anything else)
+ * and then by value: numbers numerically, strings and sequences lexicographically, sets
+ * by their sorted elements and dicts by their sorted (key, value) pairs. Chars rank with
+ * strs, and come before the str holding the same character.
+ */
+public class PyObjComparator implements Comparator<APyObj<?>> {
+
+    /**
+     * The shared instance; the comparator is stateless.
+     */
+    public static final PyObjComparator INSTANCE = new PyObjComparator();
+
+    /**
+     * Constructor for a PyObjComparator; private, since INSTANCE should be used instead.
+     */
+    private PyObjComparator() {
+    }
+
+    /**
+     * Compares two objects according to the ordering described above.
+     *
+     * @param a the first object
+     * @param b the second object
+     * @return a negative number, zero, or a positive number as a is less than, equal to,
+     * or greater than b
+     */
+    @Override
+    public int compare(APyObj<?> a, APyObj<?> b) {
+        int rankA = rank(a);
+        int rankB = rank(b);
+        if (rankA != rankB) {
+            return Integer.compare(rankA, rankB);
+        }
+
+        switch (rankA) {
+            case 0:
+                return Boolean.compare((Boolean) a.getValue(), (Boolean) b.getValue());
+            case 1:
+                return Integer.compare((Integer) a.getValue(), (Integer) b.getValue());
+            case 2:
+                return Double.compare((Double) a.getValue(), (Double) b.getValue());
+            case 3:
+                // A PyCharObj never equals the PyStringObj of the same character, so
+                // break the tie by ordering chars first
+                int byChars = charsOf(a).compareTo(charsOf(b));
+                return (byChars != 0) ? byChars
+                        : Boolean.compare(a instanceof PyStringObj, b instanceof PyStringObj);
+            case 4:
+            case 5:
+                return this.compareSequences(elemsOf(a), elemsOf(b));
+            case 6:
+                return this.compareSequences(this.sorted(elemsOf(a)), this.sorted(elemsOf(b)));
+            case 7:
+                return this.compareDicts((Map<?, ?>) a.getValue(), (Map<?, ?>) b.getValue());
+            default:
+                // Unknown types: order by class, then by representation
+                int byClass = a.getClass().getName().compareTo(b.getClass().getName());
+                return (byClass != 0) ? byClass : a.toString().compareTo(b.toString());
+        }
+    }
+
+    /**
+     * Returns a copy of the input elements, sorted according to this ordering.
+     *
+     * @param elems the elements to sort
+     * @return the sorted elements
+     */
+    public List<APyObj<?>> sorted(Collection<? extends APyObj<?>> elems) {
+        List<APyObj<?>> sorted = new ArrayList<>(elems);
+        sorted.sort(this);
+        return sorted;
+    }
+
+    /**
+     * Returns the entries of the input map, sorted by key according to this ordering.
+     *
+     * @param map the map whose entries should be sorted
+     * @return the sorted entries
+     */
+    public List<Map.Entry<? extends APyObj<?>, ? extends APyObj<?>>> sortedEntries(Map<?, ?> map) {
+        List<Map.Entry<? extends APyObj<?>, ? extends APyObj<?>>> entries = new ArrayList<>();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            entries.add(Map.entry((APyObj<?>) entry.getKey(), (APyObj<?>) entry.getValue()));
+        }
+        entries.sort((e1, e2) -> this.compare(e1.getKey(), e2.getKey()));
+        return entries;
+    }
+
+    /**
+     * Returns the rank of the input object's type within the ordering.
+     *
+     * @param obj the object whose type should be ranked
+     * @return the rank of obj's type
+     */
+    private static int rank(APyObj<?> obj) {
+        if (obj instanceof PyBoolObj) {
+            return 0;
+        } else if (obj instanceof PyIntObj) {
+            return 1;
+        } else if (obj instanceof PyFloatObj) {
+            return 2;
+        } else if (obj instanceof PyStringObj || obj instanceof PyCharObj) {
+            return 3;
+        } else if (obj instanceof PyTupleObj) {
+            return 4;
+        } else if (obj instanceof PyListObj) {
+            return 5;
+        } else if (obj instanceof PySetObj) {
+            return 6;
+        } else if (obj instanceof PyDictObj) {
+            return 7;
+        }
+        return 8;
+    }
+
+    /**
+     * Returns the characters of a PyStringObj or PyCharObj as a Java string.
+     *
+     * @param obj a PyStringObj or PyCharObj
+     * @return the characters of obj
+     */
+    private static String charsOf(APyObj<?> obj) {
+        if (obj instanceof PyCharObj character) {
+            return String.valueOf(character.getValue());
+        }
+        StringBuilder sb = new StringBuilder();
+        for (PyCharObj character : ((PyStringObj) obj).getValue()) {
+            sb.append(character.getValue());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the elements of an iterable object.
+     *
+     * @param obj a PyTupleObj, PyListObj or PySetObj
+     * @return the elements of obj
+     */
+    private static Collection<? extends APyObj<?>> elemsOf(APyObj<?> obj) {
+        return ((AIterablePyObj<?>) obj).getValue();
+    }
+
+    /**
+     * Compares two sequences lexicographically; a proper prefix is less than the longer
+     * sequence.
+     *
+     * @param a the first sequence
+     * @param b the second sequence
+     * @return the result of the comparison
+     */
+    private int compareSequences(Collection<? extends APyObj<?>> a,
+                                 Collection<? extends APyObj<?>> b) {
+        Iterator<? extends APyObj<?>> iterA = a.iterator();
+        Iterator<? extends APyObj<?>> iterB = b.iterator();
+        while (iterA.hasNext() && iterB.hasNext()) {
+            int cmp = this.compare(iterA.next(), iterB.next());
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(a.size(), b.size());
+    }
+
+    /**
+     * Compares two dicts by their (key, value) pairs, sorted by key.
+     *
+     * @param a the first dict
+     * @param b the second dict
+     * @return the result of the comparison
+     */
+    private int compareDicts(Map<?, ?> a, Map<?, ?> b) {
+        Iterator<Map.Entry<? extends APyObj<?>, ? extends APyObj<?>>> iterA =
+                this.sortedEntries(a).iterator();
+        Iterator<Map.Entry<? extends APyObj<?>, ? extends APyObj<?>>> iterB =
+                this.sortedEntries(b).iterator();
+        while (iterA.hasNext() && iterB.hasNext()) {
+            Map.Entry<? extends APyObj<?>, ? extends APyObj<?>> entryA = iterA.next();
+            Map.Entry<? extends APyObj<?>, ? extends APyObj<?>> entryB = iterB.next();
+            int cmp = this.compare(entryA.getKey(), entryB.getKey());
+            if (cmp == 0) {
+                cmp = this.compare(entryA.getValue(), entryB.getValue());
+            }
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(a.size(), b.size());
+    }
+}
@@ -1,6 +1,7 @@
 package main.rice.obj;
 
 import java.util.Set;
+import java.util.StringJoiner;
 
 /**
  * A representation of Python objects of type set.
@@ -36,4 +37,24 @@ public class PySetObj<InnerType extends APyObj<?>> extends AIterablePyObj<InnerT
             return "{" + retval + "}";
         }
     }
+
+    /**
+     * Builds and returns a canonical string representation of this object, in which the
+     * elements are sorted according to PyObjComparator (and are themselves represented
+     * canonically), rather than following the iteration order of the underlying set.
+     *
+     * @return a canonical string representation of this object
+     */
+    @Override
+    public String toCanonicalString() {
+        // Special case for an empty set
+        if (this.value.size() == 0) {
+            return "set()";
+        }
+        StringJoiner repr = new StringJoiner(", ", "{", "}");
+        for (APyObj<?> elem : PyObjComparator.INSTANCE.sorted(this.value)) {
+            repr.add(elem.toCanonicalString());
+        }
+        return repr.toString();
+    }
 }
\ No newline at end of file
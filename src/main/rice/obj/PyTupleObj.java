@@ -1,6 +1,7 @@
 package main.rice.obj;
 
 import java.util.List;
+import java.util.StringJoiner;
 
 /**
  * A representation of Python objects of type tuple.
@@ -43,6 +44,21 @@ public class PyTupleObj<InnerType extends APyObj<?>> extends AIterablePyObj<Inne
         return repr.toString();
     }
 
+    /**
+     * Builds and returns a canonical string representation of this object, in which
+     * each element is itself represented canonically.
+     *
+     * @return a canonical string representation of this object
+     */
+    @Override
+    public String toCanonicalString() {
+        StringJoiner repr = new StringJoiner(", ", "(", (this.value.size() == 1) ? ",)" : ")");
+        for (InnerType elem : this.value) {
+            repr.add(elem.toCanonicalString());
+        }
+        return repr.toString();
+    }
+
     /**
      * Compares this to the input object by value; a wrapper around the implementation
      * in the superclass (APyObj) that first checks that obj is a PyTupleObj.
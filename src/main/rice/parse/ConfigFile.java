@@ -8,12 +8,19 @@ public class ConfigFile {
     private String funcName; // Represents the name of the function
     private List<APyNode<?>> nodes; // Represents a list of APyNodes
     private int numRand; // Represents the number of random values
+    private List<TypeDescriptor> types; // Represents the canonical type of each node, if known
 
     // Constructor for the ConfigFile class
     public ConfigFile(String funcName, List<APyNode<?>> nodes, int numRand) {
+        this(funcName, nodes, numRand, null);
+    }
+
+    // Constructor for the ConfigFile class that also records the parsed types
+    public ConfigFile(String funcName, List<APyNode<?>> nodes, int numRand, List<TypeDescriptor> types) {
         this.funcName = funcName;
         this.nodes = nodes;
         this.numRand = numRand;
+        this.types = types;
     }
 
     // Method to get the function name
@@ -30,4 +37,9 @@ public class ConfigFile {
     public int getNumRand() {
         return this.numRand;
     }
+
+    // Method to get the interned type descriptor of each node (null if not parsed)
+    public List<TypeDescriptor> getTypes() {
+        return this.types;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package main.rice.parse;
 
+import main.rice.metrics.Metrics;
 import main.rice.node.*;
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -12,6 +13,7 @@ import java.io.Reader;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -47,6 +49,7 @@ public class ConfigFileParser{
      * @throws InvalidConfigException if the contents cannot be parsed or contain invalid data
      */
     public static ConfigFile parse(String contents) throws InvalidConfigException{
+        long start = System.nanoTime();
         try{
             JSONObject jsonObj = new JSONObject(contents); // Creating a JSONObject from the provided contents
             JSONObjKeyValueCheck(jsonObj); // Checking key-value pairs in the JSONObject
@@ -57,10 +60,14 @@ public class ConfigFileParser{
             int numRandom = (int) jsonObj.get("num random"); // Extracting an integer value from the JSONObject
 
             // Creating a new ConfigFile object using the extracted data
-            return new ConfigFile(fname, returnJSONArrayNodes(types, exDomain, ranDomain), numRandom);
+            List<TypeDescriptor> typeDescriptors = new ArrayList<>();
+            List<APyNode<?>> nodes = returnJSONArrayNodes(types, exDomain, ranDomain, typeDescriptors);
+            return new ConfigFile(fname, nodes, numRandom, typeDescriptors);
         } catch (JSONException e){
             // Handling exceptions when parsing the contents fails
             throw new InvalidConfigException("Unable to convert the provided String contents to a JSON object");
+        } finally {
+            Metrics.CONFIG_PARSE.recordSince(start);
         }
     }
 
@@ -99,96 +106,91 @@ public class ConfigFileParser{
     }
 
     /**
-     * Converts a string representation of a type to a corresponding PyNode object.
+     * Parses a type string from a config file into its canonical descriptor.
      *
-     * @param s   the string representation of the type
-     * @param exD the exhaustive domain string
-     * @param rnD the random domain string
-     * @return an APyNode<?> representing the converted type
-     * @throws InvalidConfigException if the conversion encounters invalid or unsupported types
+     * @param type the type string, e.g. dict(str(ab:list(int
+     * @return the interned descriptor for the type
+     * @throws InvalidConfigException if the type string is malformed
      */
-    private static APyNode<?> StringToNodeTypeConvert(String s, String exD, String rnD) throws InvalidConfigException {
-        // Stripping leading and trailing spaces from the input strings
-        String strippedS = s.strip();
-        exD = exD.strip();
-        rnD = rnD.strip();
-
-        // Checking if the strippedS contains "(" to determine the type of conversion
-        if (!strippedS.contains("(")) {
-            // Handling conversion for simple types (int, bool, float)
-            switch (strippedS) {
-                case "int":
-                    // Creating PyIntNode and setting its domains based on input
-                    PyIntNode pyIntNode = new PyIntNode();
-                    pyIntNode.setExDomain(generateDomain(exD, "int"));
-                    pyIntNode.setRanDomain(generateDomain(rnD, "int"));
-                    return pyIntNode;
-                case "bool":
-                    // Creating PyBoolNode and setting its domains based on input
-                    PyBoolNode pyBoolNode = new PyBoolNode();
-                    pyBoolNode.setExDomain(generateDomain(exD, "bool"));
-                    pyBoolNode.setRanDomain(generateDomain(rnD, "bool"));
-                    return pyBoolNode;
-                case "float":
-                    // Creating PyFloatNode and setting its domains based on input
-                    PyFloatNode pyFloatNode = new PyFloatNode();
-                    pyFloatNode.setExDomain(generateDomain(exD, "float"));
-                    pyFloatNode.setRanDomain(generateDomain(rnD, "float"));
-                    return pyFloatNode;
-                default:
-                    // Handling invalid simple types
-                    throw new InvalidConfigException("invalid simple type");
-            }
-        } else {
-            // Handling complex types with inner structure (dict, list, set, tuple)
-            String outerType = splitChar("(", strippedS)[0].strip();
-            String innerType = splitChar("(", strippedS)[1].strip();
+    public static TypeDescriptor parseType(String type) throws InvalidConfigException {
+        return TypeParser.parse(type);
+    }
 
-            // Handling conversion for string type within the outerType
-            if(outerType.equals("str")){
-                PyStringNode pyStringNode = new PyStringNode(parseCharDomain(innerType));
-                pyStringNode.setExDomain(generateDomain(exD, "string"));
-                pyStringNode.setRanDomain(generateDomain(rnD, "string"));
+    /**
+     * Builds the PyNode tree for a parsed type, reading the domains for each node from
+     * the exhaustive and random domain strings as it goes.
+     *
+     * @param type the descriptor of the type
+     * @param exD  the scanner over the exhaustive domain string
+     * @param rnD  the scanner over the random domain string
+     * @param key  true if the node is (part of) a dict key, whose domains end at ':'
+     * @return an APyNode<?> representing the type
+     * @throws InvalidConfigException if the domains are malformed or don't match the type
+     */
+    private static APyNode<?> buildNode(TypeDescriptor type, TypeParser exD, TypeParser rnD, boolean key) throws InvalidConfigException {
+        switch (type.getKind()) {
+            case INT:
+                // Creating PyIntNode and setting its domains based on input
+                PyIntNode pyIntNode = new PyIntNode();
+                pyIntNode.setExDomain(generateDomain(exD.readLeaf(key), "int"));
+                pyIntNode.setRanDomain(generateDomain(rnD.readLeaf(key), "int"));
+                return pyIntNode;
+            case BOOL:
+                // Creating PyBoolNode and setting its domains based on input
+                PyBoolNode pyBoolNode = new PyBoolNode();
+                pyBoolNode.setExDomain(generateDomain(exD.readLeaf(key), "bool"));
+                pyBoolNode.setRanDomain(generateDomain(rnD.readLeaf(key), "bool"));
+                return pyBoolNode;
+            case FLOAT:
+                // Creating PyFloatNode and setting its domains based on input
+                PyFloatNode pyFloatNode = new PyFloatNode();
+                pyFloatNode.setExDomain(generateDomain(exD.readLeaf(key), "float"));
+                pyFloatNode.setRanDomain(generateDomain(rnD.readLeaf(key), "float"));
+                return pyFloatNode;
+            case STR:
+                // Strings are leaves: their domains are lengths, with no inner domain
+                PyStringNode pyStringNode = new PyStringNode(parseCharDomain(type.getChars()));
+                pyStringNode.setExDomain(generateDomain(exD.readLeaf(key), "string"));
+                pyStringNode.setRanDomain(generateDomain(rnD.readLeaf(key), "string"));
                 return pyStringNode;
-            }
+            default:
+                break;
+        }
 
-            // Splitting the outer and inner domains for nested types
-            String outerRnD = splitChar("(",rnD)[0].strip();
-            String outerExD = splitChar("(", exD)[0].strip();
-            String innerRnD = splitChar("(", rnD)[1].strip();
-            String innerExD = splitChar("(",exD)[1].strip();
+        // Reading the outer domains for nested types; the inner domains follow them
+        String outerExD = exD.readOuter(key);
+        String outerRnD = rnD.readOuter(key);
+        List<TypeDescriptor> children = type.getChildren();
 
-            // Handling conversion for different iterable types (dict, list, set, tuple)
-            switch (outerType) {
-                case "dict":
-                    // Creating PyDictNode and setting its domains based on input
-                    PyDictNode<?,?> pyDictNode = new PyDictNode<>(StringToNodeTypeConvert(splitChar(":",innerType)[0].strip(),splitChar(":", innerExD)[0].strip(), splitChar(":", innerRnD)[0].strip()),
-                            StringToNodeTypeConvert(splitChar(":",innerType)[1].strip(), splitChar(":",innerExD)[1].strip(), splitChar(":",innerRnD)[1].strip()));
-                    pyDictNode.setExDomain(generateDomain(outerExD, "dict"));
-                    pyDictNode.setRanDomain(generateDomain(outerRnD, "dict"));
-                    return pyDictNode;
-                case "list":
-                    // Creating PyListNode and setting its domains based on input
-                    PyListNode<?> pyListNode = new PyListNode<>(StringToNodeTypeConvert(innerType, innerExD, innerRnD));
-                    pyListNode.setExDomain(generateDomain(outerExD, "list"));
-                    pyListNode.setRanDomain(generateDomain(outerRnD, "list"));
-                    return pyListNode;
-                case "set":
-                    // Creating PySetNode and setting its domains based on input
-                    PySetNode<?> pySetNode = new PySetNode<>(StringToNodeTypeConvert(innerType, innerExD, innerRnD));
-                    pySetNode.setExDomain(generateDomain(outerExD, "set"));
-                    pySetNode.setRanDomain(generateDomain(outerRnD, "set"));
-                    return pySetNode;
-                case "tuple":
-                    // Creating PyTupleNode and setting its domains based on input
-                    PyTupleNode<?> pyTupleNode = new PyTupleNode<>(StringToNodeTypeConvert(innerType, innerExD, innerRnD));
-                    pyTupleNode.setExDomain(generateDomain(outerExD, "tuple"));
-                    pyTupleNode.setRanDomain(generateDomain(outerRnD, "tuple"));
-                    return pyTupleNode;
-                default:
-                    // Handling invalid iterable types
-                    throw new InvalidConfigException("invalid iterable type");
-            }
+        // Handling conversion for different iterable types (dict, list, set, tuple)
+        switch (type.getKind()) {
+            case DICT:
+                // Creating PyDictNode and setting its domains based on input
+                APyNode<?> keyNode = buildNode(children.get(0), exD, rnD, true);
+                exD.expect(':');
+                rnD.expect(':');
+                PyDictNode<?,?> pyDictNode = new PyDictNode<>(keyNode, buildNode(children.get(1), exD, rnD, key));
+                pyDictNode.setExDomain(generateDomain(outerExD, "dict"));
+                pyDictNode.setRanDomain(generateDomain(outerRnD, "dict"));
+                return pyDictNode;
+            case LIST:
+                // Creating PyListNode and setting its domains based on input
+                PyListNode<?> pyListNode = new PyListNode<>(buildNode(children.get(0), exD, rnD, key));
+                pyListNode.setExDomain(generateDomain(outerExD, "list"));
+                pyListNode.setRanDomain(generateDomain(outerRnD, "list"));
+                return pyListNode;
+            case SET:
+                // Creating PySetNode and setting its domains based on input
+                PySetNode<?> pySetNode = new PySetNode<>(buildNode(children.get(0), exD, rnD, key));
+                pySetNode.setExDomain(generateDomain(outerExD, "set"));
+                pySetNode.setRanDomain(generateDomain(outerRnD, "set"));
+                return pySetNode;
+            default:
+                // Creating PyTupleNode and setting its domains based on input
+                PyTupleNode<?> pyTupleNode = new PyTupleNode<>(buildNode(children.get(0), exD, rnD, key));
+                pyTupleNode.setExDomain(generateDomain(outerExD, "tuple"));
+                pyTupleNode.setRanDomain(generateDomain(outerRnD, "tuple"));
+                return pyTupleNode;
         }
     }
 
@@ -228,27 +230,25 @@ public class ConfigFileParser{
             // Checking if the string contains '~' indicating a range
             if (string.contains("~")) {
                 // Processing range-based domain
-                List<Integer> retVal = new ArrayList<>();
                 int lowerBound = Integer.parseInt(splitChar("~", string)[0].strip());
                 int upperBound = Integer.parseInt(splitChar("~", string)[1].strip());
-                // Generating range values and adding them to the list
-                for (int i = lowerBound; i <= upperBound; i++) {
-                    retVal.add(i);
-                }
                 // Handling invalid range bounds
                 if (lowerBound > upperBound) {
                     throw new InvalidConfigException("Invalid: the lower bound is greater than the upper bound");
                 }
+                if ((long) upperBound - lowerBound >= Integer.MAX_VALUE) {
+                    throw new InvalidConfigException("Invalid: the range has too many values");
+                }
                 // Checking type-specific constraints for boolean, float, and iterable types
                 if (type.equals("bool")) {
                     if (lowerBound < 0 || upperBound > 1) {
                         throw new InvalidConfigException("Unsupported values for boolean type: all values in the domain must be 0 or 1");
                     }
                 }
-                // Handling conversion to double for float type
+                // Handling conversion to double for float type; the range's values are
+                // computed lazily, so huge ranges cost nothing until they are used
                 if (type.equals("float")) {
-                    List<Double> doubleList = retVal.stream().map(Integer::doubleValue).toList();
-                    return doubleList;
+                    return NumberRange.ofDoubles(lowerBound, upperBound);
                 }
                 // Handling iterable type constraints for dict, tuple, set, list, and string
                 if (type.equals("dict") || type.equals("tuple") || type.equals("set") || type.equals("list") || type.equals("string")) {
@@ -256,7 +256,7 @@ public class ConfigFileParser{
                         throw new InvalidConfigException("The lower bound is less than 0; unsupported operation for iterable types");
                     }
                 }
-                return retVal;
+                return NumberRange.ofInts(lowerBound, upperBound);
             } else {
                 // Processing list-based domain
                 List<Number> retVal = new ArrayList<>();
@@ -310,16 +310,20 @@ public class ConfigFileParser{
      * @param types     JSONArray containing types information
      * @param exDomain  JSONArray containing exhaustive domain information
      * @param ranDomain JSONArray containing random domain information
+     * @param typesOut  list to which the descriptor of each type is appended
      * @return a List of APyNode objects
      * @throws InvalidConfigException if parsing or conversion encounters an issue
      */
-    private static List<APyNode<?>> returnJSONArrayNodes(JSONArray types, JSONArray exDomain, JSONArray ranDomain) throws InvalidConfigException {
+    private static List<APyNode<?>> returnJSONArrayNodes(JSONArray types, JSONArray exDomain, JSONArray ranDomain,
+                                                         List<TypeDescriptor> typesOut) throws InvalidConfigException {
         int sizeOfJSONArray = types.length(); // Determining the size of the JSONArray
         List<APyNode<?>> retVal = new ArrayList<>(); // Initializing the return list
         try {
             // Iterating through the JSONArrays and converting each element to APyNode
             for (int i = 0; i < sizeOfJSONArray; i++) {
-                retVal.add(StringToNodeTypeConvert((String) types.get(i), (String) exDomain.get(i), (String) ranDomain.get(i)));
+                TypeDescriptor type = parseType((String) types.get(i));
+                typesOut.add(type);
+                retVal.add(buildNode(type, new TypeParser((String) exDomain.get(i)), new TypeParser((String) ranDomain.get(i)), false));
             }
         } catch (ClassCastException e) {
             throw new InvalidConfigException("Unable to parse to String type");
@@ -334,7 +338,7 @@ public class ConfigFileParser{
      * @return a Set of characters representing the parsed character domain
      */
     private static Set<Character> parseCharDomain(String charDomain) {
-        Set<Character> retVal = new HashSet<>(); // Initializing the set for characters
+        Set<Character> retVal = new LinkedHashSet<>(); // Initializing the set for characters, keeping their order
         // Iterating through the string representation and adding each character to the set
         for (int i = 0; i < charDomain.length(); i++) {
             retVal.add(charDomain.charAt(i));
@@ -0,0 +1,230 @@
+package main.rice.parse;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * An immutable, canonical description of a Python type from a config file, e.g.
+ * dict(str(ab:list(int. Descriptors are interned: structurally equal descriptors are
+ * always the same object, so repeated subtrees (within one type or across several) are
+ * shared, and descriptors can be compared with == and used cheaply as cache keys. The
+ * intern table only holds descriptors weakly, so that a long-running process (e.g. the
+ * batch server) doesn't accumulate every type it has ever parsed.
+ */
+public final class TypeDescriptor {
+
+    /**
+     * The kinds of type that can appear in a config file.
+     */
+    public enum Kind {
+        INT, BOOL, FLOAT, STR, LIST, SET, TUPLE, DICT;
+
+        /**
+         * Returns the name of this kind in the config file syntax.
+         *
+         * @return the name of the kind, e.g. "int"
+         */
+        public String syntax() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * The table of interned descriptors, mapping each to a weak reference to itself;
+     * guarded by its own lock. An entry is dropped once its descriptor is unreachable,
+     * which also means no live descriptor has it as a child.
+     */
+    private static final Map<TypeDescriptor, WeakReference<TypeDescriptor>> INTERNED =
+            new WeakHashMap<>();
+
+    /**
+     * The kind of this type.
+     */
+    private final Kind kind;
+
+    /**
+     * The (interned) element types: none for simple types and strings, one for lists,
+     * sets and tuples, and the key and value types for dicts.
+     */
+    private final List<TypeDescriptor> children;
+
+    /**
+     * The distinct characters of a string type, in their original order; empty for
+     * other kinds.
+     */
+    private final String chars;
+
+    /**
+     * The hash code, computed once.
+     */
+    private final int hash;
+
+    /**
+     * Constructor for a TypeDescriptor; use the static factories instead.
+     *
+     * @param kind     the kind of the type
+     * @param children the interned element types
+     * @param chars    the distinct characters of a string type
+     */
+    private TypeDescriptor(Kind kind, List<TypeDescriptor> children, String chars) {
+        this.kind = kind;
+        this.children = children;
+        this.chars = chars;
+        this.hash = Objects.hash(kind, children, chars);
+    }
+
+    /**
+     * Returns the descriptor of a simple (int, bool or float) type.
+     *
+     * @param kind the kind of the type
+     * @return the interned descriptor
+     * @throws IllegalArgumentException if kind is not a simple kind
+     */
+    public static TypeDescriptor simple(Kind kind) {
+        if (kind != Kind.INT && kind != Kind.BOOL && kind != Kind.FLOAT) {
+            throw new IllegalArgumentException(kind + " is not a simple type");
+        }
+        return intern(new TypeDescriptor(kind, List.of(), ""));
+    }
+
+    /**
+     * Returns the descriptor of a string type over the input characters; duplicate
+     * characters are dropped, so strings over the same character domain share a
+     * descriptor.
+     *
+     * @param chars the characters that strings of the type are made of
+     * @return the interned descriptor
+     */
+    public static TypeDescriptor str(String chars) {
+        StringBuilder distinct = new StringBuilder();
+        Set<Character> seen = new HashSet<>();
+        for (int i = 0; i < chars.length(); i++) {
+            if (seen.add(chars.charAt(i))) {
+                distinct.append(chars.charAt(i));
+            }
+        }
+        return intern(new TypeDescriptor(Kind.STR, List.of(), distinct.toString()));
+    }
+
+    /**
+     * Returns the descriptor of a list, set or tuple type.
+     *
+     * @param kind the kind of the type
+     * @param elem the element type
+     * @return the interned descriptor
+     * @throws IllegalArgumentException if kind is not LIST, SET or TUPLE
+     */
+    public static TypeDescriptor iterable(Kind kind, TypeDescriptor elem) {
+        if (kind != Kind.LIST && kind != Kind.SET && kind != Kind.TUPLE) {
+            throw new IllegalArgumentException(kind + " is not a list, set or tuple type");
+        }
+        return intern(new TypeDescriptor(kind, List.of(elem), ""));
+    }
+
+    /**
+     * Returns the descriptor of a dict type.
+     *
+     * @param key   the key type
+     * @param value the value type
+     * @return the interned descriptor
+     */
+    public static TypeDescriptor dict(TypeDescriptor key, TypeDescriptor value) {
+        return intern(new TypeDescriptor(Kind.DICT, List.of(key, value), ""));
+    }
+
+    /**
+     * Returns the interned descriptor structurally equal to the input one.
+     *
+     * @param desc the descriptor to intern
+     * @return the canonical descriptor
+     */
+    private static TypeDescriptor intern(TypeDescriptor desc) {
+        synchronized (INTERNED) {
+            WeakReference<TypeDescriptor> ref = INTERNED.get(desc);
+            TypeDescriptor existing = (ref == null) ? null : ref.get();
+            if (existing != null) {
+                return existing;
+            }
+            INTERNED.put(desc, new WeakReference<>(desc));
+            return desc;
+        }
+    }
+
+    /**
+     * Returns the kind of this type.
+     *
+     * @return the kind
+     */
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Returns the element types of this type: none for simple types and strings, one for
+     * lists, sets and tuples, and the key and value types for dicts.
+     *
+     * @return the element types
+     */
+    public List<TypeDescriptor> getChildren() {
+        return this.children;
+    }
+
+    /**
+     * Returns the distinct characters of a string type, in their original order.
+     *
+     * @return the character domain; empty for other kinds
+     */
+    public String getChars() {
+        return this.chars;
+    }
+
+    /**
+     * Compares this descriptor to the input object; since children are interned, they
+     * are compared by identity.
+     *
+     * @param obj the object to compare against
+     * @return true if obj describes the same type; false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TypeDescriptor other) || this.hash != other.hash
+                || this.kind != other.kind || !this.chars.equals(other.chars)
+                || this.children.size() != other.children.size()) {
+            return false;
+        }
+        for (int i = 0; i < this.children.size(); i++) {
+            if (this.children.get(i) != other.children.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of this descriptor.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    /**
+     * Returns this type in the config file syntax, e.g. dict(str(ab:list(int.
+     *
+     * @return the canonical type string
+     */
+    @Override
+    public String toString() {
+        return switch (this.kind) {
+            case INT, BOOL, FLOAT -> this.kind.syntax();
+            case STR -> "str(" + this.chars;
+            case DICT -> "dict(" + this.children.get(0) + ":" + this.children.get(1);
+            default -> this.kind.syntax() + "(" + this.children.get(0);
+        };
+    }
+}
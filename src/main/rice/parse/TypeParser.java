@@ -0,0 +1,195 @@
+package main.rice.parse;
+
+import java.util.Locale;
+
+/**
+ * A single-pass scanner and recursive-descent parser for the type and domain strings in
+ * config files. Types follow the grammar
+ *
+ *   type  := "int" | "bool" | "float" | "str" "(" chars
+ *          | ("list" | "set" | "tuple") "(" type | "dict" "(" key ":" type
+ *
+ * where key is a type parsed in key context: since a dict key ends at the first ':', the
+ * characters of a string (and the domain of a leaf) run to the next ':' in key context,
+ * and to the end of the input otherwise. Domains are nested the same way, e.g.
+ * 1~2(0~3 for a list of ints, and are read piece by piece alongside the parsed type.
+ * Whitespace around each piece is ignored.
+ */
+final class TypeParser {
+
+    /**
+     * The text being scanned.
+     */
+    private final String text;
+
+    /**
+     * The index of the next character to scan.
+     */
+    private int pos;
+
+    /**
+     * Constructor for a TypeParser over the input text.
+     *
+     * @param text the text to scan
+     */
+    TypeParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses the input type string into an interned descriptor.
+     *
+     * @param type the type string, e.g. dict(str(ab:list(int
+     * @return the descriptor for the type
+     * @throws InvalidConfigException if the type string is malformed
+     */
+    static TypeDescriptor parse(String type) throws InvalidConfigException {
+        TypeParser parser = new TypeParser(type);
+        TypeDescriptor desc = parser.parseType(false);
+        if (!parser.atEnd()) {
+            throw new InvalidConfigException("Unexpected characters at the end of type " + type);
+        }
+        return desc;
+    }
+
+    /**
+     * Parses a type starting at the current position.
+     *
+     * @param key true if the type is a dict key, and so ends at the next ':'
+     * @return the descriptor for the type
+     * @throws InvalidConfigException if the type is malformed
+     */
+    private TypeDescriptor parseType(boolean key) throws InvalidConfigException {
+        String name = this.readUntil(key, true);
+        boolean open = this.accept('(');
+        switch (name) {
+            case "int", "bool", "float" -> {
+                if (open) {
+                    throw new InvalidConfigException("invalid iterable type");
+                }
+                return TypeDescriptor.simple(TypeDescriptor.Kind.valueOf(
+                        name.toUpperCase(Locale.ROOT)));
+            }
+            case "str", "list", "set", "tuple", "dict" -> {
+                if (!open) {
+                    throw new InvalidConfigException("invalid simple type");
+                }
+            }
+            default -> throw new InvalidConfigException(open ? "invalid iterable type"
+                    : "invalid simple type");
+        }
+
+        switch (name) {
+            case "str" -> {
+                String chars = this.readLeaf(key);
+                if (chars.isEmpty()) {
+                    throw new InvalidConfigException("The string is not formed correctly");
+                }
+                return TypeDescriptor.str(chars);
+            }
+            case "dict" -> {
+                if (key) {
+                    // The key's ':' would be taken as the end of the outer key
+                    throw new InvalidConfigException("invalid dict key type");
+                }
+                TypeDescriptor keyType = this.parseType(true);
+                this.expect(':');
+                return TypeDescriptor.dict(keyType, this.parseType(key));
+            }
+            default -> {
+                return TypeDescriptor.iterable(TypeDescriptor.Kind.valueOf(
+                        name.toUpperCase(Locale.ROOT)), this.parseType(key));
+            }
+        }
+    }
+
+    /**
+     * Reads the domain of an iterable: everything up to the next '(', which is consumed.
+     *
+     * @param key true if the domain belongs to a dict key, and so ends at the next ':'
+     * @return the (stripped) outer domain
+     * @throws InvalidConfigException if there is no '('
+     */
+    String readOuter(boolean key) throws InvalidConfigException {
+        String outer = this.readUntil(key, true);
+        this.expect('(');
+        return outer;
+    }
+
+    /**
+     * Reads a leaf: everything up to the next ':' in key context, or up to the end of
+     * the input otherwise.
+     *
+     * @param key true if the leaf belongs to a dict key
+     * @return the (stripped) leaf
+     */
+    String readLeaf(boolean key) {
+        return this.readUntil(key, false);
+    }
+
+    /**
+     * Consumes the input character, which must be next (ignoring whitespace).
+     *
+     * @param c the expected character
+     * @throws InvalidConfigException if c is not next
+     */
+    void expect(char c) throws InvalidConfigException {
+        if (!this.accept(c)) {
+            throw new InvalidConfigException(
+                    "Improperly formatted string: expected " + c + " in " + this.text);
+        }
+    }
+
+    /**
+     * Returns true if only whitespace is left.
+     *
+     * @return true if the input is exhausted; false otherwise
+     */
+    boolean atEnd() {
+        this.skipWhitespace();
+        return this.pos == this.text.length();
+    }
+
+    /**
+     * Consumes the input character if it is next (ignoring whitespace).
+     *
+     * @param c the character to look for
+     * @return true if c was consumed; false otherwise
+     */
+    private boolean accept(char c) {
+        this.skipWhitespace();
+        if (this.pos < this.text.length() && this.text.charAt(this.pos) == c) {
+            this.pos++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads up to (but not including) the next delimiter, or the end of the input.
+     *
+     * @param colon true if ':' is a delimiter
+     * @param paren true if '(' is a delimiter
+     * @return the stripped text that was read
+     */
+    private String readUntil(boolean colon, boolean paren) {
+        int start = this.pos;
+        while (this.pos < this.text.length()) {
+            char c = this.text.charAt(this.pos);
+            if ((colon && c == ':') || (paren && c == '(')) {
+                break;
+            }
+            this.pos++;
+        }
+        return this.text.substring(start, this.pos).strip();
+    }
+
+    /**
+     * Skips any whitespace at the current position.
+     */
+    private void skipWhitespace() {
+        while (this.pos < this.text.length() && Character.isWhitespace(this.text.charAt(this.pos))) {
+            this.pos++;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package main.rice.pipeline;
+
+import main.rice.basegen.BaseSetGenerator;
+import main.rice.concisegen.IncrementalCover;
+import main.rice.metrics.Metrics;
+import main.rice.parse.ConfigFile;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+import main.rice.test.Tester;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs testing as a pipeline of concurrent stages connected by bounded queues, rather
+ * than one phase after another:
+ *
+ *   test cases -> solution workers -> (test case, implementation) cells
+ *              -> implementation workers -> completed cells -> incremental cover
+ *
+ * As soon as the solution has produced the expected result for a test case, its cells
+ * can run on the implementation workers, while the solution workers move on to the next
+ * test case; completed cells update a live IncrementalCover. Since every queue is
+ * bounded, a slow stage blocks the stages that feed it (backpressure), so memory stays
+ * bounded, and throughput approaches that of the slowest stage.
+ */
+public class Pipeline {
+
+    /**
+     * The queues of test cases of every pipeline that is currently running.
+     */
+    private static final Set<BlockingQueue<?>> LIVE_CASES = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The queues of pending cells of every pipeline that is currently running.
+     */
+    private static final Set<BlockingQueue<?>> LIVE_PENDING = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The queues of completed cells of every pipeline that is currently running.
+     */
+    private static final Set<BlockingQueue<?>> LIVE_COMPLETED = ConcurrentHashMap.newKeySet();
+
+    static {
+        // The gauges are process-wide, so they report the total over concurrent runs
+        Metrics.CASES_QUEUE.bind(() -> totalSize(LIVE_CASES));
+        Metrics.PENDING_QUEUE.bind(() -> totalSize(LIVE_PENDING));
+        Metrics.COMPLETED_QUEUE.bind(() -> totalSize(LIVE_COMPLETED));
+    }
+
+    /**
+     * The number of threads that run the solution.
+     */
+    private final int solutionWorkers;
+
+    /**
+     * The number of threads that run the implementations.
+     */
+    private final int implWorkers;
+
+    /**
+     * The capacity of each queue between stages.
+     */
+    private final int queueCapacity;
+
+    /**
+     * The cover that completed cells stream into during the current (or most recent)
+     * run, or null if there hasn't been one.
+     */
+    private volatile IncrementalCover liveCover;
+
+    /**
+     * The number of cells completed so far in the current (or most recent) run.
+     */
+    private final AtomicLong completedCells = new AtomicLong();
+
+    /**
+     * A cell of the kill matrix: a test case run on an implementation.
+     */
+    private static final class Cell {
+
+        /**
+         * The marker that tells a stage that there are no more cells.
+         */
+        static final Cell END = new Cell(-1, -1, false);
+
+        /**
+         * The index of the test case.
+         */
+        final int caseIndex;
+
+        /**
+         * The index of the implementation.
+         */
+        final int file;
+
+        /**
+         * True if the implementation passed the test case (once the cell has run).
+         */
+        final boolean passed;
+
+        /**
+         * Constructor for a Cell.
+         *
+         * @param caseIndex the index of the test case
+         * @param file      the index of the implementation
+         * @param passed    true if the implementation passed the test case
+         */
+        Cell(int caseIndex, int file, boolean passed) {
+            this.caseIndex = caseIndex;
+            this.file = file;
+            this.passed = passed;
+        }
+    }
+
+    /**
+     * Constructor for a Pipeline.
+     *
+     * @param solutionWorkers the number of threads that run the solution
+     * @param implWorkers     the number of threads that run the implementations
+     * @param queueCapacity   the capacity of each queue between stages
+     * @throws IllegalArgumentException if any argument is less than 1
+     */
+    public Pipeline(int solutionWorkers, int implWorkers, int queueCapacity) {
+        if (solutionWorkers < 1 || implWorkers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("workers and capacity must be at least 1");
+        }
+        this.solutionWorkers = solutionWorkers;
+        this.implWorkers = implWorkers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Generates the base set for the input config, and runs it through the pipeline.
+     * Generation itself isn't pipelined: random test cases are deduplicated against the
+     * whole exhaustive set, and the Tester encodes every test case up front.
+     *
+     * @param config       the parsed config file
+     * @param solutionPath the path to the reference solution
+     * @param implDirPath  the path to the directory of implementations
+     * @return the results of testing
+     * @throws IOException if the solution or an implementation cannot be run
+     * @throws InterruptedException if interrupted while waiting for the pipeline
+     */
+    public TestResults run(ConfigFile config, String solutionPath, String implDirPath)
+            throws IOException, InterruptedException {
+        List<TestCase> baseSet = new BaseSetGenerator(config.getNodes(),
+                config.getNumRand()).genBaseSet();
+        return this.run(new Tester(config.getFuncName(), solutionPath, implDirPath, baseSet));
+    }
+
+    /**
+     * Runs the input tester's test cases through the pipeline, on the solution and on
+     * every implementation. The results are the same as those of computeExpectedResults()
+     * followed by runTests() (with the test costs measured the same way, as the median
+     * time of the implementations on each test case), and the tester is left in the same
+     * state (with expected.py written, and its verdict location unchanged).
+     *
+     * @param tester the tester
+     * @return the results of testing
+     * @throws IOException if the solution or an implementation cannot be run
+     * @throws InterruptedException if interrupted while waiting for the pipeline
+     */
+    public TestResults run(Tester tester) throws IOException, InterruptedException {
+        List<TestCase> tests = tester.getTests();
+        List<String> impls = tester.listImpls();
+        tester.prepareCells();
+
+        // The outputs, which only the cover stage writes
+        List<Set<Integer>> caseToFiles = new ArrayList<>();
+        for (int i = 0; i < tests.size(); i++) {
+            caseToFiles.add(new HashSet<>());
+        }
+        Set<Integer> wrongSet = new HashSet<>();
+        IncrementalCover cover = new IncrementalCover(new TestResults(tests,
+                emptySets(tests.size()), new HashSet<>()), List.of());
+        this.liveCover = cover;
+        this.completedCells.set(0);
+
+        BlockingQueue<Integer> cases = new ArrayBlockingQueue<>(this.queueCapacity);
+        BlockingQueue<Cell> pending = new ArrayBlockingQueue<>(this.queueCapacity);
+        BlockingQueue<Cell> completed = new ArrayBlockingQueue<>(this.queueCapacity);
+        AtomicInteger solutionsLeft = new AtomicInteger(this.solutionWorkers);
+        AtomicInteger implsLeft = new AtomicInteger(this.implWorkers);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        ExecutorService stages = Executors.newFixedThreadPool(
+                this.solutionWorkers + this.implWorkers + 2, runnable -> {
+                    Thread thread = new Thread(runnable, "pipeline-stage");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        // Feed the test cases, then one end marker per solution worker
+        tasks.add(() -> {
+            for (int i = 0; i < tests.size(); i++) {
+                cases.put(i);
+            }
+            for (int i = 0; i < this.solutionWorkers; i++) {
+                cases.put(-1);
+            }
+            return null;
+        });
+
+        // Run the solution, then release the test case's cells; the last solution worker
+        // to finish tells the implementation workers that there are no more cells
+        for (int w = 0; w < this.solutionWorkers; w++) {
+            tasks.add(() -> {
+                for (int caseIndex = cases.take(); caseIndex >= 0; caseIndex = cases.take()) {
+                    tester.runSolution(caseIndex);
+                    for (int file = 0; file < impls.size(); file++) {
+                        pending.put(new Cell(caseIndex, file, false));
+                    }
+                }
+                if (solutionsLeft.decrementAndGet() == 0) {
+                    for (int i = 0; i < this.implWorkers; i++) {
+                        pending.put(Cell.END);
+                    }
+                }
+                return null;
+            });
+        }
+
+        // Run the implementations; the last worker to finish ends the cover stage
+        for (int w = 0; w < this.implWorkers; w++) {
+            tasks.add(() -> {
+                for (Cell cell = pending.take(); cell != Cell.END; cell = pending.take()) {
+                    boolean passed = tester.runCell(cell.caseIndex, impls.get(cell.file));
+                    completed.put(new Cell(cell.caseIndex, cell.file, passed));
+                }
+                if (implsLeft.decrementAndGet() == 0) {
+                    completed.put(Cell.END);
+                }
+                return null;
+            });
+        }
+
+        // Record the completed cells, and keep the live cover up to date
+        tasks.add(() -> {
+            for (Cell cell = completed.take(); cell != Cell.END; cell = completed.take()) {
+                if (!cell.passed) {
+                    caseToFiles.get(cell.caseIndex).add(cell.file);
+                    wrongSet.add(cell.file);
+                    cover.addCatch(cell.caseIndex, cell.file);
+                }
+                this.completedCells.incrementAndGet();
+            }
+            return null;
+        });
+
+        // Start every stage; if one fails, interrupt the rest so that none stays blocked
+        LIVE_CASES.add(cases);
+        LIVE_PENDING.add(pending);
+        LIVE_COMPLETED.add(completed);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> task : tasks) {
+            futures.add(stages.submit(() -> {
+                Metrics.PIPELINE_WORKERS.add(1);
+                try {
+                    return task.call();
+                } catch (Exception e) {
+                    if (failure.compareAndSet(null, e)) {
+                        stages.shutdownNow();
+                    }
+                    throw e;
+                } finally {
+                    Metrics.PIPELINE_WORKERS.add(-1);
+                }
+            }));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException | CancellationException e) {
+                    // Reported through failure
+                }
+            }
+        } finally {
+            stages.shutdownNow();
+            LIVE_CASES.remove(cases);
+            LIVE_PENDING.remove(pending);
+            LIVE_COMPLETED.remove(completed);
+        }
+
+        Exception e = failure.get();
+        if (e instanceof IOException ioException) {
+            throw ioException;
+        } else if (e instanceof InterruptedException interruptedException) {
+            throw interruptedException;
+        } else if (e != null) {
+            throw new IllegalStateException(e);
+        }
+        tester.finishCells();
+        return new TestResults(tests, caseToFiles, wrongSet, tester.getTestCosts());
+    }
+
+    /**
+     * Returns the cover that completed cells stream into during the current (or most
+     * recent) run; its hitting set catches every implementation caught so far.
+     *
+     * @return the live cover, or null if nothing has been run
+     */
+    public IncrementalCover getLiveCover() {
+        return this.liveCover;
+    }
+
+    /**
+     * Returns the number of cells completed so far in the current (or most recent) run.
+     *
+     * @return the number of completed cells
+     */
+    public long getCompletedCells() {
+        return this.completedCells.get();
+    }
+
+    /**
+     * Returns a list of empty sets.
+     *
+     * @param size the number of sets
+     * @return the list of sets
+     */
+    private static List<Set<Integer>> emptySets(int size) {
+        List<Set<Integer>> sets = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            sets.add(new HashSet<>());
+        }
+        return sets;
+    }
+
+    /**
+     * Returns the total number of elements in the input queues.
+     *
+     * @param queues the queues
+     * @return the sum of their sizes
+     */
+    private static long totalSize(Set<BlockingQueue<?>> queues) {
+        long total = 0;
+        for (BlockingQueue<?> queue : queues) {
+            total += queue.size();
+        }
+        return total;
+    }
+}
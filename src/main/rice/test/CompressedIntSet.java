@@ -0,0 +1,235 @@
+package main.rice.test;
+
+import java.util.*;
+
+/**
+ * An immutable set of non-negative integers stored in roaring-style compressed
+ * containers. The integers are partitioned by their high 16 bits; each partition is
+ * stored either as a sorted array of its low 16 bits (when it is sparse) or as a 65536-bit
+ * bitmap (when it is dense), whichever is smaller. Membership tests are a binary search
+ * over the partitions followed by a binary search or a bit test, and iteration is in
+ * ascending order.
+ */
+public class CompressedIntSet extends AbstractSet<Integer> {
+
+    /**
+     * The largest number of elements stored in an array container; partitions with more
+     * elements than this are stored as bitmaps, which take 8KB regardless of size.
+     */
+    private static final int MAX_ARRAY_SIZE = 4096;
+
+    /**
+     * The shared empty set.
+     */
+    private static final CompressedIntSet EMPTY = new CompressedIntSet(new char[0],
+            new Object[0], 0);
+
+    /**
+     * The high 16 bits of the elements in each partition, in ascending order.
+     */
+    private final char[] keys;
+
+    /**
+     * The container for each partition: either a sorted char[] of low bits, or a long[]
+     * bitmap of 1024 words.
+     */
+    private final Object[] containers;
+
+    /**
+     * The number of elements in the set.
+     */
+    private final int size;
+
+    /**
+     * Constructor for a CompressedIntSet; use of() instead.
+     *
+     * @param keys       the high 16 bits of the elements in each partition
+     * @param containers the container for each partition
+     * @param size       the number of elements
+     */
+    private CompressedIntSet(char[] keys, Object[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * Builds a CompressedIntSet containing the input elements.
+     *
+     * @param elems the elements, which must be non-negative; need not be sorted or
+     *              distinct, and are not mutated
+     * @return the set of elements
+     * @throws IllegalArgumentException if any element is negative
+     */
+    public static CompressedIntSet of(int[] elems) {
+        int[] sorted = elems.clone();
+        Arrays.sort(sorted);
+        if (sorted.length > 0 && sorted[0] < 0) {
+            throw new IllegalArgumentException("negative element " + sorted[0]);
+        }
+        if (sorted.length == 0) {
+            return EMPTY;
+        }
+
+        List<Character> keys = new ArrayList<>();
+        List<Object> containers = new ArrayList<>();
+        int size = 0;
+        int start = 0;
+        while (start < sorted.length) {
+            // Find the end of this partition, skipping duplicates
+            int key = sorted[start] >>> 16;
+            char[] low = new char[Math.min(sorted.length - start, 1 << 16)];
+            int count = 0;
+            int end = start;
+            while (end < sorted.length && (sorted[end] >>> 16) == key) {
+                if (end == start || sorted[end] != sorted[end - 1]) {
+                    low[count++] = (char) sorted[end];
+                }
+                end++;
+            }
+
+            keys.add((char) key);
+            if (count <= MAX_ARRAY_SIZE) {
+                containers.add(Arrays.copyOf(low, count));
+            } else {
+                long[] bitmap = new long[1024];
+                for (int i = 0; i < count; i++) {
+                    bitmap[low[i] >>> 6] |= 1L << low[i];
+                }
+                containers.add(bitmap);
+            }
+            size += count;
+            start = end;
+        }
+
+        char[] keyArray = new char[keys.size()];
+        for (int i = 0; i < keyArray.length; i++) {
+            keyArray[i] = keys.get(i);
+        }
+        return new CompressedIntSet(keyArray, containers.toArray(), size);
+    }
+
+    /**
+     * Builds a CompressedIntSet containing the input elements.
+     *
+     * @param elems the elements, which must be non-negative
+     * @return the set of elements
+     */
+    public static CompressedIntSet of(Collection<Integer> elems) {
+        int[] array = new int[elems.size()];
+        int i = 0;
+        for (Integer elem : elems) {
+            array[i++] = elem;
+        }
+        return of(array);
+    }
+
+    /**
+     * Returns true if the input int is in the set.
+     *
+     * @param elem the int to look for
+     * @return true if elem is in the set; false otherwise
+     */
+    public boolean contains(int elem) {
+        if (elem < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(this.keys, (char) (elem >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Object container = this.containers[index];
+        char low = (char) elem;
+        if (container instanceof char[] array) {
+            return Arrays.binarySearch(array, low) >= 0;
+        }
+        return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    /**
+     * Returns true if the input object is an Integer in the set.
+     *
+     * @param obj the object to look for
+     * @return true if obj is in the set; false otherwise
+     */
+    @Override
+    public boolean contains(Object obj) {
+        return (obj instanceof Integer elem) && this.contains(elem.intValue());
+    }
+
+    /**
+     * Returns the number of elements in the set.
+     *
+     * @return the number of elements
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the elements of the set, in ascending order.
+     *
+     * @return the elements, as an array
+     */
+    public int[] toIntArray() {
+        int[] elems = new int[this.size];
+        int i = 0;
+        for (int k = 0; k < this.keys.length; k++) {
+            int high = this.keys[k] << 16;
+            Object container = this.containers[k];
+            if (container instanceof char[] array) {
+                for (char low : array) {
+                    elems[i++] = high | low;
+                }
+            } else {
+                long[] bitmap = (long[]) container;
+                for (int word = 0; word < bitmap.length; word++) {
+                    for (long bits = bitmap[word]; bits != 0; bits &= bits - 1) {
+                        elems[i++] = high | (word << 6) | Long.numberOfTrailingZeros(bits);
+                    }
+                }
+            }
+        }
+        return elems;
+    }
+
+    /**
+     * Returns an estimate of the number of bytes used by the containers.
+     *
+     * @return the estimated size of the containers, in bytes
+     */
+    public long sizeInBytes() {
+        long bytes = 2L * this.keys.length;
+        for (Object container : this.containers) {
+            bytes += (container instanceof char[] array) ? 2L * array.length : 8L * 1024;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns an iterator over the elements of the set, in ascending order.
+     *
+     * @return an iterator over the elements
+     */
+    @Override
+    public Iterator<Integer> iterator() {
+        int[] elems = this.toIntArray();
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < elems.length;
+            }
+
+            @Override
+            public Integer next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elems[this.next++];
+            }
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package main.rice.test;
+
+import java.util.*;
+
+/**
+ * An in-memory KillMatrix that stores every row and every column as a CompressedIntSet,
+ * so that both row and column queries are fast, and sparse results take a small
+ * fraction of the memory used by boxed hash sets.
+ */
+public class CompressedKillMatrix implements KillMatrix {
+
+    /**
+     * The files caught by each test case.
+     */
+    private final CompressedIntSet[] rows;
+
+    /**
+     * The test cases that caught each file.
+     */
+    private final CompressedIntSet[] columns;
+
+    /**
+     * The files caught by one or more test cases.
+     */
+    private final CompressedIntSet wrongFiles;
+
+    /**
+     * Constructor for a CompressedKillMatrix, built from per-case sets of caught files.
+     *
+     * @param caseToFiles a list where the i-th element is the set of (non-negative)
+     *                    indices of the files caught by the i-th test case; not mutated
+     */
+    public CompressedKillMatrix(List<Set<Integer>> caseToFiles) {
+        // Compress each row, and count the entries in each column
+        this.rows = new CompressedIntSet[caseToFiles.size()];
+        int numFiles = 0;
+        for (int i = 0; i < this.rows.length; i++) {
+            this.rows[i] = CompressedIntSet.of(caseToFiles.get(i));
+            int[] files = this.rows[i].toIntArray();
+            if (files.length > 0) {
+                numFiles = Math.max(numFiles, files[files.length - 1] + 1);
+            }
+        }
+        int[] columnSizes = new int[numFiles];
+        for (CompressedIntSet row : this.rows) {
+            for (int file : row.toIntArray()) {
+                columnSizes[file]++;
+            }
+        }
+
+        // Transpose the rows into columns
+        int[][] columnCases = new int[numFiles][];
+        for (int file = 0; file < numFiles; file++) {
+            columnCases[file] = new int[columnSizes[file]];
+        }
+        int[] filled = new int[numFiles];
+        for (int i = 0; i < this.rows.length; i++) {
+            for (int file : this.rows[i].toIntArray()) {
+                columnCases[file][filled[file]++] = i;
+            }
+        }
+        this.columns = new CompressedIntSet[numFiles];
+        List<Integer> wrong = new ArrayList<>();
+        for (int file = 0; file < numFiles; file++) {
+            this.columns[file] = CompressedIntSet.of(columnCases[file]);
+            if (columnSizes[file] > 0) {
+                wrong.add(file);
+            }
+        }
+        this.wrongFiles = CompressedIntSet.of(wrong);
+    }
+
+    /**
+     * Returns the number of test cases (rows).
+     *
+     * @return the number of test cases
+     */
+    @Override
+    public int numCases() {
+        return this.rows.length;
+    }
+
+    /**
+     * Returns the number of files (columns).
+     *
+     * @return the number of files
+     */
+    @Override
+    public int numFiles() {
+        return this.columns.length;
+    }
+
+    /**
+     * Returns true if the input test case caught the input file.
+     *
+     * @param caseIndex the index of the test case
+     * @param file      the index of the file
+     * @return true if the test case caught the file; false otherwise
+     */
+    @Override
+    public boolean isCaught(int caseIndex, int file) {
+        return this.rows[caseIndex].contains(file);
+    }
+
+    /**
+     * Returns the set of files caught by the input test case.
+     *
+     * @param caseIndex the index of the test case
+     * @return the files caught by the test case
+     */
+    @Override
+    public Set<Integer> filesCaughtBy(int caseIndex) {
+        return this.rows[caseIndex];
+    }
+
+    /**
+     * Returns the set of test cases that caught the input file.
+     *
+     * @param file the index of the file
+     * @return the test cases that caught the file
+     */
+    @Override
+    public Set<Integer> casesCatching(int file) {
+        if (file < 0 || file >= this.columns.length) {
+            return Set.of();
+        }
+        return this.columns[file];
+    }
+
+    /**
+     * Returns the set of files that were caught by one or more test cases.
+     *
+     * @return the set of wrong files
+     */
+    @Override
+    public Set<Integer> wrongFiles() {
+        return this.wrongFiles;
+    }
+
+    /**
+     * Returns an estimate of the number of bytes used by the compressed rows and
+     * columns.
+     *
+     * @return the estimated size of the matrix, in bytes
+     */
+    public long sizeInBytes() {
+        long bytes = this.wrongFiles.sizeInBytes();
+        for (CompressedIntSet row : this.rows) {
+            bytes += row.sizeInBytes();
+        }
+        for (CompressedIntSet column : this.columns) {
+            bytes += column.sizeInBytes();
+        }
+        return bytes;
+    }
+}
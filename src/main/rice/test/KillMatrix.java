@@ -0,0 +1,58 @@
+package main.rice.test;
+
+import java.util.Set;
+
+/**
+ * The results of testing as a boolean matrix, where the cell for test case i and file j
+ * is set if the i-th test case caught the j-th file. Supports both row (test case ->
+ * files) and column (file -> test cases) queries; the sets that are returned are
+ * read-only, and may be views of the underlying storage.
+ */
+public interface KillMatrix {
+
+    /**
+     * Returns the number of test cases (rows).
+     *
+     * @return the number of test cases
+     */
+    int numCases();
+
+    /**
+     * Returns the number of files (columns); every file index is less than this.
+     *
+     * @return the number of files
+     */
+    int numFiles();
+
+    /**
+     * Returns true if the input test case caught the input file.
+     *
+     * @param caseIndex the index of the test case
+     * @param file      the index of the file
+     * @return true if the test case caught the file; false otherwise
+     */
+    boolean isCaught(int caseIndex, int file);
+
+    /**
+     * Returns the set of files caught by the input test case.
+     *
+     * @param caseIndex the index of the test case
+     * @return the files caught by the test case
+     */
+    Set<Integer> filesCaughtBy(int caseIndex);
+
+    /**
+     * Returns the set of test cases that caught the input file.
+     *
+     * @param file the index of the file
+     * @return the test cases that caught the file
+     */
+    Set<Integer> casesCatching(int file);
+
+    /**
+     * Returns the set of files that were caught by one or more test cases.
+     *
+     * @return the set of wrong files
+     */
+    Set<Integer> wrongFiles();
+}
@@ -0,0 +1,400 @@
+package main.rice.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A KillMatrix backed by a memory-mapped file, for results that are too large to keep on
+ * the heap. The file holds the matrix twice, as dense bitsets: once row-major (one
+ * bitset of files per test case) and once column-major (one bitset of test cases per
+ * file), so that both row and column queries read contiguous words. Pages are loaded by
+ * the operating system as they are touched, so only the rows and columns in use need
+ * to be resident.
+ *
+ * The file starts with a 16-byte header (a magic number, a format version, the number of
+ * test cases and the number of files), followed by the row bitsets and then the column
+ * bitsets, all as little-endian longs.
+ */
+public class MappedKillMatrix implements KillMatrix, AutoCloseable {
+
+    /**
+     * The magic number at the start of every matrix file ("KMAT").
+     */
+    private static final int MAGIC = 0x4B4D4154;
+
+    /**
+     * The version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The size of the header, in bytes.
+     */
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * The size of each mapped segment of the file, in bytes; a single mapping cannot
+     * exceed 2GB, so larger files are mapped in several segments.
+     */
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    /**
+     * The channel for the matrix file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mapped segments of the file.
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * The number of test cases (rows).
+     */
+    private final int numCases;
+
+    /**
+     * The number of files (columns).
+     */
+    private final int numFiles;
+
+    /**
+     * The number of words in each row bitset.
+     */
+    private final int rowWords;
+
+    /**
+     * The number of words in each column bitset.
+     */
+    private final int columnWords;
+
+    /**
+     * The files caught by one or more test cases; computed when first needed.
+     */
+    private Set<Integer> wrongFiles;
+
+    /**
+     * Constructor for a MappedKillMatrix; use open() instead.
+     *
+     * @param channel  the channel for the matrix file
+     * @param numCases the number of test cases
+     * @param numFiles the number of files
+     * @throws IOException if the file cannot be mapped
+     */
+    private MappedKillMatrix(FileChannel channel, int numCases, int numFiles) throws IOException {
+        this.channel = channel;
+        this.numCases = numCases;
+        this.numFiles = numFiles;
+        this.rowWords = (numFiles + 63) >>> 6;
+        this.columnWords = (numCases + 63) >>> 6;
+
+        long size = channel.size();
+        this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_BYTES - 1) / SEGMENT_BYTES)];
+        for (int i = 0; i < this.segments.length; i++) {
+            long start = i * SEGMENT_BYTES;
+            this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(SEGMENT_BYTES, size - start));
+            this.segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Writes the input matrix to a file in the format read by open(), one row or column
+     * at a time (so that the whole matrix never needs to be on the heap as bitsets).
+     *
+     * @param path   the path of the file to write; replaced if it exists
+     * @param matrix the matrix to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, KillMatrix matrix) throws IOException {
+        int numCases = matrix.numCases();
+        int numFiles = matrix.numFiles();
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(numCases).putInt(numFiles).flip();
+            writeFully(out, header);
+
+            for (int caseIndex = 0; caseIndex < numCases; caseIndex++) {
+                writeBits(out, matrix.filesCaughtBy(caseIndex), (numFiles + 63) >>> 6);
+            }
+            for (int file = 0; file < numFiles; file++) {
+                writeBits(out, matrix.casesCatching(file), (numCases + 63) >>> 6);
+            }
+        }
+    }
+
+    /**
+     * Opens a matrix file written by write(), mapping it into memory.
+     *
+     * @param path the path of the file to open
+     * @return the matrix stored in the file
+     * @throws IOException if the file cannot be read, or is not a matrix file
+     */
+    public static MappedKillMatrix open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is full or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC
+                    || header.getInt() != VERSION) {
+                throw new IOException("not a kill matrix file: " + path);
+            }
+            int numCases = header.getInt();
+            int numFiles = header.getInt();
+            long expected = HEADER_BYTES + 8L * ((long) numCases * ((numFiles + 63) >>> 6)
+                    + (long) numFiles * ((numCases + 63) >>> 6));
+            if (channel.size() != expected) {
+                throw new IOException("truncated kill matrix file: " + path);
+            }
+            return new MappedKillMatrix(channel, numCases, numFiles);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of test cases (rows).
+     *
+     * @return the number of test cases
+     */
+    @Override
+    public int numCases() {
+        return this.numCases;
+    }
+
+    /**
+     * Returns the number of files (columns).
+     *
+     * @return the number of files
+     */
+    @Override
+    public int numFiles() {
+        return this.numFiles;
+    }
+
+    /**
+     * Returns true if the input test case caught the input file.
+     *
+     * @param caseIndex the index of the test case
+     * @param file      the index of the file
+     * @return true if the test case caught the file; false otherwise
+     */
+    @Override
+    public boolean isCaught(int caseIndex, int file) {
+        return this.filesCaughtBy(caseIndex).contains(file);
+    }
+
+    /**
+     * Returns the set of files caught by the input test case, as a view of the file.
+     *
+     * @param caseIndex the index of the test case
+     * @return the files caught by the test case
+     */
+    @Override
+    public Set<Integer> filesCaughtBy(int caseIndex) {
+        Objects.checkIndex(caseIndex, this.numCases);
+        return new BitView((long) caseIndex * this.rowWords, this.numFiles);
+    }
+
+    /**
+     * Returns the set of test cases that caught the input file, as a view of the file.
+     *
+     * @param file the index of the file
+     * @return the test cases that caught the file
+     */
+    @Override
+    public Set<Integer> casesCatching(int file) {
+        if (file < 0 || file >= this.numFiles) {
+            return Set.of();
+        }
+        long columnsStart = (long) this.numCases * this.rowWords;
+        return new BitView(columnsStart + (long) file * this.columnWords, this.numCases);
+    }
+
+    /**
+     * Returns the set of files that were caught by one or more test cases.
+     *
+     * @return the set of wrong files
+     */
+    @Override
+    public synchronized Set<Integer> wrongFiles() {
+        if (this.wrongFiles == null) {
+            List<Integer> wrong = new ArrayList<>();
+            for (int file = 0; file < this.numFiles; file++) {
+                if (!this.casesCatching(file).isEmpty()) {
+                    wrong.add(file);
+                }
+            }
+            this.wrongFiles = CompressedIntSet.of(wrong);
+        }
+        return this.wrongFiles;
+    }
+
+    /**
+     * Closes the matrix file; the matrix must not be used afterwards.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Reads the word at the input index (counting from the end of the header).
+     *
+     * @param index the index of the word
+     * @return the word
+     */
+    private long word(long index) {
+        long offset = HEADER_BYTES + 8 * index;
+        return this.segments[(int) (offset / SEGMENT_BYTES)].getLong((int) (offset % SEGMENT_BYTES));
+    }
+
+    /**
+     * Writes the input set to the channel as a bitset of the input number of words.
+     *
+     * @param out      the channel to write to
+     * @param elems    the set bits
+     * @param numWords the length of the bitset, in words
+     * @throws IOException if the bitset cannot be written
+     */
+    private static void writeBits(FileChannel out, Set<Integer> elems, int numWords)
+            throws IOException {
+        long[] bits = new long[numWords];
+        for (int elem : elems) {
+            bits[elem >>> 6] |= 1L << elem;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(8 * numWords).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asLongBuffer().put(bits);
+        writeFully(out, buffer);
+    }
+
+    /**
+     * Writes the whole of the input buffer to the channel.
+     *
+     * @param out    the channel to write to
+     * @param buffer the buffer to write
+     * @throws IOException if the buffer cannot be written
+     */
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /**
+     * A read-only set view of a bitset stored in the file.
+     */
+    private class BitView extends AbstractSet<Integer> {
+
+        /**
+         * The index of the bitset's first word.
+         */
+        private final long firstWord;
+
+        /**
+         * The number of bits in the bitset.
+         */
+        private final int numBits;
+
+        /**
+         * Constructor for a BitView.
+         *
+         * @param firstWord the index of the bitset's first word
+         * @param numBits   the number of bits in the bitset
+         */
+        BitView(long firstWord, int numBits) {
+            this.firstWord = firstWord;
+            this.numBits = numBits;
+        }
+
+        /**
+         * Returns true if the input object is an Integer whose bit is set.
+         *
+         * @param obj the object to look for
+         * @return true if obj is in the set; false otherwise
+         */
+        @Override
+        public boolean contains(Object obj) {
+            if (!(obj instanceof Integer elem) || elem < 0 || elem >= this.numBits) {
+                return false;
+            }
+            return (word(this.firstWord + (elem >>> 6)) & (1L << elem)) != 0;
+        }
+
+        /**
+         * Returns the number of set bits.
+         *
+         * @return the number of elements
+         */
+        @Override
+        public int size() {
+            int count = 0;
+            int numWords = (this.numBits + 63) >>> 6;
+            for (int i = 0; i < numWords; i++) {
+                count += Long.bitCount(word(this.firstWord + i));
+            }
+            return count;
+        }
+
+        /**
+         * Returns true if no bits are set; stops at the first set bit.
+         *
+         * @return true if the set is empty; false otherwise
+         */
+        @Override
+        public boolean isEmpty() {
+            int numWords = (this.numBits + 63) >>> 6;
+            for (int i = 0; i < numWords; i++) {
+                if (word(this.firstWord + i) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns an iterator over the set bits, in ascending order.
+         *
+         * @return an iterator over the elements
+         */
+        @Override
+        public Iterator<Integer> iterator() {
+            int numWords = (this.numBits + 63) >>> 6;
+            return new Iterator<>() {
+                private int wordIndex = -1;
+                private long bits = 0;
+
+                @Override
+                public boolean hasNext() {
+                    while (this.bits == 0 && this.wordIndex + 1 < numWords) {
+                        this.bits = word(firstWord + ++this.wordIndex);
+                    }
+                    return this.bits != 0;
+                }
+
+                @Override
+                public Integer next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int elem = (this.wordIndex << 6) + Long.numberOfTrailingZeros(this.bits);
+                    this.bits &= this.bits - 1;
+                    return elem;
+                }
+            };
+        }
+    }
+}
@@ -2,6 +2,7 @@ package main.rice.test;
 
 import main.rice.obj.APyObj;
 import java.util.List;
+import java.util.StringJoiner;
 
 /**
  * A representation of a test case; a wrapper around its arguments, each of which is an
@@ -42,6 +43,21 @@ public class TestCase {
         return this.args.toString();
     }
 
+    /**
+     * Returns a canonical string representation of this test's arguments, which does not
+     * depend on the iteration order of any sets or dicts among them; suitable for use as
+     * a cache key.
+     *
+     * @return a canonical string representation of this test's arguments
+     */
+    public String toCanonicalString() {
+        StringJoiner repr = new StringJoiner(", ", "[", "]");
+        for (APyObj<?> arg : this.args) {
+            repr.add(arg.toCanonicalString());
+        }
+        return repr.toString();
+    }
+
     /**
      * Compares this test's arguments to the input object's arguments (if it's a TestCase)
      * by value.
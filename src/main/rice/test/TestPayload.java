@@ -0,0 +1,89 @@
+package main.rice.test;
+
+import main.rice.obj.APyObj;
+import main.rice.wire.WireCodec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable, pre-encoded representation of a single test case's arguments. Each test
+ * case is encoded exactly once (when the Tester receives the base set), and the resulting
+ * payload is then reused for the reference solution and for every implementation under
+ * test, rather than being re-serialized once per process.
+ */
+public final class TestPayload {
+
+    /**
+     * The Python representation of each argument, in order; these are passed as-is on
+     * the command line.
+     */
+    private final List<String> argReprs;
+
+    /**
+     * The binary (WireCodec) encoding of the arguments, which is written to the stdin of
+     * processes that use the binary wire format.
+     */
+    private final byte[] wireBytes;
+
+    /**
+     * Constructor for a TestPayload; encodes each of the input test's arguments, both as
+     * Python representations and in the binary wire format.
+     *
+     * @param test the test case to be encoded
+     */
+    public TestPayload(TestCase test) {
+        List<String> reprs = new ArrayList<>(test.getArgs().size());
+        for (APyObj<?> arg : test.getArgs()) {
+            reprs.add(arg.toString());
+        }
+        this.argReprs = Collections.unmodifiableList(reprs);
+        this.wireBytes = WireCodec.encodeArgs(test.getArgs());
+    }
+
+    /**
+     * Returns the Python representation of each argument, in order.
+     *
+     * @return an unmodifiable list of argument representations
+     */
+    public List<String> getArgReprs() {
+        return this.argReprs;
+    }
+
+    /**
+     * Returns the length (in bytes) of the binary encoding of the arguments.
+     *
+     * @return the length of the binary encoding
+     */
+    public int getWireLength() {
+        return this.wireBytes.length;
+    }
+
+    /**
+     * Writes the binary encoding of the arguments to the input stream; the encoding
+     * itself is never exposed, so that it cannot be mutated.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    public void writeWireBytes(OutputStream out) throws IOException {
+        out.write(this.wireBytes);
+    }
+
+    /**
+     * Encodes every test case in the input list.
+     *
+     * @param tests the test cases to be encoded
+     * @return a list where the i-th element is the payload for the i-th test case
+     */
+    public static List<TestPayload> encodeAll(List<TestCase> tests) {
+        List<TestPayload> payloads = new ArrayList<>(tests.size());
+        for (TestCase test : tests) {
+            payloads.add(new TestPayload(test));
+        }
+        return Collections.unmodifiableList(payloads);
+    }
+}
@@ -1,10 +1,15 @@
 package main.rice.test;
 
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Set;
 
 /**
  * A representation of the results of running a series of tests on a series of files.
+ * The results are stored either as a list of sets (one per test case) or as a
+ * KillMatrix (e.g. a CompressedKillMatrix, or a MappedKillMatrix for results larger than
+ * the heap); either way, getCaseToFiles() and getWrongSet() present them as collections,
+ * which are views when the results are stored in a KillMatrix.
  */
 public class TestResults {
 
@@ -28,7 +33,26 @@ public class TestResults {
     private final Set<Integer> wrongSet;
 
     /**
-     * Constructor for a TestResults object; initializes all fields.
+     * The cost (execution time, in nanoseconds) of each test case in allCases, or null if
+     * the costs are unknown.
+     */
+    private final List<Long> caseCosts;
+
+    /**
+     * The results of testing as a KillMatrix; built from caseToFiles when first needed,
+     * if the results were not supplied as a matrix.
+     */
+    private KillMatrix matrix;
+
+    /**
+     * True if not every test case was run on every file (e.g. in triage mode), in which
+     * case caseToFiles is only a partial record of which test cases catch which files.
+     */
+    private final boolean incomplete;
+
+    /**
+     * Constructor for a TestResults object whose test costs are unknown; initializes all
+     * fields.
      *
      * @param allCases    all test cases that were executed
      * @param caseToFiles a list where the i-th element is a set of integers representing
@@ -37,9 +61,89 @@ public class TestResults {
      */
     public TestResults(List<TestCase> allCases, List<Set<Integer>> caseToFiles,
                        Set<Integer> wrongSet) {
+        this(allCases, caseToFiles, wrongSet, null);
+    }
+
+    /**
+     * Constructor for a TestResults object; initializes all fields.
+     *
+     * @param allCases    all test cases that were executed
+     * @param caseToFiles a list where the i-th element is a set of integers representing
+     *                    the files that were caught by the i-th test case in allCases
+     * @param wrongSet    the set of all files that failed one or more tests in allCases
+     * @param caseCosts   a list where the i-th element is the cost (execution time, in
+     *                    nanoseconds) of the i-th test case in allCases; may be null
+     */
+    public TestResults(List<TestCase> allCases, List<Set<Integer>> caseToFiles,
+                       Set<Integer> wrongSet, List<Long> caseCosts) {
+        this(allCases, caseToFiles, wrongSet, caseCosts, false);
+    }
+
+    /**
+     * Constructor for a TestResults object that may be incomplete; initializes all
+     * fields.
+     *
+     * @param allCases    all test cases that were executed
+     * @param caseToFiles a list where the i-th element is a set of integers representing
+     *                    the files that were caught by the i-th test case in allCases
+     * @param wrongSet    the set of all files that failed one or more tests in allCases
+     * @param caseCosts   a list where the i-th element is the cost (execution time, in
+     *                    nanoseconds) of the i-th test case in allCases; may be null
+     * @param incomplete  true if not every test case was run on every file
+     */
+    public TestResults(List<TestCase> allCases, List<Set<Integer>> caseToFiles,
+                       Set<Integer> wrongSet, List<Long> caseCosts, boolean incomplete) {
         this.allCases = allCases;
         this.caseToFiles = caseToFiles;
         this.wrongSet = wrongSet;
+        this.caseCosts = caseCosts;
+        this.incomplete = incomplete;
+    }
+
+    /**
+     * Constructor for a TestResults object whose results are stored in a KillMatrix; the
+     * per-case sets of files and the wrong set are views of the matrix.
+     *
+     * @param allCases  all test cases that were executed
+     * @param matrix    the results of testing, where row i belongs to the i-th test case
+     *                  in allCases
+     * @param caseCosts a list where the i-th element is the cost (execution time, in
+     *                  nanoseconds) of the i-th test case in allCases; may be null
+     */
+    public TestResults(List<TestCase> allCases, KillMatrix matrix, List<Long> caseCosts) {
+        this(allCases, matrix, caseCosts, false);
+    }
+
+    /**
+     * Constructor for a TestResults object whose results are stored in a KillMatrix, and
+     * that may be incomplete; the per-case sets of files and the wrong set are views of
+     * the matrix.
+     *
+     * @param allCases   all test cases that were executed
+     * @param matrix     the results of testing, where row i belongs to the i-th test
+     *                   case in allCases
+     * @param caseCosts  a list where the i-th element is the cost (execution time, in
+     *                   nanoseconds) of the i-th test case in allCases; may be null
+     * @param incomplete true if not every test case was run on every file
+     */
+    public TestResults(List<TestCase> allCases, KillMatrix matrix, List<Long> caseCosts,
+                       boolean incomplete) {
+        this.allCases = allCases;
+        this.matrix = matrix;
+        this.caseCosts = caseCosts;
+        this.incomplete = incomplete;
+        this.wrongSet = matrix.wrongFiles();
+        this.caseToFiles = new AbstractList<>() {
+            @Override
+            public Set<Integer> get(int index) {
+                return matrix.filesCaughtBy(index);
+            }
+
+            @Override
+            public int size() {
+                return matrix.numCases();
+            }
+        };
     }
 
     /**
@@ -76,4 +180,60 @@ public class TestResults {
     public List<Set<Integer>> getCaseToFiles() {
         return this.caseToFiles;
     }
+
+    /**
+     * Returns the per-case cost of running each test case (in nanoseconds), or null if
+     * the costs are unknown.
+     *
+     * @return the per-case costs, or null
+     */
+    public List<Long> getCaseCosts() {
+        return this.caseCosts;
+    }
+
+    /**
+     * Returns the results of testing as a KillMatrix, which supports fast column queries
+     * (file -> test cases); if the results were supplied as a list of sets, the matrix is
+     * built (and cached) on the first call.
+     *
+     * @return the results of testing, as a KillMatrix
+     */
+    public synchronized KillMatrix getMatrix() {
+        if (this.matrix == null) {
+            this.matrix = new CompressedKillMatrix(this.caseToFiles);
+        }
+        return this.matrix;
+    }
+
+    /**
+     * Returns the set of test cases that caught the input file.
+     *
+     * @param file the index of the file
+     * @return the indices of the test cases that caught the file
+     */
+    public Set<Integer> getCasesCatching(int file) {
+        return this.getMatrix().casesCatching(file);
+    }
+
+    /**
+     * Returns an equivalent TestResults object whose results are stored in a
+     * CompressedKillMatrix, so that the (boxed) sets backing this object can be freed.
+     *
+     * @return the compressed results
+     */
+    public TestResults compressed() {
+        return new TestResults(this.allCases, this.getMatrix(), this.caseCosts,
+                this.incomplete);
+    }
+
+    /**
+     * Returns true if not every test case was run on every file (e.g. in triage mode),
+     * in which case the wrong set is exact, but caseToFiles only records some of the
+     * test cases that catch each file.
+     *
+     * @return true if the results are incomplete; false otherwise
+     */
+    public boolean isIncomplete() {
+        return this.incomplete;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package main.rice.test;
+
+import java.util.Set;
+
+/**
+ * A listener that is notified by a Tester as results become available during
+ * runTests(), so that progress reporting and downstream stages (e.g. computing a partial
+ * set cover) don't have to wait for every implementation to finish. Callbacks are made
+ * on the thread running the tests, so they should return quickly; all methods do
+ * nothing by default.
+ */
+public interface TestResultsListener {
+
+    /**
+     * Called after a single test case has been run on a single implementation.
+     *
+     * @param fileIndex the index of the implementation (as used in TestResults)
+     * @param filename  the name of the implementation's file
+     * @param caseIndex the index of the test case
+     * @param passed    true if the implementation passed the test case; false if the
+     *                  test case caught it
+     */
+    default void caseCompleted(int fileIndex, String filename, int caseIndex, boolean passed) {
+    }
+
+    /**
+     * Called after every test case has been run on a single implementation.
+     *
+     * @param fileIndex the index of the implementation (as used in TestResults)
+     * @param filename  the name of the implementation's file
+     * @param caughtBy  the indices of the test cases that caught the implementation
+     */
+    default void fileCompleted(int fileIndex, String filename, Set<Integer> caughtBy) {
+    }
+
+    /**
+     * Called once every test case has been run on every implementation.
+     *
+     * @param results the final results of testing
+     */
+    default void testingCompleted(TestResults results) {
+    }
+}
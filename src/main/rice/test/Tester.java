@@ -1,8 +1,20 @@
 package main.rice.test;
 
+import main.rice.jfr.ExpectedResultEvent;
+import main.rice.jfr.ProcessEvent;
+import main.rice.metrics.Metrics;
 import main.rice.obj.APyObj;
+import main.rice.obj.PyBoolObj;
+import main.rice.obj.PyListObj;
+import main.rice.wire.PyEquality;
+import main.rice.wire.ReprParser;
+import main.rice.wire.WireCodec;
+
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * A class for running a test suite. Encapsulates the ability to run the test suite on a
@@ -34,9 +46,106 @@ public class Tester {
      */
     private final List<TestCase> tests;
 
+    /**
+     * The pre-encoded arguments of each test case, where the i-th payload belongs to the
+     * i-th test; shared by the solution run and every implementation run.
+     */
+    private final List<TestPayload> payloads;
+
+    /**
+     * The time (in nanoseconds) spent encoding the test cases into payloads.
+     */
+    private final long encodingNanos;
+
+    /**
+     * True if arguments and results should be exchanged with Python using the binary
+     * WireCodec format over stdin/stdout; false to use repr() strings on the command
+     * line, which the Python side turns back into objects using eval().
+     */
+    private boolean binaryWire = false;
+
+    /**
+     * The binary encodings of the expected results, if they were most recently computed
+     * using the binary wire format; null otherwise.
+     */
+    private List<byte[]> expectedWire;
+
+    /**
+     * True if the JVM should decide whether each result is correct, by comparing it to
+     * the expected result in memory; false if the wrapper should decide, by comparing it
+     * to the expected results stored in expected.py (or expected.bin).
+     */
+    private boolean jvmVerdicts = false;
+
+    /**
+     * The expected results (as Python representations) most recently computed by this
+     * Tester, or null if they have not been computed.
+     */
+    private List<String> expectedResults;
+
+    /**
+     * The expected results as Python objects, used for verdicts in the JVM; an element is
+     * null if its representation could not be parsed. Null until first needed.
+     */
+    private List<APyObj<?>> expectedObjs;
+
+    /**
+     * The time (in nanoseconds) that the reference solution took on each test case,
+     * measured by the most recent call to computeExpectedResults(); null until then.
+     */
+    private long[] solutionNanos;
+
+    /**
+     * The median time (in nanoseconds) that the implementations took on each test case,
+     * measured by the most recent call to runTests() or finishCells(); null until then.
+     */
+    private long[] medianImplNanos;
+
+    /**
+     * The time (in nanoseconds) that each implementation took on each test case, as
+     * measured by runCell() since the most recent call to prepareCells(); null until
+     * then.
+     */
+    private List<List<Long>> cellNanos;
+
+    /**
+     * The listeners to be notified as results become available.
+     */
+    private final List<TestResultsListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The files caught by each test case so far in the current (or most recent) call to
+     * runTests(), or null if runTests() has not been called; guarded by itself.
+     */
+    private volatile List<Set<Integer>> liveCaseToFiles;
+
+    /**
+     * The files caught by one or more test cases so far in the current (or most recent)
+     * call to runTests(); guarded by liveCaseToFiles.
+     */
+    private Set<Integer> liveWrongSet;
+
+    /**
+     * The number of files that have been completely tested so far in the current (or
+     * most recent) call to runTests().
+     */
+    private volatile int completedFiles;
+
+    /**
+     * The estimated number of implementations caught by each test case, used to order
+     * test cases in triage mode; null if there are no estimates.
+     */
+    private List<? extends Number> killEstimates;
+
+    /**
+     * The number of implementations caught by each test case in the most recent
+     * complete call to runTests(), or null if there has not been one.
+     */
+    private int[] lastKillCounts;
+
     /**
      * Constructor for a Tester, which initializes all of the fields using the given
-     * inputs.
+     * inputs. Each test case is encoded into its payload here, exactly once.
      *
      * @param funcName     the name of the function under test
      * @param solutionPath the absolute path to the file containing the reference
@@ -51,6 +160,66 @@ public class Tester {
         this.implDirPath = implDirPath;
         this.solutionPath = solutionPath;
         this.tests = tests;
+
+        // Encode every test case up front, timing the encoding phase on its own
+        long start = System.nanoTime();
+        this.payloads = TestPayload.encodeAll(tests);
+        this.encodingNanos = Metrics.ENCODING.recordSince(start);
+    }
+
+    /**
+     * Returns the test cases to be executed.
+     *
+     * @return the test cases, in index order
+     */
+    public List<TestCase> getTests() {
+        return this.tests;
+    }
+
+    /**
+     * Returns the pre-encoded payload of the index-th test case.
+     *
+     * @param index the index of the test case
+     * @return the payload of the index-th test case
+     */
+    public TestPayload getPayload(int index) {
+        return this.payloads.get(index);
+    }
+
+    /**
+     * Returns the time (in nanoseconds) that was spent encoding the test cases into
+     * payloads, separately from the time spent executing them.
+     *
+     * @return the encoding time, in nanoseconds
+     */
+    public long getEncodingNanos() {
+        return this.encodingNanos;
+    }
+
+    /**
+     * Selects how arguments and results are exchanged with the Python processes. When
+     * binaryWire is true, each test's payload is written to the process's stdin in the
+     * WireCodec format and the result is read back in the same format, so that neither
+     * side needs to parse text; otherwise, arguments are passed as repr() strings on the
+     * command line.
+     *
+     * @param binaryWire true to use the binary wire format; false to use repr() strings
+     */
+    public void setBinaryWire(boolean binaryWire) {
+        this.binaryWire = binaryWire;
+    }
+
+    /**
+     * Selects where verdicts are computed. When jvmVerdicts is true, each implementation
+     * process only reports its result, which is parsed (or decoded) and compared against
+     * the expected result in the JVM using Python's equality semantics; the expected
+     * results never have to be loaded by the Python processes. Otherwise, the wrapper
+     * compares the result against expected.py itself and reports True or False.
+     *
+     * @param jvmVerdicts true to compute verdicts in the JVM; false to use the wrapper
+     */
+    public void setJvmVerdicts(boolean jvmVerdicts) {
+        this.jvmVerdicts = jvmVerdicts;
     }
 
     /**
@@ -64,17 +233,40 @@ public class Tester {
      * @throws InterruptedException if the process is interrupted
      */
     public List<String> computeExpectedResults() throws IOException, InterruptedException {
+        long phaseStart = System.nanoTime();
+
         // Write an appropriate footer to the solution file to make it executable from
         // the command-line, if the footer doesn't exist already
         this.appendToSolution();
 
         // Run each test case on the solution file and gather the results in a map
         List<String> results = new ArrayList<>();
+        List<byte[]> encodedResults = new ArrayList<>();
+        List<APyObj<?>> decodedResults = new ArrayList<>();
+        this.solutionNanos = new long[this.tests.size()];
         for (int i = 0; i < this.tests.size(); i++) {
-            List<String> args = this.getExpTestArgs(i);
-            String result = this.runTestHelper(args);
-            results.add(result);
+            ExpectedResultEvent event = new ExpectedResultEvent();
+            event.begin();
+            long start = System.nanoTime();
+            if (this.binaryWire) {
+                // Keep the encoded result around for the wrapper, and decode it in order
+                // to return its string representation
+                byte[] result = this.runWireHelper(this.getExpWireArgs(), i, this.solutionName());
+                APyObj<?> decoded = (result == null) ? null : WireCodec.decode(result);
+                encodedResults.add(result == null ? new byte[0] : result);
+                decodedResults.add(decoded);
+                results.add(decoded == null ? "" : decoded.toString());
+            } else {
+                List<String> args = this.getExpTestArgs(i);
+                String result = this.runTestHelper(args, i, this.solutionName());
+                results.add(result);
+            }
+            this.solutionNanos[i] = System.nanoTime() - start;
+            commitExpected(event, i, results.get(i));
         }
+        this.expectedWire = this.binaryWire ? encodedResults : null;
+        this.expectedResults = results;
+        this.expectedObjs = this.binaryWire ? decodedResults : null;
 
         // Write the expected results to a .py file, so that they can be accessed via
         // the wrapper. These cached results allow us to only run the solution once per
@@ -82,6 +274,7 @@ public class Tester {
         this.outputExpectedResults(results);
 
         // Return the results
+        Metrics.EXPECTED_RESULTS.recordSince(phaseStart);
         return results;
     }
 
@@ -96,15 +289,71 @@ public class Tester {
      * @throws InterruptedException if the process is interrupted
      */
     public TestResults runTests() throws IOException, InterruptedException {
-        // Create the wrapper file
+        return this.runTests(false);
+    }
+
+    /**
+     * Runs the tests in triage mode, which only classifies each implementation as right
+     * or wrong: testing an implementation stops at the first test case that catches it.
+     * Test cases are tried in decreasing order of their estimated kill counts (see
+     * setKillEstimates()), which are updated as implementations are caught, so that
+     * test cases that catch many implementations are tried first. The wrong set of the
+     * returned results is exact, but caseToFiles only records the first test case that
+     * caught each implementation, so the results are marked as incomplete.
+     *
+     * @return the (incomplete) results of testing
+     * @throws IOException if the path to the directory of buggy implementations is
+     *                     invalid
+     * @throws InterruptedException if the process is interrupted
+     */
+    public TestResults triageTests() throws IOException, InterruptedException {
+        return this.runTests(true);
+    }
+
+    /**
+     * Sets the estimated number of implementations caught by each test case, used to
+     * order the test cases in triage mode; e.g. the results of a previous run, or the
+     * kill counts of similar test cases. If no estimates are set, the kill counts from
+     * the most recent complete call to runTests() are used, if there was one.
+     *
+     * @param killEstimates a list where the i-th element is the estimated number (or
+     *                      probability) of implementations caught by the i-th test
+     *                      case, or null to clear the estimates
+     */
+    public void setKillEstimates(List<? extends Number> killEstimates) {
+        this.killEstimates = killEstimates;
+    }
+
+    /**
+     * Helper function for runTests() and triageTests().
+     *
+     * @param triage true to stop testing each implementation at its first failure
+     * @return the results of testing
+     * @throws IOException if the path to the directory of buggy implementations is
+     *                     invalid
+     * @throws InterruptedException if the process is interrupted
+     */
+    private TestResults runTests(boolean triage) throws IOException, InterruptedException {
+        long phaseStart = System.nanoTime();
+
+        // Create the wrapper file, and (if the JVM is computing verdicts) make sure the
+        // expected results are available as Python objects
         this.createWrapperFile();
+        if (this.jvmVerdicts) {
+            this.loadExpectedObjs();
+        }
 
-        // Initialize the outputs
+        // Initialize the outputs, which can be snapshotted while the tests run
         List<Set<Integer>> caseToFiles = new ArrayList<>();
         for (int i = 0; i < this.tests.size(); i++) {
             caseToFiles.add(new HashSet<>());
         }
         Set<Integer> wrongSet = new HashSet<>();
+        synchronized (caseToFiles) {
+            this.liveCaseToFiles = caseToFiles;
+            this.liveWrongSet = wrongSet;
+            this.completedFiles = 0;
+        }
 
         // Get the list of all files in the input directory
         var dir = new File(this.implDirPath);
@@ -117,6 +366,22 @@ public class Tester {
         // If implDirPath didn't actually point to a directory, files would be null
         int trueIndex = 0;
 
+        // The time each implementation took on each test case
+        List<List<Long>> implNanos = new ArrayList<>();
+        for (int i = 0; i < this.tests.size(); i++) {
+            implNanos.add(new ArrayList<>());
+        }
+
+        // In triage mode, run the test cases most likely to catch something first
+        double[] killCounts = this.initialKillCounts();
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < this.tests.size(); i++) {
+            order.add(i);
+        }
+        if (triage) {
+            order.sort((a, b) -> Double.compare(killCounts[b], killCounts[a]));
+        }
+
         // Test each individual file using all tests in the base test set
         for (String filename : filenames) {
             if (!filename.endsWith(".py") || filename.equals("wrapper.py")
@@ -127,18 +392,33 @@ public class Tester {
             // Run each test case on this file, keeping track of which ones caught
             // errors
             HashSet<Integer> caughtBy = new HashSet<>();
-            for (int testIndex = 0; testIndex < this.tests.size(); testIndex++) {
-                List<String> args = this.getTestArgs(testIndex, filename);
-                String result = this.runTestHelper(args);
-                if (!result.equals("True")) {
-                    caseToFiles.get(testIndex).add(trueIndex);
+            for (int testIndex : order) {
+                long start = System.nanoTime();
+                boolean passed = this.runOneTest(testIndex, filename, this.jvmVerdicts);
+                implNanos.get(testIndex).add(System.nanoTime() - start);
+                if (!passed) {
+                    synchronized (caseToFiles) {
+                        caseToFiles.get(testIndex).add(trueIndex);
+                        wrongSet.add(trueIndex);
+                    }
                     caughtBy.add(testIndex);
                 }
+                for (TestResultsListener listener : this.listeners) {
+                    listener.caseCompleted(trueIndex, filename, testIndex, passed);
+                }
+                if (triage && !passed) {
+                    // The file is known to be wrong; move its killer up the order
+                    killCounts[testIndex]++;
+                    order.sort((a, b) -> Double.compare(killCounts[b], killCounts[a]));
+                    break;
+                }
             }
 
-            // Add to wrongSet if applicable
-            if (caughtBy.size() > 0) {
-                wrongSet.add(trueIndex);
+            // Let the listeners know that this file is done
+            this.completedFiles++;
+            for (TestResultsListener listener : this.listeners) {
+                listener.fileCompleted(trueIndex, filename,
+                        Collections.unmodifiableSet(caughtBy));
             }
             trueIndex++;
         }
@@ -146,10 +426,399 @@ public class Tester {
         // Clean up the pycache that was created
         this.deletePyCache();
 
-        // Return the results
+        // Summarize the timings, and return the results
+        this.medianImplNanos = new long[this.tests.size()];
+        for (int i = 0; i < this.tests.size(); i++) {
+            this.medianImplNanos[i] = median(implNanos.get(i));
+        }
+        if (!triage) {
+            this.lastKillCounts = new int[this.tests.size()];
+            for (int i = 0; i < this.tests.size(); i++) {
+                this.lastKillCounts[i] = caseToFiles.get(i).size();
+            }
+        }
+        TestResults results = new TestResults(this.tests, caseToFiles, wrongSet,
+                this.getTestCosts(), triage);
+        Metrics.RUN_TESTS.recordSince(phaseStart);
+        for (TestResultsListener listener : this.listeners) {
+            listener.testingCompleted(results);
+        }
+        return results;
+    }
+
+    /**
+     * Runs every test case on a single implementation in the directory, e.g. one that
+     * was added or changed after runTests() was called. Uses the expected results from
+     * the most recent call to computeExpectedResults(), which must have been called.
+     *
+     * @param filename the name of the implementation's file within the directory
+     * @return the indices of the test cases that caught the implementation
+     * @throws IOException if the implementation or helper files cannot be accessed
+     * @throws InterruptedException if the process is interrupted
+     */
+    public Set<Integer> testFile(String filename) throws IOException, InterruptedException {
+        this.createWrapperFile();
+        if (this.jvmVerdicts) {
+            this.loadExpectedObjs();
+        }
+        Set<Integer> caughtBy = new HashSet<>();
+        for (int testIndex = 0; testIndex < this.tests.size(); testIndex++) {
+            if (!this.runOneTest(testIndex, filename, this.jvmVerdicts)) {
+                caughtBy.add(testIndex);
+            }
+        }
+
+        // Don't let a stale compiled version shadow the next change to this file
+        this.deletePyCache();
+        return caughtBy;
+    }
+
+    /**
+     * Returns the names of the implementations in the directory, in the order in which
+     * runTests() indexes them.
+     *
+     * @return the sorted names of the implementation files
+     * @throws IOException if the directory cannot be listed
+     */
+    public List<String> listImpls() throws IOException {
+        String[] filenames = new File(this.implDirPath).list();
+        if (filenames == null) {
+            throw new IOException("Error: implDir is empty");
+        }
+        Arrays.sort(filenames);
+        List<String> impls = new ArrayList<>();
+        for (String filename : filenames) {
+            if (filename.endsWith(".py") && !filename.equals("wrapper.py")
+                    && !filename.equals("expected.py")) {
+                impls.add(filename);
+            }
+        }
+        return impls;
+    }
+
+    /**
+     * Prepares to run the solution and the implementations one cell at a time (see
+     * runSolution() and runCell()), e.g. from several threads at once: writes the
+     * solution footer and the wrapper, and clears any previous expected results and
+     * timings. Cells always have their verdicts decided in the JVM, since expected.py
+     * isn't written until every expected result is known; the verdict location used by
+     * runTests() is left as it was.
+     *
+     * @throws IOException if the solution or wrapper cannot be written
+     */
+    public void prepareCells() throws IOException {
+        this.appendToSolution();
+        this.createWrapperFile();
+        this.expectedWire = null;
+        this.expectedResults = new ArrayList<>(Collections.nCopies(this.tests.size(), null));
+        this.expectedObjs = new ArrayList<>(Collections.nCopies(this.tests.size(), null));
+        this.solutionNanos = new long[this.tests.size()];
+        this.medianImplNanos = null;
+        this.cellNanos = new ArrayList<>();
+        for (int i = 0; i < this.tests.size(); i++) {
+            this.cellNanos.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+    }
+
+    /**
+     * Runs the solution on a single test case and records the expected result. Safe to
+     * call concurrently for different test cases after prepareCells(); the caller must
+     * hand the test case to runCell() in a way that publishes the result (e.g. through
+     * a BlockingQueue).
+     *
+     * @param testIndex the index of the test case
+     * @return the expected result, as a Python representation
+     * @throws IOException if the solution cannot be run
+     * @throws InterruptedException if the process is interrupted
+     */
+    public String runSolution(int testIndex) throws IOException, InterruptedException {
+        ExpectedResultEvent event = new ExpectedResultEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String result;
+        APyObj<?> obj;
+        if (this.binaryWire) {
+            byte[] encoded = this.runWireHelper(this.getExpWireArgs(), testIndex,
+                    this.solutionName());
+            obj = (encoded == null) ? null : WireCodec.decode(encoded);
+            result = (obj == null) ? "" : obj.toString();
+        } else {
+            result = this.runTestHelper(this.getExpTestArgs(testIndex), testIndex,
+                    this.solutionName());
+            obj = ReprParser.tryParse(result);
+        }
+        this.expectedResults.set(testIndex, result);
+        this.expectedObjs.set(testIndex, obj);
+        this.solutionNanos[testIndex] = System.nanoTime() - start;
+        commitExpected(event, testIndex, result);
+        return result;
+    }
+
+    /**
+     * Runs a single implementation on a single test case, whose expected result must
+     * already have been recorded by runSolution(). Safe to call concurrently.
+     *
+     * @param testIndex the index of the test case
+     * @param filename  the name of the implementation's file within the directory
+     * @return true if the implementation passed the test case; false otherwise
+     * @throws IOException if the implementation cannot be run
+     * @throws InterruptedException if the process is interrupted
+     */
+    public boolean runCell(int testIndex, String filename) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        boolean passed = this.runOneTest(testIndex, filename, true);
+        this.cellNanos.get(testIndex).add(System.nanoTime() - start);
+        return passed;
+    }
+
+    /**
+     * Finishes running cells: summarizes the implementations' timings (as runTests()
+     * does), writes the expected results to expected.py (as computeExpectedResults()
+     * does) and deletes the pycache.
+     *
+     * @return the expected results
+     * @throws IOException if the helper files cannot be written or deleted
+     */
+    public List<String> finishCells() throws IOException {
+        this.medianImplNanos = new long[this.tests.size()];
+        for (int i = 0; i < this.tests.size(); i++) {
+            this.medianImplNanos[i] = median(this.cellNanos.get(i));
+        }
+        this.outputExpectedResults(this.expectedResults);
+        this.deletePyCache();
+        return this.expectedResults;
+    }
+
+    /**
+     * Returns the kill counts that triage mode starts from: the estimates, if set, and
+     * otherwise the counts from the most recent complete run (or all zeros).
+     *
+     * @return an array where the i-th element is the starting kill count of the i-th
+     * test case
+     */
+    private double[] initialKillCounts() {
+        double[] killCounts = new double[this.tests.size()];
+        for (int i = 0; i < killCounts.length; i++) {
+            if (this.killEstimates != null) {
+                killCounts[i] = this.killEstimates.get(i).doubleValue();
+            } else if (this.lastKillCounts != null) {
+                killCounts[i] = this.lastKillCounts[i];
+            }
+        }
+        return killCounts;
+    }
+
+    /**
+     * Registers a listener to be notified as results become available during
+     * runTests().
+     *
+     * @param listener the listener to register
+     */
+    public void addListener(TestResultsListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener that was previously registered with addListener().
+     *
+     * @param listener the listener to unregister
+     */
+    public void removeListener(TestResultsListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Returns a snapshot of the results of the current (or most recent) call to
+     * runTests(), which may be called from any thread while the tests are running. Only
+     * implementations that have been caught so far appear in the snapshot; before
+     * runTests() is called, no implementation does.
+     *
+     * @return a copy of the results gathered so far
+     */
+    public TestResults snapshot() {
+        List<Set<Integer>> caseToFiles = new ArrayList<>();
+        Set<Integer> wrongSet;
+        List<Set<Integer>> live = this.liveCaseToFiles;
+        if (live == null) {
+            for (int i = 0; i < this.tests.size(); i++) {
+                caseToFiles.add(new HashSet<>());
+            }
+            wrongSet = new HashSet<>();
+        } else {
+            synchronized (live) {
+                for (Set<Integer> files : live) {
+                    caseToFiles.add(new HashSet<>(files));
+                }
+                wrongSet = new HashSet<>(this.liveWrongSet);
+            }
+        }
         return new TestResults(this.tests, caseToFiles, wrongSet);
     }
 
+    /**
+     * Returns the number of implementations that have been completely tested so far in
+     * the current (or most recent) call to runTests().
+     *
+     * @return the number of completed implementations
+     */
+    public int getCompletedFiles() {
+        return this.completedFiles;
+    }
+
+    /**
+     * Returns the time (in nanoseconds) that the reference solution took on the
+     * index-th test case during the most recent call to computeExpectedResults().
+     *
+     * @param index the index of the test case
+     * @return the solution's execution time, or -1 if it has not been measured
+     */
+    public long getSolutionNanos(int index) {
+        return (this.solutionNanos == null) ? -1 : this.solutionNanos[index];
+    }
+
+    /**
+     * Returns the median time (in nanoseconds) that the implementations took on the
+     * index-th test case during the most recent call to runTests().
+     *
+     * @param index the index of the test case
+     * @return the median implementation execution time, or -1 if it has not been
+     * measured
+     */
+    public long getMedianImplNanos(int index) {
+        return (this.medianImplNanos == null) ? -1 : this.medianImplNanos[index];
+    }
+
+    /**
+     * Returns the estimated cost (in nanoseconds) of running each test case: the median
+     * implementation time if implementations have been run, and otherwise the solution
+     * time. Costs that have not been measured at all are reported as 0.
+     *
+     * @return a list where the i-th element is the cost of the i-th test case
+     */
+    public List<Long> getTestCosts() {
+        List<Long> costs = new ArrayList<>();
+        for (int i = 0; i < this.tests.size(); i++) {
+            long cost = this.getMedianImplNanos(i);
+            if (cost < 0) {
+                cost = this.getSolutionNanos(i);
+            }
+            costs.add(Math.max(cost, 0));
+        }
+        return costs;
+    }
+
+    /**
+     * Computes the median of the input times; the lower median if there is an even
+     * number of them.
+     *
+     * @param nanos the times, in nanoseconds
+     * @return the median, or -1 if there are no times
+     */
+    private static long median(List<Long> nanos) {
+        if (nanos.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted = new ArrayList<>(nanos);
+        Collections.sort(sorted);
+        return sorted.get((sorted.size() - 1) / 2);
+    }
+
+    /**
+     * Runs a single test case on a single implementation, using the configured wire
+     * format and the input verdict location.
+     *
+     * @param testIndex   the index of the test case to be run
+     * @param filename    the name of the implementation being tested
+     * @param jvmVerdicts true to decide the verdict in the JVM; false to let the wrapper
+     *                    decide
+     * @return true if the implementation passed the test case; false otherwise
+     * @throws IOException if the file to run or its output cannot be accessed
+     * @throws InterruptedException if the process is interrupted
+     */
+    private boolean runOneTest(int testIndex, String filename, boolean jvmVerdicts)
+            throws IOException, InterruptedException {
+        if (jvmVerdicts && this.binaryWire) {
+            // The wrapper only reports the (encoded) result
+            byte[] result = this.runWireHelper(
+                    this.getWireTestArgs(testIndex, filename, jvmVerdicts), testIndex,
+                    filename);
+            if (result == null) {
+                return false;
+            }
+            APyObj<?> actual = WireCodec.decode(result);
+            return this.matchesExpected(testIndex, actual, actual.toString());
+        } else if (jvmVerdicts) {
+            // The wrapper only reports the result's repr(), which is empty if the
+            // implementation raised an exception
+            String result = this.runTestHelper(this.getRunArgs(testIndex, filename),
+                    testIndex, filename);
+            if (result.isEmpty()) {
+                return false;
+            }
+            return this.matchesExpected(testIndex, ReprParser.tryParse(result), result);
+        } else if (this.binaryWire) {
+            byte[] result = this.runWireHelper(
+                    this.getWireTestArgs(testIndex, filename, jvmVerdicts), testIndex,
+                    filename);
+            return (result != null) && WireCodec.decode(result).equals(new PyBoolObj(true));
+        } else {
+            List<String> args = this.getTestArgs(testIndex, filename);
+            return this.runTestHelper(args, testIndex, filename).equals("True");
+        }
+    }
+
+    /**
+     * Decides (in the JVM) whether an implementation's result matches the expected
+     * result. Compares Python objects whenever both sides could be parsed, and falls back
+     * to comparing representations otherwise.
+     *
+     * @param testIndex  the index of the test case that was run
+     * @param actual     the implementation's result, or null if it could not be parsed
+     * @param actualRepr the representation of the implementation's result
+     * @return true if the result matches the expected result; false otherwise
+     */
+    private boolean matchesExpected(int testIndex, APyObj<?> actual, String actualRepr) {
+        APyObj<?> expected = this.expectedObjs.get(testIndex);
+        if (expected != null && actual != null) {
+            return PyEquality.equal(actual, expected);
+        }
+        String expectedRepr = (expected != null) ? expected.toString() :
+                this.expectedResults.get(testIndex);
+        return actualRepr.equals(expectedRepr);
+    }
+
+    /**
+     * Makes the expected results available as Python objects for verdicts in the JVM.
+     * Parses the results computed by this Tester if there are any, or else the results
+     * stored in expected.py (e.g. by a previous run).
+     *
+     * @throws IOException if expected.py is needed but cannot be read or parsed
+     */
+    private void loadExpectedObjs() throws IOException {
+        if (this.expectedObjs != null) {
+            return;
+        }
+
+        List<APyObj<?>> objs = new ArrayList<>();
+        if (this.expectedResults != null) {
+            for (String result : this.expectedResults) {
+                objs.add(ReprParser.tryParse(result));
+            }
+        } else {
+            String contents = new String(
+                    Files.readAllBytes(Paths.get(this.implDirPath, "expected.py")));
+            APyObj<?> results = null;
+            if (contents.startsWith("results = ")) {
+                results = ReprParser.tryParse(contents.substring("results = ".length()));
+            }
+            if (!(results instanceof PyListObj<?> resultList)) {
+                throw new IOException("could not parse the results in expected.py");
+            }
+            objs.addAll(resultList.getValue());
+        }
+        this.expectedObjs = objs;
+    }
+
     /**
      * Builds the list of command-line arguments for executing the solution in order to
      * get the expected results on a single test case.
@@ -164,12 +833,9 @@ public class Tester {
         args.add("python3");
         args.add(this.solutionPath);
 
-        // Add each argument as a string; the footer will take care of converting these to
-        // Python objects before invoking the function under test
-        TestCase test = this.tests.get(testIndex);
-        for (APyObj<?> arg : test.getArgs()) {
-            args.add(arg.toString());
-        }
+        // Add each (pre-encoded) argument as a string; the footer will take care of
+        // converting these to Python objects before invoking the function under test
+        args.addAll(this.payloads.get(testIndex).getArgReprs());
         return args;
     }
 
@@ -199,49 +865,193 @@ public class Tester {
         args.add(filename);
         args.add(this.funcName);
 
-        // Add each argument as a string; the footer will take care of converting these to
-        // Python objects before invoking the function under test
-        TestCase test = this.tests.get(testIndex);
-        for (APyObj<?> arg : test.getArgs()) {
-            args.add(arg.toString());
-        }
+        // Add each (pre-encoded) argument as a string; the footer will take care of
+        // converting these to Python objects before invoking the function under test
+        args.addAll(this.payloads.get(testIndex).getArgReprs());
         return args;
     }
 
+    /**
+     * Builds the list of command-line arguments for executing a buggy implementation in
+     * order to get its result (rather than a verdict) on a single test case.
+     *
+     * @param testIndex the index of the test case to be run
+     * @param filename  the name of the implementation being tested
+     * @return the command-line args for running the given test case through the wrapper
+     */
+    private List<String> getRunArgs(int testIndex, String filename) {
+        List<String> args = new ArrayList<>();
+        args.add("python3");
+        args.add(this.implDirPath + "/wrapper.py");
+        args.add("--run");
+        args.add(filename);
+        args.add(this.funcName);
+        args.addAll(this.payloads.get(testIndex).getArgReprs());
+        return args;
+    }
+
+    /**
+     * Builds the list of command-line arguments for executing the solution using the
+     * binary wire format; the arguments themselves are written to stdin.
+     *
+     * @return the command-line args for running a test case through the solution
+     */
+    private List<String> getExpWireArgs() {
+        return List.of("python3", this.solutionPath, "--wire");
+    }
+
+    /**
+     * Builds the list of command-line arguments for executing a buggy implementation
+     * using the binary wire format; the arguments themselves are written to stdin. If
+     * the expected results were computed using the binary wire format, the wrapper reads
+     * them from expected.bin rather than importing expected.py; if the JVM is computing
+     * verdicts, the wrapper doesn't read them at all.
+     *
+     * @param testIndex   the index of the test case to be run
+     * @param filename    the name of the implementation being tested
+     * @param jvmVerdicts true if the JVM is computing verdicts
+     * @return the command-line args for running the given test case through the wrapper
+     */
+    private List<String> getWireTestArgs(int testIndex, String filename,
+                                         boolean jvmVerdicts) {
+        String mode = (this.expectedWire != null) ? "--wire-expected" : "--wire";
+        if (jvmVerdicts) {
+            mode = "--wire-run";
+        }
+        return List.of("python3", this.implDirPath + "/wrapper.py", mode,
+                String.valueOf(testIndex), filename, this.funcName);
+    }
+
     /**
      * A helper function for runTest and runExpTest which runs a Python process (using a
      * list of arguments, as output by getTestArgs or getExpTestArgs) and reads its
      * output.
      *
-     * @param args the arguments for the process to be created
+     * @param args           the arguments for the process to be created
+     * @param testIndex      the index of the test case being run
+     * @param implementation the name of the file being run
      * @return the result of reading from the process
      * @throws IOException if the file to run or its output cannot be accessed
      * @throws InterruptedException if the process is interrupted
      */
-    private String runTestHelper(List<String> args) throws IOException, InterruptedException {
+    private String runTestHelper(List<String> args, int testIndex, String implementation)
+            throws IOException, InterruptedException {
         ProcessBuilder pb = new ProcessBuilder();
         pb.command(args);
+        pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+        ProcessEvent event = new ProcessEvent();
+        event.begin();
+        long start = System.nanoTime();
         Process process = pb.start();
+        Metrics.PROCESSES_SPAWNED.increment();
 
-        // Redirect the output of the process to here
-        var sb = new StringBuilder();
-        var reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
-        // Wait until the process has exited
-        process.waitFor();
-
-        // Read the output of the process, the last line of which should be the result
+        // Read the output of the process, the last line of which should be the result;
+        // this drains the pipe before waiting, so that a chatty process can't fill it
         String line;
         String prevLine = "";
-        while ((line = reader.readLine()) != null) {
-            prevLine = line;
+        try (var reader = new BufferedReader(new InputStreamReader(
+                process.getInputStream()))) {
+            while ((line = reader.readLine()) != null) {
+                prevLine = line;
+            }
         }
-        reader.close();
+
+        // Wait until the process has exited
+        recordExit(event, process.waitFor(), start, testIndex, implementation);
 
         // Return the result
         return prevLine;
     }
 
+    /**
+     * A helper function which runs a Python process using the binary wire format: writes
+     * the payload of the given test case to the process's stdin, and extracts the encoded
+     * result from its stdout.
+     *
+     * @param args           the arguments for the process to be created
+     * @param testIndex      the index of the test case whose payload should be sent
+     * @param implementation the name of the file being run
+     * @return the encoded result, or null if the process did not produce one (e.g.
+     * because the function under test raised an exception)
+     * @throws IOException if the file to run or its output cannot be accessed
+     * @throws InterruptedException if the process is interrupted
+     */
+    private byte[] runWireHelper(List<String> args, int testIndex, String implementation)
+            throws IOException, InterruptedException {
+        ProcessBuilder pb = new ProcessBuilder();
+        pb.command(args);
+        pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+        ProcessEvent event = new ProcessEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Process process = pb.start();
+        Metrics.PROCESSES_SPAWNED.increment();
+
+        // Send the payload; if the process has already exited, its output says why
+        try (OutputStream stdin = process.getOutputStream()) {
+            this.payloads.get(testIndex).writeWireBytes(stdin);
+        } catch (IOException e) {
+            // Fall through and read whatever the process wrote
+        }
+
+        // Drain the output before waiting, so that a chatty process can't fill the pipe
+        byte[] output = process.getInputStream().readAllBytes();
+        recordExit(event, process.waitFor(), start, testIndex, implementation);
+        return WireCodec.unframe(output);
+    }
+
+    /**
+     * Records the latency and exit status of a Python process that has exited, in the
+     * metrics and (if it is enabled) as a Flight Recorder event.
+     *
+     * @param event          the event, which began when the process was spawned
+     * @param exitCode       the exit status of the process
+     * @param startNanos     the time at which the process was spawned
+     * @param testIndex      the index of the test case that was run
+     * @param implementation the name of the file that was run
+     */
+    private static void recordExit(ProcessEvent event, int exitCode, long startNanos,
+                                   int testIndex, String implementation) {
+        event.end();
+        Metrics.PROCESS_LATENCY.recordSince(startNanos);
+        if (exitCode != 0) {
+            Metrics.PROCESS_ERRORS.increment();
+        }
+        if (event.shouldCommit()) {
+            event.implementation = implementation;
+            event.testIndex = testIndex;
+            event.exitCode = exitCode;
+            event.commit();
+        }
+    }
+
+    /**
+     * Commits a Flight Recorder event for an expected result, if the event is enabled.
+     *
+     * @param event     the event, which began before the solution was run
+     * @param testIndex the index of the test case
+     * @param result    the expected result, which is empty if the solution raised an
+     *                  exception
+     */
+    private static void commitExpected(ExpectedResultEvent event, int testIndex,
+                                       String result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.testIndex = testIndex;
+            event.hasResult = !result.isEmpty();
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the name of the solution file, as recorded in Flight Recorder events.
+     *
+     * @return the solution's file name
+     */
+    private String solutionName() {
+        return new File(this.solutionPath).getName();
+    }
+
     /**
      * Creates a wrapper file that imports the expected results, reads the command-line
      * args, dynamically imports the buggy implementation, generates the actual results
@@ -253,28 +1063,67 @@ public class Tester {
     private void createWrapperFile() throws IOException {
         StringBuilder sb = new StringBuilder();
 
-        // Import the expected results, plus the other modules we'll need
-        sb.append("import sys\nfrom importlib import import_module\nfrom expected " +
-                "import results\n\n");
+        // Import the modules we'll need, plus the binary wire codec
+        sb.append("import sys\nfrom importlib import import_module\n");
+        sb.append(WireCodec.pythonSource()).append("\n");
+
+        // Functions for looking up the pre-determined expected results, either from
+        // expected.py or (in the binary wire format) from expected.bin
+        sb.append("def load_expected(case_num):\n");
+        sb.append("    from expected import results\n");
+        sb.append("    return results[case_num]\n\n");
+        sb.append("def load_wire_expected(case_num):\n");
+        sb.append("    path = os.path.join(os.path.dirname(os.path.abspath(__file__)), " +
+                "'expected.bin')\n");
+        sb.append("    with open(path, 'rb') as f:\n");
+        sb.append("        buf = f.read()\n");
+        sb.append("    pos = 0\n");
+        sb.append("    for _ in range(case_num):\n");
+        sb.append("        n, pos = _wire_uvarint(buf, pos)\n");
+        sb.append("        pos += n\n");
+        sb.append("    n, pos = _wire_uvarint(buf, pos)\n");
+        sb.append("    return _wire_decode(buf[pos:pos + n])[0]\n\n");
 
-        // Function for comparing the buggy implementation's results to the
-        // pre-determined expected results
-        sb.append("def test_buggy_impl(case_num, impl_name, fname, args):\n");
+        // Functions for running the buggy implementation, and for comparing its results
+        // to the pre-determined expected results
+        sb.append("def run_impl(impl_name, fname, args):\n");
         sb.append("    mod_name = impl_name[:-3]\n");
         sb.append("    mod = import_module(mod_name)\n");
         sb.append("    func = getattr(mod, fname)\n");
-        sb.append("    actual = func(*args)\n");
-        sb.append("    expected = results[case_num]\n");
+        sb.append("    return func(*args)\n\n");
+        sb.append("def test_buggy_impl(case_num, impl_name, fname, args, expected):\n");
+        sb.append("    actual = run_impl(impl_name, fname, args)\n");
         sb.append("    return (actual == expected)\n\n");
 
-        // Footer to make the function executable from the command line
+        // Footer to make the function executable from the command line; the --run modes
+        // only report the result, leaving the comparison to the JVM
         sb.append("if __name__ == \"__main__\":\n");
-        sb.append("    case_num = int(sys.argv[1])\n");
-        sb.append("    impl_name = sys.argv[2]\n");
-        sb.append("    fname = sys.argv[3]\n");
-        sb.append("    args = sys.argv[4:]\n");
-        sb.append("    args = [eval(arg) for arg in args]\n");
-        sb.append("    print (test_buggy_impl(case_num, impl_name, fname, args))");
+        sb.append("    if sys.argv[1] == \"--run\":\n");
+        sb.append("        args = [eval(arg) for arg in sys.argv[4:]]\n");
+        sb.append("        with contextlib.redirect_stdout(io.StringIO()):\n");
+        sb.append("            actual = run_impl(sys.argv[2], sys.argv[3], args)\n");
+        sb.append("        print (repr(actual))\n");
+        sb.append("    elif sys.argv[1] == \"--wire-run\":\n");
+        sb.append("        _wire_call(run_impl, [sys.argv[3], sys.argv[4], _wire_read_args()])\n");
+        sb.append("    elif sys.argv[1].startswith(\"--wire\"):\n");
+        sb.append("        case_num = int(sys.argv[2])\n");
+        sb.append("        impl_name = sys.argv[3]\n");
+        sb.append("        fname = sys.argv[4]\n");
+        sb.append("        args = _wire_read_args()\n");
+        sb.append("        if sys.argv[1] == \"--wire-expected\":\n");
+        sb.append("            expected = load_wire_expected(case_num)\n");
+        sb.append("        else:\n");
+        sb.append("            expected = load_expected(case_num)\n");
+        sb.append("        _wire_call(test_buggy_impl, [case_num, impl_name, fname, args, " +
+                "expected])\n");
+        sb.append("    else:\n");
+        sb.append("        case_num = int(sys.argv[1])\n");
+        sb.append("        impl_name = sys.argv[2]\n");
+        sb.append("        fname = sys.argv[3]\n");
+        sb.append("        args = sys.argv[4:]\n");
+        sb.append("        args = [eval(arg) for arg in args]\n");
+        sb.append("        print (test_buggy_impl(case_num, impl_name, fname, args, " +
+                "load_expected(case_num)))");
         String wrapperContents = sb.toString();
 
         // Create the Python wrapper file including the above code
@@ -302,14 +1151,19 @@ public class Tester {
         reader.close();
 
         // Generate the footer, which converts the command-line args from strings into
-        // Python objects of the appropriate types, calls the function under test with
-        // these arguments, and prints the result
+        // Python objects of the appropriate types (or decodes them from stdin, when using
+        // the binary wire format), calls the function under test with these arguments,
+        // and prints the result
         sb = new StringBuilder();
-        sb.append("import sys\n\n");
+        sb.append("import sys\n");
+        sb.append(WireCodec.pythonSource()).append("\n");
         sb.append("if __name__ == \"__main__\":\n");
-        sb.append("    args = sys.argv[1:]\n");
-        sb.append("    new_args = [eval(arg) for arg in args]\n");
-        sb.append("    print (repr(").append(this.funcName).append("(*new_args)))");
+        sb.append("    if sys.argv[1:2] == [\"--wire\"]:\n");
+        sb.append("        _wire_call(").append(this.funcName).append(", _wire_read_args())\n");
+        sb.append("    else:\n");
+        sb.append("        args = sys.argv[1:]\n");
+        sb.append("        new_args = [eval(arg) for arg in args]\n");
+        sb.append("        print (repr(").append(this.funcName).append("(*new_args)))");
         String textToAdd = sb.toString();
 
         if (!contents.contains("import sys")) {
@@ -343,6 +1197,15 @@ public class Tester {
         FileWriter writer = new FileWriter(this.implDirPath + "/expected.py");
         writer.write(contents);
         writer.close();
+
+        // If the results were computed using the binary wire format, also output their
+        // encodings to expected.bin, each one preceded by its length so that the wrapper
+        // can skip straight to the case it needs
+        if (this.expectedWire != null) {
+            try (OutputStream out = new FileOutputStream(this.implDirPath + "/expected.bin")) {
+                out.write(WireCodec.lengthPrefixed(this.expectedWire));
+            }
+        }
     }
 
     /**
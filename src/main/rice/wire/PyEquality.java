@@ -0,0 +1,187 @@
+package main.rice.wire;
+
+import main.rice.obj.*;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stateless class that compares APyObjs using the semantics of Python's == operator,
+ * which is what decides whether an implementation's result matches the expected result.
+ * Unlike APyObj.equals(), bools, ints and floats compare by numeric value (so that
+ * 1 == 1.0 == True), while lists and tuples never compare equal to each other. Ints too
+ * large for a PyIntObj (which are parsed into PyReprObjs) are numbers too, and compare
+ * exactly, as Python does.
+ */
+public class PyEquality {
+
+    /**
+     * Returns true if a == b would evaluate to True in Python.
+     *
+     * @param a the first object
+     * @param b the second object
+     * @return true if the objects are equal according to Python; false otherwise
+     */
+    public static boolean equal(APyObj<?> a, APyObj<?> b) {
+        if (isNumber(a) && isNumber(b)) {
+            if (!isBigInt(a) && !isBigInt(b)) {
+                return toDouble(a) == toDouble(b);
+            }
+            // An int never equals inf or nan; otherwise, compare exactly, since a double
+            // can't represent every big int
+            if (!isFinite(a) || !isFinite(b)) {
+                return false;
+            }
+            return toBigDecimal(a).compareTo(toBigDecimal(b)) == 0;
+        } else if (a instanceof PyListObj && b instanceof PyListObj
+                || a instanceof PyTupleObj && b instanceof PyTupleObj) {
+            return sequencesEqual((List<?>) a.getValue(), (List<?>) b.getValue());
+        } else if (a instanceof PySetObj<?> setA && b instanceof PySetObj<?> setB) {
+            return setsEqual(setA.getValue(), setB.getValue());
+        } else if (a instanceof PyDictObj<?, ?> dictA && b instanceof PyDictObj<?, ?> dictB) {
+            return dictsEqual(dictA.getValue(), dictB.getValue());
+        }
+        return a.equals(b);
+    }
+
+    /**
+     * Returns true if the input is a bool, int (including a big int) or float.
+     *
+     * @param obj the object to check
+     * @return true if obj is numeric; false otherwise
+     */
+    private static boolean isNumber(APyObj<?> obj) {
+        return obj instanceof PyBoolObj || obj instanceof PyIntObj || obj instanceof PyFloatObj
+                || isBigInt(obj);
+    }
+
+    /**
+     * Returns true if the input is an int too large for a PyIntObj, i.e. a PyReprObj
+     * holding the repr() of an int.
+     *
+     * @param obj the object to check
+     * @return true if obj is a big int; false otherwise
+     */
+    private static boolean isBigInt(APyObj<?> obj) {
+        return obj instanceof PyReprObj && obj.toString().matches("-?[0-9]+");
+    }
+
+    /**
+     * Returns true if the input numeric object is not an infinite or NaN float.
+     *
+     * @param obj a bool, int, big int or float
+     * @return true if obj is finite; false otherwise
+     */
+    private static boolean isFinite(APyObj<?> obj) {
+        return !(obj instanceof PyFloatObj flt) || Double.isFinite(flt.getValue());
+    }
+
+    /**
+     * Converts a finite numeric object to a BigDecimal, exactly.
+     *
+     * @param obj a bool, int, big int or finite float
+     * @return the numeric value of obj
+     */
+    private static BigDecimal toBigDecimal(APyObj<?> obj) {
+        if (isBigInt(obj)) {
+            return new BigDecimal(obj.toString());
+        }
+        return new BigDecimal(toDouble(obj));
+    }
+
+    /**
+     * Converts a numeric object to a double; exact for every bool and int that fits in
+     * a PyIntObj.
+     *
+     * @param obj a bool, int or float
+     * @return the numeric value of obj
+     */
+    private static double toDouble(APyObj<?> obj) {
+        if (obj instanceof PyBoolObj bool) {
+            return bool.getValue() ? 1 : 0;
+        }
+        return ((Number) obj.getValue()).doubleValue();
+    }
+
+    /**
+     * Compares two lists (or tuples) element-wise.
+     *
+     * @param a the elements of the first sequence
+     * @param b the elements of the second sequence
+     * @return true if the sequences are equal; false otherwise
+     */
+    private static boolean sequencesEqual(List<?> a, List<?> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!equal((APyObj<?>) a.get(i), (APyObj<?>) b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two sets; tries a hash lookup for each element first, and only falls back
+     * to a linear scan when the lookup misses (e.g. 1 in one set and 1.0 in the other).
+     *
+     * @param a the elements of the first set
+     * @param b the elements of the second set
+     * @return true if the sets are equal; false otherwise
+     */
+    private static boolean setsEqual(Collection<?> a, Collection<?> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (Object elem : a) {
+            if (b.contains(elem)) {
+                continue;
+            }
+            if (findEqual((APyObj<?>) elem, b) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two dicts; keys are matched in the same way as set elements.
+     *
+     * @param a the entries of the first dict
+     * @param b the entries of the second dict
+     * @return true if the dicts are equal; false otherwise
+     */
+    private static boolean dictsEqual(Map<?, ?> a, Map<?, ?> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (Map.Entry<?, ?> entry : a.entrySet()) {
+            Object key = b.containsKey(entry.getKey()) ? entry.getKey() :
+                    findEqual((APyObj<?>) entry.getKey(), b.keySet());
+            if (key == null || !equal((APyObj<?>) entry.getValue(), (APyObj<?>) b.get(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds an element of the input collection that is equal (according to Python) to
+     * the input object.
+     *
+     * @param obj   the object to look for
+     * @param elems the collection to search
+     * @return an element of elems equal to obj, or null if there isn't one
+     */
+    private static Object findEqual(APyObj<?> obj, Collection<?> elems) {
+        for (Object elem : elems) {
+            if (equal(obj, (APyObj<?>) elem)) {
+                return elem;
+            }
+        }
+        return null;
+    }
+}
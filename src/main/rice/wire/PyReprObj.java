@@ -0,0 +1,45 @@
+package main.rice.wire;
+
+import main.rice.obj.APyObj;
+
+/**
+ * A representation of a Python object that has no counterpart in the APyObj hierarchy
+ * (e.g. None, an int too large for a Java int, or an instance of a user-defined class).
+ * Such objects are carried around opaquely as their Python string representation.
+ */
+public class PyReprObj extends APyObj<String> {
+
+    /**
+     * Constructor for a PyReprObj; initializes its value to the input representation.
+     *
+     * @param repr the Python string representation of the object
+     */
+    public PyReprObj(String repr) {
+        this.value = repr;
+    }
+
+    /**
+     * Returns the Python string representation that this object was built from.
+     *
+     * @return a string representation of this object
+     */
+    @Override
+    public String toString() {
+        return this.value;
+    }
+
+    /**
+     * Compares this to the input object by value; a wrapper around the implementation
+     * in the superclass (APyObj) that first checks that obj is a PyReprObj.
+     *
+     * @param obj the object to compare against
+     * @return true if this is equivalent by value to obj; false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof PyReprObj)) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+}
@@ -0,0 +1,370 @@
+package main.rice.wire;
+
+import main.rice.obj.*;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * A single-pass, recursive-descent parser that turns the output of Python's repr() back
+ * into APyObj trees. Supports everything the solution footer can print for the types in
+ * the APyObj hierarchy (bool, int, float, str, list, tuple, set, dict), plus None, which
+ * is parsed into a PyReprObj. Ints that do not fit in a Java int are also parsed into
+ * PyReprObjs. Any other input (e.g. the repr() of a user-defined class) is rejected.
+ */
+public class ReprParser {
+
+    /**
+     * The text being parsed.
+     */
+    private final CharSequence text;
+
+    /**
+     * The index of the next character to be consumed.
+     */
+    private int pos;
+
+    /**
+     * Constructor for a ReprParser; starts parsing at the beginning of the input.
+     *
+     * @param text the text to be parsed
+     */
+    private ReprParser(CharSequence text) {
+        this.text = text;
+        this.pos = 0;
+    }
+
+    /**
+     * Parses the input repr() into an APyObj.
+     *
+     * @param repr the output of Python's repr() on some object
+     * @return the object represented by repr
+     * @throws IllegalArgumentException if repr is malformed or represents an object that
+     *                                  cannot be parsed
+     */
+    public static APyObj<?> parse(CharSequence repr) {
+        ReprParser parser = new ReprParser(repr);
+        APyObj<?> obj = parser.parseValue();
+        parser.skipSpaces();
+        if (parser.pos != repr.length()) {
+            throw parser.error("trailing characters");
+        }
+        return obj;
+    }
+
+    /**
+     * Parses the input repr() into an APyObj, returning null rather than throwing if it
+     * cannot be parsed.
+     *
+     * @param repr the output of Python's repr() on some object
+     * @return the object represented by repr, or null if repr cannot be parsed
+     */
+    public static APyObj<?> tryParse(CharSequence repr) {
+        try {
+            return parse(repr);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a single value, dispatching on its first character.
+     *
+     * @return the parsed value
+     */
+    private APyObj<?> parseValue() {
+        this.skipSpaces();
+        char c = this.peek();
+        switch (c) {
+            case '[':
+                this.pos++;
+                return new PyListObj<>(this.parseElems(']'));
+            case '(':
+                return this.parseTuple();
+            case '{':
+                return this.parseBraces();
+            case '\'':
+            case '"':
+                return new PyStringObj(this.parseString());
+            default:
+                if (c == '-' || c == '+' || c == '.' || Character.isDigit(c)) {
+                    return this.parseNumber();
+                }
+                return this.parseName();
+        }
+    }
+
+    /**
+     * Parses comma-separated values up to and including the input closing character; the
+     * opening character must already have been consumed.
+     *
+     * @param close the closing character
+     * @return the parsed values
+     */
+    private List<APyObj<?>> parseElems(char close) {
+        List<APyObj<?>> elems = new ArrayList<>();
+        this.skipSpaces();
+        if (this.peek() == close) {
+            this.pos++;
+            return elems;
+        }
+        while (true) {
+            elems.add(this.parseValue());
+            this.skipSpaces();
+            char c = this.next();
+            if (c == close) {
+                return elems;
+            } else if (c != ',') {
+                throw this.error("expected ',' or '" + close + "'");
+            }
+            // Allow a trailing comma, as in the repr() of a single-element tuple
+            this.skipSpaces();
+            if (this.peek() == close) {
+                this.pos++;
+                return elems;
+            }
+        }
+    }
+
+    /**
+     * Parses a tuple, i.e. "()", "(x,)" or "(x, y, ...)".
+     *
+     * @return the parsed tuple
+     */
+    private APyObj<?> parseTuple() {
+        this.pos++;
+        return new PyTupleObj<>(this.parseElems(')'));
+    }
+
+    /**
+     * Parses either a dict ("{}" or "{k: v, ...}") or a non-empty set ("{x, ...}"),
+     * depending on whether the first element is followed by a colon.
+     *
+     * @return the parsed dict or set
+     */
+    private APyObj<?> parseBraces() {
+        this.pos++;
+        this.skipSpaces();
+        if (this.peek() == '}') {
+            this.pos++;
+            return new PyDictObj<>(new LinkedHashMap<APyObj<?>, APyObj<?>>());
+        }
+
+        APyObj<?> first = this.parseValue();
+        this.skipSpaces();
+        if (this.peek() != ':') {
+            // It's a set; parse the remaining elements (if any)
+            Set<APyObj<?>> set = new LinkedHashSet<>();
+            set.add(first);
+            char c = this.next();
+            if (c == ',') {
+                set.addAll(this.parseElems('}'));
+            } else if (c != '}') {
+                throw this.error("expected ',' or '}'");
+            }
+            return new PySetObj<>(set);
+        }
+
+        // It's a dict; parse each (key, value) pair
+        Map<APyObj<?>, APyObj<?>> map = new LinkedHashMap<>();
+        APyObj<?> key = first;
+        while (true) {
+            this.expect(':');
+            map.put(key, this.parseValue());
+            this.skipSpaces();
+            char c = this.next();
+            if (c == '}') {
+                return new PyDictObj<>(map);
+            } else if (c != ',') {
+                throw this.error("expected ',' or '}'");
+            }
+            key = this.parseValue();
+            this.skipSpaces();
+        }
+    }
+
+    /**
+     * Parses a quoted string literal, interpreting the escape sequences that repr() can
+     * produce.
+     *
+     * @return the contents of the string
+     */
+    private String parseString() {
+        char quote = this.next();
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            char c = this.next();
+            if (c == quote) {
+                return sb.toString();
+            } else if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+
+            // Handle an escape sequence
+            char esc = this.next();
+            switch (esc) {
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case '\\', '\'', '"' -> sb.append(esc);
+                case 'x' -> sb.appendCodePoint(this.parseHex(2));
+                case 'u' -> sb.appendCodePoint(this.parseHex(4));
+                case 'U' -> sb.appendCodePoint(this.parseHex(8));
+                default -> throw this.error("unsupported escape \\" + esc);
+            }
+        }
+    }
+
+    /**
+     * Parses the input number of hexadecimal digits.
+     *
+     * @param numDigits the number of digits to parse
+     * @return the value of the digits
+     */
+    private int parseHex(int numDigits) {
+        int val = 0;
+        for (int i = 0; i < numDigits; i++) {
+            int digit = Character.digit(this.next(), 16);
+            if (digit < 0) {
+                throw this.error("malformed hex escape");
+            }
+            val = (val << 4) | digit;
+        }
+        return val;
+    }
+
+    /**
+     * Parses an int or float literal, including the special floats -inf and nan.
+     *
+     * @return the parsed number
+     */
+    private APyObj<?> parseNumber() {
+        int start = this.pos;
+        if (this.peek() == '-' || this.peek() == '+') {
+            this.pos++;
+            if (Character.isLetter(this.peek())) {
+                // -inf or +inf
+                APyObj<?> special = this.parseName();
+                if (special instanceof PyFloatObj flt && this.text.charAt(start) == '-') {
+                    return new PyFloatObj(-flt.getValue());
+                } else if (special instanceof PyFloatObj) {
+                    return special;
+                }
+                throw this.error("malformed number");
+            }
+        }
+
+        boolean isFloat = false;
+        while (this.pos < this.text.length()) {
+            char c = this.text.charAt(this.pos);
+            if (c == '.' || c == 'e' || c == 'E') {
+                isFloat = true;
+            } else if (!(Character.isDigit(c) || ((c == '-' || c == '+')
+                    && (this.text.charAt(this.pos - 1) == 'e' || this.text.charAt(this.pos - 1) == 'E')))) {
+                break;
+            }
+            this.pos++;
+        }
+
+        String literal = this.text.subSequence(start, this.pos).toString();
+        try {
+            if (isFloat) {
+                return new PyFloatObj(Double.parseDouble(literal));
+            }
+            BigInteger val = new BigInteger(literal);
+            if (val.bitLength() < 32) {
+                return new PyIntObj(val.intValue());
+            }
+            return new PyReprObj(val.toString());
+        } catch (NumberFormatException e) {
+            throw this.error("malformed number " + literal);
+        }
+    }
+
+    /**
+     * Parses one of the names that repr() can produce: True, False, None, inf, nan, or
+     * set() for the empty set.
+     *
+     * @return the object represented by the name
+     */
+    private APyObj<?> parseName() {
+        int start = this.pos;
+        while (this.pos < this.text.length() && Character.isLetterOrDigit(this.text.charAt(this.pos))) {
+            this.pos++;
+        }
+        String name = this.text.subSequence(start, this.pos).toString();
+        switch (name) {
+            case "True":
+                return new PyBoolObj(true);
+            case "False":
+                return new PyBoolObj(false);
+            case "None":
+                return new PyReprObj("None");
+            case "inf":
+                return new PyFloatObj(Double.POSITIVE_INFINITY);
+            case "nan":
+                return new PyFloatObj(Double.NaN);
+            case "set":
+                this.expect('(');
+                this.expect(')');
+                return new PySetObj<>(new LinkedHashSet<APyObj<?>>());
+            default:
+                throw this.error("unsupported name '" + name + "'");
+        }
+    }
+
+    /**
+     * Skips over any whitespace.
+     */
+    private void skipSpaces() {
+        while (this.pos < this.text.length() && Character.isWhitespace(this.text.charAt(this.pos))) {
+            this.pos++;
+        }
+    }
+
+    /**
+     * Returns the next character without consuming it.
+     *
+     * @return the next character
+     */
+    private char peek() {
+        if (this.pos >= this.text.length()) {
+            throw this.error("unexpected end of input");
+        }
+        return this.text.charAt(this.pos);
+    }
+
+    /**
+     * Consumes and returns the next character.
+     *
+     * @return the next character
+     */
+    private char next() {
+        char c = this.peek();
+        this.pos++;
+        return c;
+    }
+
+    /**
+     * Consumes the input character (after any whitespace), which must be next.
+     *
+     * @param c the expected character
+     */
+    private void expect(char c) {
+        this.skipSpaces();
+        if (this.next() != c) {
+            throw this.error("expected '" + c + "'");
+        }
+    }
+
+    /**
+     * Builds an exception describing a parse error at the current position.
+     *
+     * @param msg a description of the error
+     * @return the exception to be thrown
+     */
+    private IllegalArgumentException error(String msg) {
+        return new IllegalArgumentException("cannot parse repr at index " + this.pos + ": " + msg);
+    }
+}
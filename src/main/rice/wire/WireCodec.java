@@ -0,0 +1,529 @@
+package main.rice.wire;
+
+import main.rice.obj.*;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Stateless class implementing a compact, tagged binary encoding of APyObj trees, used
+ * to exchange arguments and results with Python processes without going through repr()
+ * and eval(). Every value is a one-byte tag followed by its body:
+ *
+ * <pre>
+ *   'b' bool   one byte, 0 or 1
+ *   'i' int    zigzag-encoded unsigned LEB128 varint (arbitrary precision)
+ *   'f' float  eight bytes, big-endian IEEE 754 double
+ *   's' str    varint byte length, then UTF-8 bytes
+ *   'r' repr   varint byte length, then the UTF-8 repr() of an unsupported object
+ *   'l' list, 't' tuple, 'e' set   varint element count, then each element
+ *   'd' dict   varint entry count, then each key followed by its value
+ * </pre>
+ *
+ * A list of arguments is encoded as a varint count followed by each argument. Results
+ * written by Python are framed by MARKER and their varint byte length, so that anything
+ * the code under test prints to stdout can be skipped over.
+ */
+public class WireCodec {
+
+    /**
+     * The byte sequence that precedes an encoded result on a process's stdout.
+     */
+    public static final byte[] MARKER = {0, 0, 'F', 'E', 'A', 'T', 0};
+
+    /**
+     * Encodes a single object.
+     *
+     * @param obj the object to be encoded
+     * @return the encoded bytes
+     */
+    public static byte[] encode(APyObj<?> obj) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encodeObj(obj, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes a list of arguments as a count followed by each argument.
+     *
+     * @param args the arguments to be encoded
+     * @return the encoded bytes
+     */
+    public static byte[] encodeArgs(List<? extends APyObj<?>> args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeUVarint(out, args.size());
+        for (APyObj<?> arg : args) {
+            encodeObj(arg, out);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Concatenates already-encoded entries, preceding each one by its length as a varint,
+     * so that a reader can skip directly to the i-th entry.
+     *
+     * @param entries the encoded entries
+     * @return the concatenated bytes
+     */
+    public static byte[] lengthPrefixed(List<byte[]> entries) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] entry : entries) {
+            writeUVarint(out, entry.length);
+            out.write(entry, 0, entry.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a single object that starts at the beginning of the input.
+     *
+     * @param bytes the encoded bytes
+     * @return the decoded object
+     * @throws IllegalArgumentException if the input is not a valid encoding
+     */
+    public static APyObj<?> decode(byte[] bytes) {
+        return new Reader(bytes, 0).readObj();
+    }
+
+    /**
+     * Decodes a list of arguments, as produced by encodeArgs().
+     *
+     * @param bytes the encoded bytes
+     * @return the decoded arguments
+     * @throws IllegalArgumentException if the input is not a valid encoding
+     */
+    public static List<APyObj<?>> decodeArgs(byte[] bytes) {
+        Reader reader = new Reader(bytes, 0);
+        int count = reader.readUVarint().intValueExact();
+        List<APyObj<?>> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            args.add(reader.readObj());
+        }
+        return args;
+    }
+
+    /**
+     * Frames an encoded result the way the Python half of the codec writes it to stdout:
+     * MARKER, then the length of the encoding as a uvarint, then the encoding itself.
+     *
+     * @param encoded the encoded result
+     * @return the framed result
+     */
+    public static byte[] frame(byte[] encoded) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(MARKER);
+        writeUVarint(out, encoded.length);
+        out.writeBytes(encoded);
+        return out.toByteArray();
+    }
+
+    /**
+     * Extracts the encoded result from the raw stdout of a Python process, as framed by
+     * frame(). The frame is always the last thing written, so the first occurrence of
+     * MARKER whose declared length reaches exactly to the end of the output is taken;
+     * earlier output may contain MARKER, and so may the result itself (e.g. a str
+     * holding NULs), but neither can satisfy that check in its place.
+     *
+     * @param output the raw output of the process
+     * @return the encoded result, or null if the process did not write one
+     */
+    public static byte[] unframe(byte[] output) {
+        outer:
+        for (int start = 0; start + MARKER.length <= output.length; start++) {
+            for (int i = 0; i < MARKER.length; i++) {
+                if (output[start + i] != MARKER[i]) {
+                    continue outer;
+                }
+            }
+            Reader reader = new Reader(output, start + MARKER.length);
+            BigInteger length;
+            try {
+                length = reader.readUVarint();
+            } catch (IllegalArgumentException e) {
+                // Truncated varint; not a frame
+                continue;
+            }
+            if (length.equals(BigInteger.valueOf(output.length - reader.pos))) {
+                return Arrays.copyOfRange(output, reader.pos, output.length);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Helper function for encode() and encodeArgs(); recursively writes the tag and body
+     * of the input object.
+     *
+     * @param obj the object to be encoded
+     * @param out the stream to write to
+     */
+    private static void encodeObj(APyObj<?> obj, ByteArrayOutputStream out) {
+        if (obj instanceof PyBoolObj bool) {
+            out.write('b');
+            out.write(bool.getValue() ? 1 : 0);
+        } else if (obj instanceof PyIntObj integer) {
+            out.write('i');
+            long val = integer.getValue();
+            writeUVarint(out, (val << 1) ^ (val >> 63));
+        } else if (obj instanceof PyFloatObj flt) {
+            out.write('f');
+            long bits = Double.doubleToLongBits(flt.getValue());
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int) (bits >>> shift));
+            }
+        } else if (obj instanceof PyStringObj || obj instanceof PyCharObj) {
+            // Python has no separate character type, so a lone char is a str of length 1
+            out.write('s');
+            writeText(out, stringValue(obj));
+        } else if (obj instanceof PyReprObj) {
+            out.write('r');
+            writeText(out, obj.toString());
+        } else if (obj instanceof PyDictObj<?, ?> dict) {
+            out.write('d');
+            writeUVarint(out, dict.getValue().size());
+            for (Map.Entry<?, ?> entry : dict.getValue().entrySet()) {
+                encodeObj((APyObj<?>) entry.getKey(), out);
+                encodeObj((APyObj<?>) entry.getValue(), out);
+            }
+        } else if (obj instanceof AIterablePyObj<?> iter) {
+            if (obj instanceof PyListObj) {
+                out.write('l');
+            } else if (obj instanceof PyTupleObj) {
+                out.write('t');
+            } else {
+                out.write('e');
+            }
+            writeUVarint(out, iter.getValue().size());
+            for (APyObj<?> elem : iter.getValue()) {
+                encodeObj(elem, out);
+            }
+        } else {
+            throw new IllegalArgumentException("cannot encode " + obj);
+        }
+    }
+
+    /**
+     * Returns the Java string held by a PyStringObj or PyCharObj.
+     *
+     * @param obj a PyStringObj or PyCharObj
+     * @return the characters of obj, without quotes
+     */
+    private static String stringValue(APyObj<?> obj) {
+        if (obj instanceof PyCharObj character) {
+            return String.valueOf(character.getValue());
+        }
+        StringBuilder sb = new StringBuilder();
+        for (PyCharObj character : ((PyStringObj) obj).getValue()) {
+            sb.append(character.getValue());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes a varint length followed by the UTF-8 bytes of the input.
+     *
+     * @param out  the stream to write to
+     * @param text the text to be written
+     */
+    private static void writeText(ByteArrayOutputStream out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeUVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes the input as an unsigned LEB128 varint.
+     *
+     * @param out the stream to write to
+     * @param val the value to be written, treated as unsigned
+     */
+    private static void writeUVarint(ByteArrayOutputStream out, long val) {
+        while ((val & ~0x7FL) != 0) {
+            out.write((int) ((val & 0x7F) | 0x80));
+            val >>>= 7;
+        }
+        out.write((int) val);
+    }
+
+    /**
+     * A cursor over an encoded byte array.
+     */
+    private static class Reader {
+
+        /**
+         * The bytes being decoded.
+         */
+        private final byte[] bytes;
+
+        /**
+         * The index of the next byte to be read.
+         */
+        private int pos;
+
+        /**
+         * Constructor for a Reader; starts reading at the input position.
+         *
+         * @param bytes the bytes being decoded
+         * @param pos   the index of the first byte to be read
+         */
+        Reader(byte[] bytes, int pos) {
+            this.bytes = bytes;
+            this.pos = pos;
+        }
+
+        /**
+         * Reads a single byte.
+         *
+         * @return the byte, as an unsigned value
+         */
+        private int readByte() {
+            if (this.pos >= this.bytes.length) {
+                throw new IllegalArgumentException("truncated wire data");
+            }
+            return this.bytes[this.pos++] & 0xFF;
+        }
+
+        /**
+         * Reads an unsigned LEB128 varint of arbitrary size; values of up to 63 bits are
+         * accumulated in a long without any intermediate BigInteger arithmetic.
+         *
+         * @return the value read
+         */
+        private BigInteger readUVarint() {
+            long small = 0;
+            int shift = 0;
+            while (true) {
+                int b = this.readByte();
+                if (shift > 56) {
+                    // Too large for a long; finish reading as a BigInteger
+                    return this.readBigUVarint(BigInteger.valueOf(small), shift, b);
+                }
+                small |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return BigInteger.valueOf(small);
+                }
+                shift += 7;
+            }
+        }
+
+        /**
+         * Helper function for readUVarint() that finishes reading a varint that does not
+         * fit in a long.
+         *
+         * @param acc   the value of the bytes read so far
+         * @param shift the bit position of the byte b
+         * @param b     the byte that was just read
+         * @return the value read
+         */
+        private BigInteger readBigUVarint(BigInteger acc, int shift, int b) {
+            while (true) {
+                acc = acc.or(BigInteger.valueOf(b & 0x7F).shiftLeft(shift));
+                if ((b & 0x80) == 0) {
+                    return acc;
+                }
+                shift += 7;
+                b = this.readByte();
+            }
+        }
+
+        /**
+         * Reads a varint length followed by that many UTF-8 bytes.
+         *
+         * @return the decoded text
+         */
+        private String readText() {
+            int len = this.readUVarint().intValueExact();
+            if (this.pos + len > this.bytes.length) {
+                throw new IllegalArgumentException("truncated wire data");
+            }
+            String text = new String(this.bytes, this.pos, len, StandardCharsets.UTF_8);
+            this.pos += len;
+            return text;
+        }
+
+        /**
+         * Reads a single tagged object.
+         *
+         * @return the decoded object
+         */
+        private APyObj<?> readObj() {
+            int tag = this.readByte();
+            switch (tag) {
+                case 'b':
+                    return new PyBoolObj(this.readByte() != 0);
+                case 'i':
+                    BigInteger zigzag = this.readUVarint();
+                    BigInteger val = zigzag.testBit(0) ?
+                            zigzag.shiftRight(1).add(BigInteger.ONE).negate() : zigzag.shiftRight(1);
+                    if (val.bitLength() < 32) {
+                        return new PyIntObj(val.intValue());
+                    }
+                    return new PyReprObj(val.toString());
+                case 'f':
+                    long bits = 0;
+                    for (int i = 0; i < 8; i++) {
+                        bits = (bits << 8) | this.readByte();
+                    }
+                    return new PyFloatObj(Double.longBitsToDouble(bits));
+                case 's':
+                    return new PyStringObj(this.readText());
+                case 'r':
+                    return new PyReprObj(this.readText());
+                case 'd':
+                    int numEntries = this.readUVarint().intValueExact();
+                    Map<APyObj<?>, APyObj<?>> map = new LinkedHashMap<>();
+                    for (int i = 0; i < numEntries; i++) {
+                        APyObj<?> key = this.readObj();
+                        map.put(key, this.readObj());
+                    }
+                    return new PyDictObj<>(map);
+                case 'l':
+                case 't':
+                case 'e':
+                    int numElems = this.readUVarint().intValueExact();
+                    List<APyObj<?>> elems = new ArrayList<>(numElems);
+                    for (int i = 0; i < numElems; i++) {
+                        elems.add(this.readObj());
+                    }
+                    if (tag == 'l') {
+                        return new PyListObj<>(elems);
+                    } else if (tag == 't') {
+                        return new PyTupleObj<>(elems);
+                    }
+                    return new PySetObj<>(new LinkedHashSet<>(elems));
+                default:
+                    throw new IllegalArgumentException("unknown wire tag " + tag);
+            }
+        }
+    }
+
+    /**
+     * Builds the Python half of the codec: a decoder for arguments and expected results,
+     * an encoder for results, and helpers for reading arguments from stdin and writing a
+     * framed result to stdout. Only relies on the standard library; objects that cannot
+     * be encoded are sent as their repr(), and decoded into placeholders that compare
+     * equal to any object with the same repr().
+     *
+     * @return the Python source of the codec
+     */
+    public static String pythonSource() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("import struct, io, os, contextlib\n\n");
+        sb.append("_WIRE_MARKER = b'\\x00\\x00FEAT\\x00'\n\n");
+
+        sb.append("class _WireRepr:\n");
+        sb.append("    def __init__(self, text):\n");
+        sb.append("        self.text = text\n");
+        sb.append("    def __eq__(self, other):\n");
+        sb.append("        return repr(other) == self.text\n");
+        sb.append("    def __hash__(self):\n");
+        sb.append("        return hash(self.text)\n");
+        sb.append("    def __repr__(self):\n");
+        sb.append("        return self.text\n\n");
+
+        sb.append("def _wire_uvarint(buf, pos):\n");
+        sb.append("    val, shift = 0, 0\n");
+        sb.append("    while True:\n");
+        sb.append("        b = buf[pos]\n");
+        sb.append("        pos += 1\n");
+        sb.append("        val |= (b & 0x7f) << shift\n");
+        sb.append("        if b < 0x80:\n");
+        sb.append("            return val, pos\n");
+        sb.append("        shift += 7\n\n");
+
+        sb.append("def _wire_decode(buf, pos=0):\n");
+        sb.append("    tag = buf[pos:pos + 1]\n");
+        sb.append("    pos += 1\n");
+        sb.append("    if tag == b'b':\n");
+        sb.append("        return buf[pos] != 0, pos + 1\n");
+        sb.append("    if tag == b'i':\n");
+        sb.append("        z, pos = _wire_uvarint(buf, pos)\n");
+        sb.append("        return (z >> 1) ^ -(z & 1), pos\n");
+        sb.append("    if tag == b'f':\n");
+        sb.append("        return struct.unpack('>d', buf[pos:pos + 8])[0], pos + 8\n");
+        sb.append("    n, pos = _wire_uvarint(buf, pos)\n");
+        sb.append("    if tag == b's' or tag == b'r':\n");
+        sb.append("        text = bytes(buf[pos:pos + n]).decode('utf-8')\n");
+        sb.append("        return (text if tag == b's' else _WireRepr(text)), pos + n\n");
+        sb.append("    if tag == b'd':\n");
+        sb.append("        d = {}\n");
+        sb.append("        for _ in range(n):\n");
+        sb.append("            k, pos = _wire_decode(buf, pos)\n");
+        sb.append("            v, pos = _wire_decode(buf, pos)\n");
+        sb.append("            d[k] = v\n");
+        sb.append("        return d, pos\n");
+        sb.append("    items = []\n");
+        sb.append("    for _ in range(n):\n");
+        sb.append("        item, pos = _wire_decode(buf, pos)\n");
+        sb.append("        items.append(item)\n");
+        sb.append("    if tag == b'l':\n");
+        sb.append("        return items, pos\n");
+        sb.append("    if tag == b't':\n");
+        sb.append("        return tuple(items), pos\n");
+        sb.append("    if tag == b'e':\n");
+        sb.append("        return set(items), pos\n");
+        sb.append("    raise ValueError('unknown wire tag %r' % tag)\n\n");
+
+        sb.append("def _wire_put_uvarint(out, n):\n");
+        sb.append("    while n >= 0x80:\n");
+        sb.append("        out.append((n & 0x7f) | 0x80)\n");
+        sb.append("        n >>= 7\n");
+        sb.append("    out.append(n)\n\n");
+
+        sb.append("def _wire_put_text(out, tag, text):\n");
+        sb.append("    data = text.encode('utf-8')\n");
+        sb.append("    out += tag\n");
+        sb.append("    _wire_put_uvarint(out, len(data))\n");
+        sb.append("    out += data\n\n");
+
+        sb.append("def _wire_encode(obj, out):\n");
+        sb.append("    t = type(obj)\n");
+        sb.append("    if t is bool:\n");
+        sb.append("        out += b'b'\n");
+        sb.append("        out.append(1 if obj else 0)\n");
+        sb.append("    elif t is int:\n");
+        sb.append("        out += b'i'\n");
+        sb.append("        _wire_put_uvarint(out, obj * 2 if obj >= 0 else -obj * 2 - 1)\n");
+        sb.append("    elif t is float:\n");
+        sb.append("        out += b'f' + struct.pack('>d', obj)\n");
+        sb.append("    elif t is str:\n");
+        sb.append("        _wire_put_text(out, b's', obj)\n");
+        sb.append("    elif t is dict:\n");
+        sb.append("        out += b'd'\n");
+        sb.append("        _wire_put_uvarint(out, len(obj))\n");
+        sb.append("        for k, v in obj.items():\n");
+        sb.append("            _wire_encode(k, out)\n");
+        sb.append("            _wire_encode(v, out)\n");
+        sb.append("    elif t is list or t is tuple or t is set:\n");
+        sb.append("        out += b'l' if t is list else b't' if t is tuple else b'e'\n");
+        sb.append("        _wire_put_uvarint(out, len(obj))\n");
+        sb.append("        for item in obj:\n");
+        sb.append("            _wire_encode(item, out)\n");
+        sb.append("    else:\n");
+        sb.append("        _wire_put_text(out, b'r', repr(obj))\n\n");
+
+        sb.append("def _wire_read_args():\n");
+        sb.append("    buf = sys.stdin.buffer.read()\n");
+        sb.append("    n, pos = _wire_uvarint(buf, 0)\n");
+        sb.append("    args = []\n");
+        sb.append("    for _ in range(n):\n");
+        sb.append("        arg, pos = _wire_decode(buf, pos)\n");
+        sb.append("        args.append(arg)\n");
+        sb.append("    return args\n\n");
+
+        sb.append("def _wire_call(func, args):\n");
+        sb.append("    with contextlib.redirect_stdout(io.StringIO()):\n");
+        sb.append("        result = func(*args)\n");
+        sb.append("    payload = bytearray()\n");
+        sb.append("    _wire_encode(result, payload)\n");
+        sb.append("    out = bytearray(_WIRE_MARKER)\n");
+        sb.append("    _wire_put_uvarint(out, len(payload))\n");
+        sb.append("    out += payload\n");
+        sb.append("    sys.stdout.flush()\n");
+        sb.append("    sys.stdout.buffer.write(out)\n");
+        sb.append("    sys.stdout.buffer.flush()\n");
+        return sb.toString();
+    }
+}
@@ -308,6 +308,44 @@ class BaseSetGeneratorTest {
                 oneArgSimpleOverlapRandVals, 3, 100, true));
     }
 
+    /**
+     * Tests that the exhaustive tests come first, in lexicographic order of the positions
+     * of their arguments within each node's exhaustive domain.
+     */
+    @Test
+    @Order(18)
+    void testExhaustiveOrder() {
+        PyIntNode first = new PyIntNode();
+        first.setExDomain(List.of(3, 1, 2));
+        first.setRanDomain(List.of(-1));
+        PyBoolNode second = new PyBoolNode();
+        second.setExDomain(List.of(1, 0));
+        second.setRanDomain(List.of(1));
+
+        List<TestCase> expected = new ArrayList<>();
+        for (int i : new int[]{3, 1, 2}) {
+            for (boolean b : new boolean[]{true, false}) {
+                expected.add(new TestCase(List.of(new PyIntObj(i), new PyBoolObj(b))));
+            }
+        }
+
+        List<TestCase> actual = new BaseSetGenerator(List.of(first, second), 0).genBaseSet();
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Tests that two generators constructed with the same seed generate identical base
+     * sets, in identical orders.
+     */
+    @Test
+    @Order(19)
+    void testSeededReproducible() {
+        List<TestCase> firstRun = new BaseSetGenerator(multipleArgsNested, 10, 42).genBaseSet();
+        List<TestCase> secondRun = new BaseSetGenerator(multipleArgsNested, 10, 42).genBaseSet();
+        assertEquals(firstRun, secondRun);
+        assertEquals(multipleArgsNestedExVals.size() + 10, firstRun.size());
+    }
+
     /**
      * Sets up oneArgOneOption, oneArgOneOptionExVals, and oneArgOneOptionRandVals.
      */
@@ -0,0 +1,161 @@
+package test.rice.batch;
+
+import main.rice.batch.BatchJob;
+import main.rice.batch.BatchReport;
+import main.rice.batch.BatchRunner;
+import main.rice.batch.JobResult;
+import main.rice.obj.PyIntObj;
+import main.rice.parse.InvalidConfigException;
+import main.rice.test.TestCase;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the BatchRunner class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BatchRunnerTest {
+
+    /**
+     * The absolute path to this project directory, which we'll use to find the provided
+     * pyfiles.
+     */
+    private static final String userDir = System.getProperty("user.dir");
+
+    /**
+     * Tests that a manifest is read in order, with paths relative to the manifest.
+     */
+    @Test
+    @Order(1)
+    void testReadManifest() throws IOException, InvalidConfigException {
+        Path manifest = Files.createTempFile("manifest", ".json");
+        try {
+            Files.writeString(manifest, "{\"jobs\": [{\"config\": \"c.json\", "
+                    + "\"solution\": \"/abs/sol.py\", \"impls\": \"impls\"}]}");
+            Path base = manifest.toAbsolutePath().getParent();
+            assertEquals(List.of(new BatchJob(base.resolve("c.json").toString(), "/abs/sol.py",
+                    base.resolve("impls").toString())), BatchRunner.readManifest(manifest.toString()));
+
+            Files.writeString(manifest, "{\"jobs\": [{\"config\": \"c.json\"}]}");
+            assertThrows(InvalidConfigException.class,
+                    () -> BatchRunner.readManifest(manifest.toString()));
+        } finally {
+            Files.delete(manifest);
+        }
+    }
+
+    /**
+     * Tests that a batch runs every job, reports failures without stopping the other
+     * jobs, and runs identical jobs only once.
+     */
+    @Test
+    @Order(2)
+    void testRun() throws InterruptedException {
+        BatchJob oneTest = buildJob("func0", "func0oneTest", "f0multipleWrong");
+        BatchJob allRight = buildJob("func0", "func0simple", "f0multipleRight");
+        BatchJob missing = buildJob("func0", "noSuchConfig", "f0multipleWrong");
+        BatchReport report;
+        try (BatchRunner runner = new BatchRunner(2)) {
+            report = runner.run(List.of(oneTest, allRight, missing, oneTest));
+        }
+
+        List<JobResult> results = report.getResults();
+        assertEquals(4, results.size());
+        assertEquals(Set.of(new TestCase(List.of(new PyIntObj(0)))),
+                results.get(0).getConciseSet());
+        assertEquals(2, results.get(0).getNumWrong());
+        assertEquals(Set.of(), results.get(1).getConciseSet());
+        assertFalse(results.get(2).isSuccess());
+        assertSame(results.get(0), results.get(3));
+        assertEquals(1, report.numFailed());
+        assertEquals(4, report.toJson().getJSONArray("jobs").length());
+    }
+
+    /**
+     * Tests that a job is run again when its solution is edited, but not when only the
+     * footer appended by the previous run differs.
+     */
+    @Test
+    @Order(3)
+    void testSolutionEdited() throws IOException, InterruptedException, ExecutionException {
+        Path dir = Files.createTempDirectory("sol");
+        Path solution = dir.resolve("func0sol.py");
+        try {
+            Files.writeString(solution, "def func0(intval):\n    return intval\n");
+            BatchJob job = new BatchJob(userDir
+                    + "/src/test/rice/parse/config/func0oneTest.json", solution.toString(),
+                    userDir + "/src/test/rice/test/pyfiles/f0multipleWrong");
+            try (BatchRunner runner = new BatchRunner(1)) {
+                JobResult first = runner.submit(job).get();
+                assertTrue(first.isSuccess());
+                assertSame(first, runner.submit(job).get());
+
+                String footer = Files.readString(solution).split("import sys")[1];
+                Files.writeString(solution, "def func0(intval):\n    return intval + 0\n"
+                        + "import sys" + footer);
+                JobResult edited = runner.submit(job).get();
+                assertNotSame(first, edited);
+                assertSame(edited, runner.submit(job).get());
+            }
+        } finally {
+            Files.deleteIfExists(solution);
+            Files.delete(dir);
+        }
+    }
+
+    /**
+     * Tests that submitting a job doesn't wait for another job that is running the same
+     * solution.
+     */
+    @Test
+    @Order(4)
+    void testSubmitDoesNotBlock() throws IOException, InterruptedException,
+            ExecutionException {
+        Path dir = Files.createTempDirectory("sol");
+        Path solution = dir.resolve("func0sol.py");
+        try {
+            Files.writeString(solution, "import time\n\ndef func0(intval):\n"
+                    + "    time.sleep(2)\n    return intval\n");
+            String config = userDir + "/src/test/rice/parse/config/func0oneTest.json";
+            BatchJob slow = new BatchJob(config, solution.toString(),
+                    userDir + "/src/test/rice/test/pyfiles/f0multipleWrong");
+            BatchJob other = new BatchJob(config, solution.toString(),
+                    userDir + "/src/test/rice/test/pyfiles/f0multipleRight");
+            try (BatchRunner runner = new BatchRunner(2)) {
+                CompletableFuture<JobResult> first = runner.submit(slow);
+                // Let the first job start its solution phase
+                Thread.sleep(500);
+                long start = System.nanoTime();
+                CompletableFuture<JobResult> second = runner.submit(other);
+                assertTrue(System.nanoTime() - start < 1_000_000_000L);
+                assertTrue(first.get().isSuccess());
+                assertTrue(second.get().isSuccess());
+            }
+        } finally {
+            Files.deleteIfExists(solution);
+            Files.delete(dir);
+        }
+    }
+
+    /**
+     * Builds a job from the provided test files.
+     *
+     * @param funcName   the name of the function under test
+     * @param configName the name of the config file
+     * @param implDir    the name of the directory of implementations
+     * @return the job
+     */
+    private static BatchJob buildJob(String funcName, String configName, String implDir) {
+        return new BatchJob(userDir + "/src/test/rice/parse/config/" + configName + ".json",
+                userDir + "/src/test/rice/test/pyfiles/sols/" + funcName + "sol.py",
+                userDir + "/src/test/rice/test/pyfiles/" + implDir);
+    }
+}
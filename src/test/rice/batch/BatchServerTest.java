@@ -0,0 +1,182 @@
+package test.rice.batch;
+
+import main.rice.batch.BatchClient;
+import main.rice.batch.BatchJob;
+import main.rice.batch.BatchServer;
+import main.rice.metrics.Metrics;
+import org.json.JSONObject;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the BatchServer and BatchClient classes.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BatchServerTest {
+
+    /**
+     * The absolute path to this project directory, which we'll use to find the provided
+     * pyfiles.
+     */
+    private static final String userDir = System.getProperty("user.dir");
+
+    /**
+     * The server shared by the tests.
+     */
+    private static BatchServer server;
+
+    /**
+     * A client for the server.
+     */
+    private static BatchClient client;
+
+    /**
+     * Starts the server on a free port.
+     */
+    @BeforeAll
+    static void setUp() throws IOException {
+        server = new BatchServer(0, 2);
+        server.start();
+        client = new BatchClient(server.getPort(), server.getToken());
+    }
+
+    /**
+     * Stops the server.
+     */
+    @AfterAll
+    static void tearDown() {
+        server.close();
+    }
+
+    /**
+     * Tests that the server reports its health.
+     */
+    @Test
+    @Order(1)
+    void testHealth() throws IOException, InterruptedException {
+        assertEquals("ok", client.health().getString("status"));
+    }
+
+    /**
+     * Tests that jobs submitted one at a time and as a batch get the same results, and
+     * that the server counts them.
+     */
+    @Test
+    @Order(2)
+    void testSubmit() throws IOException, InterruptedException {
+        BatchJob job = new BatchJob(userDir + "/src/test/rice/parse/config/func0oneTest.json",
+                userDir + "/src/test/rice/test/pyfiles/sols/func0sol.py",
+                userDir + "/src/test/rice/test/pyfiles/f0multipleWrong");
+        JSONObject result = client.submit(job);
+        assertEquals(List.of("[0]"), result.getJSONArray("concise set").toList());
+        assertEquals(2, result.getInt("wrong"));
+
+        client.clearCaches();
+        JSONObject report = client.submitBatch(List.of(job, job));
+        assertEquals(0, report.getInt("failed"));
+        assertEquals(result.getJSONArray("concise set").toList(), report.getJSONArray("jobs")
+                .getJSONObject(1).getJSONArray("concise set").toList());
+        assertEquals(2, client.health().getLong("requests"));
+    }
+
+    /**
+     * Tests that malformed requests are rejected, and that failed jobs are reported.
+     */
+    @Test
+    @Order(3)
+    void testErrors() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(server, "/jobs", "{}",
+                "Authorization", "Bearer " + server.getToken(),
+                "Content-Type", "application/json");
+        assertEquals(400, response.statusCode());
+        assertTrue(new JSONObject(response.body()).has("error"));
+        JSONObject result = client.submit(new BatchJob("/no/such/config.json",
+                "/no/such/sol.py", "/no/such/impls"));
+        assertTrue(result.has("error"));
+    }
+
+    /**
+     * Tests that the server exports the metrics recorded by the jobs it has run.
+     */
+    @Test
+    @Order(4)
+    void testMetrics() throws IOException, InterruptedException {
+        String metrics = client.metrics();
+        assertTrue(metrics.contains("# TYPE feat_processes_spawned_total counter\n"));
+        assertTrue(metrics.contains("feat_process_seconds_bucket{le=\"+Inf\"} "));
+        assertTrue(Metrics.PROCESSES_SPAWNED.get() > 0);
+        assertTrue(Metrics.RESULT_CACHE_HITS.get() > 0);
+    }
+
+    /**
+     * Tests that requests without the token, from a browser, or without a JSON body are
+     * refused before reaching their endpoints.
+     */
+    @Test
+    @Order(5)
+    void testRejected() throws IOException, InterruptedException {
+        String auth = "Bearer " + server.getToken();
+        assertEquals(401, send(server, "/cache/clear", "{}",
+                "Content-Type", "application/json").statusCode());
+        assertEquals(401, send(server, "/cache/clear", "{}", "Authorization", auth + "0",
+                "Content-Type", "application/json").statusCode());
+        assertEquals(403, send(server, "/cache/clear", "{}", "Authorization", auth,
+                "Content-Type", "application/json", "Origin", "http://example.com")
+                .statusCode());
+        assertEquals(415, send(server, "/cache/clear", "{}", "Authorization", auth,
+                "Content-Type", "text/plain").statusCode());
+        assertEquals(200, send(server, "/cache/clear", "{}", "Authorization", auth,
+                "Content-Type", "application/json; charset=utf-8").statusCode());
+        assertThrows(IOException.class,
+                () -> new BatchClient(server.getPort(), "wrong").health());
+    }
+
+    /**
+     * Tests that a server with a root refuses jobs that name files outside it.
+     */
+    @Test
+    @Order(6)
+    void testRoot() throws IOException, InterruptedException {
+        try (BatchServer rooted = new BatchServer(0, 1,
+                Path.of(userDir, "src", "test", "rice", "parse"))) {
+            rooted.start();
+            BatchJob job = new BatchJob(userDir
+                    + "/src/test/rice/parse/config/func0oneTest.json",
+                    userDir + "/src/test/rice/test/pyfiles/sols/func0sol.py",
+                    userDir + "/src/test/rice/test/pyfiles/f0multipleWrong");
+            IOException e = assertThrows(IOException.class,
+                    () -> new BatchClient(rooted.getPort(), rooted.getToken()).submit(job));
+            assertTrue(e.getMessage().contains("403"));
+        }
+    }
+
+    /**
+     * Sends a POST with the input headers to a server, without going through a client.
+     *
+     * @param target  the server
+     * @param path    the path of the endpoint
+     * @param body    the request body
+     * @param headers alternating header names and values
+     * @return the response
+     */
+    private static HttpResponse<String> send(BatchServer target, String path, String body,
+                                             String... headers)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:"
+                + target.getPort() + path)).POST(HttpRequest.BodyPublishers.ofString(body));
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return HttpClient.newHttpClient().send(request.build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,136 @@
+package test.rice.batch;
+
+import main.rice.batch.ImplDirWatcher;
+import main.rice.obj.PyIntObj;
+import main.rice.test.TestCase;
+import main.rice.test.Tester;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the ImplDirWatcher class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ImplDirWatcherTest {
+
+    /**
+     * The absolute path to this project directory, which we'll use to find the provided
+     * pyfiles.
+     */
+    private static final String userDir = System.getProperty("user.dir");
+
+    /**
+     * A correct implementation of func0.
+     */
+    private static final String RIGHT = "def func0(intval):\n    return intval\n";
+
+    /**
+     * A wrong implementation of func0.
+     */
+    private static final String WRONG = "def func0(intval):\n    return intval + 1\n";
+
+    /**
+     * The test cases, which all catch WRONG.
+     */
+    private static final List<TestCase> tests = List.of(
+            new TestCase(List.of(new PyIntObj(0))), new TestCase(List.of(new PyIntObj(1))));
+
+    /**
+     * Tests that added, changed and deleted implementations update the kill matrix and
+     * hitting set, and that unchanged implementations are skipped.
+     */
+    @Test
+    @Order(1)
+    void testUpdate() throws IOException, InterruptedException {
+        Path implDir = Files.createTempDirectory("impls");
+        try {
+            Files.writeString(implDir.resolve("right.py"), RIGHT);
+            ImplDirWatcher watcher = buildWatcher(implDir);
+            assertEquals(Set.of(), watcher.getCover().getHittingSet());
+            assertEquals(0, watcher.getFileIndex("right.py"));
+
+            // A new wrong implementation is caught
+            Files.writeString(implDir.resolve("wrong.py"), WRONG);
+            assertEquals(List.of(0), watcher.update(List.of("wrong.py", "notes.txt")));
+            assertEquals(1, watcher.getFileIndex("wrong.py"));
+            assertEquals(Set.of(1), watcher.getCover().getResults().getWrongSet());
+            assertEquals(List.of(), watcher.update(List.of("wrong.py")));
+
+            // Fixing it retires the old version
+            Files.writeString(implDir.resolve("wrong.py"), RIGHT + "\n");
+            watcher.update(List.of("wrong.py"));
+            assertEquals(2, watcher.getFileIndex("wrong.py"));
+            assertEquals(Set.of(), watcher.getCover().getResults().getWrongSet());
+
+            // Deleting an implementation removes it
+            Files.delete(implDir.resolve("right.py"));
+            watcher.update(List.of("right.py"));
+            assertEquals(-1, watcher.getFileIndex("right.py"));
+        } finally {
+            deleteDir(implDir.toFile());
+        }
+    }
+
+    /**
+     * Tests that the background watcher grades a new implementation and notifies the
+     * listener.
+     */
+    @Test
+    @Order(2)
+    void testWatch() throws IOException, InterruptedException {
+        Path implDir = Files.createTempDirectory("impls");
+        try {
+            Files.writeString(implDir.resolve("right.py"), RIGHT);
+            ImplDirWatcher watcher = buildWatcher(implDir);
+            List<Set<TestCase>> updates = Collections.synchronizedList(new ArrayList<>());
+            watcher.setUpdateListener(updates::add);
+            try (watcher) {
+                watcher.start();
+                Files.writeString(implDir.resolve("wrong.py"), WRONG);
+                for (int i = 0; i < 1000 && updates.isEmpty(); i++) {
+                    Thread.sleep(20);
+                }
+            }
+            assertFalse(updates.isEmpty());
+            assertEquals(Set.of(tests.get(0)), updates.get(updates.size() - 1));
+        } finally {
+            deleteDir(implDir.toFile());
+        }
+    }
+
+    /**
+     * Builds a watcher for the input directory, after testing its current contents.
+     *
+     * @param implDir the directory of implementations
+     * @return the watcher
+     */
+    private static ImplDirWatcher buildWatcher(Path implDir)
+            throws IOException, InterruptedException {
+        Tester tester = new Tester("func0", userDir
+                + "/src/test/rice/test/pyfiles/sols/func0sol.py", implDir.toString(), tests);
+        tester.computeExpectedResults();
+        return new ImplDirWatcher(tester, implDir.toString(), tester.runTests());
+    }
+
+    /**
+     * Deletes a directory and its contents.
+     *
+     * @param dir the directory to delete
+     */
+    private static void deleteDir(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                deleteDir(file);
+            }
+        }
+        dir.delete();
+    }
+}
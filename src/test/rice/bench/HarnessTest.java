@@ -0,0 +1,80 @@
+package test.rice.bench;
+
+import bench.rice.BenchMain;
+import bench.rice.BenchResult;
+import bench.rice.Harness;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the benchmark Harness.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HarnessTest {
+
+    /**
+     * Tests that the harness filters benchmarks, and measures time and allocation.
+     */
+    @Test
+    @Order(1)
+    void testMeasure() {
+        Harness harness = new Harness(1, 2, 20);
+        harness.add("alloc", "bytes=4096", () -> new byte[4096]);
+        harness.add("noAlloc", "", () -> Boolean.TRUE);
+        harness.add("other", "", () -> {
+            throw new IllegalStateException("should be filtered out");
+        });
+
+        List<BenchResult> results = harness.run(Pattern.compile("lloc"), null);
+        assertEquals(2, results.size());
+        BenchResult alloc = results.get(0);
+        assertEquals("alloc", alloc.getName());
+        assertEquals("bytes=4096", alloc.getParams());
+        assertTrue(alloc.getOps() > 0);
+        assertTrue(alloc.getNanosPerOp() > 0);
+        if (alloc.getBytesPerOp() >= 0) {
+            assertTrue(alloc.getBytesPerOp() >= 4096);
+            assertTrue(results.get(1).getBytesPerOp() < 1);
+        }
+        assertThrows(IllegalStateException.class,
+                () -> harness.run(Pattern.compile("other"), null));
+    }
+
+    /**
+     * Tests that allocation on other threads is charged to the operation.
+     */
+    @Test
+    @Order(2)
+    void testMeasureOtherThreads() {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Harness harness = new Harness(1, 2, 20);
+            harness.add("forked", "", () -> pool.submit(() -> new byte[4096]).get());
+            BenchResult forked = harness.run(Pattern.compile(""), null).get(0);
+            if (forked.getBytesPerOp() >= 0) {
+                assertTrue(forked.getBytesPerOp() >= 4096);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that every benchmark in the suite runs.
+     */
+    @Test
+    @Order(3)
+    void testSuite() throws Exception {
+        Harness harness = new Harness(0, 1, 1);
+        BenchMain.register(harness);
+        List<BenchResult> results = harness.run(
+                Pattern.compile("^(?!.*(keys=8|tests=5000|exact))"), null);
+        assertTrue(results.size() > 70);
+    }
+}
@@ -0,0 +1,79 @@
+package test.rice.bench;
+
+import bench.rice.SyntheticMatrices;
+import bench.rice.SyntheticMatrices.Distribution;
+import main.rice.concisegen.ConciseSetGenerator;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the SyntheticMatrices class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SyntheticMatricesTest {
+
+    /**
+     * Tests that every distribution has the requested size and roughly the requested
+     * density, that generation is deterministic, and that the cover catches every file.
+     */
+    @Test
+    @Order(1)
+    void testShape() {
+        for (Distribution distribution : Distribution.values()) {
+            TestResults results = SyntheticMatrices.generate(500, 100, 0.05, distribution,
+                    0, 7);
+            assertEquals(500, results.getCaseToFiles().size());
+            assertEquals(500, results.getCaseCosts().size());
+            long kills = 0;
+            for (Set<Integer> caught : results.getCaseToFiles()) {
+                kills += caught.size();
+                assertTrue(results.getWrongSet().containsAll(caught));
+            }
+            double density = kills / (500.0 * 100);
+            assertTrue(density > 0.03 && density < 0.07, distribution + ": " + density);
+
+            TestResults again = SyntheticMatrices.generate(500, 100, 0.05, distribution,
+                    0, 7);
+            assertEquals(results.getCaseToFiles(), again.getCaseToFiles());
+
+            Set<TestCase> cover = ConciseSetGenerator.setCover(results);
+            Set<Integer> caught = new HashSet<>();
+            for (int i = 0; i < 500; i++) {
+                if (cover.contains(results.getTestCase(i))) {
+                    caught.addAll(results.getCaseToFiles().get(i));
+                }
+            }
+            assertEquals(results.getWrongSet(), caught);
+        }
+    }
+
+    /**
+     * Tests that clustered test cases stay within one cluster, and that duplicate rows
+     * are generated.
+     */
+    @Test
+    @Order(2)
+    void testClustersAndDuplicates() {
+        TestResults clustered = SyntheticMatrices.generate(200, 64, 0.05,
+                Distribution.CLUSTERED, 0, 3);
+        for (Set<Integer> caught : clustered.getCaseToFiles()) {
+            Set<Integer> clusters = new HashSet<>();
+            for (int file : caught) {
+                clusters.add(file % 16);
+            }
+            assertTrue(clusters.size() <= 1);
+        }
+
+        TestResults duplicated = SyntheticMatrices.generate(200, 64, 0.05,
+                Distribution.UNIFORM, 0.5, 3);
+        Set<Set<Integer>> distinct = new HashSet<>(duplicated.getCaseToFiles());
+        assertTrue(distinct.size() < 150);
+        assertThrows(IllegalArgumentException.class, () -> SyntheticMatrices.generate(
+                10, 10, 1.5, Distribution.UNIFORM, 0, 3));
+    }
+}
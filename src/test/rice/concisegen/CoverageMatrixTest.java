@@ -0,0 +1,244 @@
+package test.rice.concisegen;
+
+import main.rice.concisegen.CoverageMatrix;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the CoverageMatrix class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CoverageMatrixTest {
+
+    /**
+     * Tests that gains are computed over the files that have not yet been covered.
+     */
+    @Test
+    @Order(1)
+    void testGainAndSelect() {
+        List<Set<Integer>> caseToFiles = List.of(Set.of(1, 2, 3), Set.of(3, 4), Set.of(100));
+        CoverageMatrix matrix = new CoverageMatrix(caseToFiles, Set.of(1, 2, 3, 4, 100));
+        assertEquals(5, matrix.numColumns());
+        assertEquals(3, matrix.gain(0));
+        assertEquals(2, matrix.gain(1));
+
+        matrix.select(0);
+        assertEquals(0, matrix.gain(0));
+        assertEquals(1, matrix.gain(1));
+        assertEquals(1, matrix.gain(2));
+        assertFalse(matrix.isCovered());
+    }
+
+    /**
+     * Tests that ties are broken in favor of the lowest index.
+     */
+    @Test
+    @Order(2)
+    void testTieBreaking() {
+        List<Set<Integer>> caseToFiles = List.of(Set.of(), Set.of(5, 6), Set.of(7, 8),
+                Set.of(5, 8));
+        CoverageMatrix matrix = new CoverageMatrix(caseToFiles, Set.of(5, 6, 7, 8));
+        assertEquals(List.of(1, 2), matrix.greedyCover(false));
+    }
+
+    /**
+     * Tests that greedyCover() stops rather than failing when part of the wrong set
+     * cannot be covered.
+     */
+    @Test
+    @Order(3)
+    void testUncoverable() {
+        CoverageMatrix matrix = new CoverageMatrix(List.of(Set.of(1)), Set.of(1, 2));
+        assertEquals(List.of(0), matrix.greedyCover(false));
+        assertFalse(matrix.isCovered());
+    }
+
+    /**
+     * Tests that the sequential and parallel covers are identical to the covers computed
+     * by the original hash-set-based greedy algorithm, on random instances large enough
+     * to be split across several fork/join tasks.
+     */
+    @Test
+    @Order(4)
+    void testMatchesHashSetGreedy() {
+        Random rand = new Random(2021);
+        for (int trial = 0; trial < 5; trial++) {
+            int numCases = 3000;
+            int numFiles = 50 + rand.nextInt(150);
+            List<Set<Integer>> caseToFiles = new ArrayList<>();
+            Set<Integer> wrongSet = new HashSet<>();
+            for (int i = 0; i < numCases; i++) {
+                Set<Integer> caught = new HashSet<>();
+                for (int j = 0; j < 1 + rand.nextInt(4); j++) {
+                    caught.add(rand.nextInt(numFiles) * 3);
+                }
+                caseToFiles.add(caught);
+                wrongSet.addAll(caught);
+            }
+
+            List<Integer> expected = hashSetGreedy(caseToFiles, wrongSet);
+            assertEquals(expected,
+                    new CoverageMatrix(caseToFiles, wrongSet).greedyCover(false));
+            assertEquals(expected,
+                    new CoverageMatrix(caseToFiles, wrongSet).greedyCover(true));
+            assertEquals(expected,
+                    new CoverageMatrix(caseToFiles, wrongSet).lazyGreedyCover());
+        }
+    }
+
+    /**
+     * Tests that lazy greedy breaks ties in favor of the lowest index, even when the
+     * lower-indexed row's gain is stale when the tie arises.
+     */
+    @Test
+    @Order(5)
+    void testLazyTieBreaking() {
+        // After selecting row 0, rows 1 and 2 both have a gain of 2, but row 1's stored
+        // gain (3) is stale
+        List<Set<Integer>> caseToFiles = List.of(Set.of(1, 2, 3, 4), Set.of(1, 5, 6),
+                Set.of(7, 8));
+        CoverageMatrix matrix = new CoverageMatrix(caseToFiles, Set.of(1, 2, 3, 4, 5, 6, 7, 8));
+        assertEquals(List.of(0, 1, 2), matrix.lazyGreedyCover());
+    }
+
+    /**
+     * Tests that lazy greedy stops rather than failing when part of the wrong set cannot
+     * be covered.
+     */
+    @Test
+    @Order(6)
+    void testLazyUncoverable() {
+        CoverageMatrix matrix = new CoverageMatrix(List.of(Set.of(1), Set.of(1)),
+                Set.of(1, 2));
+        assertEquals(List.of(0), matrix.lazyGreedyCover());
+    }
+
+    /**
+     * Tests that weighted greedy with uniform costs selects the same rows as greedy.
+     */
+    @Test
+    @Order(7)
+    void testWeightedUniformCosts() {
+        Random rand = new Random(35);
+        List<Set<Integer>> caseToFiles = new ArrayList<>();
+        Set<Integer> wrongSet = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            Set<Integer> caught = new HashSet<>();
+            for (int j = 0; j < 1 + rand.nextInt(6); j++) {
+                caught.add(rand.nextInt(80));
+            }
+            caseToFiles.add(caught);
+            wrongSet.addAll(caught);
+        }
+        double[] costs = new double[caseToFiles.size()];
+        Arrays.fill(costs, 1000);
+        assertEquals(hashSetGreedy(caseToFiles, wrongSet),
+                new CoverageMatrix(caseToFiles, wrongSet).weightedGreedyCover(costs));
+    }
+
+    /**
+     * Tests that weighted greedy prefers several cheap tests over one expensive test that
+     * catches everything.
+     */
+    @Test
+    @Order(8)
+    void testWeightedPrefersCheap() {
+        List<Set<Integer>> caseToFiles = List.of(Set.of(0, 1, 2), Set.of(0), Set.of(1),
+                Set.of(2));
+        CoverageMatrix matrix = new CoverageMatrix(caseToFiles, Set.of(0, 1, 2));
+        assertEquals(List.of(1, 2, 3), matrix.weightedGreedyCover(new double[]{100, 1, 1, 1}));
+
+        matrix = new CoverageMatrix(caseToFiles, Set.of(0, 1, 2));
+        assertEquals(List.of(0), matrix.weightedGreedyCover(new double[]{2, 1, 1, 1}));
+    }
+
+    /**
+     * Tests that multi-cover with k = 1 selects the same rows as greedy, and that with
+     * larger k every file is caught by k selected rows, or by every row that catches it.
+     */
+    @Test
+    @Order(9)
+    void testMultiCover() {
+        Random rand = new Random(36);
+        List<Set<Integer>> caseToFiles = new ArrayList<>();
+        Set<Integer> wrongSet = new HashSet<>();
+        for (int i = 0; i < 400; i++) {
+            Set<Integer> caught = new HashSet<>();
+            for (int j = 0; j < 1 + rand.nextInt(5); j++) {
+                caught.add(rand.nextInt(300));
+            }
+            caseToFiles.add(caught);
+            wrongSet.addAll(caught);
+        }
+        assertEquals(hashSetGreedy(caseToFiles, wrongSet),
+                new CoverageMatrix(caseToFiles, wrongSet).multiGreedyCover(1));
+
+        for (int k = 2; k <= 4; k++) {
+            List<Integer> selected = new CoverageMatrix(caseToFiles, wrongSet).multiGreedyCover(k);
+            assertEquals(selected.size(), new HashSet<>(selected).size());
+            for (int file : wrongSet) {
+                int available = 0;
+                int caught = 0;
+                for (int i = 0; i < caseToFiles.size(); i++) {
+                    if (caseToFiles.get(i).contains(file)) {
+                        available++;
+                        caught += selected.contains(i) ? 1 : 0;
+                    }
+                }
+                assertEquals(Math.min(k, available), Math.min(k, caught));
+            }
+        }
+    }
+
+    /**
+     * Tests that multi-cover handles files caught by fewer than k rows (including files
+     * caught by no row at all).
+     */
+    @Test
+    @Order(10)
+    void testMultiCoverShortfall() {
+        List<Set<Integer>> caseToFiles = List.of(Set.of(0, 1), Set.of(1), Set.of(1, 2),
+                Set.of(0));
+        CoverageMatrix matrix = new CoverageMatrix(caseToFiles, Set.of(0, 1, 2, 3));
+        assertEquals(List.of(0, 2, 1, 3), matrix.multiGreedyCover(3));
+        assertTrue(matrix.isCovered());
+    }
+
+    /**
+     * The original greedy algorithm, which selects the test that covers the most
+     * heretofore-uncovered files (lowest index on ties) until the wrong set is covered.
+     *
+     * @param caseToFiles the files caught by each test
+     * @param wrongSet    the files to be covered
+     * @return the indices of the selected tests, in order
+     */
+    private static List<Integer> hashSetGreedy(List<Set<Integer>> caseToFiles,
+                                               Set<Integer> wrongSet) {
+        List<Set<Integer>> remaining = new ArrayList<>();
+        for (Set<Integer> set : caseToFiles) {
+            remaining.add(new HashSet<>(set));
+        }
+        Set<Integer> uncovered = new HashSet<>(wrongSet);
+        List<Integer> selected = new ArrayList<>();
+        while (!uncovered.isEmpty()) {
+            int best = -1;
+            int bestSize = 0;
+            for (int i = 0; i < remaining.size(); i++) {
+                if (remaining.get(i).size() > bestSize) {
+                    bestSize = remaining.get(i).size();
+                    best = i;
+                }
+            }
+            Set<Integer> covered = new HashSet<>(remaining.get(best));
+            uncovered.removeAll(covered);
+            for (Set<Integer> set : remaining) {
+                set.removeAll(covered);
+            }
+            selected.add(best);
+        }
+        return selected;
+    }
+}
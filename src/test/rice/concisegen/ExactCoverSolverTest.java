@@ -0,0 +1,136 @@
+package test.rice.concisegen;
+
+import main.rice.concisegen.ConciseSetGenerator;
+import main.rice.concisegen.CoverSolution;
+import main.rice.concisegen.ExactCoverSolver;
+import main.rice.obj.PyIntObj;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the ExactCoverSolver class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ExactCoverSolverTest {
+
+    /**
+     * Tests that the solver beats greedy on the instance where greedy is sub-optimal.
+     */
+    @Test
+    @Order(1)
+    void testBeatsGreedy() {
+        // The i-th test catches files i and i + 5; the last test catches files 0-4
+        List<Set<Integer>> caseToFiles = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            caseToFiles.add(Set.of(i, i + 5));
+        }
+        caseToFiles.add(Set.of(0, 1, 2, 3, 4));
+        Set<Integer> wrongSet = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            wrongSet.add(i);
+        }
+
+        CoverSolution solution = new ExactCoverSolver(caseToFiles, wrongSet).solve(10000, 2);
+        assertTrue(solution.isOptimal());
+        assertEquals(List.of(0, 1, 2, 3, 4), solution.getCaseIndices());
+        assertEquals(0, solution.getGap());
+    }
+
+    /**
+     * Tests that exact covers are covers, are never larger than greedy covers, and have
+     * the same size as a brute-force minimum on small random instances.
+     */
+    @Test
+    @Order(2)
+    void testMatchesBruteForce() {
+        Random rand = new Random(34);
+        for (int trial = 0; trial < 30; trial++) {
+            int numCases = 4 + rand.nextInt(12);
+            int numFiles = 3 + rand.nextInt(15);
+            List<TestCase> allCases = new ArrayList<>();
+            List<Set<Integer>> caseToFiles = new ArrayList<>();
+            Set<Integer> wrongSet = new HashSet<>();
+            for (int i = 0; i < numCases; i++) {
+                allCases.add(new TestCase(List.of(new PyIntObj(i))));
+                Set<Integer> caught = new HashSet<>();
+                for (int j = 0; j < 1 + rand.nextInt(5); j++) {
+                    caught.add(rand.nextInt(numFiles));
+                }
+                caseToFiles.add(caught);
+                wrongSet.addAll(caught);
+            }
+            TestResults results = new TestResults(allCases, caseToFiles, wrongSet);
+
+            CoverSolution solution = ConciseSetGenerator.exactCover(results, 10000);
+            Set<Integer> covered = new HashSet<>();
+            for (int index : solution.getCaseIndices()) {
+                covered.addAll(caseToFiles.get(index));
+            }
+            assertEquals(wrongSet, covered);
+            assertTrue(solution.isOptimal());
+            assertEquals(bruteForceMinimum(caseToFiles, wrongSet),
+                    solution.getCaseIndices().size());
+            assertTrue(solution.getCaseIndices().size()
+                    <= ConciseSetGenerator.setCover(results).size());
+        }
+    }
+
+    /**
+     * Tests that a search that runs out of time still returns a cover (at worst the
+     * greedy one) and a consistent gap.
+     */
+    @Test
+    @Order(3)
+    void testZeroBudget() {
+        Random rand = new Random(3);
+        List<Set<Integer>> caseToFiles = new ArrayList<>();
+        Set<Integer> wrongSet = new HashSet<>();
+        for (int i = 0; i < 300; i++) {
+            Set<Integer> caught = new HashSet<>();
+            for (int j = 0; j < 6; j++) {
+                caught.add(rand.nextInt(200));
+            }
+            caseToFiles.add(caught);
+            wrongSet.addAll(caught);
+        }
+
+        CoverSolution solution = new ExactCoverSolver(caseToFiles, wrongSet).solve(0, 1);
+        Set<Integer> covered = new HashSet<>();
+        for (int index : solution.getCaseIndices()) {
+            covered.addAll(caseToFiles.get(index));
+        }
+        assertEquals(wrongSet, covered);
+        assertFalse(solution.isOptimal());
+        assertTrue(solution.getLowerBound() > 0);
+        assertEquals(solution.getCaseIndices().size() - solution.getLowerBound(),
+                solution.getGap());
+    }
+
+    /**
+     * Finds the size of a minimum cover by trying every subset of tests.
+     *
+     * @param caseToFiles the files caught by each test
+     * @param wrongSet    the files to be covered
+     * @return the size of a minimum cover
+     */
+    private static int bruteForceMinimum(List<Set<Integer>> caseToFiles, Set<Integer> wrongSet) {
+        int min = Integer.MAX_VALUE;
+        for (int mask = 0; mask < (1 << caseToFiles.size()); mask++) {
+            Set<Integer> covered = new HashSet<>();
+            for (int i = 0; i < caseToFiles.size(); i++) {
+                if ((mask & (1 << i)) != 0) {
+                    covered.addAll(caseToFiles.get(i));
+                }
+            }
+            if (covered.containsAll(wrongSet)) {
+                min = Math.min(min, Integer.bitCount(mask));
+            }
+        }
+        return min;
+    }
+}
@@ -0,0 +1,152 @@
+package test.rice.concisegen;
+
+import main.rice.concisegen.IncrementalCover;
+import main.rice.obj.PyIntObj;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the IncrementalCover class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class IncrementalCoverTest {
+
+    /**
+     * Tests that a new file that is already caught by the hitting set adds nothing.
+     */
+    @Test
+    @Order(1)
+    void testAddCaughtFile() {
+        IncrementalCover cover = new IncrementalCover(buildResults(
+                List.of(Set.of(0, 1), Set.of(2), Set.of())));
+        assertEquals(List.of(0, 1), cover.getSelectedCases());
+        assertEquals(List.of(), cover.addFiles(Map.of(3, Set.of(1, 2))));
+        assertEquals(List.of(0, 1), cover.getSelectedCases());
+    }
+
+    /**
+     * Tests that uncaught new files are covered greedily using only the tests that catch
+     * them, and that files that no test catches are ignored.
+     */
+    @Test
+    @Order(2)
+    void testAddUncaughtFiles() {
+        IncrementalCover cover = new IncrementalCover(buildResults(
+                List.of(Set.of(0, 1), Set.of(2), Set.of(), Set.of())));
+        Map<Integer, Set<Integer>> newFiles = new HashMap<>();
+        newFiles.put(3, Set.of(2));
+        newFiles.put(4, Set.of(2, 3));
+        newFiles.put(5, Set.of(3));
+        newFiles.put(6, Set.of());
+        assertEquals(List.of(2, 3), cover.addFiles(newFiles));
+        assertEquals(List.of(0, 1, 2, 3), cover.getSelectedCases());
+        assertEquals(4, cover.getHittingSet().size());
+    }
+
+    /**
+     * Tests that re-optimizing replaces a hitting set that has drifted with a smaller
+     * one, and keeps a hitting set that is already as small.
+     */
+    @Test
+    @Order(3)
+    void testReoptimize() {
+        // Test 3 catches everything that tests 0-2 catch
+        IncrementalCover cover = new IncrementalCover(buildResults(
+                List.of(Set.of(0), Set.of(1), Set.of(), Set.of(0, 1))), List.of(0, 1));
+        cover.addFiles(Map.of(2, Set.of(2, 3)));
+        assertEquals(List.of(0, 1, 2), cover.getSelectedCases());
+
+        assertTrue(cover.reoptimize());
+        assertEquals(List.of(3), cover.getSelectedCases());
+        assertFalse(cover.reoptimize());
+    }
+
+    /**
+     * Tests that background re-optimization eventually replaces the hitting set.
+     */
+    @Test
+    @Order(4)
+    void testBackgroundReoptimize() throws InterruptedException {
+        IncrementalCover cover = new IncrementalCover(buildResults(
+                List.of(Set.of(0), Set.of(1), Set.of(0, 1))), List.of(0, 1));
+        cover.startReoptimizing(10);
+        try {
+            for (int i = 0; i < 500 && cover.getSelectedCases().size() > 1; i++) {
+                Thread.sleep(10);
+            }
+        } finally {
+            cover.stopReoptimizing();
+        }
+        assertEquals(List.of(2), cover.getSelectedCases());
+    }
+
+    /**
+     * Tests that a cover maintained incrementally over random arrivals always catches
+     * every file.
+     */
+    @Test
+    @Order(5)
+    void testRandomArrivals() {
+        Random rand = new Random(37);
+        int numCases = 60;
+        List<Set<Integer>> caseToFiles = new ArrayList<>();
+        for (int i = 0; i < numCases; i++) {
+            caseToFiles.add(new HashSet<>());
+        }
+        IncrementalCover cover = new IncrementalCover(buildResults(caseToFiles));
+
+        Map<Integer, Set<Integer>> allFiles = new HashMap<>();
+        for (int file = 0; file < 200; file++) {
+            Set<Integer> cases = new HashSet<>();
+            for (int j = 0; j < rand.nextInt(4); j++) {
+                cases.add(rand.nextInt(numCases));
+            }
+            allFiles.put(file, cases);
+            cover.addFiles(Map.of(file, cases));
+
+            Set<Integer> selected = new HashSet<>(cover.getSelectedCases());
+            for (Set<Integer> catching : allFiles.values()) {
+                assertTrue(catching.isEmpty() || !Collections.disjoint(catching, selected));
+            }
+        }
+    }
+
+    /**
+     * Tests that removed files leave the instance, and that re-optimizing can then
+     * shrink the hitting set.
+     */
+    @Test
+    @Order(6)
+    void testRemoveFiles() {
+        IncrementalCover cover = new IncrementalCover(buildResults(
+                List.of(Set.of(0, 1), Set.of(2), Set.of(0))));
+        assertEquals(List.of(0, 1), cover.getSelectedCases());
+        cover.removeFiles(List.of(2));
+        assertEquals(Set.of(0, 1), cover.getResults().getWrongSet());
+        assertEquals(List.of(Set.of(0, 1), Set.of(), Set.of(0)),
+                cover.getResults().getCaseToFiles());
+        assertTrue(cover.reoptimize());
+        assertEquals(List.of(0), cover.getSelectedCases());
+    }
+
+    /**
+     * Builds TestResults with integer test cases from the input caseToFiles.
+     *
+     * @param caseToFiles the files caught by each test
+     * @return the corresponding TestResults
+     */
+    private static TestResults buildResults(List<Set<Integer>> caseToFiles) {
+        List<TestCase> allCases = new ArrayList<>();
+        Set<Integer> wrongSet = new HashSet<>();
+        for (int i = 0; i < caseToFiles.size(); i++) {
+            allCases.add(new TestCase(List.of(new PyIntObj(i))));
+            wrongSet.addAll(caseToFiles.get(i));
+        }
+        return new TestResults(allCases, caseToFiles, wrongSet);
+    }
+}
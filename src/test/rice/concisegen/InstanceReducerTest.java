@@ -0,0 +1,101 @@
+package test.rice.concisegen;
+
+import main.rice.concisegen.ConciseSetGenerator;
+import main.rice.concisegen.InstanceReducer;
+import main.rice.concisegen.ReducedInstance;
+import main.rice.obj.PyIntObj;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the InstanceReducer class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class InstanceReducerTest {
+
+    /**
+     * Tests that identical and empty tests are collapsed into the lowest-indexed one.
+     */
+    @Test
+    @Order(1)
+    void testDuplicateRows() {
+        List<Set<Integer>> caseToFiles = List.of(Set.of(), Set.of(0, 1), Set.of(1, 2),
+                Set.of(0, 1), Set.of(0, 2));
+        ReducedInstance reduced = InstanceReducer.reduce(caseToFiles, Set.of(0, 1, 2));
+        assertEquals(List.of(), reduced.getEssentialCases());
+        assertEquals(3, reduced.getCaseToFiles().size());
+        assertEquals(1, reduced.getOriginalIndex(0));
+        assertEquals(2, reduced.getOriginalIndex(1));
+        assertEquals(4, reduced.getOriginalIndex(2));
+    }
+
+    /**
+     * Tests that dominated tests are removed, after which the dominating test becomes
+     * essential.
+     */
+    @Test
+    @Order(2)
+    void testDominatedAndEssential() {
+        List<Set<Integer>> caseToFiles = List.of(Set.of(0), Set.of(0, 1, 2), Set.of(3, 4),
+                Set.of(4));
+        ReducedInstance reduced = InstanceReducer.reduce(caseToFiles, Set.of(0, 1, 2, 3, 4));
+        assertEquals(Set.of(1, 2), new HashSet<>(reduced.getEssentialCases()));
+        assertTrue(reduced.getCaseToFiles().isEmpty());
+        assertTrue(reduced.getWrongSet().isEmpty());
+    }
+
+    /**
+     * Tests that files caught by exactly the same tests are collapsed, and that files
+     * outside of the wrong set are ignored.
+     */
+    @Test
+    @Order(3)
+    void testDuplicateColumns() {
+        // Files 0 and 1 are always caught together, as are files 2 and 3
+        List<Set<Integer>> caseToFiles = List.of(Set.of(0, 1, 2, 3, 9), Set.of(0, 1, 4),
+                Set.of(2, 3, 4));
+        ReducedInstance reduced = InstanceReducer.reduce(caseToFiles, Set.of(0, 1, 2, 3, 4));
+        assertEquals(Set.of(0, 2, 4), reduced.getWrongSet());
+        assertEquals(List.of(Set.of(0, 2), Set.of(0, 4), Set.of(2, 4)),
+                reduced.getCaseToFiles());
+    }
+
+    /**
+     * Tests that the cover computed on a reduced instance, mapped back to the original
+     * test cases, covers every file on random instances.
+     */
+    @Test
+    @Order(4)
+    void testReducedCoverIsCover() {
+        Random rand = new Random(7);
+        for (int trial = 0; trial < 20; trial++) {
+            int numCases = 50 + rand.nextInt(200);
+            int numFiles = 5 + rand.nextInt(60);
+            List<TestCase> allCases = new ArrayList<>();
+            List<Set<Integer>> caseToFiles = new ArrayList<>();
+            Set<Integer> wrongSet = new HashSet<>();
+            for (int i = 0; i < numCases; i++) {
+                allCases.add(new TestCase(List.of(new PyIntObj(i))));
+                Set<Integer> caught = new HashSet<>();
+                for (int j = 0; j < rand.nextInt(5); j++) {
+                    caught.add(rand.nextInt(numFiles));
+                }
+                caseToFiles.add(caught);
+                wrongSet.addAll(caught);
+            }
+            TestResults results = new TestResults(allCases, caseToFiles, wrongSet);
+
+            Set<TestCase> cover = ConciseSetGenerator.reducedSetCover(results);
+            Set<Integer> covered = new HashSet<>();
+            for (TestCase test : cover) {
+                covered.addAll(caseToFiles.get(allCases.indexOf(test)));
+            }
+            assertEquals(wrongSet, covered);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package test.rice.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import main.rice.basegen.BaseSetGenerator;
+import main.rice.concisegen.ConciseSetGenerator;
+import main.rice.node.PyIntNode;
+import main.rice.node.PyListNode;
+import main.rice.obj.PyIntObj;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+import main.rice.test.Tester;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the Flight Recorder events emitted from generation, testing and set
+ * cover.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FlightRecorderEventsTest {
+
+    /**
+     * The absolute path to this project directory, which we'll use to find the provided
+     * pyfiles.
+     */
+    private static final String userDir = System.getProperty("user.dir");
+
+    /**
+     * Tests that a recording of a whole run contains the events of every stage, with
+     * their fields filled in.
+     */
+    @Test
+    @Order(1)
+    void testRecording() throws IOException, InterruptedException {
+        Path file = Files.createTempFile("feat", ".jfr");
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("feat.ExhaustiveGeneration", "feat.Process",
+                    "feat.ExpectedResult", "feat.CoverIteration")) {
+                recording.enable(name).withoutThreshold();
+            }
+            recording.start();
+
+            // A list of length 1 or 2 of ints in {0, 1} has 2 + 4 values
+            PyIntNode intNode = new PyIntNode();
+            intNode.setExDomain(List.of(0, 1));
+            intNode.setRanDomain(List.of(0, 1));
+            PyListNode<PyIntObj> listNode = new PyListNode<>(intNode);
+            listNode.setExDomain(List.of(1, 2));
+            listNode.setRanDomain(List.of(1, 2));
+            new BaseSetGenerator(List.of(listNode), 0).genBaseSet();
+
+            List<TestCase> tests = List.of(new TestCase(List.of(new PyIntObj(0))),
+                    new TestCase(List.of(new PyIntObj(1))));
+            Tester tester = new Tester("func0", userDir
+                    + "/src/test/rice/test/pyfiles/sols/func0sol.py", userDir
+                    + "/src/test/rice/test/pyfiles/f0multipleWrong", tests);
+            tester.computeExpectedResults();
+            TestResults results = tester.runTests();
+            ConciseSetGenerator.setCover(results);
+
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        Map<String, List<RecordedEvent>> byName = new HashMap<>();
+        for (RecordedEvent event : events) {
+            byName.computeIfAbsent(event.getEventType().getName(), k -> new ArrayList<>())
+                    .add(event);
+        }
+
+        // One event per node, with the list's spanning the int's
+        List<RecordedEvent> generation = byName.get("feat.ExhaustiveGeneration");
+        Map<String, Integer> sizes = new HashMap<>();
+        for (RecordedEvent event : generation) {
+            sizes.put(event.getString("nodeType"), event.getInt("size"));
+        }
+        assertEquals(Map.of("PyIntNode", 2, "PyListNode", 6), sizes);
+
+        // One process per test case on the solution, and per test case per file
+        assertEquals(2, byName.get("feat.ExpectedResult").size());
+        List<RecordedEvent> processes = byName.get("feat.Process");
+        assertEquals(2 + 2 * 2, processes.size());
+        Set<String> implementations = new HashSet<>();
+        for (RecordedEvent event : processes) {
+            implementations.add(event.getString("implementation"));
+            assertEquals(0, event.getInt("exitCode"));
+            assertFalse(event.getDuration().isNegative());
+        }
+        assertTrue(implementations.contains("func0sol.py"));
+
+        // The greedy cover ends with nothing left to cover
+        List<RecordedEvent> iterations = byName.get("feat.CoverIteration");
+        assertFalse(iterations.isEmpty());
+        RecordedEvent last = iterations.get(iterations.size() - 1);
+        assertEquals(0, last.getInt("remaining"));
+        assertTrue(last.getInt("gain") > 0);
+    }
+}
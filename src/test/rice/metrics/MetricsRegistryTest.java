@@ -0,0 +1,124 @@
+package test.rice.metrics;
+
+import main.rice.concisegen.ConciseSetGenerator;
+import main.rice.metrics.Counter;
+import main.rice.metrics.Gauge;
+import main.rice.metrics.Metrics;
+import main.rice.metrics.MetricsRegistry;
+import main.rice.metrics.Timer;
+import main.rice.obj.PyIntObj;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+import org.json.JSONObject;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the MetricsRegistry class and its metrics.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MetricsRegistryTest {
+
+    /**
+     * Tests that counters, gauges and timers record values, and that asking for the same
+     * name returns the same metric.
+     */
+    @Test
+    @Order(1)
+    void testRecord() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("spawned_total", "Processes.");
+        counter.increment();
+        counter.add(2);
+        assertSame(counter, registry.counter("spawned_total", "Processes."));
+        assertEquals(3, counter.get());
+        assertThrows(IllegalArgumentException.class, () -> counter.add(-1));
+
+        Gauge gauge = registry.gauge("depth", "Queue depth.");
+        gauge.add(5);
+        gauge.add(-2);
+        assertEquals(3, gauge.get());
+        AtomicLong source = new AtomicLong(7);
+        gauge.bind(source::get);
+        assertEquals(7, gauge.get());
+        gauge.bind(null);
+        assertEquals(3, gauge.get());
+
+        Timer timer = registry.timer("latency_seconds", "Latency.");
+        timer.record(2_000_000);
+        timer.record(3_000_000_000L);
+        assertEquals(2, timer.getCount());
+        assertEquals(3_002_000_000L, timer.getTotalNanos());
+        assertEquals(3_000_000_000L, timer.getMaxNanos());
+    }
+
+    /**
+     * Tests the JSON and Prometheus exports.
+     */
+    @Test
+    @Order(2)
+    void testExport() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("b_total", "B.").add(4);
+        registry.gauge("a_depth", "A.").set(2);
+        registry.timer("c_seconds", "C.").record(2_000_000);
+
+        JSONObject json = registry.toJson();
+        assertEquals(4, json.getJSONObject("counter").getLong("b_total"));
+        assertEquals(2, json.getJSONObject("gauge").getLong("a_depth"));
+        JSONObject timer = json.getJSONObject("histogram").getJSONObject("c_seconds");
+        assertEquals(1, timer.getLong("count"));
+        assertEquals(0, timer.getJSONObject("buckets").getLong("0.001"));
+        assertEquals(1, timer.getJSONObject("buckets").getLong("0.005"));
+
+        String text = registry.toPrometheus();
+        assertTrue(text.startsWith("# HELP a_depth A.\n# TYPE a_depth gauge\na_depth 2\n"));
+        assertTrue(text.contains("# TYPE b_total counter\nb_total 4\n"));
+        assertTrue(text.contains("c_seconds_bucket{le=\"0.001\"} 0\n"));
+        assertTrue(text.contains("c_seconds_bucket{le=\"60\"} 1\n"));
+        assertTrue(text.contains("c_seconds_bucket{le=\"+Inf\"} 1\n"));
+        assertTrue(text.contains("c_seconds_count 1\n"));
+    }
+
+    /**
+     * Tests that invalid and conflicting names are rejected.
+     */
+    @Test
+    @Order(3)
+    void testInvalidNames() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("x_total", "X.");
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("x_total", "X."));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("x-total", "X."));
+        assertNull(registry.get("y_total"));
+    }
+
+    /**
+     * Tests that every set cover variant records its time in the set cover timer.
+     */
+    @Test
+    @Order(4)
+    void testSetCoverVariantsTimed() {
+        List<TestCase> tests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tests.add(new TestCase(List.of(new PyIntObj(i))));
+        }
+        TestResults results = new TestResults(tests, List.of(Set.of(0), Set.of(0, 1),
+                Set.of(2)), Set.of(0, 1, 2));
+
+        long before = Metrics.SET_COVER.getCount();
+        ConciseSetGenerator.setCover(results);
+        ConciseSetGenerator.setCover(results, true);
+        ConciseSetGenerator.weightedSetCover(results);
+        ConciseSetGenerator.multiSetCover(results, 2);
+        ConciseSetGenerator.reducedSetCover(results);
+        ConciseSetGenerator.exactCover(results, 100);
+        assertEquals(before + 6, Metrics.SET_COVER.getCount());
+    }
+}
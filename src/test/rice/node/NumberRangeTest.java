@@ -0,0 +1,80 @@
+package test.rice.node;
+
+import main.rice.node.NumberRange;
+import main.rice.node.PyListNode;
+import main.rice.node.PyIntNode;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the NumberRange class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class NumberRangeTest {
+
+    /**
+     * Tests that an int range has the same elements as the equivalent ArrayList.
+     */
+    @Test
+    @Order(1)
+    void testOfInts() {
+        NumberRange<Integer> range = NumberRange.ofInts(-2, 3);
+        assertEquals(List.of(-2, -1, 0, 1, 2, 3), range);
+        assertEquals(List.of(-2, -1, 0, 1, 2, 3).hashCode(), range.hashCode());
+        assertEquals(6, range.size());
+        assertEquals(-2, range.getMin());
+        assertEquals(3, range.getMax());
+        assertThrows(IndexOutOfBoundsException.class, () -> range.get(6));
+    }
+
+    /**
+     * Tests that a double range has the same elements as the equivalent ArrayList.
+     */
+    @Test
+    @Order(2)
+    void testOfDoubles() {
+        NumberRange<Double> range = NumberRange.ofDoubles(0, 2);
+        assertEquals(List.of(0.0, 1.0, 2.0), range);
+        assertTrue(range.contains(1.0));
+        assertFalse(range.contains(1));
+        assertFalse(range.contains(1.5));
+        assertFalse(range.contains(-0.0));
+    }
+
+    /**
+     * Tests that contains() and indexOf() work in constant time on huge ranges.
+     */
+    @Test
+    @Order(3)
+    void testHugeRange() {
+        NumberRange<Integer> range = NumberRange.ofInts(0, Integer.MAX_VALUE - 1);
+        assertEquals(Integer.MAX_VALUE, range.size());
+        assertTrue(range.contains(Integer.MAX_VALUE - 1));
+        assertFalse(range.contains(Integer.MAX_VALUE));
+        assertFalse(range.contains(-1));
+        assertEquals(123456789, range.indexOf(123456789));
+        assertEquals(-1, range.indexOf(2.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> NumberRange.ofInts(-1, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> NumberRange.ofInts(1, 0));
+    }
+
+    /**
+     * Tests that exhaustive generation over a range domain matches generation over the
+     * equivalent list domain.
+     */
+    @Test
+    @Order(4)
+    void testNodeUsesRange() {
+        PyListNode<?> fromRange = new PyListNode<>(new PyIntNode());
+        fromRange.setExDomain(NumberRange.ofInts(1, 2));
+        fromRange.getLeftChild().setExDomain(NumberRange.ofInts(0, 1));
+        PyListNode<?> fromList = new PyListNode<>(new PyIntNode());
+        fromList.setExDomain(new ArrayList<>(List.of(2, 1)));
+        fromList.getLeftChild().setExDomain(new ArrayList<>(List.of(0, 1)));
+        assertEquals(fromList.genExVals(), fromRange.genExVals());
+    }
+}
@@ -226,6 +226,26 @@ class PyDictObjTest {
         assertNotEquals(nestedDict1.hashCode(), nonEmptyDict1.hashCode());
     }
 
+    /**
+     * Tests that toCanonicalString() sorts the entries by key, including within nested
+     * dicts.
+     */
+    @Test
+    @Order(14)
+    void testToCanonicalString() {
+        assertEquals("{False: {1.0: -1.0}, True: {1.0: 1.0, 2.0: 4.0}}",
+                new PyDictObj<>(getNestedVal()).toCanonicalString());
+
+        Map<PyStringObj, PyIntObj> forward = new LinkedHashMap<>();
+        forward.put(new PyStringObj("b"), new PyIntObj(1));
+        forward.put(new PyStringObj("a"), new PyIntObj(2));
+        Map<PyStringObj, PyIntObj> backward = new LinkedHashMap<>();
+        backward.put(new PyStringObj("a"), new PyIntObj(2));
+        backward.put(new PyStringObj("b"), new PyIntObj(1));
+        assertEquals("{'a': 2, 'b': 1}", new PyDictObj<>(forward).toCanonicalString());
+        assertEquals("{'a': 2, 'b': 1}", new PyDictObj<>(backward).toCanonicalString());
+    }
+
     /**
      * Helper function for setting up nestedVal2.
      *
@@ -0,0 +1,67 @@
+package test.rice.obj;
+
+import main.rice.obj.*;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the PyObjComparator class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PyObjComparatorTest {
+
+    /**
+     * The comparator under test.
+     */
+    private static final PyObjComparator cmp = PyObjComparator.INSTANCE;
+
+    /**
+     * Tests that objects of different types are ordered by type.
+     */
+    @Test
+    @Order(1)
+    void testOrdersByType() {
+        List<APyObj<?>> expected = List.of(new PyBoolObj(true), new PyIntObj(-5),
+                new PyFloatObj(-10.0), new PyStringObj(""), new PyTupleObj<>(List.of()),
+                new PyListObj<>(List.of()), new PySetObj<>(Set.of()), new PyDictObj<>(Map.of()));
+        List<APyObj<?>> shuffled = new ArrayList<>(expected);
+        Collections.shuffle(shuffled, new Random(215));
+        assertEquals(expected, cmp.sorted(shuffled));
+    }
+
+    /**
+     * Tests that objects of the same type are ordered by value.
+     */
+    @Test
+    @Order(2)
+    void testOrdersByValue() {
+        assertTrue(cmp.compare(new PyIntObj(-1), new PyIntObj(2)) < 0);
+        assertTrue(cmp.compare(new PyStringObj("ab"), new PyStringObj("b")) < 0);
+        assertTrue(cmp.compare(new PyListObj<>(List.of(new PyIntObj(1))),
+                new PyListObj<>(List.of(new PyIntObj(1), new PyIntObj(0)))) < 0);
+        assertTrue(cmp.compare(new PySetObj<>(Set.of(new PyIntObj(3), new PyIntObj(1))),
+                new PySetObj<>(Set.of(new PyIntObj(2)))) < 0);
+        assertTrue(cmp.compare(new PyDictObj<>(Map.of(new PyIntObj(1), new PyIntObj(5))),
+                new PyDictObj<>(Map.of(new PyIntObj(1), new PyIntObj(6)))) < 0);
+    }
+
+    /**
+     * Tests that the ordering is consistent with equals(), even for sets and dicts whose
+     * iteration orders differ.
+     */
+    @Test
+    @Order(3)
+    void testConsistentWithEquals() {
+        Set<PyIntObj> forward = new LinkedHashSet<>(List.of(new PyIntObj(1), new PyIntObj(2)));
+        Set<PyIntObj> backward = new LinkedHashSet<>(List.of(new PyIntObj(2), new PyIntObj(1)));
+        assertEquals(0, cmp.compare(new PySetObj<>(forward), new PySetObj<>(backward)));
+        assertNotEquals(0, cmp.compare(new PyIntObj(1), new PyFloatObj(1.0)));
+        assertNotEquals(0, cmp.compare(new PyListObj<>(List.of()), new PyTupleObj<>(List.of())));
+        assertTrue(cmp.compare(new PyCharObj('a'), new PyStringObj("a")) < 0);
+        assertTrue(cmp.compare(new PyStringObj("a"), new PyCharObj('a')) > 0);
+        assertTrue(cmp.compare(new PyStringObj("a"), new PyCharObj('b')) < 0);
+    }
+}
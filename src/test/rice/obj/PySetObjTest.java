@@ -205,4 +205,25 @@ class PySetObjTest {
     void testHashCodeNotEqual() {
         assertNotEquals(nonEmptyFloatSet.hashCode(), nonEmptyIntSet.hashCode());
     }
+
+    /**
+     * Tests that toCanonicalString() sorts the elements, so that it doesn't depend on the
+     * iteration order of the underlying set.
+     */
+    @Test
+    @Order(12)
+    void testToCanonicalString() {
+        assertEquals("set()", emptyIntSet.toCanonicalString());
+        assertEquals("{-11.11, -1.111, 11.11}", nonEmptyFloatSet3.toCanonicalString());
+
+        // The same elements inserted in opposite orders
+        List<PyIntObj> elems = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elems.add(new PyIntObj(i * 7919));
+        }
+        PySetObj<PyIntObj> forward = new PySetObj<>(new LinkedHashSet<>(elems));
+        Collections.reverse(elems);
+        PySetObj<PyIntObj> backward = new PySetObj<>(new LinkedHashSet<>(elems));
+        assertEquals(forward.toCanonicalString(), backward.toCanonicalString());
+    }
 }
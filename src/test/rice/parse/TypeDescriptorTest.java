@@ -0,0 +1,108 @@
+package test.rice.parse;
+
+import main.rice.parse.ConfigFile;
+import main.rice.parse.ConfigFileParser;
+import main.rice.parse.InvalidConfigException;
+import main.rice.parse.TypeDescriptor;
+import org.junit.jupiter.api.*;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the TypeDescriptor class and ConfigFileParser.parseType().
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TypeDescriptorTest {
+
+    /**
+     * Tests that a nested type parses into the expected tree, and prints canonically.
+     */
+    @Test
+    @Order(1)
+    void testParseNested() throws InvalidConfigException {
+        TypeDescriptor type = ConfigFileParser.parseType(" dict( str(ab : list (int ");
+        assertEquals(TypeDescriptor.Kind.DICT, type.getKind());
+        assertEquals(TypeDescriptor.str("ab"), type.getChildren().get(0));
+        assertEquals(TypeDescriptor.Kind.LIST, type.getChildren().get(1).getKind());
+        assertEquals("dict(str(ab:list(int", type.toString());
+    }
+
+    /**
+     * Tests that structurally equal types (and subtrees) are the same object.
+     */
+    @Test
+    @Order(2)
+    void testInterned() throws InvalidConfigException {
+        TypeDescriptor first = ConfigFileParser.parseType("dict(list(int:list(int");
+        TypeDescriptor second = ConfigFileParser.parseType("dict(list( int:list(int");
+        assertSame(first, second);
+        assertSame(first.getChildren().get(0), first.getChildren().get(1));
+        assertSame(TypeDescriptor.str("aab"), ConfigFileParser.parseType("str(ab"));
+        assertNotSame(first, ConfigFileParser.parseType("dict(list(int:set(int"));
+    }
+
+    /**
+     * Tests that a string value may contain ':' but a string key ends at the first one.
+     */
+    @Test
+    @Order(3)
+    void testStringChars() throws InvalidConfigException {
+        assertEquals("a:b", ConfigFileParser.parseType("str(a:b").getChars());
+        TypeDescriptor dict = ConfigFileParser.parseType("dict(str(a:str(b:c");
+        assertEquals("a", dict.getChildren().get(0).getChars());
+        assertEquals("b:c", dict.getChildren().get(1).getChars());
+    }
+
+    /**
+     * Tests that malformed types are rejected.
+     */
+    @Test
+    @Order(4)
+    void testMalformed() {
+        for (String type : List.of("", "integer", "int(", "list", "str(", "list(",
+                "dict(int", "dict(int:", "dict(dict(int:int:int", "list(foo")) {
+            assertThrows(InvalidConfigException.class, () -> ConfigFileParser.parseType(type),
+                    type);
+        }
+    }
+
+    /**
+     * Tests that parsing a config file records the descriptor of each type, alongside
+     * nodes whose domains were read in step with the type.
+     */
+    @Test
+    @Order(5)
+    void testConfigFileTypes() throws InvalidConfigException {
+        ConfigFile config = ConfigFileParser.parse("{\"fname\": \"f\", "
+                + "\"types\": [\"dict(str(ab:list(int\", \"int\"], "
+                + "\"exhaustive domain\": [\"0~1(1~1:[1](0~2\", \"[3, 4]\"], "
+                + "\"random domain\": [\"2~2(0~1:0~0([5]\", \"1~2\"], \"num random\": 1}");
+        assertEquals(List.of(ConfigFileParser.parseType("dict(str(ab:list(int"),
+                TypeDescriptor.simple(TypeDescriptor.Kind.INT)), config.getTypes());
+        assertEquals(List.of(0, 1), config.getNodes().get(0).getExDomain());
+        assertEquals(List.of(1), config.getNodes().get(0).getLeftChild().getExDomain());
+        assertEquals(List.of(1), config.getNodes().get(0).getRightChild().getExDomain());
+        assertEquals(List.of(0, 1, 2),
+                config.getNodes().get(0).getRightChild().getLeftChild().getExDomain());
+        assertEquals(List.of(5),
+                config.getNodes().get(0).getRightChild().getLeftChild().getRanDomain());
+        assertEquals(List.of(3, 4), config.getNodes().get(1).getExDomain());
+    }
+
+    /**
+     * Tests that the intern table doesn't keep unreachable descriptors alive.
+     */
+    @Test
+    @Order(6)
+    void testInternIsWeak() throws InvalidConfigException {
+        WeakReference<TypeDescriptor> ref = new WeakReference<>(
+                ConfigFileParser.parseType("list(str(qwertyuiop"));
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+        }
+        assertNull(ref.get());
+    }
+}
@@ -0,0 +1,97 @@
+package test.rice.pipeline;
+
+import main.rice.concisegen.IncrementalCover;
+import main.rice.obj.PyIntObj;
+import main.rice.pipeline.Pipeline;
+import main.rice.test.TestCase;
+import main.rice.test.TestResults;
+import main.rice.test.Tester;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the Pipeline class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PipelineTest {
+
+    /**
+     * The absolute path to this project directory, which we'll use to find the provided
+     * pyfiles.
+     */
+    private static final String userDir = System.getProperty("user.dir");
+
+    /**
+     * The test cases for func0.
+     */
+    private static final List<TestCase> tests = new ArrayList<>();
+
+    /**
+     * Sets up the test cases for func0.
+     */
+    @BeforeAll
+    static void setUp() {
+        for (int i = 0; i < 6; i++) {
+            tests.add(new TestCase(List.of(new PyIntObj(i))));
+        }
+    }
+
+    /**
+     * Tests that the pipeline, with tiny queues, gets the same results as running the
+     * phases one after another, and that the live cover catches every wrong file.
+     */
+    @Test
+    @Order(1)
+    void testMatchesSequential() throws IOException, InterruptedException {
+        Tester sequential = buildTester("f0multipleMixed");
+        List<String> expected = sequential.computeExpectedResults();
+        TestResults sequentialResults = sequential.runTests();
+
+        Pipeline pipeline = new Pipeline(2, 3, 1);
+        Tester pipelined = buildTester("f0multipleMixed");
+        TestResults results = pipeline.run(pipelined);
+        assertEquals(sequentialResults.getCaseToFiles(), results.getCaseToFiles());
+        assertEquals(sequentialResults.getWrongSet(), results.getWrongSet());
+        assertEquals(expected, pipelined.finishCells());
+        assertEquals(tests.size() * pipelined.listImpls().size(), pipeline.getCompletedCells());
+
+        // As with runTests(), the costs are the implementations' median times
+        for (int i = 0; i < tests.size(); i++) {
+            assertTrue(pipelined.getMedianImplNanos(i) > 0);
+            assertEquals(pipelined.getMedianImplNanos(i), results.getCaseCosts().get(i));
+        }
+
+        IncrementalCover cover = pipeline.getLiveCover();
+        Set<Integer> caught = new HashSet<>();
+        for (int caseIndex : cover.getSelectedCases()) {
+            caught.addAll(results.getCaseToFiles().get(caseIndex));
+        }
+        assertEquals(results.getWrongSet(), caught);
+    }
+
+    /**
+     * Tests that a failure in a stage is reported rather than hanging the pipeline.
+     */
+    @Test
+    @Order(2)
+    void testFailure() {
+        Tester tester = buildTester("noSuchDir");
+        assertThrows(IOException.class, () -> new Pipeline(1, 1, 1).run(tester));
+        assertThrows(IllegalArgumentException.class, () -> new Pipeline(1, 0, 1));
+    }
+
+    /**
+     * Builds a tester for func0 on the input directory of implementations.
+     *
+     * @param implDir the name of the directory of implementations
+     * @return the tester
+     */
+    private static Tester buildTester(String implDir) {
+        return new Tester("func0", userDir + "/src/test/rice/test/pyfiles/sols/func0sol.py",
+                userDir + "/src/test/rice/test/pyfiles/" + implDir, tests);
+    }
+}
@@ -0,0 +1,73 @@
+package test.rice.test;
+
+import main.rice.test.CompressedIntSet;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the CompressedIntSet class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CompressedIntSetTest {
+
+    /**
+     * Tests the empty set.
+     */
+    @Test
+    @Order(1)
+    void testEmpty() {
+        CompressedIntSet set = CompressedIntSet.of(new int[0]);
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0));
+        assertEquals(Set.of(), set);
+    }
+
+    /**
+     * Tests a sparse set spanning several partitions, with duplicates in the input.
+     */
+    @Test
+    @Order(2)
+    void testSparse() {
+        CompressedIntSet set = CompressedIntSet.of(new int[]{70000, 3, 65535, 3, 65536, 0});
+        assertArrayEquals(new int[]{0, 3, 65535, 65536, 70000}, set.toIntArray());
+        assertTrue(set.contains(65536));
+        assertFalse(set.contains(4));
+        assertFalse(set.contains(-1));
+        assertEquals(Set.of(0, 3, 65535, 65536, 70000), set);
+        assertEquals(Set.of(0, 3, 65535, 65536, 70000).hashCode(), set.hashCode());
+    }
+
+    /**
+     * Tests a dense partition, which is stored as a bitmap and should be smaller than
+     * the equivalent array.
+     */
+    @Test
+    @Order(3)
+    void testDense() {
+        Set<Integer> expected = new TreeSet<>();
+        Random rand = new Random(38);
+        while (expected.size() < 20000) {
+            expected.add(rand.nextInt(1 << 16));
+        }
+        expected.add(1 << 20);
+        CompressedIntSet set = CompressedIntSet.of(expected);
+        assertEquals(expected, set);
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+        assertTrue(set.sizeInBytes() < 2L * expected.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(expected.contains(i), set.contains(i));
+        }
+    }
+
+    /**
+     * Tests that negative elements are rejected.
+     */
+    @Test
+    @Order(4)
+    void testNegative() {
+        assertThrows(IllegalArgumentException.class, () -> CompressedIntSet.of(new int[]{1, -1}));
+    }
+}
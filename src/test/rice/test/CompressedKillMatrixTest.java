@@ -0,0 +1,61 @@
+package test.rice.test;
+
+import main.rice.test.CompressedKillMatrix;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the CompressedKillMatrix class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CompressedKillMatrixTest {
+
+    /**
+     * Tests row and column queries on a small matrix.
+     */
+    @Test
+    @Order(1)
+    void testQueries() {
+        List<Set<Integer>> caseToFiles = List.of(Set.of(0, 2), Set.of(), Set.of(2, 5));
+        CompressedKillMatrix matrix = new CompressedKillMatrix(caseToFiles);
+        assertEquals(3, matrix.numCases());
+        assertEquals(6, matrix.numFiles());
+        assertTrue(matrix.isCaught(2, 5));
+        assertFalse(matrix.isCaught(1, 5));
+        assertEquals(Set.of(2, 5), matrix.filesCaughtBy(2));
+        assertEquals(Set.of(0, 2), matrix.casesCatching(2));
+        assertEquals(Set.of(), matrix.casesCatching(3));
+        assertEquals(Set.of(), matrix.casesCatching(100));
+        assertEquals(Set.of(0, 2, 5), matrix.wrongFiles());
+    }
+
+    /**
+     * Tests that rows and columns agree with the input on a random matrix.
+     */
+    @Test
+    @Order(2)
+    void testRandom() {
+        Random rand = new Random(380);
+        List<Set<Integer>> caseToFiles = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Set<Integer> caught = new HashSet<>();
+            for (int j = 0; j < rand.nextInt(20); j++) {
+                caught.add(rand.nextInt(500));
+            }
+            caseToFiles.add(caught);
+        }
+        CompressedKillMatrix matrix = new CompressedKillMatrix(caseToFiles);
+        for (int i = 0; i < caseToFiles.size(); i++) {
+            assertEquals(caseToFiles.get(i), matrix.filesCaughtBy(i));
+        }
+        for (int file = 0; file < matrix.numFiles(); file++) {
+            for (int i = 0; i < caseToFiles.size(); i++) {
+                assertEquals(caseToFiles.get(i).contains(file),
+                        matrix.casesCatching(file).contains(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package test.rice.test;
+
+import main.rice.test.CompressedKillMatrix;
+import main.rice.test.MappedKillMatrix;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the MappedKillMatrix class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MappedKillMatrixTest {
+
+    /**
+     * Tests that a matrix written to a file reads back identically.
+     */
+    @Test
+    @Order(1)
+    void testRoundTrip() throws IOException {
+        Random rand = new Random(381);
+        List<Set<Integer>> caseToFiles = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            Set<Integer> caught = new HashSet<>();
+            for (int j = 0; j < rand.nextInt(10); j++) {
+                caught.add(rand.nextInt(200));
+            }
+            caseToFiles.add(caught);
+        }
+        CompressedKillMatrix expected = new CompressedKillMatrix(caseToFiles);
+
+        Path path = Files.createTempFile("kill", ".bin");
+        try {
+            MappedKillMatrix.write(path, expected);
+            try (MappedKillMatrix actual = MappedKillMatrix.open(path)) {
+                assertEquals(expected.numCases(), actual.numCases());
+                assertEquals(expected.numFiles(), actual.numFiles());
+                for (int i = 0; i < expected.numCases(); i++) {
+                    assertEquals(expected.filesCaughtBy(i), actual.filesCaughtBy(i));
+                    assertEquals(new ArrayList<>(expected.filesCaughtBy(i)),
+                            new ArrayList<>(actual.filesCaughtBy(i)));
+                }
+                for (int file = 0; file < expected.numFiles(); file++) {
+                    assertEquals(expected.casesCatching(file), actual.casesCatching(file));
+                }
+                assertEquals(expected.wrongFiles(), actual.wrongFiles());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Tests that files that aren't matrix files are rejected.
+     */
+    @Test
+    @Order(2)
+    void testNotAMatrix() throws IOException {
+        Path path = Files.createTempFile("kill", ".bin");
+        try {
+            Files.writeString(path, "results = []");
+            assertThrows(IOException.class, () -> MappedKillMatrix.open(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
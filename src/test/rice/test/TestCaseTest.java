@@ -347,6 +347,25 @@ class TestCaseTest {
         assertNotEquals(oneArgSimple.hashCode(), multipleArgsSimple.hashCode());
     }
 
+    /**
+     * Tests that toCanonicalString() is the same for equal test cases whose set arguments
+     * iterate in different orders, and matches toString() when there are no sets or dicts.
+     */
+    @Test
+    @Order(26)
+    void testToCanonicalString() {
+        assertEquals(oneArgSimple.toString(), oneArgSimple.toCanonicalString());
+
+        PySetObj<PyIntObj> forward = new PySetObj<>(new LinkedHashSet<>(
+                List.of(new PyIntObj(2), new PyIntObj(1))));
+        PySetObj<PyIntObj> backward = new PySetObj<>(new LinkedHashSet<>(
+                List.of(new PyIntObj(1), new PyIntObj(2))));
+        TestCase test1 = new TestCase(List.of(new PyBoolObj(true), forward));
+        TestCase test2 = new TestCase(List.of(new PyBoolObj(true), backward));
+        assertEquals("[True, {1, 2}]", test1.toCanonicalString());
+        assertEquals(test1.toCanonicalString(), test2.toCanonicalString());
+    }
+
     /**
      * Set up oneArgSimple, oneArgSimple2, and oneArgSimpleVal for use in the test cases.
      */
@@ -0,0 +1,58 @@
+package test.rice.test;
+
+import main.rice.obj.*;
+import main.rice.test.TestCase;
+import main.rice.test.TestPayload;
+import main.rice.test.Tester;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the TestPayload class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TestPayloadTest {
+
+    /**
+     * Tests that each argument is encoded as its Python representation, in order.
+     */
+    @Test
+    @Order(1)
+    void testEncodesArgsInOrder() {
+        TestCase test = new TestCase(Arrays.asList(new PyIntObj(3), new PyBoolObj(false),
+                new PyListObj<>(List.of(new PyStringObj("ab")))));
+        TestPayload payload = new TestPayload(test);
+        assertEquals(List.of("3", "False", "['ab']"), payload.getArgReprs());
+    }
+
+    /**
+     * Tests that the encoded arguments cannot be mutated.
+     */
+    @Test
+    @Order(2)
+    void testImmutable() {
+        TestPayload payload = new TestPayload(new TestCase(List.of(new PyIntObj(1))));
+        assertThrows(UnsupportedOperationException.class,
+                () -> payload.getArgReprs().add("2"));
+    }
+
+    /**
+     * Tests that the Tester encodes each test case exactly once, up front.
+     */
+    @Test
+    @Order(3)
+    void testTesterEncodesUpFront() {
+        List<TestCase> tests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tests.add(new TestCase(List.of(new PyIntObj(i))));
+        }
+        Tester tester = new Tester("func0", null, null, tests);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(List.of(String.valueOf(i)), tester.getPayload(i).getArgReprs());
+        }
+        assertTrue(tester.getEncodingNanos() >= 0);
+    }
+}
@@ -10,7 +10,11 @@ import org.junit.jupiter.api.*;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test cases for the TestResults class.
@@ -175,4 +179,58 @@ class TestResultsTest {
     void testGetCaseToFilesNonEmpty() {
         assertEquals(new ArrayList<>(someFilesFail), someFail.getCaseToFiles());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests getCaseCosts() both when the costs are unknown and when they were supplied.
+     */
+    @Test
+    @Order(10)
+    void testGetCaseCosts() {
+        assertNull(someFail.getCaseCosts());
+        TestResults withCosts = new TestResults(testCases, someFilesFail, Set.of(0),
+                List.of(5L, 7L));
+        assertEquals(List.of(5L, 7L), withCosts.getCaseCosts());
+    }
+
+    /**
+     * Tests that TestResults backed by a KillMatrix present the same views, and support
+     * column queries.
+     */
+    @Test
+    @Order(11)
+    void testMatrixViews() {
+        TestResults compressed = someFail.compressed();
+        assertEquals(someFail.getCaseToFiles(), compressed.getCaseToFiles());
+        assertEquals(someFail.getWrongSet(), compressed.getWrongSet());
+        for (int file = 0; file < 10; file++) {
+            Set<Integer> expected = new HashSet<>();
+            for (int i = 0; i < someFilesFail.size(); i++) {
+                if (someFilesFail.get(i).contains(file)) {
+                    expected.add(i);
+                }
+            }
+            assertEquals(expected, someFail.getCasesCatching(file));
+            assertEquals(expected, compressed.getCasesCatching(file));
+        }
+    }
+
+    /**
+     * Tests that results are complete unless constructed as incomplete.
+     */
+    @Test
+    @Order(12)
+    void testIsIncomplete() {
+        assertFalse(someFail.isIncomplete());
+        assertFalse(someFail.compressed().isIncomplete());
+        TestResults partial = new TestResults(testCases, someFilesFail, wrongSet, null, true);
+        assertTrue(partial.isIncomplete());
+        TestResults compressed = partial.compressed();
+        assertTrue(compressed.isIncomplete());
+
+        // The flag survives compression, rather than compression being skipped
+        assertNotSame(partial, compressed);
+        assertNotSame(someFilesFail, compressed.getCaseToFiles());
+        assertSame(partial.getMatrix(), compressed.getMatrix());
+        assertEquals(someFilesFail, compressed.getCaseToFiles());
+    }
+}
@@ -3,6 +3,7 @@ package test.rice.test;
 import main.rice.obj.*;
 import main.rice.test.TestCase;
 import main.rice.test.TestResults;
+import main.rice.test.TestResultsListener;
 import main.rice.test.Tester;
 import org.junit.jupiter.api.*;
 
@@ -910,6 +911,283 @@ class TesterTest {
                 f3resultStr, Set.of(0, 1, 2), expected, 1);
     }
 
+    /**
+     * Tests computeExpectedResults() using the binary wire format on a function that
+     * takes multiple nested arguments; the results should match those of the repr()
+     * format.
+     */
+    @Test
+    @Order(46)
+    void testGetExpectedResultsBinaryWire() {
+        String implDirPath = userDir + "/src/test/rice/test/pyfiles/f0oneRight";
+        Tester tester = new Tester("func3", userDir +
+                "/src/test/rice/test/pyfiles/sols/func3sol.py", implDirPath, f3Tests);
+        tester.setBinaryWire(true);
+        try {
+            writeSolContents(3);
+            List<String> actual = tester.computeExpectedResults();
+            assertEquals(f3resultStr, "results = " + actual);
+            assertTrue(new File(implDirPath + "/expected.bin").exists());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        } finally {
+            new File(implDirPath + "/expected.bin").delete();
+            deletedExpected("f0oneRight");
+        }
+    }
+
+    /**
+     * Tests running a mix of passing and failing tests on multiple implementations using
+     * the binary wire format end to end (arguments, expected results and verdicts).
+     */
+    @Test
+    @Order(47)
+    @SuppressWarnings("unchecked")
+    void testRunTestsBinaryWire() {
+        String implDirPath = userDir + "/src/test/rice/test/pyfiles/f3multipleMixed";
+        Tester tester = new Tester("func3", userDir +
+                "/src/test/rice/test/pyfiles/sols/func3sol.py", implDirPath, f3Tests);
+        tester.setBinaryWire(true);
+
+        // Generate expected results
+        List<Set<Integer>> expected = new ArrayList<>();
+        for (TestCase test : f3Tests) {
+            if (((Set<PyIntObj>) test.getArgs().get(0).getValue()).size() != 0) {
+                expected.add(Set.of(2));
+            } else {
+                Set<Integer> wrongSet = new HashSet<>();
+                wrongSet.add(1);
+                if (((List<PyIntObj>) test.getArgs().get(2).getValue()).size()
+                        >= ((List<PyIntObj>) test.getArgs().get(1).getValue()).size()) {
+                    wrongSet.add(0);
+                }
+                expected.add(wrongSet);
+            }
+        }
+
+        try {
+            writeSolContents(3);
+            tester.computeExpectedResults();
+            TestResults results = tester.runTests();
+            assertEquals(Set.of(0, 1, 2), results.getWrongSet());
+            assertEquals(expected, results.getCaseToFiles());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        } finally {
+            new File(implDirPath + "/expected.bin").delete();
+            deletedExpected("f3multipleMixed");
+        }
+    }
+
+    /**
+     * Tests computing verdicts in the JVM, using the expected results stored in
+     * expected.py; checks both wrongSet and caseToFiles.
+     */
+    @Test
+    @Order(48)
+    @SuppressWarnings("unchecked")
+    void testRunTestsJvmVerdictsFromExpectedPy() {
+        Tester tester = new Tester("func3", null,
+                userDir + "/src/test/rice/test/pyfiles/f3multipleMixed", f3Tests);
+        tester.setJvmVerdicts(true);
+
+        // Generate expected results
+        List<Set<Integer>> expected = new ArrayList<>();
+        for (TestCase test : f3Tests) {
+            if (((Set<PyIntObj>) test.getArgs().get(0).getValue()).size() != 0) {
+                expected.add(Set.of(2));
+            } else {
+                Set<Integer> wrongSet = new HashSet<>();
+                wrongSet.add(1);
+                if (((List<PyIntObj>) test.getArgs().get(2).getValue()).size()
+                        >= ((List<PyIntObj>) test.getArgs().get(1).getValue()).size()) {
+                    wrongSet.add(0);
+                }
+                expected.add(wrongSet);
+            }
+        }
+
+        try {
+            FileWriter writer = new FileWriter(userDir +
+                    "/src/test/rice/test/pyfiles/f3multipleMixed/expected.py");
+            writer.write(f3resultStr);
+            writer.close();
+            TestResults results = tester.runTests();
+            assertEquals(Set.of(0, 1, 2), results.getWrongSet());
+            assertEquals(expected, results.getCaseToFiles());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        } finally {
+            deletedExpected("f3multipleMixed");
+        }
+    }
+
+    /**
+     * Tests computing verdicts in the JVM on implementations that print, using expected
+     * results computed in memory with both wire formats.
+     */
+    @Test
+    @Order(49)
+    void testRunTestsJvmVerdictsComputed() {
+        for (boolean binaryWire : new boolean[]{false, true}) {
+            Tester tester = new Tester("func0", userDir +
+                    "/src/test/rice/test/pyfiles/sols/func0sol.py",
+                    userDir + "/src/test/rice/test/pyfiles/f0onePrints", f0Tests);
+            tester.setJvmVerdicts(true);
+            tester.setBinaryWire(binaryWire);
+            try {
+                writeSolContents(0);
+                tester.computeExpectedResults();
+                TestResults results = tester.runTests();
+                assertEquals(Set.of(), results.getWrongSet());
+            } catch (Exception e) {
+                e.printStackTrace();
+                fail();
+            } finally {
+                new File(userDir + "/src/test/rice/test/pyfiles/f0onePrints/expected.bin").delete();
+                deletedExpected("f0onePrints");
+            }
+        }
+    }
+
+    /**
+     * Tests that the Tester records the solution's and the implementations' execution
+     * time for every test case, and reports the costs along with the results.
+     */
+    @Test
+    @Order(50)
+    void testRecordsTimings() {
+        Tester tester = new Tester("func0", userDir +
+                "/src/test/rice/test/pyfiles/sols/func0sol.py",
+                userDir + "/src/test/rice/test/pyfiles/f0onePrints", f0Tests);
+        assertEquals(-1, tester.getSolutionNanos(0));
+        assertEquals(-1, tester.getMedianImplNanos(0));
+        try {
+            writeSolContents(0);
+            tester.computeExpectedResults();
+            assertTrue(tester.getSolutionNanos(0) > 0);
+            assertEquals(-1, tester.getMedianImplNanos(0));
+
+            TestResults results = tester.runTests();
+            List<Long> costs = results.getCaseCosts();
+            assertEquals(f0Tests.size(), costs.size());
+            for (int i = 0; i < f0Tests.size(); i++) {
+                assertTrue(tester.getMedianImplNanos(i) > 0);
+                assertEquals(tester.getMedianImplNanos(i), costs.get(i));
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        } finally {
+            deletedExpected("f0onePrints");
+        }
+    }
+
+    /**
+     * Tests that listeners are notified of every (implementation, test case) cell and
+     * every completed implementation, and that snapshots taken during testing contain
+     * exactly the results gathered so far.
+     */
+    @Test
+    @Order(51)
+    void testListenersAndSnapshots() {
+        String implDirPath = userDir + "/src/test/rice/test/pyfiles/f3multipleMixed";
+        Tester tester = new Tester("func3", userDir +
+                "/src/test/rice/test/pyfiles/sols/func3sol.py", implDirPath, f3Tests);
+        List<String> events = new ArrayList<>();
+        List<Set<Integer>> snapshotWrongSets = new ArrayList<>();
+        tester.addListener(new TestResultsListener() {
+            @Override
+            public void caseCompleted(int fileIndex, String filename, int caseIndex,
+                                      boolean passed) {
+                events.add("case " + fileIndex + " " + caseIndex);
+            }
+
+            @Override
+            public void fileCompleted(int fileIndex, String filename, Set<Integer> caughtBy) {
+                events.add("file " + fileIndex);
+                snapshotWrongSets.add(tester.snapshot().getWrongSet());
+            }
+
+            @Override
+            public void testingCompleted(TestResults results) {
+                events.add("done");
+            }
+        });
+        assertEquals(Set.of(), tester.snapshot().getWrongSet());
+
+        try {
+            writeSolContents(3);
+            tester.computeExpectedResults();
+            TestResults results = tester.runTests();
+
+            // One event per cell, one per file, and one at the end
+            assertEquals(3 * (f3Tests.size() + 1) + 1, events.size());
+            assertEquals("case 0 0", events.get(0));
+            assertEquals("file 0", events.get(f3Tests.size()));
+            assertEquals("done", events.get(events.size() - 1));
+            assertEquals(3, tester.getCompletedFiles());
+
+            // Each snapshot contains only the files completed so far
+            for (int i = 0; i < snapshotWrongSets.size(); i++) {
+                for (int file : snapshotWrongSets.get(i)) {
+                    assertTrue(file <= i);
+                }
+            }
+            assertEquals(results.getWrongSet(), snapshotWrongSets.get(2));
+            assertEquals(results.getCaseToFiles(), tester.snapshot().getCaseToFiles());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        } finally {
+            deletedExpected("f3multipleMixed");
+        }
+    }
+
+    /**
+     * Tests that triage mode finds the same wrong set as a full run, records only one
+     * test case per wrong file, and marks its results as incomplete.
+     */
+    @Test
+    @Order(52)
+    void testTriage() {
+        String implDirPath = userDir + "/src/test/rice/test/pyfiles/f3multipleMixed";
+        Tester tester = new Tester("func3", userDir +
+                "/src/test/rice/test/pyfiles/sols/func3sol.py", implDirPath, f3Tests);
+        try {
+            writeSolContents(3);
+            tester.computeExpectedResults();
+            TestResults full = tester.runTests();
+            assertFalse(full.isIncomplete());
+
+            // Triage using the kill counts from the full run
+            TestResults triaged = tester.triageTests();
+            assertTrue(triaged.isIncomplete());
+            assertEquals(full.getWrongSet(), triaged.getWrongSet());
+            for (int file : triaged.getWrongSet()) {
+                assertEquals(1, triaged.getCasesCatching(file).size());
+                int caseIndex = triaged.getCasesCatching(file).iterator().next();
+                assertTrue(full.getCaseToFiles().get(caseIndex).contains(file));
+            }
+
+            // Triage with explicit estimates
+            List<Integer> estimates = new ArrayList<>();
+            for (int i = 0; i < f3Tests.size(); i++) {
+                estimates.add(f3Tests.size() - i);
+            }
+            tester.setKillEstimates(estimates);
+            assertEquals(full.getWrongSet(), tester.triageTests().getWrongSet());
+        } catch (Exception e) {
+            e.printStackTrace();
+            fail();
+        } finally {
+            deletedExpected("f3multipleMixed");
+        }
+    }
+
     /**
      * Sets up the test cases for function f0, which takes one simple argument.
      */
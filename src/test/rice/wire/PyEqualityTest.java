@@ -0,0 +1,95 @@
+package test.rice.wire;
+
+import main.rice.obj.*;
+import main.rice.wire.PyEquality;
+import main.rice.wire.PyReprObj;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the PyEquality class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PyEqualityTest {
+
+    /**
+     * Tests that numbers compare by value across bool, int and float.
+     */
+    @Test
+    @Order(1)
+    void testNumbers() {
+        assertTrue(PyEquality.equal(new PyIntObj(1), new PyFloatObj(1.0)));
+        assertTrue(PyEquality.equal(new PyBoolObj(true), new PyIntObj(1)));
+        assertTrue(PyEquality.equal(new PyBoolObj(false), new PyFloatObj(0.0)));
+        assertFalse(PyEquality.equal(new PyIntObj(2), new PyFloatObj(2.5)));
+        assertFalse(PyEquality.equal(new PyFloatObj(Double.NaN), new PyFloatObj(Double.NaN)));
+    }
+
+    /**
+     * Tests that lists and tuples compare element-wise, and never equal each other.
+     */
+    @Test
+    @Order(2)
+    void testSequences() {
+        assertTrue(PyEquality.equal(new PyListObj<>(List.of(new PyIntObj(1))),
+                new PyListObj<>(List.of(new PyFloatObj(1.0)))));
+        assertFalse(PyEquality.equal(new PyListObj<>(List.of(new PyIntObj(1))),
+                new PyTupleObj<>(List.of(new PyIntObj(1)))));
+        assertFalse(PyEquality.equal(new PyTupleObj<>(List.of(new PyIntObj(1))),
+                new PyTupleObj<>(List.of(new PyIntObj(1), new PyIntObj(2)))));
+    }
+
+    /**
+     * Tests that sets and dicts compare regardless of order, matching keys and elements
+     * across numeric types.
+     */
+    @Test
+    @Order(3)
+    void testSetsAndDicts() {
+        assertTrue(PyEquality.equal(new PySetObj<>(Set.of(new PyIntObj(1), new PyIntObj(2))),
+                new PySetObj<>(Set.of(new PyFloatObj(2.0), new PyIntObj(1)))));
+        assertFalse(PyEquality.equal(new PySetObj<>(Set.of(new PyIntObj(1))),
+                new PySetObj<>(Set.of(new PyIntObj(2)))));
+        assertTrue(PyEquality.equal(
+                new PyDictObj<>(Map.of(new PyIntObj(1), new PyStringObj("a"))),
+                new PyDictObj<>(Map.of(new PyFloatObj(1.0), new PyStringObj("a")))));
+        assertFalse(PyEquality.equal(
+                new PyDictObj<>(Map.of(new PyIntObj(1), new PyStringObj("a"))),
+                new PyDictObj<>(Map.of(new PyIntObj(1), new PyStringObj("b")))));
+    }
+
+    /**
+     * Tests that strings and opaque objects compare by value.
+     */
+    @Test
+    @Order(4)
+    void testOther() {
+        assertTrue(PyEquality.equal(new PyStringObj("a"), new PyStringObj("a")));
+        assertFalse(PyEquality.equal(new PyStringObj("1"), new PyIntObj(1)));
+        assertTrue(PyEquality.equal(new PyReprObj("None"), new PyReprObj("None")));
+        assertFalse(PyEquality.equal(new PyReprObj("None"), new PyStringObj("None")));
+    }
+
+    /**
+     * Tests that ints too large for a PyIntObj compare exactly with floats and ints.
+     */
+    @Test
+    @Order(5)
+    void testBigInts() {
+        assertTrue(PyEquality.equal(new PyReprObj("2147483648"), new PyFloatObj(2147483648.0)));
+        assertTrue(PyEquality.equal(new PyFloatObj(-1e20),
+                new PyReprObj("-100000000000000000000")));
+        assertTrue(PyEquality.equal(new PyListObj<>(List.of(new PyReprObj("2147483648"))),
+                new PyListObj<>(List.of(new PyFloatObj(2147483648.0)))));
+        // 2^53 + 1 rounds to the float 2^53, but Python compares exactly
+        assertFalse(PyEquality.equal(new PyReprObj("9007199254740993"),
+                new PyFloatObj(9007199254740992.0)));
+        assertFalse(PyEquality.equal(new PyReprObj("2147483648"),
+                new PyFloatObj(Double.POSITIVE_INFINITY)));
+        assertFalse(PyEquality.equal(new PyReprObj("2147483648"), new PyIntObj(1)));
+        assertTrue(PyEquality.equal(new PyReprObj("2147483648"), new PyReprObj("2147483648")));
+    }
+}
@@ -0,0 +1,103 @@
+package test.rice.wire;
+
+import main.rice.obj.*;
+import main.rice.wire.PyReprObj;
+import main.rice.wire.ReprParser;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the ReprParser class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReprParserTest {
+
+    /**
+     * Tests parsing simple values.
+     */
+    @Test
+    @Order(1)
+    void testParseSimple() {
+        assertEquals(new PyIntObj(-12), ReprParser.parse("-12"));
+        assertEquals(new PyBoolObj(true), ReprParser.parse("True"));
+        assertEquals(new PyBoolObj(false), ReprParser.parse("False"));
+        assertEquals(new PyFloatObj(2.5), ReprParser.parse("2.5"));
+        assertEquals(new PyFloatObj(1e16), ReprParser.parse("1e+16"));
+        assertEquals(new PyFloatObj(1.5e-05), ReprParser.parse("1.5e-05"));
+        assertEquals(new PyFloatObj(Double.NEGATIVE_INFINITY), ReprParser.parse("-inf"));
+        assertEquals(new PyReprObj("None"), ReprParser.parse("None"));
+        assertEquals(new PyReprObj("12345678901234567890"),
+                ReprParser.parse("12345678901234567890"));
+    }
+
+    /**
+     * Tests parsing strings, including both quote styles and escape sequences.
+     */
+    @Test
+    @Order(2)
+    void testParseStrings() {
+        assertEquals(new PyStringObj(""), ReprParser.parse("''"));
+        assertEquals(new PyStringObj("abc"), ReprParser.parse("'abc'"));
+        assertEquals(new PyStringObj("it's"), ReprParser.parse("\"it's\""));
+        assertEquals(new PyStringObj("a\nb\\'\u00e9"), ReprParser.parse("'a\\nb\\\\\\'\\xe9'"));
+    }
+
+    /**
+     * Tests parsing lists and tuples, including empty and single-element tuples.
+     */
+    @Test
+    @Order(3)
+    void testParseSequences() {
+        assertEquals(new PyListObj<>(List.of()), ReprParser.parse("[]"));
+        assertEquals(new PyListObj<>(List.of(new PyIntObj(1), new PyStringObj("a"))),
+                ReprParser.parse("[1, 'a']"));
+        assertEquals(new PyTupleObj<>(List.of()), ReprParser.parse("()"));
+        assertEquals(new PyTupleObj<>(List.of(new PyStringObj("0"))),
+                ReprParser.parse("('0',)"));
+        assertEquals(new PyTupleObj<>(List.of(new PyStringObj("3"), new PyStringObj("4"))),
+                ReprParser.parse("('3', '4')"));
+    }
+
+    /**
+     * Tests parsing sets and dicts, including the empty set and the empty dict.
+     */
+    @Test
+    @Order(4)
+    void testParseSetsAndDicts() {
+        assertEquals(new PySetObj<>(Set.of()), ReprParser.parse("set()"));
+        assertEquals(new PySetObj<>(Set.of(new PyIntObj(1), new PyIntObj(2))),
+                ReprParser.parse("{1, 2}"));
+        assertEquals(new PyDictObj<>(Map.of()), ReprParser.parse("{}"));
+        assertEquals(new PyDictObj<>(Map.of(new PyStringObj("a"),
+                        new PyListObj<>(List.of(new PyTupleObj<>(List.of(new PyIntObj(1))))))),
+                ReprParser.parse("{'a': [(1,)]}"));
+    }
+
+    /**
+     * Tests that parsing the repr of an object generated by Java gives back an equal
+     * object.
+     */
+    @Test
+    @Order(5)
+    void testParseJavaRepr() {
+        APyObj<?> obj = new PyDictObj<>(Map.of(new PyStringObj("key1"), new PyIntObj(-3),
+                new PyStringObj("key2"), new PySetObj<>(Set.of(new PyFloatObj(0.5)))));
+        assertEquals(obj, ReprParser.parse(obj.toString()));
+    }
+
+    /**
+     * Tests that malformed or unsupported input is rejected.
+     */
+    @Test
+    @Order(6)
+    void testRejects() {
+        for (String repr : List.of("", "[1, 2", "{1: 2", "'abc", "<object at 0x1>",
+                "frozenset({1})", "1 2", "b'x'")) {
+            assertThrows(IllegalArgumentException.class, () -> ReprParser.parse(repr));
+            assertNull(ReprParser.tryParse(repr));
+        }
+    }
+}
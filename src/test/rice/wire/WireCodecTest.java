@@ -0,0 +1,157 @@
+package test.rice.wire;
+
+import main.rice.obj.*;
+import main.rice.wire.PyReprObj;
+import main.rice.wire.WireCodec;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the WireCodec class.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class WireCodecTest {
+
+    /**
+     * A nested object exercising every supported type.
+     */
+    private static APyObj<?> nested;
+
+    /**
+     * Sets up the nested object shared by the tests.
+     */
+    @BeforeAll
+    static void setUp() {
+        Map<APyObj<?>, APyObj<?>> dict = new HashMap<>();
+        dict.put(new PyStringObj("k\u00e9y"), new PyListObj<>(List.of(new PyFloatObj(-2.5),
+                new PyBoolObj(true))));
+        dict.put(new PyTupleObj<>(List.of(new PyIntObj(Integer.MIN_VALUE))),
+                new PySetObj<>(Set.of(new PyIntObj(0), new PyIntObj(300))));
+        nested = new PyDictObj<>(dict);
+    }
+
+    /**
+     * Tests that simple objects survive a Java round trip.
+     */
+    @Test
+    @Order(1)
+    void testRoundTripSimple() {
+        for (APyObj<?> obj : List.of(new PyIntObj(0), new PyIntObj(-1),
+                new PyIntObj(Integer.MAX_VALUE), new PyBoolObj(false), new PyFloatObj(1e300),
+                new PyStringObj(""), new PyStringObj("it's"))) {
+            assertEquals(obj, WireCodec.decode(WireCodec.encode(obj)));
+        }
+    }
+
+    /**
+     * Tests that a nested object survives a Java round trip.
+     */
+    @Test
+    @Order(2)
+    void testRoundTripNested() {
+        assertEquals(nested, WireCodec.decode(WireCodec.encode(nested)));
+    }
+
+    /**
+     * Tests that argument lists survive a Java round trip.
+     */
+    @Test
+    @Order(3)
+    void testRoundTripArgs() {
+        List<APyObj<?>> args = List.of(new PyIntObj(7), nested, new PyStringObj("x"));
+        assertEquals(args, WireCodec.decodeArgs(WireCodec.encodeArgs(args)));
+    }
+
+    /**
+     * Tests that ints outside of the range of a Java int decode into PyReprObjs.
+     */
+    @Test
+    @Order(4)
+    void testDecodeBigInt() {
+        // zigzag(2^69) = 2^70, i.e. ten 0x80 bytes followed by 0x01 after the tag
+        byte[] bytes = new byte[12];
+        bytes[0] = 'i';
+        for (int i = 1; i < 11; i++) {
+            bytes[i] = (byte) 0x80;
+        }
+        bytes[11] = 1;
+        assertEquals(new PyReprObj("590295810358705651712"), WireCodec.decode(bytes));
+    }
+
+    /**
+     * Tests that unframe() skips anything printed before the frame, and returns null
+     * when there is no frame.
+     */
+    @Test
+    @Order(5)
+    void testUnframe() {
+        byte[] encoded = WireCodec.encode(new PyIntObj(5));
+        byte[] framed = WireCodec.frame(encoded);
+        byte[] output = new byte[3 + framed.length];
+        output[0] = 'h';
+        output[1] = 'i';
+        output[2] = '\n';
+        System.arraycopy(framed, 0, output, 3, framed.length);
+        assertArrayEquals(encoded, WireCodec.unframe(output));
+        assertNull(WireCodec.unframe("hi\n".getBytes(StandardCharsets.UTF_8)));
+        assertNull(WireCodec.unframe(WireCodec.MARKER));
+    }
+
+    /**
+     * Tests that unframe() finds the frame when both the preceding output and the result
+     * itself contain MARKER.
+     */
+    @Test
+    @Order(6)
+    void testUnframeMarkerInPayload() {
+        String marker = new String(WireCodec.MARKER, StandardCharsets.UTF_8);
+        APyObj<?> result = new PyListObj<>(List.of(new PyStringObj("a" + marker + "b"),
+                new PyStringObj(marker)));
+        byte[] encoded = WireCodec.encode(result);
+        byte[] framed = WireCodec.frame(encoded);
+        byte[] output = new byte[WireCodec.MARKER.length + framed.length];
+        System.arraycopy(WireCodec.MARKER, 0, output, 0, WireCodec.MARKER.length);
+        System.arraycopy(framed, 0, output, WireCodec.MARKER.length, framed.length);
+        assertArrayEquals(encoded, WireCodec.unframe(output));
+        assertEquals(result, WireCodec.decode(WireCodec.unframe(output)));
+    }
+
+    /**
+     * Tests that the Python half of the codec decodes what Java encodes, and that Java
+     * decodes what Python encodes, including values Python can only send as repr().
+     */
+    @Test
+    @Order(7)
+    void testPythonRoundTrip() throws IOException, InterruptedException {
+        Path script = Files.createTempFile("wire", ".py");
+        try {
+            Files.writeString(script, "import sys\n" + WireCodec.pythonSource() + "\n"
+                    + "def echo(*args):\n"
+                    + "    print('noise')\n"
+                    + "    return [list(args), None]\n\n"
+                    + "_wire_call(echo, _wire_read_args())\n");
+            Process process = new ProcessBuilder("python3", script.toString()).start();
+            List<APyObj<?>> args = List.of(nested, new PyIntObj(-42),
+                    new PyStringObj("a" + new String(WireCodec.MARKER,
+                            StandardCharsets.UTF_8)));
+            try (OutputStream stdin = process.getOutputStream()) {
+                stdin.write(WireCodec.encodeArgs(args));
+            }
+            byte[] output = process.getInputStream().readAllBytes();
+            process.waitFor();
+
+            APyObj<?> expected = new PyListObj<>(List.of(new PyListObj<>(args),
+                    new PyReprObj("None")));
+            assertEquals(expected, WireCodec.decode(WireCodec.unframe(output)));
+        } finally {
+            Files.delete(script);
+        }
+    }
+}